@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * Measures equality and hash code generation for array valued business keys, comparing two equal but distinct
+ * arrays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayKeyBenchmark {
+  @Param({ "16", "256", "4096" })
+  private int size;
+
+  @Param
+  private ArrayType arrayType;
+
+  private Object first;
+  private Object second;
+
+  @Setup
+  public void setUp() {
+    first = arrayType.create(size);
+    second = arrayType.create(size);
+  }
+
+  @Benchmark
+  public boolean areEqual() {
+    return BusinessIdentityUtils.areEqual(first, second, true);
+  }
+
+  @Benchmark
+  public int getHashCode() {
+    return BusinessIdentityUtils.getHashCode(first, true);
+  }
+
+  public enum ArrayType {
+    BYTE {
+      @Override
+      Object create(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++)
+          bytes[i] = (byte) i;
+        return bytes;
+      }
+    },
+    LONG {
+      @Override
+      Object create(int size) {
+        long[] longs = new long[size];
+        for (int i = 0; i < size; i++)
+          longs[i] = i * 31L;
+        return longs;
+      }
+    },
+    CHAR {
+      @Override
+      Object create(int size) {
+        char[] chars = new char[size];
+        for (int i = 0; i < size; i++)
+          chars[i] = (char) ('a' + i % 26);
+        return chars;
+      }
+    },
+    NESTED {
+      @Override
+      Object create(int size) {
+        Object[] nested = new Object[size];
+        for (int i = 0; i < size; i++)
+          nested[i] = new Object[] { i, "element" + i };
+        return nested;
+      }
+    };
+
+    abstract Object create(int size);
+  }
+}
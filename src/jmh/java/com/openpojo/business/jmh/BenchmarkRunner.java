@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks of every com.openpojo jmh package, business and reflection, with the GC profiler attached, so
+ * every result comes with its allocation rate and bytes allocated per operation.
+ * <br>
+ * Run with: mvn -Pbenchmarks test-compile exec:exec, any JMH command line options are passed through with
+ * -Djmh.args="..." (e.g. -Djmh.args="ContendedBusinessIdentity -t 8 -p shape=ARRAYS").
+ */
+public final class BenchmarkRunner {
+  private static final String BENCHMARK_PACKAGES = "^com\\.openpojo\\.\\w+\\.jmh\\.";
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+    OptionsBuilder options = new OptionsBuilder();
+    options.parent(commandLineOptions);
+    if (commandLineOptions.getIncludes().isEmpty())
+      options.include(BENCHMARK_PACKAGES);
+    options.addProfiler(GCProfiler.class);
+    new Runner(options.build()).run();
+  }
+
+  private BenchmarkRunner() {
+    throw new UnsupportedOperationException(BenchmarkRunner.class.getName() + " should not be constructed!");
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.BusinessKeyIndex;
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * Compares the lookup latency of a {@link BusinessKeyIndex} and a HashMap keyed by business identity, 3 of 4 probes
+ * hit. The retained memory per entry is reported as an extra result of the benchmark.
+ * <br>
+ * Larger structures need a large heap, e.g. -p count=50000000 with -Xmx24g.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessKeyIndexBenchmark {
+  private static final int PROBES = 1 << 20;
+
+  @Param({ "1000000", "10000000" })
+  private int count;
+
+  @Param
+  private Structure structure;
+
+  private Lookup lookup;
+  private Entity[] probes;
+  private double retainedBytesPerEntry;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final Entity[] entities = new Entity[count];
+    for (int i = 0; i < count; i++)
+      entities[i] = new Entity(i % 16, i * 31L);
+
+    final Random random = new Random(42);
+    probes = new Entity[PROBES];
+    for (int i = 0; i < PROBES; i++) {
+      int position = random.nextInt(count);
+      probes[i] = new Entity(position % 16, random.nextInt(4) == 0 ? -position : position * 31L);
+    }
+
+    final long before = usedMemory();
+    lookup = structure.build(entities);
+    retainedBytesPerEntry = (double) (usedMemory() - before) / count;
+  }
+
+  @Benchmark
+  public Object get(final Footprint footprint) {
+    return lookup.get(probes[next++ & (PROBES - 1)]);
+  }
+
+  private static long usedMemory() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++)
+      System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  public enum Structure {
+    HASH_MAP {
+      @Override
+      Lookup build(Entity[] entities) {
+        final Map<Entity, Entity> map = new HashMap<Entity, Entity>();
+        for (Entity entity : entities)
+          map.put(entity, entity);
+        return new Lookup() {
+          public Entity get(Entity probe) {
+            return map.get(probe);
+          }
+        };
+      }
+    },
+    BUSINESS_KEY_INDEX {
+      @Override
+      Lookup build(Entity[] entities) {
+        final BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>();
+        for (Entity entity : entities)
+          index.add(entity);
+        return new Lookup() {
+          public Entity get(Entity probe) {
+            return index.get(probe);
+          }
+        };
+      }
+    };
+
+    abstract Lookup build(Entity[] entities);
+  }
+
+  /**
+   * The retained memory per entry of the structure looked up in, reported as an extra result of the benchmark.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public double retainedBytesPerEntry;
+
+    @Setup(Level.Iteration)
+    public void record(final BusinessKeyIndexBenchmark benchmark) {
+      retainedBytesPerEntry = benchmark.retainedBytesPerEntry;
+    }
+  }
+
+  private interface Lookup {
+    Entity get(Entity probe);
+  }
+
+  private static class Entity {
+    @BusinessKey
+    private final int region;
+
+    @BusinessKey
+    private final long id;
+
+    private Entity(int region, long id) {
+      this.region = region;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return BusinessIdentity.areEqual(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return BusinessIdentity.getHashCode(this);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * Measures case insensitive equality and hash code generation on String and StringBuilder business keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CaseInsensitiveKeyBenchmark {
+  private String email;
+  private String sameEmail;
+  private StringBuilder emailBuilder;
+  private StringBuilder sameEmailBuilder;
+
+  @Setup
+  public void setUp() {
+    email = "Some.Customer.Name@Example.COM";
+    sameEmail = "some.customer.name@example.com";
+    emailBuilder = new StringBuilder(email);
+    sameEmailBuilder = new StringBuilder(sameEmail);
+  }
+
+  @Benchmark
+  public boolean areEqualString() {
+    return BusinessIdentityUtils.areEqual(email, sameEmail, false);
+  }
+
+  @Benchmark
+  public int getHashCodeString() {
+    return BusinessIdentityUtils.getHashCode(email, false);
+  }
+
+  @Benchmark
+  public boolean areEqualStringBuilder() {
+    return BusinessIdentityUtils.areEqual(emailBuilder, sameEmailBuilder, false);
+  }
+
+  @Benchmark
+  public int getHashCodeStringBuilder() {
+    return BusinessIdentityUtils.getHashCode(emailBuilder, false);
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.identity.IdentityFactory;
+import com.openpojo.business.identity.IdentityHandler;
+import com.openpojo.business.identity.impl.CompiledIdentityHandler;
+import com.openpojo.business.identity.impl.DefaultIdentityHandler;
+import com.openpojo.business.identity.impl.sampleclasses.AllKeyTypes;
+import com.openpojo.business.sampleclasses.Child;
+
+/**
+ * Compares the reflection based identity with the {@link CompiledIdentityHandler}, both directly on the handlers and
+ * end to end through {@link BusinessIdentity} (which includes validation), the compiled handler is registered with
+ * the {@link IdentityFactory} for the end to end runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledIdentityBenchmark {
+  @Param({ "reflection", "compiled" })
+  private String mode;
+
+  private IdentityHandler handler;
+  private AllKeyTypes firstAllKeys;
+  private AllKeyTypes secondAllKeys;
+  private Child firstChild;
+  private Child secondChild;
+
+  @Setup
+  public void setUp() {
+    if (mode.equals("compiled")) {
+      handler = CompiledIdentityHandler.getInstance();
+      IdentityFactory.registerIdentityHandler(handler);
+    } else {
+      handler = DefaultIdentityHandler.getInstance();
+    }
+    firstAllKeys = newAllKeyTypes();
+    secondAllKeys = newAllKeyTypes();
+    firstChild = new Child("First", "Last", 'M');
+    secondChild = new Child("First", "Last", 'M');
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (mode.equals("compiled"))
+      IdentityFactory.unregisterIdentityHandler(handler);
+  }
+
+  @Benchmark
+  public boolean handlerAreEqualAllKeyTypes() {
+    return handler.areEqual(firstAllKeys, secondAllKeys);
+  }
+
+  @Benchmark
+  public int handlerGenerateHashCodeAllKeyTypes() {
+    return handler.generateHashCode(firstAllKeys);
+  }
+
+  @Benchmark
+  public boolean handlerAreEqualChild() {
+    return handler.areEqual(firstChild, secondChild);
+  }
+
+  @Benchmark
+  public boolean areEqualAllKeyTypes() {
+    return BusinessIdentity.areEqual(firstAllKeys, secondAllKeys);
+  }
+
+  @Benchmark
+  public int getHashCodeAllKeyTypes() {
+    return BusinessIdentity.getHashCode(firstAllKeys);
+  }
+
+  @Benchmark
+  public boolean areEqualChild() {
+    return BusinessIdentity.areEqual(firstChild, secondChild);
+  }
+
+  @Benchmark
+  public int getHashCodeChild() {
+    return BusinessIdentity.getHashCode(firstChild);
+  }
+
+  private static AllKeyTypes newAllKeyTypes() {
+    return new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, 5.0f, 6.0d, "Seven", new int[] { 8, 9, 10 },
+        "Eleven");
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+
+/**
+ * Multi threaded variant of {@link BusinessIdentityBenchmark}, all threads share the same entities and so contend on
+ * the identity caches of the same classes; override the thread count with -t.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ContendedBusinessIdentityBenchmark {
+  @Param
+  private EntityShape shape;
+
+  private Object entity;
+  private Object equalEntity;
+  private Object differentEntity;
+
+  @Setup
+  public void setUp() {
+    entity = shape.create(42, false);
+    equalEntity = shape.create(42, shape == EntityShape.CASE_INSENSITIVE);
+    differentEntity = shape.create(43, false);
+  }
+
+  @Benchmark
+  public boolean areEqual() {
+    return BusinessIdentity.areEqual(entity, equalEntity);
+  }
+
+  @Benchmark
+  public boolean areEqualDifferent() {
+    return BusinessIdentity.areEqual(entity, differentEntity);
+  }
+
+  @Benchmark
+  public int getHashCode() {
+    return BusinessIdentity.getHashCode(entity);
+  }
+
+  @Benchmark
+  public String businessToString() {
+    return BusinessIdentity.toString(entity);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * Deduplicates business keyed entities, about half of them duplicates, with a HashSet and with
+ * {@link BusinessIdentity#distinct(java.util.Collection)} run in pools of increasing parallelism, showing how
+ * throughput scales with the number of cores.
+ * <br>
+ * Larger runs, e.g. -p count=10000000, need a large heap such as -Xmx4g.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistinctBenchmark {
+  @Param({ "1000000" })
+  private int count;
+
+  private List<Entity> entities;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    entities = new ArrayList<Entity>(count);
+    for (int i = 0; i < count; i++) {
+      int key = random.nextInt(count / 2);
+      entities.add(new Entity(key % 64, (random.nextBoolean() ? "customer" : "CUSTOMER") + key + "@example.com"));
+    }
+  }
+
+  @Benchmark
+  public int hashSet() {
+    return new HashSet<Entity>(entities).size();
+  }
+
+  @Benchmark
+  public int distinct(final Pool pool) throws InterruptedException, ExecutionException {
+    return pool.forkJoinPool.submit(new Callable<Integer>() {
+      public Integer call() {
+        return BusinessIdentity.distinct(entities).size();
+      }
+    }).get();
+  }
+
+  /**
+   * The pool distinct runs in, only distinct is measured for every parallelism.
+   */
+  @State(Scope.Benchmark)
+  public static class Pool {
+    @Param({ "1", "2", "4", "8" })
+    private int parallelism;
+
+    private ForkJoinPool forkJoinPool;
+
+    @Setup
+    public void setUp() {
+      forkJoinPool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+      forkJoinPool.shutdown();
+    }
+  }
+
+  private static class Entity {
+    @BusinessKey
+    private final int tenant;
+
+    @BusinessKey(caseSensitive = false)
+    private final String email;
+
+    private Entity(int tenant, String email) {
+      this.tenant = tenant;
+      this.email = email;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return BusinessIdentity.areEqual(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return BusinessIdentity.getHashCode(this);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * The entity shapes measured by the identity benchmarks, from a single key field up to ten, with primitive, String,
+ * array, case insensitive, inherited and composite keys.
+ * <br>
+ * Every call to {@link #create(int, boolean)} builds new Strings and arrays, so equality is never decided by a
+ * reference comparison of the key values.
+ */
+public enum EntityShape {
+  ONE_STRING {
+    public Object create(int number, boolean upperCase) {
+      return new OneString(text("name", number, upperCase));
+    }
+  },
+  FIVE_PRIMITIVES {
+    public Object create(int number, boolean upperCase) {
+      return new FivePrimitives(number);
+    }
+  },
+  TEN_MIXED {
+    public Object create(int number, boolean upperCase) {
+      return new TenMixed(number);
+    }
+  },
+  CASE_INSENSITIVE {
+    public Object create(int number, boolean upperCase) {
+      return new CaseInsensitive(number, upperCase);
+    }
+  },
+  ARRAYS {
+    public Object create(int number, boolean upperCase) {
+      return new ArrayKeys(number);
+    }
+  },
+  INHERITED {
+    public Object create(int number, boolean upperCase) {
+      return new Inherited(number);
+    }
+  },
+  COMPOSITE {
+    public Object create(int number, boolean upperCase) {
+      return new Composite(number);
+    }
+  };
+
+  /**
+   * Create an entity of this shape, entities created with the same number have equal business keys.
+   *
+   * @param number
+   *     the value all key fields are derived from.
+   * @param upperCase
+   *     upper case the text of the keys, only entities with case insensitive keys stay equal.
+   * @return a new entity.
+   */
+  public abstract Object create(int number, boolean upperCase);
+
+  private static String text(String prefix, int number, boolean upperCase) {
+    String text = prefix + "-" + number;
+    return upperCase ? text.toUpperCase() : text;
+  }
+
+  public static class OneString {
+    @BusinessKey
+    private final String name;
+
+    OneString(String name) {
+      this.name = name;
+    }
+  }
+
+  public static class FivePrimitives {
+    @BusinessKey
+    private final int code;
+    @BusinessKey
+    private final long serial;
+    @BusinessKey
+    private final double amount;
+    @BusinessKey
+    private final boolean active;
+    @BusinessKey
+    private final char grade;
+
+    FivePrimitives(int number) {
+      code = number;
+      serial = number * 31L;
+      amount = number / 4.0;
+      active = number % 2 == 0;
+      grade = (char) ('a' + number % 26);
+    }
+  }
+
+  public static class TenMixed {
+    @BusinessKey
+    private final String firstName;
+    @BusinessKey
+    private final String lastName;
+    @BusinessKey
+    private final String email;
+    @BusinessKey
+    private final Integer age;
+    @BusinessKey
+    private final Long account;
+    @BusinessKey
+    private final int branch;
+    @BusinessKey
+    private final long created;
+    @BusinessKey
+    private final double balance;
+    @BusinessKey
+    private final Boolean verified;
+    @BusinessKey
+    private final Character tier;
+
+    TenMixed(int number) {
+      firstName = text("first", number, false);
+      lastName = text("last", number, false);
+      email = text("mail", number, false) + "@example.com";
+      age = number % 100;
+      account = number * 1000003L;
+      branch = number % 64;
+      created = 1500000000000L + number;
+      balance = number * 1.5;
+      verified = number % 3 == 0;
+      tier = (char) ('A' + number % 4);
+    }
+  }
+
+  public static class CaseInsensitive {
+    @BusinessKey(caseSensitive = false)
+    private final String userName;
+    @BusinessKey(caseSensitive = false)
+    private final String domain;
+    @BusinessKey(caseSensitive = false)
+    private final char region;
+
+    CaseInsensitive(int number, boolean upperCase) {
+      userName = text("user", number, upperCase);
+      domain = text("domain", number, upperCase);
+      region = upperCase ? 'E' : 'e';
+    }
+  }
+
+  public static class ArrayKeys {
+    @BusinessKey
+    private final int[] codes;
+    @BusinessKey
+    private final byte[] digest;
+    @BusinessKey
+    private final String[] tags;
+
+    ArrayKeys(int number) {
+      codes = new int[16];
+      for (int i = 0; i < codes.length; i++)
+        codes[i] = number + i;
+      digest = new byte[64];
+      for (int i = 0; i < digest.length; i++)
+        digest[i] = (byte) (number * 7 + i);
+      tags = new String[] { text("red", number, false), text("green", number, false), text("blue", number, false),
+          text("black", number, false) };
+    }
+  }
+
+  public static class Inherited extends FivePrimitives {
+    @BusinessKey
+    private final String code;
+    @BusinessKey
+    private final Long version;
+
+    Inherited(int number) {
+      super(number);
+      code = text("code", number, false);
+      version = (long) number;
+    }
+  }
+
+  public static class Composite {
+    @BusinessKey
+    private final String id;
+    @BusinessKey(composite = true)
+    private final String email;
+    @BusinessKey(composite = true)
+    private final String phone;
+    @BusinessKey(composite = true)
+    private final String handle;
+
+    Composite(int number) {
+      id = text("id", number, false);
+      email = null;
+      phone = null;
+      handle = text("handle", number, false);
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.annotation.ImmutableBusinessKeys;
+
+/**
+ * Fills a HashMap keyed on an id and a case insensitive email and looks keys up again, comparing keys without
+ * remembered hash codes against {@link ImmutableBusinessKeys} keys remembered off-object and in a field.
+ * <br>
+ * fill puts every key into a new map, lookup gets one key per operation. Larger maps, e.g. -p entries=10000000,
+ * need a large heap such as -Xmx4g.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImmutableKeyHashMapBenchmark {
+  @Param({ "1000000" })
+  private int entries;
+
+  @Param
+  private KeyKind keyKind;
+
+  private Object[] keys;
+  private Map<Object, Integer> map;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    keys = new Object[entries];
+    for (int i = 0; i < entries; i++)
+      keys[i] = keyKind.create(i);
+    map = fillMap(keys);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public int fill() {
+    return fillMap(keys).size();
+  }
+
+  @Benchmark
+  public Integer lookup() {
+    final Object key = keys[next];
+    next = next + 1 == keys.length ? 0 : next + 1;
+    return map.get(key);
+  }
+
+  private static Map<Object, Integer> fillMap(final Object[] keys) {
+    final Map<Object, Integer> map = new HashMap<Object, Integer>(keys.length * 2);
+    for (int i = 0; i < keys.length; i++)
+      map.put(keys[i], i);
+    return map;
+  }
+
+  public enum KeyKind {
+    MUTABLE {
+      @Override
+      Object create(long id) {
+        return new MutableKey(id, (int) (id % 97));
+      }
+    },
+    HASH_CODE_FIELD {
+      @Override
+      Object create(long id) {
+        return new FieldRememberedKey(id, (int) (id % 97));
+      }
+    },
+    OFF_OBJECT {
+      @Override
+      Object create(long id) {
+        return new RememberedKey(id, (int) (id % 97));
+      }
+    };
+
+    abstract Object create(long id);
+  }
+
+  private static class MutableKey {
+    @BusinessKey
+    private final long id;
+
+    @BusinessKey(caseSensitive = false)
+    private final String email;
+
+    private MutableKey(long id, int tenant) {
+      this.id = id;
+      this.email = "Customer" + id + "@Tenant" + tenant + ".example.COM";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return BusinessIdentity.areEqual(this, other);
+    }
+
+    @Override
+    public int hashCode() {
+      return BusinessIdentity.getHashCode(this);
+    }
+  }
+
+  @ImmutableBusinessKeys
+  private static class RememberedKey extends MutableKey {
+    private RememberedKey(long id, int tenant) {
+      super(id, tenant);
+    }
+  }
+
+  @ImmutableBusinessKeys(hashCodeField = "businessHashCode")
+  private static class FieldRememberedKey extends MutableKey {
+    private transient int businessHashCode;
+
+    private FieldRememberedKey(long id, int tenant) {
+      super(id, tenant);
+    }
+  }
+}
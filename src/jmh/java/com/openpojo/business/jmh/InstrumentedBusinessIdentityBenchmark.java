@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link BusinessIdentityBenchmark} with {@link com.openpojo.business.metrics.IdentityMetrics} enabled, compare the
+ * two to see what metrics cost, and the plain benchmark against an earlier build to see that disabled metrics cost
+ * nothing.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Dopenpojo.business.metrics=true")
+public class InstrumentedBusinessIdentityBenchmark extends BusinessIdentityBenchmark {
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.annotation.AdaptiveBusinessKeyOrder;
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * Measures equality of entities whose discriminating key is declared last, in declaration and in adaptive order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyOrderBenchmark {
+  private static final int ENTITIES = 1024;
+
+  private FixedOrderEntity[] fixed;
+  private AdaptiveOrderEntity[] adaptive;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    fixed = new FixedOrderEntity[ENTITIES];
+    adaptive = new AdaptiveOrderEntity[ENTITIES];
+    for (int i = 0; i < ENTITIES; i++) {
+      final String id = UUID.randomUUID().toString();
+      fixed[i] = new FixedOrderEntity("Tenant-Organisation-" + (i % 2), "Region-Europe-West", id);
+      adaptive[i] = new AdaptiveOrderEntity("Tenant-Organisation-" + (i % 2), "Region-Europe-West", id);
+    }
+  }
+
+  @Benchmark
+  public boolean areEqualDeclarationOrder() {
+    index = (index + 2) & (ENTITIES - 1);
+    return BusinessIdentity.areEqual(fixed[index], fixed[(index + 2) & (ENTITIES - 1)]);
+  }
+
+  @Benchmark
+  public boolean areEqualAdaptiveOrder() {
+    index = (index + 2) & (ENTITIES - 1);
+    return BusinessIdentity.areEqual(adaptive[index], adaptive[(index + 2) & (ENTITIES - 1)]);
+  }
+
+  private static class FixedOrderEntity {
+    @BusinessKey(caseSensitive = false)
+    private final String tenant;
+
+    @BusinessKey(caseSensitive = false)
+    private final String region;
+
+    @BusinessKey
+    private final String id;
+
+    private FixedOrderEntity(String tenant, String region, String id) {
+      this.tenant = tenant;
+      this.region = region;
+      this.id = id;
+    }
+  }
+
+  @AdaptiveBusinessKeyOrder
+  private static class AdaptiveOrderEntity {
+    @BusinessKey(caseSensitive = false)
+    private final String tenant;
+
+    @BusinessKey(caseSensitive = false)
+    private final String region;
+
+    @BusinessKey
+    private final String id;
+
+    private AdaptiveOrderEntity(String tenant, String region, String id) {
+      this.tenant = tenant;
+      this.region = region;
+      this.id = id;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * Measures hash codes of long, double and float array business keys, and case insensitive char array hash codes and
+ * equality.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayKeyBenchmark {
+  @Param({ "64", "1024", "16384", "65536" })
+  private int size;
+
+  private long[] longs;
+  private double[] doubles;
+  private float[] floats;
+  private char[] chars;
+  private char[] sameCaseChars;
+  private char[] otherCaseChars;
+
+  @Setup
+  public void setUp() {
+    longs = new long[size];
+    doubles = new double[size];
+    floats = new float[size];
+    chars = new char[size];
+    for (int i = 0; i < size; i++) {
+      longs[i] = i * 0x9E3779B97F4A7C15L;
+      doubles[i] = i / 7.0;
+      floats[i] = i / 7.0f;
+      chars[i] = (char) ('a' + i % 26);
+    }
+    sameCaseChars = chars.clone();
+    otherCaseChars = new String(chars).toUpperCase().toCharArray();
+  }
+
+  @Benchmark
+  public int getHashCodeLongs() {
+    return BusinessIdentityUtils.getHashCode(longs, true);
+  }
+
+  @Benchmark
+  public int getHashCodeDoubles() {
+    return BusinessIdentityUtils.getHashCode(doubles, true);
+  }
+
+  @Benchmark
+  public int getHashCodeFloats() {
+    return BusinessIdentityUtils.getHashCode(floats, true);
+  }
+
+  @Benchmark
+  public int getHashCodeCharsIgnoringCase() {
+    return BusinessIdentityUtils.getHashCode(chars, false);
+  }
+
+  @Benchmark
+  public boolean areEqualCharsIgnoringCaseSameCase() {
+    return BusinessIdentityUtils.areEqual(chars, sameCaseChars, false);
+  }
+
+  @Benchmark
+  public boolean areEqualCharsIgnoringCaseOtherCase() {
+    return BusinessIdentityUtils.areEqual(chars, otherCaseChars, false);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.jmh;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * Sorts business keyed objects with {@link BusinessIdentity#comparator(Class)}, and through sort keys with
+ * {@link BusinessIdentity#sort(Class, Object[])} and {@link BusinessIdentity#parallelSort(Class, Object[])}.
+ * Customers lead with a low cardinality tenant, accounts lead with a unique number. Every operation sorts a fresh
+ * copy of the same shuffled objects.
+ * <br>
+ * Larger sorts, e.g. -p objects=5000000, need a large heap such as -Xmx4g.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+  @Param({ "1000000" })
+  private int objects;
+
+  @Param
+  private ObjectKind objectKind;
+
+  private Sortable<?> sortable;
+
+  @Setup
+  public void setUp() {
+    sortable = objectKind.create(new Random(42), objects);
+  }
+
+  @Setup(Level.Invocation)
+  public void copy() {
+    sortable.copy();
+  }
+
+  @Benchmark
+  public Object sortWithComparator() {
+    return sortable.sortWithComparator();
+  }
+
+  @Benchmark
+  public Object sort() {
+    return sortable.sort();
+  }
+
+  @Benchmark
+  public Object parallelSort() {
+    return sortable.parallelSort();
+  }
+
+  public enum ObjectKind {
+    CUSTOMER {
+      @Override
+      Sortable<?> create(Random random, int count) {
+        Customer[] customers = new Customer[count];
+        for (int i = 0; i < count; i++)
+          customers[i] = new Customer("Tenant" + random.nextInt(16),
+              "Customer" + random.nextInt(count) + "@Example.COM");
+        return new Sortable<Customer>(Customer.class, customers);
+      }
+    },
+    ACCOUNT {
+      @Override
+      Sortable<?> create(Random random, int count) {
+        Account[] accounts = new Account[count];
+        for (int i = 0; i < count; i++)
+          accounts[i] = new Account(random.nextLong(), "Customer" + random.nextInt(count) + "@Example.COM");
+        return new Sortable<Account>(Account.class, accounts);
+      }
+    };
+
+    abstract Sortable<?> create(Random random, int count);
+  }
+
+  private static final class Sortable<T> {
+    private final Class<T> clazz;
+    private final T[] source;
+    private final Comparator<T> comparator;
+    private T[] objects;
+
+    private Sortable(Class<T> clazz, T[] source) {
+      this.clazz = clazz;
+      this.source = source;
+      this.comparator = BusinessIdentity.comparator(clazz);
+    }
+
+    private void copy() {
+      objects = source.clone();
+    }
+
+    private T[] sortWithComparator() {
+      Arrays.sort(objects, comparator);
+      return objects;
+    }
+
+    private T[] sort() {
+      BusinessIdentity.sort(clazz, objects);
+      return objects;
+    }
+
+    private T[] parallelSort() {
+      BusinessIdentity.parallelSort(clazz, objects);
+      return objects;
+    }
+  }
+
+  private static class Customer {
+    @BusinessKey
+    private final String tenant;
+
+    @BusinessKey(caseSensitive = false)
+    private final String email;
+
+    private Customer(String tenant, String email) {
+      this.tenant = tenant;
+      this.email = email;
+    }
+  }
+
+  private static class Account {
+    @BusinessKey
+    private final long number;
+
+    @BusinessKey(caseSensitive = false)
+    private final String email;
+
+    private Account(long number, String email) {
+      this.number = number;
+      this.email = email;
+    }
+  }
+}
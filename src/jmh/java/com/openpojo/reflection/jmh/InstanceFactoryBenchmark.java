@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.construct.InstanceFactory;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Measures {@link InstanceFactory} creating instances of a class with business keys and several constructors, the way
+ * random generation of object graphs does; run with the GC profiler (-prof gc, attached by {@link
+ * com.openpojo.business.jmh.BenchmarkRunner}) for the bytes allocated per instance.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceFactoryBenchmark {
+  private PojoClass pojoClass;
+
+  @Setup
+  public void setUp() {
+    pojoClass = PojoClassFactory.getPojoClass(Customer.class);
+  }
+
+  @Benchmark
+  public Object getInstance() {
+    return InstanceFactory.getInstance(pojoClass);
+  }
+
+  @Benchmark
+  public Object getLeastCompleteInstance() {
+    return InstanceFactory.getLeastCompleteInstance(pojoClass);
+  }
+
+  @Benchmark
+  public Object getMostCompleteInstance() {
+    return InstanceFactory.getMostCompleteInstance(pojoClass);
+  }
+
+  @SuppressWarnings("unused")
+  public static class Customer {
+    @BusinessKey
+    private String firstName;
+    @BusinessKey
+    private String lastName;
+    @BusinessKey
+    private int number;
+    private String email;
+    private String phone;
+    private long createdAt;
+    private boolean active;
+
+    public Customer() {
+    }
+
+    public Customer(String firstName) {
+      this.firstName = firstName;
+    }
+
+    public Customer(String firstName, String lastName) {
+      this(firstName);
+      this.lastName = lastName;
+    }
+
+    public Customer(String firstName, String lastName, int number) {
+      this(firstName, lastName);
+      this.number = number;
+    }
+
+    public Customer(String firstName, String lastName, int number, String email) {
+      this(firstName, lastName, number);
+      this.email = email;
+    }
+
+    @Override
+    public int hashCode() {
+      return number;
+    }
+  }
+}
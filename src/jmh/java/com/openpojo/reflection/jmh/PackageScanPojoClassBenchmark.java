@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Measures a scan that wraps generated classes of 20 fields each in PojoClasses and keeps only the concrete one in
+ * every {@value #CONCRETE_EVERY}, the way a package scan with a class level filter does. Every operation loads fresh
+ * copies of the classes in their own class loader, loading alone is measured too for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackageScanPojoClassBenchmark {
+  private static final int FIELDS = 20;
+  private static final int CONCRETE_EVERY = 10;
+  private static final String CLASS_PREFIX = "ScannedDto";
+
+  @Param({ "500" })
+  private int classes;
+
+  private Path directory;
+  private URL[] classPath;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("package-scan");
+    final List<String> arguments = new ArrayList<String>();
+    arguments.add("-d");
+    arguments.add(directory.toString());
+    for (int i = 0; i < classes; i++) {
+      final Path source = directory.resolve(CLASS_PREFIX + i + ".java");
+      Files.write(source, generateDto(i).getBytes(StandardCharsets.UTF_8));
+      arguments.add(source.toString());
+    }
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler.run(null, null, null, arguments.toArray(new String[arguments.size()])) != 0)
+      throw new IllegalStateException("Failed to compile " + directory);
+    classPath = new URL[] { directory.toUri().toURL() };
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    for (File file : directory.toFile().listFiles())
+      Files.delete(file.toPath());
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  public List<Class<?>> loadClasses() {
+    return loadClasses(classPath);
+  }
+
+  @Benchmark
+  public long loadClassesAndScanConcrete() {
+    long fields = 0;
+    for (Class<?> clazz : loadClasses(classPath)) {
+      final PojoClass pojoClass = PojoClassFactory.getPojoClass(clazz);
+      if (pojoClass.isConcrete())
+        fields += pojoClass.getPojoFields().size();
+    }
+    return fields;
+  }
+
+  private List<Class<?>> loadClasses(final URL[] classPath) {
+    final URLClassLoader classLoader = new URLClassLoader(classPath, null);
+    final List<Class<?>> loaded = new ArrayList<Class<?>>(classes);
+    try {
+      for (int i = 0; i < classes; i++)
+        loaded.add(classLoader.loadClass(CLASS_PREFIX + i));
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+    return loaded;
+  }
+
+  private static String generateDto(int number) {
+    final String modifier = number % CONCRETE_EVERY == 0 ? "public " : "public abstract ";
+    final StringBuilder dto = new StringBuilder(modifier + "class " + CLASS_PREFIX + number + " {\n");
+    for (int i = 0; i < FIELDS; i++) {
+      final String name = "field" + i;
+      final String property = "Field" + i;
+      dto.append("  private String ").append(name).append(";\n");
+      dto.append("  public String get").append(property).append("() { return ").append(name).append("; }\n");
+      dto.append("  public void set").append(property).append("(String value) { ").append(name)
+          .append(" = value; }\n");
+    }
+    return dto.append("}\n").toString();
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.cache.PojoCache;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Allocates garbage then looks up the same PojoClasses again, each operation is one such round. The rebuilds counter
+ * reports how many lookups got a new PojoClass because the {@link PojoCache} lost the previous one to a garbage
+ * collection, out of the lookups counter; run with the GC profiler to see the collections that caused them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PojoCacheChurnBenchmark {
+  private static final String SAMPLE_PACKAGE = "com.openpojo.reflection.impl.sample.classes";
+
+  @Param({ "64" })
+  private int garbageMegabytesPerRound;
+
+  private List<Class<?>> classes;
+  // Identity hash codes only, holding on to the PojoClasses would keep them cached.
+  private Map<Class<?>, Integer> lastSeen;
+
+  @Setup
+  public void setUp() {
+    classes = new ArrayList<Class<?>>();
+    lastSeen = new IdentityHashMap<Class<?>, Integer>();
+    for (PojoClass pojoClass : PojoClassFactory.getPojoClasses(SAMPLE_PACKAGE)) {
+      classes.add(pojoClass.getClazz());
+      lastSeen.put(pojoClass.getClazz(), System.identityHashCode(pojoClass));
+    }
+  }
+
+  @Benchmark
+  public void lookUpAfterGarbage(final Lookups lookups, final Blackhole blackhole) {
+    final long garbage = garbageMegabytesPerRound * 1024L * 1024L;
+    for (long allocated = 0; allocated < garbage; allocated += 1024)
+      blackhole.consume(new byte[1024]);
+
+    for (Class<?> clazz : classes) {
+      final int identity = System.identityHashCode(PojoClassFactory.getPojoClass(clazz));
+      if (lastSeen.put(clazz, identity) != identity)
+        lookups.rebuilds++;
+      lookups.lookups++;
+    }
+  }
+
+  /**
+   * The lookups and rebuilds of each iteration, reported as extra results of the benchmark.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Lookups {
+    public long lookups;
+    public long rebuilds;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      lookups = 0;
+      rebuilds = 0;
+    }
+  }
+}
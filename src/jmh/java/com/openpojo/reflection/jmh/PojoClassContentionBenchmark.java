@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.cache.PojoCache;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Starts 64 threads at once on an empty {@link PojoCache}, all looking up the same classes, each iteration is one such
+ * round. The pojoClasses counter reports how many distinct PojoClass instances were handed out, one per class when
+ * construction is single flight.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Threads(64)
+@Fork(1)
+public class PojoClassContentionBenchmark {
+  private static final String SAMPLE_PACKAGE = "com.openpojo.reflection.impl.sample.classes";
+
+  private List<Class<?>> classes;
+  private Map<Class<?>, Set<Integer>> instances;
+
+  @Setup
+  public void setUp() {
+    classes = new ArrayList<Class<?>>();
+    for (PojoClass pojoClass : PojoClassFactory.getPojoClasses(SAMPLE_PACKAGE))
+      classes.add(pojoClass.getClazz());
+  }
+
+  @Setup(Level.Iteration)
+  public void clearCache() {
+    PojoCache.clear();
+    instances = new ConcurrentHashMap<Class<?>, Set<Integer>>();
+    for (Class<?> clazz : classes)
+      instances.put(clazz, ConcurrentHashMap.<Integer>newKeySet());
+  }
+
+  @Benchmark
+  public void lookUpOnEmptyCache(final Instances handedOut) {
+    for (Class<?> clazz : classes)
+      if (instances.get(clazz).add(System.identityHashCode(PojoClassFactory.getPojoClass(clazz))))
+        handedOut.pojoClasses++;
+  }
+
+  /**
+   * The distinct PojoClass instances each thread was the first to see, summed over the threads they are the distinct
+   * instances handed out during the iteration.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Instances {
+    public long pojoClasses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      pojoClasses = 0;
+    }
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.openpojo.reflection.PojoField;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Reads a primitive field of every type through {@link Field#get(Object)}, the typed {@link Field} accessors,
+ * {@link PojoField#get(Object)} and the typed {@link PojoField} accessors, run with the GC profiler to compare
+ * allocations per read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PojoFieldAccessBenchmark {
+  @Param
+  private PrimitiveType type;
+
+  private Holder holder;
+  private Field field;
+  private PojoField pojoField;
+
+  @Setup
+  public void setUp() throws NoSuchFieldException {
+    holder = new Holder();
+    final String name = type.name().toLowerCase() + "Value";
+    field = Holder.class.getDeclaredField(name);
+    field.setAccessible(true);
+    for (PojoField candidate : PojoClassFactory.getPojoClass(Holder.class).getPojoFields())
+      if (candidate.getName().equals(name))
+        pojoField = candidate;
+  }
+
+  @Benchmark
+  public Object fieldGet() throws IllegalAccessException {
+    return field.get(holder);
+  }
+
+  @Benchmark
+  public void fieldTypedGet(Blackhole blackhole) throws IllegalAccessException {
+    switch (type) {
+      case BOOLEAN:
+        blackhole.consume(field.getBoolean(holder));
+        break;
+      case BYTE:
+        blackhole.consume(field.getByte(holder));
+        break;
+      case CHAR:
+        blackhole.consume(field.getChar(holder));
+        break;
+      case SHORT:
+        blackhole.consume(field.getShort(holder));
+        break;
+      case INT:
+        blackhole.consume(field.getInt(holder));
+        break;
+      case LONG:
+        blackhole.consume(field.getLong(holder));
+        break;
+      case FLOAT:
+        blackhole.consume(field.getFloat(holder));
+        break;
+      case DOUBLE:
+        blackhole.consume(field.getDouble(holder));
+        break;
+    }
+  }
+
+  @Benchmark
+  public Object pojoFieldGet() {
+    return pojoField.get(holder);
+  }
+
+  @Benchmark
+  public void pojoFieldTypedGet(Blackhole blackhole) {
+    switch (type) {
+      case BOOLEAN:
+        blackhole.consume(pojoField.getBoolean(holder));
+        break;
+      case BYTE:
+        blackhole.consume(pojoField.getByte(holder));
+        break;
+      case CHAR:
+        blackhole.consume(pojoField.getChar(holder));
+        break;
+      case SHORT:
+        blackhole.consume(pojoField.getShort(holder));
+        break;
+      case INT:
+        blackhole.consume(pojoField.getInt(holder));
+        break;
+      case LONG:
+        blackhole.consume(pojoField.getLong(holder));
+        break;
+      case FLOAT:
+        blackhole.consume(pojoField.getFloat(holder));
+        break;
+      case DOUBLE:
+        blackhole.consume(pojoField.getDouble(holder));
+        break;
+    }
+  }
+
+  public enum PrimitiveType {
+    BOOLEAN, BYTE, CHAR, SHORT, INT, LONG, FLOAT, DOUBLE
+  }
+
+  @SuppressWarnings("unused")
+  public static class Holder {
+    private boolean booleanValue;
+    private byte byteValue;
+    private char charValue;
+    private short shortValue;
+    private int intValue;
+    private long longValue;
+    private float floatValue;
+    private double doubleValue;
+  }
+}
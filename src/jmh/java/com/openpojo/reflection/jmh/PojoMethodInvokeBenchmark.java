@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.PojoField;
+import com.openpojo.reflection.PojoMethod;
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Measures calling getters, setters and constructors through {@link PojoMethod#invoke(Object, Object...)}, and
+ * copying a bean with {@link PojoClass#copy(Object, Object)}, the calls the getter and setter testers repeat for
+ * every field they validate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PojoMethodInvokeBenchmark {
+  private PojoClass pojoClass;
+  private PojoField name;
+  private PojoField count;
+  private PojoMethod constructor;
+  private Bean from;
+  private Bean to;
+
+  @Setup
+  public void setUp() {
+    pojoClass = PojoClassFactory.getPojoClass(Bean.class);
+    name = pojoClass.getPojoFields().get(0);
+    count = pojoClass.getPojoFields().get(1);
+    constructor = pojoClass.getPojoConstructors().get(0);
+    from = new Bean();
+    from.setName("name");
+    from.setCount(42);
+    to = new Bean();
+  }
+
+  @Benchmark
+  public Object invokeGetter() {
+    return name.invokeGetter(from);
+  }
+
+  @Benchmark
+  public int invokeSetter() {
+    count.invokeSetter(to, 7);
+    return to.getCount();
+  }
+
+  @Benchmark
+  public Object invokeConstructor() {
+    return constructor.invoke(null);
+  }
+
+  @Benchmark
+  public int copy() {
+    pojoClass.copy(from, to);
+    return to.getCount();
+  }
+
+  @SuppressWarnings("unused")
+  public static class Bean {
+    private String name;
+    private int count;
+    private boolean active;
+    private Long identifier;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+
+    public void setActive(boolean active) {
+      this.active = active;
+    }
+
+    public Long getIdentifier() {
+      return identifier;
+    }
+
+    public void setIdentifier(Long identifier) {
+      this.identifier = identifier;
+    }
+  }
+}
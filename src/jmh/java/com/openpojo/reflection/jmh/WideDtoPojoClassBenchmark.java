@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.openpojo.reflection.impl.PojoClassFactory;
+
+/**
+ * Measures {@link PojoClassFactory#getPojoClass(Class)} on a generated DTO with as many fields as the fields parameter,
+ * each with a getter and a setter. Every operation loads a fresh copy of the DTO in its own class loader, so nothing
+ * is cached from the previous one, loading the class alone is measured too for reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WideDtoPojoClassBenchmark {
+  private static final String DTO_NAME = "WideDto";
+  private static final String[] FIELD_TYPES = { "String", "int", "boolean", "Long", "double" };
+
+  @Param({ "250" })
+  private int fields;
+
+  private Path directory;
+  private URL[] classPath;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("wide-dto");
+    final Path source = directory.resolve(DTO_NAME + ".java");
+    Files.write(source, generateDto().getBytes(StandardCharsets.UTF_8));
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler.run(null, null, null, "-d", directory.toString(), source.toString()) != 0)
+      throw new IllegalStateException("Failed to compile " + source);
+    classPath = new URL[] { directory.toUri().toURL() };
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    for (File file : directory.toFile().listFiles())
+      Files.delete(file.toPath());
+    Files.delete(directory);
+  }
+
+  @Benchmark
+  public Class<?> loadDto() {
+    return loadDto(classPath);
+  }
+
+  @Benchmark
+  public int loadDtoAndGetPojoClass() {
+    return PojoClassFactory.getPojoClass(loadDto(classPath)).getPojoFields().size();
+  }
+
+  private static Class<?> loadDto(final URL[] classPath) {
+    try {
+      return new URLClassLoader(classPath, null).loadClass(DTO_NAME);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private String generateDto() {
+    final StringBuilder dto = new StringBuilder("public class " + DTO_NAME + " {\n");
+    for (int i = 0; i < fields; i++) {
+      final String type = FIELD_TYPES[i % FIELD_TYPES.length];
+      final String name = "field" + i;
+      final String property = "Field" + i;
+      dto.append("  private ").append(type).append(' ').append(name).append(";\n");
+      dto.append("  public ").append(type).append(type.equals("boolean") ? " is" : " get").append(property)
+          .append("() { return ").append(name).append("; }\n");
+      dto.append("  public void set").append(property).append('(').append(type).append(" value) { ").append(name)
+          .append(" = value; }\n");
+    }
+    return dto.append("}\n").toString();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+/**
+ * A 128 bit fingerprint of an object's business keys, as returned by {@link BusinessIdentity#fingerprint128(Object)}.
+ * The high 64 bits are the 64 bit fingerprint returned by {@link BusinessIdentity#fingerprint(Object)}.
+ */
+public final class BusinessFingerprint {
+  private final long high;
+  private final long low;
+
+  public BusinessFingerprint(final long high, final long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  public long getHigh() {
+    return high;
+  }
+
+  public long getLow() {
+    return low;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other)
+      return true;
+    if (!(other instanceof BusinessFingerprint))
+      return false;
+    final BusinessFingerprint fingerprint = (BusinessFingerprint) other;
+    return high == fingerprint.high && low == fingerprint.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (high ^ (high >>> 32));
+  }
+
+  /**
+   * @return The fingerprint as 32 lower case hex digits, high bits first.
+   */
+  @Override
+  public String toString() {
+    return String.format("%016x%016x", high, low);
+  }
+}
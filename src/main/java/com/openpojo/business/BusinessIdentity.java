@@ -18,8 +18,23 @@
 
 package com.openpojo.business;
 
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.AppendingIdentityHandler;
 import com.openpojo.business.identity.IdentityFactory;
+import com.openpojo.business.identity.IdentityHandler;
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.cache.BusinessKeyPlan;
+import com.openpojo.business.identity.ValidatingIdentityHandler;
+import com.openpojo.business.metrics.IdentityMetrics;
+import com.openpojo.business.metrics.IdentityOperation;
 import com.openpojo.business.utils.BusinessIdentityUtils;
+import com.openpojo.business.utils.BusinessKeyFingerprint;
+import com.openpojo.business.utils.BusinessPojoHelper;
 
 /**
  * This is the entry point and the main class to use for all your business evaluation, hashCode generation,
@@ -54,13 +69,15 @@ public final class BusinessIdentity {
    * @return True if both objects are equal, false otherwise.  if either of those objects is null, equality is false.
    */
   public static boolean areEqual(final Object first, final Object second) {
-    if (BusinessIdentityUtils.anyNull(first, second) || !BusinessIdentityUtils.sameClass(first, second)) {
-      return false;
-    }
+    if (!IdentityMetrics.isEnabled())
+      return evaluateEquality(first, second);
 
-    IdentityFactory.getIdentityHandler(first).validate(first);
-    IdentityFactory.getIdentityHandler(second).validate(second);
-    return IdentityFactory.getIdentityHandler(first).areEqual(first, second);
+    final long begin = IdentityMetrics.begin();
+    try {
+      return evaluateEquality(first, second);
+    } finally {
+      IdentityMetrics.end(IdentityOperation.EQUALS, first, begin);
+    }
   }
 
   /**
@@ -71,15 +88,288 @@ public final class BusinessIdentity {
    * @return Generated hash code.
    */
   public static int getHashCode(final Object object) {
-    IdentityFactory.getIdentityHandler(object).validate(object);
-    return IdentityFactory.getIdentityHandler(object).generateHashCode(object);
+    if (!IdentityMetrics.isEnabled())
+      return generateHashCode(object);
+
+    final long begin = IdentityMetrics.begin();
+    try {
+      return generateHashCode(object);
+    } finally {
+      IdentityMetrics.end(IdentityOperation.HASH_CODE, object, begin);
+    }
   }
 
   public static String toString(final Object instance) {
+    if (!IdentityMetrics.isEnabled())
+      return render(instance);
+
+    final long begin = IdentityMetrics.begin();
+    try {
+      return render(instance);
+    } finally {
+      IdentityMetrics.end(IdentityOperation.TO_STRING, instance, begin);
+    }
+  }
+
+  /**
+   * This method appends the same text as {@link #toString(Object)} to the given builder.
+   *
+   * @param instance
+   *     The object to render.
+   * @param builder
+   *     The builder to append to.
+   * @return The builder passed in.
+   */
+  public static StringBuilder toString(final Object instance, final StringBuilder builder) {
+    try {
+      toString(instance, (Appendable) builder);
+    } catch (IOException e) {
+      throw new IllegalStateException("StringBuilder doesn't throw IOException", e);
+    }
+    return builder;
+  }
+
+  /**
+   * This method appends the same text as {@link #toString(Object)} to the given appendable, handlers implementing
+   * {@link AppendingIdentityHandler} write to it directly without building an intermediate String.
+   *
+   * @param instance
+   *     The object to render.
+   * @param appendable
+   *     Where to append the rendered object.
+   * @throws IOException
+   *     If the appendable fails.
+   */
+  public static void toString(final Object instance, final Appendable appendable) throws IOException {
+    if (!IdentityMetrics.isEnabled()) {
+      appendTo(instance, appendable);
+      return;
+    }
+
+    final long begin = IdentityMetrics.begin();
+    try {
+      appendTo(instance, appendable);
+    } finally {
+      IdentityMetrics.end(IdentityOperation.TO_STRING, instance, begin);
+    }
+  }
+
+  /**
+   * This method returns a comparator that orders objects on their business key fields, in declaration order.
+   * Values are ordered with the same null and case sensitivity rules used for equality, null values and null objects
+   * order first, see {@link BusinessIdentityUtils#compare(Object, Object, boolean)}.
+   * <br>
+   * The comparator is consistent with {@link #areEqual(Object, Object)} for objects that pass business validation only
+   * when the natural ordering of every business key type is consistent with its equals, e.g. BigDecimal("1.0") and
+   * BigDecimal("1.00") order the same but aren't equal. Objects aren't validated while being compared.
+   *
+   * @param clazz
+   *     The class whose business keys to order on.
+   * @param <T>
+   *     The type of objects to order.
+   * @return A comparator over the business keys of clazz.
+   */
+  public static <T> Comparator<T> comparator(final Class<T> clazz) {
+    return new BusinessKeyComparator<T>(BusinessPojoHelper.getBusinessKeyPlan(clazz));
+  }
+
+  /**
+   * This method reads the business keys of each object once into a {@link BusinessSortKey}, which orders the same
+   * way as {@link #comparator(Class)} without reflection.
+   *
+   * @param clazz
+   *     The class whose business keys to read.
+   * @param objects
+   *     The objects to read the keys of, may contain nulls.
+   * @param <T>
+   *     The type of the objects.
+   * @return The sort keys, in the same order as the objects.
+   */
+  public static <T> BusinessSortKey<T>[] sortKeys(final Class<T> clazz, final T[] objects) {
+    final BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(clazz);
+    @SuppressWarnings("unchecked")
+    final BusinessSortKey<T>[] sortKeys = (BusinessSortKey<T>[]) new BusinessSortKey<?>[objects.length];
+    for (int i = 0; i < objects.length; i++) {
+      final Object[] sortKey = objects[i] == null ? null : businessKeyPlan.getSortKey(objects[i]);
+      sortKeys[i] = new BusinessSortKey<T>(objects[i], sortKey);
+    }
+    return sortKeys;
+  }
+
+  /**
+   * This method sorts objects on their business keys in the order of {@link #comparator(Class)}, reading each
+   * object's keys once. The sort is stable and null objects go first.
+   *
+   * @param clazz
+   *     The class whose business keys to order on.
+   * @param objects
+   *     The objects to sort, in place.
+   * @param <T>
+   *     The type of the objects.
+   */
+  public static <T> void sort(final Class<T> clazz, final T[] objects) {
+    BusinessSortKey.sort(sortKeys(clazz, objects), objects, false);
+  }
+
+  /**
+   * This method sorts objects the same way as {@link #sort(Class, Object[])}, splitting the work over the common
+   * fork join pool for large arrays.
+   *
+   * @param clazz
+   *     The class whose business keys to order on.
+   * @param objects
+   *     The objects to sort, in place.
+   * @param <T>
+   *     The type of the objects.
+   */
+  public static <T> void parallelSort(final Class<T> clazz, final T[] objects) {
+    BusinessSortKey.sort(sortKeys(clazz, objects), objects, true);
+  }
+
+  /**
+   * This method removes business identity duplicates from a collection, it returns the same objects, in the same
+   * order, as adding them to a {@link java.util.LinkedHashSet} would if their equals and hashCode delegated to
+   * {@link #areEqual(Object, Object)} and {@link #getHashCode(Object)}.
+   * <br>
+   * Each object is validated and hashed once, in parallel for large collections, and objects are only compared when
+   * their hashes are equal. Large collections are processed on the fork join pool the call is made from, or the common
+   * pool otherwise, so the parallelism can be chosen by calling from within a dedicated pool.
+   *
+   * @param objects
+   *     The objects to deduplicate, may contain nulls.
+   * @param <T>
+   *     The type of the objects.
+   * @return The first occurrence of each distinct object, in encounter order.
+   */
+  public static <T> List<T> distinct(final Collection<? extends T> objects) {
+    return new DistinctIndex<T>(objects).distinct();
+  }
+
+  /**
+   * This method groups the objects of a collection with their business identity duplicates, the same way as
+   * {@link #distinct(Collection)} finds them.
+   *
+   * @param objects
+   *     The objects to group, may contain nulls.
+   * @param <T>
+   *     The type of the objects.
+   * @return One group per distinct object, groups are ordered by their first object and each group holds its objects in
+   * encounter order.
+   */
+  public static <T> List<List<T>> groupBy(final Collection<? extends T> objects) {
+    return new DistinctIndex<T>(objects).groups();
+  }
+
+  /**
+   * This method returns a 64 bit fingerprint of an object's business keys, that stays the same across JVMs and
+   * releases, unlike {@link #getHashCode(Object)}. Objects that are equal by {@link #areEqual(Object, Object)} have the
+   * same fingerprint, different objects have different ones with very high probability.
+   * <br>
+   * The fingerprint is computed over the business key values in declaration order, the field names aren't part of it,
+   * see {@link BusinessKeyFingerprint} for the encoding.
+   *
+   * @param object
+   *     The object to fingerprint.
+   * @return The 64 bit fingerprint, the high bits of {@link #fingerprint128(Object)}.
+   */
+  public static long fingerprint(final Object object) {
+    return fingerprintOf(object).getFingerprint64();
+  }
+
+  /**
+   * This method returns the 128 bit fingerprint of an object's business keys, see {@link #fingerprint(Object)}.
+   *
+   * @param object
+   *     The object to fingerprint.
+   * @return The 128 bit fingerprint.
+   */
+  public static BusinessFingerprint fingerprint128(final Object object) {
+    final long[] fingerprint = fingerprintOf(object).getFingerprint128();
+    return new BusinessFingerprint(fingerprint[0], fingerprint[1]);
+  }
+
+  private static BusinessKeyFingerprint fingerprintOf(final Object object) {
+    if (object == null)
+      throw BusinessException.getInstance("null parameter passed object=[null]");
+    IdentityFactory.getIdentityHandler(object).validate(object);
+
+    final List<BusinessKeyField> businessKeyFields = BusinessPojoHelper.getBusinessKeyPlan(object.getClass())
+        .getBusinessKeyFields();
+    final BusinessKeyFingerprint fingerprint = new BusinessKeyFingerprint(businessKeyFields.size());
+    for (BusinessKeyField businessKeyField : businessKeyFields)
+      fingerprint.addValue(businessKeyField.get(object), businessKeyField.isCaseSensitive());
+    return fingerprint;
+  }
+
+  private static boolean evaluateEquality(final Object first, final Object second) {
+    if (BusinessIdentityUtils.anyNull(first, second) || !BusinessIdentityUtils.sameClass(first, second)) {
+      return false;
+    }
+
+    if (IdentityMetrics.isEnabled()) {
+      IdentityMetrics.count(IdentityOperation.VALIDATE, first);
+      IdentityMetrics.count(IdentityOperation.VALIDATE, second);
+    }
+    final IdentityHandler identityHandler = IdentityFactory.getIdentityHandler(first);
+    final IdentityHandler secondIdentityHandler = getIdentityHandlerForSameClass(identityHandler, second);
+    if (secondIdentityHandler == identityHandler && identityHandler instanceof ValidatingIdentityHandler)
+      return ((ValidatingIdentityHandler) identityHandler).validateAndCompare(first, second);
+
+    identityHandler.validate(first);
+    secondIdentityHandler.validate(second);
+    return identityHandler.areEqual(first, second);
+  }
+
+  private static int generateHashCode(final Object object) {
+    if (IdentityMetrics.isEnabled())
+      IdentityMetrics.count(IdentityOperation.VALIDATE, object);
+    final IdentityHandler identityHandler = IdentityFactory.getIdentityHandler(object);
+    identityHandler.validate(object);
+    return identityHandler.generateHashCode(object);
+  }
+
+  private static String render(final Object instance) {
     return IdentityFactory.getIdentityHandler(instance).toString(instance);
   }
 
+  private static void appendTo(final Object instance, final Appendable appendable) throws IOException {
+    final IdentityHandler identityHandler = IdentityFactory.getIdentityHandler(instance);
+    if (identityHandler instanceof AppendingIdentityHandler)
+      ((AppendingIdentityHandler) identityHandler).toString(instance, appendable);
+    else
+      appendable.append(identityHandler.toString(instance));
+  }
+
+  /**
+   * A handler the factory resolved for the class as a whole holds for every other instance of the same class, any
+   * other handler, even a class scoped one reached behind a per instance handler, has to be asked about each instance.
+   */
+  private static IdentityHandler getIdentityHandlerForSameClass(final IdentityHandler identityHandler,
+                                                                final Object sameClassInstance) {
+    if (identityHandler == IdentityFactory.getClassScopedIdentityHandler(sameClassInstance.getClass()))
+      return identityHandler;
+    return IdentityFactory.getIdentityHandler(sameClassInstance);
+  }
+
   private BusinessIdentity() {
     throw new UnsupportedOperationException(BusinessIdentity.class.getName() + " should not be constructed!");
   }
+
+  private static class BusinessKeyComparator<T> implements Comparator<T> {
+    private final BusinessKeyPlan businessKeyPlan;
+
+    private BusinessKeyComparator(final BusinessKeyPlan businessKeyPlan) {
+      this.businessKeyPlan = businessKeyPlan;
+    }
+
+    public int compare(final T first, final T second) {
+      if (first == second)
+        return 0;
+      if (first == null)
+        return -1;
+      if (second == null)
+        return 1;
+      return businessKeyPlan.compare(first, second);
+    }
+  }
 }
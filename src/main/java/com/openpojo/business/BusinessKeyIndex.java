@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.openpojo.business.exception.BusinessException;
+
+/**
+ * An index of business keyed objects, for looking them up by their business identity with far less memory than a
+ * {@link java.util.HashMap} or {@link java.util.HashSet}.
+ * <br>
+ * The index is an open addressing, linear probing table held in a single long array, each slot packs the object's
+ * business hash code with its position in a parallel array of objects, so there are no entry objects and no boxed
+ * hashes. A slot costs 8 bytes and the table is kept at most 3/4 full, an indexed object costs between about 15 and
+ * 30 bytes (with compressed references) on top of the object itself, depending on how recently the table grew, where a
+ * HashMap spends about 40.
+ * <br>
+ * Hash codes are computed with {@link BusinessIdentity#getHashCode(Object)}, which also validates the objects, and
+ * objects with equal hash codes are resolved with their identity handler's
+ * {@link com.openpojo.business.identity.IdentityHandler#areEqual(Object, Object)}. Growing the table reuses the stored
+ * hash codes, objects are hashed exactly once when added.
+ * <br>
+ * <strong>Concurrency:</strong> Lookups never block and may run on any number of threads while another thread adds
+ * or removes objects, a lookup sees every change that completed before it started. Changes are serialized on the index.
+ *
+ * @param <T>
+ *     The type of the indexed objects.
+ */
+public final class BusinessKeyIndex<T> {
+  private static final int MINIMUM_CAPACITY = 16;
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+  private static final int HASH_SPREAD = 0x9E3779B9;
+  private static final long EMPTY = 0L;
+  private static final int REMOVED = -2;
+  private static final long REMOVED_ENTRY = (REMOVED + 1L) & 0xFFFFFFFFL;
+
+  private volatile Table table;
+  private volatile int size;
+
+  public BusinessKeyIndex() {
+    this(0);
+  }
+
+  /**
+   * @param expectedSize
+   *     The number of objects to size the index for, the index grows past it as needed.
+   */
+  public BusinessKeyIndex(final int expectedSize) {
+    if (expectedSize < 0)
+      throw BusinessException.getInstance(String.format("expectedSize can't be negative [%s]", expectedSize));
+    table = new Table(capacityFor(expectedSize));
+  }
+
+  /**
+   * @return The number of indexed objects.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * This method looks up the indexed object with the same business identity as the probe.
+   *
+   * @param probe
+   *     An object holding the business keys to look up.
+   * @return The indexed object equal to the probe, or null if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  public T get(final Object probe) {
+    final int hash = hash(probe);
+    final Table current = table;
+    for (int slot = current.slot(hash); ; slot = (slot + 1) & current.mask) {
+      final long entry = current.entries.get(slot);
+      if (entry == EMPTY)
+        return null;
+      if (hashOf(entry) == hash) {
+        final int position = positionOf(entry);
+        if (position != REMOVED) {
+          final Object candidate = current.objects.get(position);
+          if (candidate != null && DistinctIndex.same(probe, candidate))
+            return (T) candidate;
+        }
+      }
+    }
+  }
+
+  /**
+   * @param probe
+   *     An object holding the business keys to look up.
+   * @return True if an object with the same business identity as the probe is indexed.
+   */
+  public boolean contains(final Object probe) {
+    return get(probe) != null;
+  }
+
+  /**
+   * This method indexes an object, unless an object with the same business identity is already indexed.
+   *
+   * @param object
+   *     The object to index.
+   * @return The already indexed object with the same business identity, or null if the object was added.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized T add(final T object) {
+    final int hash = hash(object);
+    Table current = table;
+    int free = -1;
+    int slot = current.slot(hash);
+    for (; ; slot = (slot + 1) & current.mask) {
+      final long entry = current.entries.get(slot);
+      if (entry == EMPTY)
+        break;
+      final int position = positionOf(entry);
+      if (position == REMOVED) {
+        if (free < 0)
+          free = slot;
+      } else if (hashOf(entry) == hash) {
+        final Object candidate = current.objects.get(position);
+        if (DistinctIndex.same(object, candidate))
+          return (T) candidate;
+      }
+    }
+
+    if (current.used == current.objects.length()) {
+      current = grow(current);
+      table = current;
+      free = -1;
+      slot = current.slot(hash);
+      while (current.entries.get(slot) != EMPTY)
+        slot = (slot + 1) & current.mask;
+    }
+    current.insert(free < 0 ? slot : free, hash, object);
+    size = size + 1;
+    return null;
+  }
+
+  /**
+   * This method removes the indexed object with the same business identity as the probe.
+   *
+   * @param probe
+   *     An object holding the business keys to remove.
+   * @return The removed object, or null if there was none.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized T remove(final Object probe) {
+    final int hash = hash(probe);
+    final Table current = table;
+    for (int slot = current.slot(hash); ; slot = (slot + 1) & current.mask) {
+      final long entry = current.entries.get(slot);
+      if (entry == EMPTY)
+        return null;
+      final int position = positionOf(entry);
+      if (position != REMOVED && hashOf(entry) == hash) {
+        final Object candidate = current.objects.get(position);
+        if (DistinctIndex.same(probe, candidate)) {
+          current.entries.set(slot, REMOVED_ENTRY);
+          current.objects.set(position, null);
+          size = size - 1;
+          return (T) candidate;
+        }
+      }
+    }
+  }
+
+  private static int hash(final Object object) {
+    if (object == null)
+      throw BusinessException.getInstance("null parameter passed object=[null]");
+    return BusinessIdentity.getHashCode(object);
+  }
+
+  private static int hashOf(final long entry) {
+    return (int) (entry >>> 32);
+  }
+
+  private static int positionOf(final long entry) {
+    return (int) entry - 1;
+  }
+
+  /**
+   * A new table sized for twice the live objects, holding them at the start of its object array, removed objects
+   * are dropped.
+   */
+  private Table grow(final Table current) {
+    final int capacity = capacityFor(Math.max(size * 2, size + 1));
+    if (size >= capacity - capacity / 4)
+      throw BusinessException.getInstance(String.format("BusinessKeyIndex can't hold more than [%s] objects", size));
+
+    final Table grown = new Table(capacity);
+    for (int slot = 0; slot < current.entries.length(); slot++) {
+      final long entry = current.entries.get(slot);
+      final int position = positionOf(entry);
+      if (entry == EMPTY || position == REMOVED)
+        continue;
+
+      final int hash = hashOf(entry);
+      int grownSlot = grown.slot(hash);
+      while (grown.entries.get(grownSlot) != EMPTY)
+        grownSlot = (grownSlot + 1) & grown.mask;
+      grown.insert(grownSlot, hash, current.objects.get(position));
+    }
+    return grown;
+  }
+
+  /**
+   * @return The smallest power of two table capacity that holds the objects at most 3/4 full.
+   */
+  private static int capacityFor(final int objects) {
+    final long needed = Math.max(MINIMUM_CAPACITY, ((long) objects * 4 + 2) / 3);
+    return needed >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+  }
+
+  /**
+   * One generation of the index, replaced as a whole when it grows. Objects are only ever appended to its object
+   * array, each at a position of its own, and an object is stored before the slot pointing at it so readers always
+   * find it.
+   */
+  private static class Table {
+    private final AtomicLongArray entries;
+    private final AtomicReferenceArray<Object> objects;
+    private final int mask;
+    private final int shift;
+    private int used;
+
+    private Table(final int capacity) {
+      entries = new AtomicLongArray(capacity);
+      objects = new AtomicReferenceArray<Object>(capacity - capacity / 4);
+      mask = capacity - 1;
+      shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(final int hash) {
+      return shift == 32 ? 0 : (hash * HASH_SPREAD) >>> shift;
+    }
+
+    private void insert(final int slot, final int hash, final Object object) {
+      final int position = used++;
+      objects.set(position, object);
+      entries.set(slot, (long) hash << 32 | (position + 1L));
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * The business key values of an object, read once and normalized so that ordering two sort keys takes no reflection
+ * and no case folding.
+ * <br>
+ * Sort keys are created through {@link BusinessIdentity#sortKeys(Class, Object[])} and order the same way
+ * {@link BusinessIdentity#comparator(Class)} orders their source objects, with null sources first. Sorting an array of
+ * them with {@link java.util.Arrays#sort(Object[])} or {@link java.util.Arrays#parallelSort(Comparable[])} and then
+ * reading the sources back is much cheaper for large arrays than sorting the objects with the comparator.
+ * <br>
+ * The first key value is also packed into a long when it is a Long, Integer, Short, Byte or String (its first four
+ * UTF-16 units), most comparisons are settled on those longs alone without reading the key values.
+ * <br>
+ * <strong>Note:</strong> This ordering is inconsistent with equals, sort keys use identity equality.
+ *
+ * @param <T>
+ *     The type of the source object.
+ */
+public final class BusinessSortKey<T> implements Comparable<BusinessSortKey<T>> {
+  private static final int NO_PREFIX = 0;
+  private static final int TEXT_PREFIX = 1;
+  private static final int LONG_PREFIX = 2;
+  private static final int INTEGER_PREFIX = 3;
+  private static final int SHORT_PREFIX = 4;
+  private static final int BYTE_PREFIX = 5;
+  private static final int TEXT_PREFIX_UNITS = 4;
+  private static final int INSERTION_SORT_THRESHOLD = 32;
+  private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+  private final T source;
+  private final Object[] key;
+  private final int prefixKind;
+  private final long prefix;
+
+  BusinessSortKey(final T source, final Object[] key) {
+    this.source = source;
+    this.key = key;
+
+    final Object first = key == null || key.length == 0 ? null : key[0];
+    prefixKind = prefixKind(first);
+    if (prefixKind == TEXT_PREFIX)
+      prefix = textPrefix((String) first) ^ Long.MIN_VALUE;
+    else if (prefixKind != NO_PREFIX)
+      prefix = ((Number) first).longValue();
+    else
+      prefix = 0;
+  }
+
+  /**
+   * @return The object this sort key was read from.
+   */
+  public T getSource() {
+    return source;
+  }
+
+  public int compareTo(final BusinessSortKey<T> other) {
+    if (key == other.key)
+      return 0;
+    if (key == null)
+      return -1;
+    if (other.key == null)
+      return 1;
+
+    if (prefixKind != NO_PREFIX && prefixKind == other.prefixKind) {
+      final int result = Long.compare(prefix, other.prefix);
+      if (result != 0)
+        return result;
+    }
+
+    for (int i = 0; i < key.length; i++) {
+      final Object first = key[i];
+      final Object second = other.key[i];
+      final int result;
+      if (first instanceof String && second instanceof String)
+        result = ((String) first).compareTo((String) second);
+      else
+        result = BusinessIdentityUtils.compare(first, second, true);
+      if (result != 0)
+        return result;
+    }
+    return 0;
+  }
+
+  /**
+   * Prefixes are only compared between values of the same class, the same as their compareTo would.
+   */
+  private static int prefixKind(final Object value) {
+    if (value instanceof String)
+      return TEXT_PREFIX;
+    if (value instanceof Long)
+      return LONG_PREFIX;
+    if (value instanceof Integer)
+      return INTEGER_PREFIX;
+    if (value instanceof Short)
+      return SHORT_PREFIX;
+    if (value instanceof Byte)
+      return BYTE_PREFIX;
+    return NO_PREFIX;
+  }
+
+  /**
+   * The first units of the text, zero padded, ordered unsigned the way {@link String#compareTo(String)} compares them.
+   * Zero is the smallest unit so padding orders shorter text first, prefixes that are equal leave the order to the full
+   * text.
+   */
+  private static long textPrefix(final String text) {
+    long packed = 0;
+    for (int i = 0; i < TEXT_PREFIX_UNITS; i++)
+      packed = packed << Character.SIZE | (i < text.length() ? text.charAt(i) : 0);
+    return packed;
+  }
+
+  /**
+   * Sorts objects by their sort keys, stable and with null objects first.
+   * <br>
+   * When every non null sort key carries the same kind of prefix, the prefixes are sorted in a long[] along with an
+   * int[] of positions, so comparisons read two adjacent primitive arrays instead of chasing a pair of objects each,
+   * and the sort keys are only consulted when prefixes tie. Otherwise the sort keys themselves are sorted.
+   */
+  static <T> void sort(final BusinessSortKey<T>[] sortKeys, final T[] objects, final boolean parallel) {
+    final int prefixKind = commonPrefixKind(sortKeys);
+    if (prefixKind == NO_PREFIX) {
+      if (parallel)
+        Arrays.parallelSort(sortKeys);
+      else
+        Arrays.sort(sortKeys);
+      for (int i = 0; i < sortKeys.length; i++)
+        objects[i] = sortKeys[i].getSource();
+      return;
+    }
+
+    int nulls = 0;
+    for (int i = 0; i < sortKeys.length; i++) {
+      if (sortKeys[i].getSource() == null)
+        objects[nulls++] = null;
+    }
+
+    final int length = sortKeys.length - nulls;
+    final long[] prefixes = new long[length];
+    final int[] positions = new int[length];
+    for (int i = 0, k = 0; i < sortKeys.length; i++) {
+      if (sortKeys[i].getSource() != null) {
+        prefixes[k] = sortKeys[i].prefix;
+        positions[k++] = i;
+      }
+    }
+
+    final MergeSort<T> mergeSort = new MergeSort<T>(sortKeys, prefixes, positions, prefixes.clone(), positions.clone(),
+        0, length, parallel);
+    if (parallel && length > PARALLEL_THRESHOLD)
+      ForkJoinPool.commonPool().invoke(mergeSort);
+    else
+      mergeSort.compute();
+
+    for (int k = 0; k < length; k++)
+      objects[nulls + k] = sortKeys[positions[k]].getSource();
+  }
+
+  /**
+   * @return The prefix kind shared by all non null sort keys, {@link #NO_PREFIX} if they don't share one.
+   */
+  private static int commonPrefixKind(final BusinessSortKey<?>[] sortKeys) {
+    int prefixKind = -1;
+    for (BusinessSortKey<?> sortKey : sortKeys) {
+      if (sortKey.getSource() == null)
+        continue;
+      if (prefixKind == -1)
+        prefixKind = sortKey.prefixKind;
+      else if (prefixKind != sortKey.prefixKind)
+        return NO_PREFIX;
+    }
+    return prefixKind == -1 ? NO_PREFIX : prefixKind;
+  }
+
+  /**
+   * A top down merge sort that alternates between the arrays and their copies, the result ends up in prefixes and
+   * positions.
+   */
+  private static class MergeSort<T> extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final BusinessSortKey<T>[] sortKeys;
+    private final long[] prefixes;
+    private final int[] positions;
+    private final long[] sourcePrefixes;
+    private final int[] sourcePositions;
+    private final int from;
+    private final int to;
+    private final boolean parallel;
+
+    private MergeSort(BusinessSortKey<T>[] sortKeys, long[] prefixes, int[] positions, long[] sourcePrefixes,
+                      int[] sourcePositions, int from, int to, boolean parallel) {
+      this.sortKeys = sortKeys;
+      this.prefixes = prefixes;
+      this.positions = positions;
+      this.sourcePrefixes = sourcePrefixes;
+      this.sourcePositions = sourcePositions;
+      this.from = from;
+      this.to = to;
+      this.parallel = parallel;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= INSERTION_SORT_THRESHOLD) {
+        insertionSort();
+        return;
+      }
+
+      final int middle = (from + to) >>> 1;
+      final MergeSort<T> left = new MergeSort<T>(sortKeys, sourcePrefixes, sourcePositions, prefixes, positions, from,
+          middle, parallel);
+      final MergeSort<T> right = new MergeSort<T>(sortKeys, sourcePrefixes, sourcePositions, prefixes, positions, middle,
+          to, parallel);
+      if (parallel && to - from > PARALLEL_THRESHOLD) {
+        invokeAll(left, right);
+      } else {
+        left.compute();
+        right.compute();
+      }
+
+      if (compare(sourcePrefixes[middle - 1], sourcePositions[middle - 1], sourcePrefixes[middle],
+          sourcePositions[middle]) <= 0) {
+        System.arraycopy(sourcePrefixes, from, prefixes, from, to - from);
+        System.arraycopy(sourcePositions, from, positions, from, to - from);
+        return;
+      }
+
+      for (int i = from, l = from, r = middle; i < to; i++) {
+        if (r >= to || l < middle
+            && compare(sourcePrefixes[l], sourcePositions[l], sourcePrefixes[r], sourcePositions[r]) <= 0) {
+          prefixes[i] = sourcePrefixes[l];
+          positions[i] = sourcePositions[l++];
+        } else {
+          prefixes[i] = sourcePrefixes[r];
+          positions[i] = sourcePositions[r++];
+        }
+      }
+    }
+
+    private void insertionSort() {
+      for (int i = from; i < to; i++) {
+        final long prefix = prefixes[i];
+        final int position = positions[i];
+        int k = i;
+        while (k > from && compare(prefixes[k - 1], positions[k - 1], prefix, position) > 0) {
+          prefixes[k] = prefixes[k - 1];
+          positions[k] = positions[k - 1];
+          k--;
+        }
+        prefixes[k] = prefix;
+        positions[k] = position;
+      }
+    }
+
+    private int compare(long firstPrefix, int firstPosition, long secondPrefix, int secondPosition) {
+      if (firstPrefix != secondPrefix)
+        return firstPrefix < secondPrefix ? -1 : 1;
+      return sortKeys[firstPosition].compareTo(sortKeys[secondPosition]);
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.openpojo.business.identity.IdentityFactory;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * Finds the business identity duplicates in a collection in bulk.
+ * <br>
+ * Every object is validated and hashed exactly once, through {@link BusinessIdentity#getHashCode(Object)}, in parallel
+ * on the fork join pool the call runs in (the common pool unless called from within another pool). The precomputed
+ * hashes are then split into partitions by their high bits, and each partition is indexed in parallel in its own open
+ * addressing table, holding positions into the collection. Objects are only compared when their hashes are equal.
+ * <br>
+ * Hashing, which is the bulk of the work, and indexing scale with the pool's parallelism; splitting the hashes into
+ * partitions and collecting the results are sequential passes over int arrays.
+ *
+ * @param <T>
+ *     The type of the objects.
+ */
+final class DistinctIndex<T> {
+  private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+  private static final int PARTITIONS_PER_THREAD = 4;
+  private static final int HASH_SPREAD = 0x9E3779B9;
+
+  private final Object[] objects;
+  private final int[] hashes;
+  private final int[] firstOccurrences;
+
+  DistinctIndex(final Collection<? extends T> collection) {
+    objects = collection.toArray();
+    hashes = new int[objects.length];
+    firstOccurrences = new int[objects.length];
+
+    final int partitionBits = partitionBits(objects.length);
+    if (partitionBits == 0) {
+      new HashTask(0, objects.length).compute();
+      final int[] positions = new int[objects.length];
+      for (int i = 0; i < positions.length; i++)
+        positions[i] = i;
+      new IndexTask(positions, 0, positions.length, 0).compute();
+    } else {
+      new HashTask(0, objects.length).invoke();
+      index(partitionBits);
+    }
+  }
+
+  /**
+   * @return The first occurrence of every distinct object, in the order they were encountered.
+   */
+  @SuppressWarnings("unchecked")
+  List<T> distinct() {
+    final List<T> distinct = new ArrayList<T>();
+    for (int i = 0; i < objects.length; i++) {
+      if (firstOccurrences[i] == i)
+        distinct.add((T) objects[i]);
+    }
+    return distinct;
+  }
+
+  /**
+   * @return The objects grouped with their duplicates, groups ordered by their first object's position and the
+   * objects in each group in the order they were encountered.
+   */
+  @SuppressWarnings("unchecked")
+  List<List<T>> groups() {
+    final List<List<T>> groups = new ArrayList<List<T>>();
+    final int[] groupIndexes = new int[objects.length];
+    for (int i = 0; i < objects.length; i++) {
+      final int firstOccurrence = firstOccurrences[i];
+      if (firstOccurrence == i) {
+        groupIndexes[i] = groups.size();
+        groups.add(new ArrayList<T>(1));
+      }
+      groups.get(groupIndexes[firstOccurrence]).add((T) objects[i]);
+    }
+    return groups;
+  }
+
+  /**
+   * @return The number of high hash bits that pick a partition, 0 to index everything on the calling thread.
+   */
+  private static int partitionBits(final int length) {
+    if (length < SEQUENTIAL_THRESHOLD)
+      return 0;
+
+    final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+    final int partitions = Math.min(pool.getParallelism() * PARTITIONS_PER_THREAD, length / SEQUENTIAL_THRESHOLD);
+    return 32 - Integer.numberOfLeadingZeros(Math.max(partitions, 2) - 1);
+  }
+
+  private void index(final int partitionBits) {
+    final int partitionCount = 1 << partitionBits;
+    final int[] partitionStarts = new int[partitionCount + 1];
+    for (int hash : hashes)
+      partitionStarts[partition(hash, partitionBits) + 1]++;
+    for (int partition = 0; partition < partitionCount; partition++)
+      partitionStarts[partition + 1] += partitionStarts[partition];
+
+    final int[] positions = new int[hashes.length];
+    final int[] next = Arrays.copyOf(partitionStarts, partitionCount);
+    for (int i = 0; i < hashes.length; i++)
+      positions[next[partition(hashes[i], partitionBits)]++] = i;
+
+    final List<IndexTask> tasks = new ArrayList<IndexTask>(partitionCount);
+    for (int partition = 0; partition < partitionCount; partition++)
+      tasks.add(new IndexTask(positions, partitionStarts[partition], partitionStarts[partition + 1], partitionBits));
+    ForkJoinTask.invokeAll(tasks);
+  }
+
+  private static int partition(final int hash, final int partitionBits) {
+    return (hash * HASH_SPREAD) >>> (32 - partitionBits);
+  }
+
+  /**
+   * Objects with equal hashes are the same if they're both null, or if they're of the same class and the identity
+   * handler finds them equal. Both have already been validated when they were hashed.
+   */
+  static boolean same(final Object first, final Object second) {
+    if (first == second)
+      return true;
+    if (BusinessIdentityUtils.anyNull(first, second) || !BusinessIdentityUtils.sameClass(first, second))
+      return false;
+    return IdentityFactory.getIdentityHandler(first).areEqual(first, second);
+  }
+
+  private class HashTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+
+    private HashTask(final int from, final int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= SEQUENTIAL_THRESHOLD) {
+        for (int i = from; i < to; i++)
+          hashes[i] = objects[i] == null ? 0 : BusinessIdentity.getHashCode(objects[i]);
+        return;
+      }
+
+      final int middle = (from + to) >>> 1;
+      invokeAll(new HashTask(from, middle), new HashTask(middle, to));
+    }
+  }
+
+  /**
+   * Indexes one partition's positions, in the order they were encountered, in a linear probing table of positions
+   * sized to at most half full. Slots are picked with the hash bits below the ones that picked the partition.
+   */
+  private class IndexTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] positions;
+    private final int from;
+    private final int to;
+    private final int partitionBits;
+
+    private IndexTask(final int[] positions, final int from, final int to, final int partitionBits) {
+      this.positions = positions;
+      this.from = from;
+      this.to = to;
+      this.partitionBits = partitionBits;
+    }
+
+    @Override
+    protected void compute() {
+      final int capacity = Integer.highestOneBit(Math.max(to - from, 1) * 2 - 1) << 1;
+      final int mask = capacity - 1;
+      final int[] table = new int[capacity];
+
+      for (int i = from; i < to; i++) {
+        final int position = positions[i];
+        final int hash = hashes[position];
+        int slot = (hash * HASH_SPREAD) << partitionBits >>> (32 - Integer.numberOfTrailingZeros(capacity)) & mask;
+        while (true) {
+          final int occupant = table[slot] - 1;
+          if (occupant < 0) {
+            table[slot] = position + 1;
+            firstOccurrences[position] = position;
+            break;
+          }
+          if (hashes[occupant] == hash && same(objects[occupant], objects[position])) {
+            firstOccurrences[position] = occupant;
+            break;
+          }
+          slot = (slot + 1) & mask;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * This annotation lets the order in which the {@link BusinessKey} fields of a class are compared adapt to the data.
+ * <br>
+ * By default fields are compared in declaration order and equality stops at the first field that differs. With this
+ * annotation, every comparison counts per field how often it was compared and how often it differed, and every
+ * {@link #reorderInterval()} comparisons the fields are reordered so the ones most likely to differ, relative to how
+ * expensive they are to compare (arrays and case insensitive fields cost more), are compared first.
+ * <br>
+ * Use it for classes whose discriminating key isn't declared first, i.e. a tenant id that almost always matches
+ * followed by a unique id. The counters can be inspected through
+ * {@link com.openpojo.business.cache.BusinessKeyPlan#getComparisonCount(com.openpojo.business.cache.BusinessKeyField)}
+ * and {@link com.openpojo.business.cache.BusinessKeyPlan#getMismatchCount(com.openpojo.business.cache.BusinessKeyField)}.
+ * <br>
+ * The outcome of equality and validation doesn't depend on the order, only the time it takes.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface AdaptiveBusinessKeyOrder {
+  /**
+   * The number of comparisons between reordering the fields.
+   *
+   * @return the number of comparisons between reorders, defaults to 1024.
+   */
+  int reorderInterval() default 1024;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * This annotation declares that the {@link BusinessKey} fields of a class never change once an instance is built.
+ * <br>
+ * For such classes the business hash code is computed once per instance and remembered, and two instances whose
+ * remembered hash codes differ are known to be unequal without comparing their fields.
+ * <br>
+ * <strong>hashCodeField usage:</strong><br>
+ * By default the hash codes are remembered outside of the instances, in a weak identity map that doesn't keep
+ * instances alive. A class that can spare a field may name a non-static int field to hold the hash code instead,
+ * which is much faster and is the better choice for instances held by the millions. That field should be transient and
+ * must not be a BusinessKey, a value of 0 means not yet computed.
+ * <br>
+ * <strong>Example:</strong><br>
+ * {@link ImmutableBusinessKeys}(hashCodeField = "businessHashCode")<br>
+ * private transient int businessHashCode;
+ * <br>
+ * Remembered hash codes are only trusted for instances that went through validation, i.e. were hashed through
+ * {@link com.openpojo.business.BusinessIdentity#getHashCode(Object)}, changing a key after that point is undefined.
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface ImmutableBusinessKeys {
+  /**
+   * The name of an int field declared by the class, or one of its super classes, to hold the hash code.
+   *
+   * @return the field to hold the hash code in, defaults to "" which keeps hash codes outside of the instances.
+   */
+  String hashCodeField() default "";
+}
@@ -18,39 +18,150 @@
 
 package com.openpojo.business.cache;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import com.openpojo.cache.CacheStorage;
-import com.openpojo.cache.CacheStorageFactory;
+import com.openpojo.business.annotation.AdaptiveBusinessKeyOrder;
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.annotation.ImmutableBusinessKeys;
+import com.openpojo.business.cache.impl.DefaultBusinessKeyField;
+import com.openpojo.business.cache.impl.FieldHashCodeMemo;
+import com.openpojo.business.cache.impl.WeakIdentityHashCodeMemo;
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.reflection.PojoField;
+import com.openpojo.reflection.impl.PojoFieldFactory;
+import com.openpojo.reflection.java.load.ClassUtil;
 
 /**
  * This is the Cache to hold references for BusinessPojoFields.
+ * <br>
+ * Entries are held per {@link Class} and are computed once, lookups take no locks and don't allocate. An entry is
+ * released together with its class, so classes loaded by discarded class loaders aren't pinned, and classes with the
+ * same name from different class loaders never share an entry.
  *
  * @author oshoukry
  */
 public class BusinessKeyFieldCache {
-  private CacheStorage<List<BusinessKeyField>> cache = CacheStorageFactory.getPersistentCacheStorage();
+  private static final BusinessKeyPlan NO_BUSINESS_KEY_FIELDS =
+      new BusinessKeyPlan(Collections.<BusinessKeyField>emptyList());
+
+  private final ClassValue<BusinessKeyPlan> cache = new ClassValue<BusinessKeyPlan>() {
+    @Override
+    protected BusinessKeyPlan computeValue(Class<?> type) {
+      return introspect(type);
+    }
+  };
+  private final Map<String, List<BusinessKeyField>> namedEntries = new ConcurrentHashMap<String, List<BusinessKeyField>>();
+
+  /**
+   * Retrieve the BusinessFields for a class, introspecting the class and its super classes on first use.
+   *
+   * @param clazz
+   *     The class to lookup.
+   * @return An unmodifiable, random access list of the business key fields, empty if none are declared.
+   */
+  public List<BusinessKeyField> get(final Class<?> clazz) {
+    return cache.get(clazz).getBusinessKeyFields();
+  }
+
+  /**
+   * Retrieve the BusinessKeyPlan for a class, introspecting the class and its super classes on first use.
+   *
+   * @param clazz
+   *     The class to lookup.
+   * @return The plan for the class's business key fields.
+   */
+  public BusinessKeyPlan getBusinessKeyPlan(final Class<?> clazz) {
+    return cache.get(clazz);
+  }
 
   /**
    * Retrieve a BusinessFields list from Cache.
    *
    * @param name
-   *     The cache tag to use for cache lookup.
-   * @return Cached PojoReference, or null if none found.
+   *     The cache tag added through {@link #add(String, List)}, or the Fully Qualified Class Name to lookup.
+   * @return Cached BusinessFields, or null if none added and the name doesn't resolve to a loadable class.
+   * @deprecated Entries are now kept per Class, use {@link #get(Class)} instead.
    */
+  @Deprecated
   public List<BusinessKeyField> get(final String name) {
-    return cache.get(name);
+    final List<BusinessKeyField> businessFields = namedEntries.get(name);
+    if (businessFields != null)
+      return businessFields;
+    final Class<?> clazz = ClassUtil.loadClass(name, false);
+    if (clazz == null)
+      return null;
+    return get(clazz);
   }
 
   /**
-   * Add a BusinessFields definition to the Cache.
+   * Add a BusinessFields definition to the Cache, only lookups by name through {@link #get(String)} see it.
    *
    * @param name
    *     A tag for to use for cache lookup
    * @param businessFields
    *     The list of businessFields to cache
+   * @deprecated Entries are computed per Class on first lookup, use {@link #get(Class)} instead.
    */
+  @Deprecated
   public void add(final String name, final List<BusinessKeyField> businessFields) {
-    cache.add(name, businessFields);
+    namedEntries.put(name, businessFields);
+  }
+
+  private static BusinessKeyPlan introspect(final Class<?> clazz) {
+    List<BusinessKeyField> businessKeyFields = new LinkedList<BusinessKeyField>();
+
+    Class<?> current = clazz;
+    while (current != null) {
+      for (PojoField pojoField : PojoFieldFactory.getPojoFields(current)) {
+        if (pojoField.getAnnotation(BusinessKey.class) != null)
+          businessKeyFields.add(new DefaultBusinessKeyField(pojoField));
+      }
+      current = current.getSuperclass();
+    }
+
+    final ImmutableBusinessKeys immutableBusinessKeys = clazz.getAnnotation(ImmutableBusinessKeys.class);
+    final AdaptiveBusinessKeyOrder adaptiveBusinessKeyOrder = clazz.getAnnotation(AdaptiveBusinessKeyOrder.class);
+    if (immutableBusinessKeys == null && adaptiveBusinessKeyOrder == null && businessKeyFields.isEmpty())
+      return NO_BUSINESS_KEY_FIELDS;
+
+    final HashCodeMemo hashCodeMemo = immutableBusinessKeys == null ? null
+        : getHashCodeMemo(clazz, immutableBusinessKeys.hashCodeField());
+    return new BusinessKeyPlan(businessKeyFields, hashCodeMemo, getReorderInterval(clazz, adaptiveBusinessKeyOrder));
+  }
+
+  private static int getReorderInterval(final Class<?> clazz, final AdaptiveBusinessKeyOrder adaptiveBusinessKeyOrder) {
+    if (adaptiveBusinessKeyOrder == null)
+      return 0;
+    if (adaptiveBusinessKeyOrder.reorderInterval() <= 0)
+      throw BusinessException.getInstance(String.format("reorderInterval must be positive [%s] on class=[%s]",
+          adaptiveBusinessKeyOrder.reorderInterval(), clazz));
+    return adaptiveBusinessKeyOrder.reorderInterval();
+  }
+
+  private static HashCodeMemo getHashCodeMemo(final Class<?> clazz, final String hashCodeField) {
+    if (hashCodeField.length() == 0)
+      return new WeakIdentityHashCodeMemo();
+
+    Class<?> current = clazz;
+    while (current != null) {
+      for (Field field : current.getDeclaredFields()) {
+        if (field.getName().equals(hashCodeField)) {
+          if (field.getType() != int.class || Modifier.isStatic(field.getModifiers())
+              || Modifier.isFinal(field.getModifiers()) || field.getAnnotation(BusinessKey.class) != null)
+            throw BusinessException.getInstance(String.format(
+                "hashCodeField must be a non-static, non-final int field that isn't a BusinessKey [%s]", field));
+          return new FieldHashCodeMemo(field);
+        }
+      }
+      current = current.getSuperclass();
+    }
+    throw BusinessException.getInstance(String.format("hashCodeField [%s] not found on class=[%s]", hashCodeField,
+        clazz));
   }
 }
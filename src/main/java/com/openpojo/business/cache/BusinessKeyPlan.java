@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+
+/**
+ * This is the business key layout of a class, computed once from its {@link BusinessKeyField}s.
+ * <br>
+ * The plan holds the fields in declaration order along with their required, composite and case sensitivity flags,
+ * so validation and comparison don't need to consult each field's annotation settings again.
+ * {@link #validateAndCompare(Object, Object)} validates both objects and compares them reading each field once per
+ * object.
+ * <br>
+ * Comparison stops at the first field that differs. Fields are compared in declaration order, unless the plan was
+ * built with a reorder interval, in which case comparisons and mismatches are counted per field and the comparison
+ * order is periodically adapted, see {@link com.openpojo.business.annotation.AdaptiveBusinessKeyOrder}.
+ */
+public final class BusinessKeyPlan {
+  private final BusinessKeyField[] businessKeyFields;
+  private final List<BusinessKeyField> businessKeyFieldList;
+  private final boolean[] required;
+  private final boolean[] composite;
+  private final boolean[] caseSensitive;
+  private final boolean hasCompositeGroup;
+  private final HashCodeMemo hashCodeMemo;
+  private final AdaptiveOrder adaptiveOrder;
+  private volatile int[] comparisonOrder;
+
+  /**
+   * @param businessKeyFields
+   *     The business key fields of a class, in the order they should be evaluated.
+   */
+  public BusinessKeyPlan(final List<BusinessKeyField> businessKeyFields) {
+    this(businessKeyFields, null);
+  }
+
+  /**
+   * @param businessKeyFields
+   *     The business key fields of a class, in the order they should be evaluated.
+   * @param hashCodeMemo
+   *     Where to remember hash codes for classes whose keys never change, null if they shouldn't be remembered.
+   */
+  public BusinessKeyPlan(final List<BusinessKeyField> businessKeyFields, final HashCodeMemo hashCodeMemo) {
+    this(businessKeyFields, hashCodeMemo, 0);
+  }
+
+  /**
+   * @param businessKeyFields
+   *     The business key fields of a class, in the order they should be validated.
+   * @param hashCodeMemo
+   *     Where to remember hash codes for classes whose keys never change, null if they shouldn't be remembered.
+   * @param reorderInterval
+   *     The number of comparisons between adapting the comparison order, 0 to always compare in declaration order.
+   */
+  public BusinessKeyPlan(final List<BusinessKeyField> businessKeyFields, final HashCodeMemo hashCodeMemo,
+                         final int reorderInterval) {
+    this.hashCodeMemo = hashCodeMemo;
+    this.businessKeyFields = businessKeyFields.toArray(new BusinessKeyField[0]);
+    businessKeyFieldList = Collections.unmodifiableList(Arrays.asList(this.businessKeyFields));
+
+    required = new boolean[this.businessKeyFields.length];
+    composite = new boolean[this.businessKeyFields.length];
+    caseSensitive = new boolean[this.businessKeyFields.length];
+    boolean anyComposite = false;
+    for (int i = 0; i < this.businessKeyFields.length; i++) {
+      composite[i] = this.businessKeyFields[i].isComposite();
+      required[i] = !composite[i] && this.businessKeyFields[i].isRequired();
+      caseSensitive[i] = this.businessKeyFields[i].isCaseSensitive();
+      anyComposite |= composite[i];
+    }
+    hasCompositeGroup = anyComposite;
+
+    comparisonOrder = new int[this.businessKeyFields.length];
+    for (int i = 0; i < comparisonOrder.length; i++)
+      comparisonOrder[i] = i;
+    adaptiveOrder = reorderInterval > 0 ? new AdaptiveOrder(this.businessKeyFields, reorderInterval) : null;
+  }
+
+  /**
+   * @return An unmodifiable, random access list of the business key fields.
+   */
+  public List<BusinessKeyField> getBusinessKeyFields() {
+    return businessKeyFieldList;
+  }
+
+  /**
+   * @return True if any of the business key fields belongs to the composite group.
+   */
+  public boolean hasCompositeGroup() {
+    return hasCompositeGroup;
+  }
+
+  /**
+   * @return The memo holding remembered hash codes, or null if the class's keys aren't declared immutable.
+   */
+  public HashCodeMemo getHashCodeMemo() {
+    return hashCodeMemo;
+  }
+
+  /**
+   * @return True if the comparison order adapts to the counted mismatches.
+   */
+  public boolean isAdaptive() {
+    return adaptiveOrder != null;
+  }
+
+  /**
+   * @return The business key fields in the order they are currently compared.
+   */
+  public List<BusinessKeyField> getComparisonOrder() {
+    final int[] order = comparisonOrder;
+    final BusinessKeyField[] ordered = new BusinessKeyField[order.length];
+    for (int i = 0; i < order.length; i++)
+      ordered[i] = businessKeyFields[order[i]];
+    return Collections.unmodifiableList(Arrays.asList(ordered));
+  }
+
+  /**
+   * @param businessKeyField
+   *     One of this plan's business key fields.
+   * @return The number of times the field was compared, always 0 unless the plan is adaptive.
+   */
+  public long getComparisonCount(final BusinessKeyField businessKeyField) {
+    return adaptiveOrder == null ? 0 : adaptiveOrder.compared[indexOf(businessKeyField)];
+  }
+
+  /**
+   * @param businessKeyField
+   *     One of this plan's business key fields.
+   * @return The number of times the field was compared and differed, always 0 unless the plan is adaptive.
+   */
+  public long getMismatchCount(final BusinessKeyField businessKeyField) {
+    return adaptiveOrder == null ? 0 : adaptiveOrder.mismatched[indexOf(businessKeyField)];
+  }
+
+  /**
+   * Validate an object against this plan.
+   * A BusinessException is thrown if the object has no business keys, if a required field is null, or if none of
+   * the fields in the composite group are populated.
+   *
+   * @param instance
+   *     The object to validate.
+   */
+  public void validate(final Object instance) {
+    boolean compositeGroupPassed = false;
+    for (int i = 0; i < businessKeyFields.length; i++) {
+      if (composite[i]) {
+        compositeGroupPassed = compositeGroupPassed || businessKeyFields[i].get(instance) != null;
+      } else if (required[i] && businessKeyFields[i].get(instance) == null) {
+        throw BusinessException.getInstance(String.format("Field required and can't be null [%s]",
+            businessKeyFields[i]));
+      }
+    }
+
+    if (businessKeyFields.length == 0) {
+      throw BusinessException.getInstance(String.format("No business Keys defined on class=[%s]", instance.getClass()));
+    }
+
+    if (hasCompositeGroup && !compositeGroupPassed) {
+      throw BusinessException.getInstance(
+          String.format("Non of the fields in the composite group were populated [%s]", instance.getClass()));
+    }
+  }
+
+  /**
+   * Evaluate two objects as equal on all their business key fields.
+   *
+   * @param first
+   *     First object in the equality.
+   * @param second
+   *     Second object in the equality.
+   * @return True if both objects are equal.
+   */
+  public boolean areEqual(final Object first, final Object second) {
+    if (BusinessIdentityUtils.sameInstance(first, second))
+      return true;
+
+    if (rememberedHashCodesDiffer(first, second))
+      return false;
+
+    final int[] order = comparisonOrder;
+    for (int k = 0; k < order.length; k++) {
+      final int i = order[k];
+      if (!BusinessIdentityUtils.areEqual(businessKeyFields[i], first, second, caseSensitive[i]))
+        return counted(order, k + 1, true);
+    }
+    return counted(order, order.length, false);
+  }
+
+  /**
+   * Validate both objects and evaluate them as equal in one pass over the business key fields.
+   * This has the same outcome, including any BusinessException thrown, as calling {@link #validate(Object)} on
+   * first then second followed by {@link #areEqual(Object, Object)}.
+   *
+   * @param first
+   *     First object in the equality, must not be null.
+   * @param second
+   *     Second object in the equality, must not be null and of the same class as first.
+   * @return True if both objects are equal.
+   */
+  public boolean validateAndCompare(final Object first, final Object second) {
+    if (BusinessIdentityUtils.sameInstance(first, second)) {
+      validate(first);
+      return true;
+    }
+
+    if (businessKeyFields.length == 0)
+      return rejected(first, second);
+
+    if (rememberedHashCodesDiffer(first, second))
+      return false;
+
+    // Once a field differs the rest are only read when validation still depends on them.
+    final int[] order = comparisonOrder;
+    int mismatchedAt = -1;
+    boolean firstCompositeGroupPassed = !hasCompositeGroup;
+    boolean secondCompositeGroupPassed = !hasCompositeGroup;
+    for (int k = 0; k < order.length; k++) {
+      final int i = order[k];
+      if (mismatchedAt >= 0 && !required[i] && !composite[i])
+        continue;
+
+      final Object firstValue = businessKeyFields[i].get(first);
+      final Object secondValue = businessKeyFields[i].get(second);
+      if (composite[i]) {
+        firstCompositeGroupPassed = firstCompositeGroupPassed || firstValue != null;
+        secondCompositeGroupPassed = secondCompositeGroupPassed || secondValue != null;
+      } else if (required[i] && (firstValue == null || secondValue == null)) {
+        return rejected(first, second);
+      }
+      if (mismatchedAt < 0 && !BusinessIdentityUtils.areEqual(firstValue, secondValue, caseSensitive[i]))
+        mismatchedAt = k;
+    }
+
+    if (!firstCompositeGroupPassed || !secondCompositeGroupPassed)
+      return rejected(first, second);
+    if (mismatchedAt >= 0)
+      return counted(order, mismatchedAt + 1, true);
+    return counted(order, order.length, false);
+  }
+
+  /**
+   * Order two objects on their business key fields, in declaration order, with the rules of
+   * {@link BusinessIdentityUtils#compare(Object, Object, boolean)}.
+   * The order is consistent with {@link #areEqual(Object, Object)} only when the natural ordering of every key type is
+   * consistent with its equals, the objects aren't validated.
+   *
+   * @param first
+   *     First object to order, must not be null.
+   * @param second
+   *     Second object to order, must not be null.
+   * @return A negative number, zero, or a positive number as the first object orders before, the same as, or after
+   * the second.
+   */
+  public int compare(final Object first, final Object second) {
+    if (first == second)
+      return 0;
+
+    for (int i = 0; i < businessKeyFields.length; i++) {
+      final int result = BusinessIdentityUtils.compare(businessKeyFields[i].get(first), businessKeyFields[i].get(second),
+          caseSensitive[i]);
+      if (result != 0)
+        return result;
+    }
+    return 0;
+  }
+
+  /**
+   * Read an object's business key fields, in declaration order, normalized with
+   * {@link BusinessIdentityUtils#getSortKey(Object, boolean)}.
+   * Ordering two such keys element by element case sensitively gives the same order as
+   * {@link #compare(Object, Object)} does on the objects.
+   *
+   * @param instance
+   *     The object to read the sort key of, must not be null.
+   * @return The sort key values.
+   */
+  public Object[] getSortKey(final Object instance) {
+    final Object[] sortKey = new Object[businessKeyFields.length];
+    for (int i = 0; i < businessKeyFields.length; i++)
+      sortKey[i] = BusinessIdentityUtils.getSortKey(businessKeyFields[i].get(instance), caseSensitive[i]);
+    return sortKey;
+  }
+
+  /**
+   * Hash codes are only remembered for validated instances with immutable keys, so differing ones settle inequality.
+   */
+  private boolean rememberedHashCodesDiffer(final Object first, final Object second) {
+    if (hashCodeMemo == null)
+      return false;
+
+    final int firstHashCode = hashCodeMemo.get(first);
+    if (firstHashCode == 0)
+      return false;
+
+    final int secondHashCode = hashCodeMemo.get(second);
+    return secondHashCode != 0 && firstHashCode != secondHashCode;
+  }
+
+  /**
+   * Counts the outcome of a comparison when the plan is adaptive.
+   *
+   * @return True if all the fields were equal.
+   */
+  private boolean counted(final int[] order, final int compared, final boolean mismatched) {
+    if (adaptiveOrder != null) {
+      final int[] adapted = adaptiveOrder.count(order, compared, mismatched);
+      if (adapted != null)
+        comparisonOrder = adapted;
+    }
+    return !mismatched;
+  }
+
+  private int indexOf(final BusinessKeyField businessKeyField) {
+    for (int i = 0; i < businessKeyFields.length; i++) {
+      if (businessKeyFields[i] == businessKeyField)
+        return i;
+    }
+    throw BusinessException.getInstance(String.format("Field isn't part of this plan [%s]", businessKeyField));
+  }
+
+  /**
+   * Re-runs validation in the original order so the exception reported is the one validate would have thrown.
+   * Should the objects have been changed in the mean time so they now pass, they are compared as usual.
+   */
+  private boolean rejected(final Object first, final Object second) {
+    validate(first);
+    validate(second);
+    return areEqual(first, second);
+  }
+
+  /**
+   * Per field comparison and mismatch counters, along with the relative cost of comparing each field.
+   * The counters are plain fields so counting costs close to nothing, under concurrent use some increments may be
+   * lost, which only makes the counts approximate and shifts when the next reorder happens.
+   */
+  private static class AdaptiveOrder {
+    private static final int ARRAY_COST = 8;
+    private static final int CASE_INSENSITIVE_COST = 2;
+    private static final int DEFAULT_COST = 1;
+
+    private final long[] compared;
+    private final long[] mismatched;
+    private final int[] cost;
+    private final int reorderInterval;
+    private int untilReorder;
+
+    private AdaptiveOrder(final BusinessKeyField[] businessKeyFields, final int reorderInterval) {
+      this.reorderInterval = reorderInterval;
+      untilReorder = reorderInterval;
+      compared = new long[businessKeyFields.length];
+      mismatched = new long[businessKeyFields.length];
+      cost = new int[businessKeyFields.length];
+      for (int i = 0; i < businessKeyFields.length; i++) {
+        if (businessKeyFields[i].isArray())
+          cost[i] = ARRAY_COST;
+        else if (!businessKeyFields[i].isCaseSensitive())
+          cost[i] = CASE_INSENSITIVE_COST;
+        else
+          cost[i] = DEFAULT_COST;
+      }
+    }
+
+    /**
+     * @return The new comparison order when it's time to reorder, null otherwise.
+     */
+    private int[] count(final int[] order, final int comparedFields, final boolean mismatch) {
+      for (int k = 0; k < comparedFields; k++)
+        compared[order[k]]++;
+      if (mismatch)
+        mismatched[order[comparedFields - 1]]++;
+
+      if (--untilReorder > 0)
+        return null;
+      untilReorder = reorderInterval;
+      return reorder();
+    }
+
+    /**
+     * Orders the fields by their likelihood to differ per unit of cost, fields seen equally often keep their
+     * declaration order. Likelihoods are smoothed so fields rarely reached aren't judged on a handful of comparisons.
+     */
+    private int[] reorder() {
+      final double[] score = new double[compared.length];
+      final int[] order = new int[compared.length];
+      for (int i = 0; i < order.length; i++) {
+        score[i] = (mismatched[i] + 1.0) / (compared[i] + 2.0) / cost[i];
+        int k = i;
+        while (k > 0 && score[order[k - 1]] < score[i]) {
+          order[k] = order[k - 1];
+          k--;
+        }
+        order[k] = i;
+      }
+      return order;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache;
+
+/**
+ * Remembers the business hash code of instances whose business keys never change.
+ *
+ * @see com.openpojo.business.annotation.ImmutableBusinessKeys
+ */
+public interface HashCodeMemo {
+
+  /**
+   * @param instance
+   *     The instance to look up.
+   * @return The remembered hash code, or 0 if none has been remembered for this instance.
+   */
+  int get(Object instance);
+
+  /**
+   * @param instance
+   *     The instance to remember the hash code for.
+   * @param hashCode
+   *     The hash code, a hash code of 0 isn't remembered.
+   */
+  void put(Object instance, int hashCode);
+}
@@ -60,6 +60,10 @@ public class DefaultBusinessKeyField implements BusinessKeyField {
     return pojoField.isArray();
   }
 
+  public PojoField getPojoField() {
+    return pojoField;
+  }
+
   public String toString() {
     return String.format("DefaultBusinessKeyField [isRequired=%s, isComposite=%s, isCaseSensitive=%s, pojoField=%s]",
         isRequired, isComposite, isCaseSensitive, pojoField);
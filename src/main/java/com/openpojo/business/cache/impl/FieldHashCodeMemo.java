@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache.impl;
+
+import java.lang.reflect.Field;
+
+import com.openpojo.business.cache.HashCodeMemo;
+import com.openpojo.reflection.exception.ReflectionException;
+
+/**
+ * This HashCodeMemo keeps the hash code in an int field of the instance itself.
+ * <br>
+ * Reads and writes are racy in the same benign way as {@link String#hashCode()}, every thread either sees 0 and
+ * computes the same hash code, or sees the stored one.
+ */
+public class FieldHashCodeMemo implements HashCodeMemo {
+  private final Field field;
+
+  public FieldHashCodeMemo(Field field) {
+    this.field = field;
+    field.setAccessible(true);
+  }
+
+  public int get(Object instance) {
+    try {
+      return field.getInt(instance);
+    } catch (IllegalAccessException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  public void put(Object instance, int hashCode) {
+    try {
+      field.setInt(instance, hashCode);
+    } catch (IllegalAccessException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FieldHashCodeMemo [field=" + field + "]";
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.openpojo.business.cache.HashCodeMemo;
+
+/**
+ * This HashCodeMemo keeps hash codes outside of the instances, keyed on instance identity and weakly referenced so
+ * remembered instances can still be garbage collected.
+ * <br>
+ * Identity is used rather than equals/hashCode, since those are exactly what is being computed.
+ */
+public class WeakIdentityHashCodeMemo implements HashCodeMemo {
+  private final ConcurrentHashMap<Object, Integer> hashCodes = new ConcurrentHashMap<Object, Integer>();
+  private final ReferenceQueue<Object> collected = new ReferenceQueue<Object>();
+
+  public int get(Object instance) {
+    Integer hashCode = hashCodes.get(new IdentityLookup(instance));
+    return hashCode == null ? 0 : hashCode;
+  }
+
+  public void put(Object instance, int hashCode) {
+    expungeCollected();
+    if (hashCode != 0)
+      hashCodes.put(new IdentityWeakReference(instance, collected), hashCode);
+  }
+
+  /**
+   * @return the number of instances currently remembered, including any collected but not yet expunged.
+   */
+  public int size() {
+    expungeCollected();
+    return hashCodes.size();
+  }
+
+  private void expungeCollected() {
+    Reference<?> reference;
+    while ((reference = collected.poll()) != null)
+      hashCodes.remove(reference);
+  }
+
+  @Override
+  public String toString() {
+    return "WeakIdentityHashCodeMemo [size=" + hashCodes.size() + "]";
+  }
+
+  /**
+   * Lookups only need a short lived key, unlike a reference it costs the garbage collector nothing.
+   */
+  private static class IdentityLookup {
+    private final Object instance;
+
+    private IdentityLookup(Object instance) {
+      this.instance = instance;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(instance);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof IdentityWeakReference && ((IdentityWeakReference) other).get() == instance;
+    }
+  }
+
+  private static class IdentityWeakReference extends WeakReference<Object> {
+    private final int identityHashCode;
+
+    private IdentityWeakReference(Object referent, ReferenceQueue<Object> queue) {
+      super(referent, queue);
+      identityHashCode = System.identityHashCode(referent);
+    }
+
+    @Override
+    public int hashCode() {
+      return identityHashCode;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other)
+        return true;
+      if (!(other instanceof IdentityWeakReference))
+        return false;
+      Object referent = get();
+      return referent != null && referent == ((IdentityWeakReference) other).get();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity;
+
+import java.io.IOException;
+
+/**
+ * An IdentityHandler that can render an object straight into a caller supplied {@link Appendable}.
+ * <br>
+ * {@link com.openpojo.business.BusinessIdentity#toString(Object, Appendable)} uses this to avoid building an
+ * intermediate String, handlers that don't implement it have their toString output appended instead.
+ */
+public interface AppendingIdentityHandler extends IdentityHandler {
+
+  /**
+   * This method appends the same text to the appendable as {@link #toString(Object)} would return.
+   *
+   * @param object
+   *     The object to render.
+   * @param appendable
+   *     Where to append the rendered object.
+   * @throws IOException
+   *     If the appendable fails.
+   */
+  void toString(Object object, Appendable appendable) throws IOException;
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity;
+
+/**
+ * An IdentityHandler whose decision to handle an object depends only on the object's class.
+ * <br>
+ * The {@link IdentityFactory} caches the handler resolved for a class when every handler ahead of it in the
+ * registration order is class scoped, so lookups for that class no longer walk the handler chain.
+ * Implementations must return the same answer from {@link #handlerFor(Class)} that {@link #handlerFor(Object)} would
+ * return for every instance of that class.
+ */
+public interface ClassScopedIdentityHandler extends IdentityHandler {
+
+  /**
+   * This method returns true or false depending on whether this IdentityHandler handles identity for all instances of
+   * the given class.
+   *
+   * @param clazz
+   *     The class to handle.
+   * @return true if all identity calls for instances of this class should go through this IdentityHandler.
+   */
+  boolean handlerFor(Class<?> clazz);
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity;
+
+/**
+ * This interface defines the contract for a per-class identity that was compiled ahead of use, typically generated
+ * bytecode that reads the {@link com.openpojo.business.annotation.BusinessKey} fields directly.
+ * <br>
+ * An implementation is bound to exactly one class and must produce the same results as the reflection based
+ * {@link IdentityEvaluator} and {@link HashCodeGenerator}.
+ */
+public interface CompiledIdentity {
+
+  /**
+   * This method is responsible for evaluating two objects as equal using the identity.
+   *
+   * @param first
+   *     First object in the equality, must be an instance of the class this identity was compiled for.
+   * @param second
+   *     Second object in the equality, must be an instance of the class this identity was compiled for.
+   * @return True if both objects are equal.
+   */
+  boolean areEqual(Object first, Object second);
+
+  /**
+   * This method will calculate BusinessKey based hashcode.
+   *
+   * @param object
+   *     Object to generate hashCode for, must be an instance of the class this identity was compiled for.
+   * @return generated hash code.
+   */
+  int generateHashCode(Object object);
+}
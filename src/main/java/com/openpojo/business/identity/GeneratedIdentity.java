@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity;
+
+/**
+ * This interface defines the contract for an identity generated at compile time, see
+ * {@link com.openpojo.business.processor.BusinessIdentityProcessor}.
+ * <br>
+ * The identity of a class named <code>Foo</code> is held in the <code>public static final</code> field
+ * {@link #INSTANCE_FIELD} of the class <code>Foo_BusinessIdentity</code> in the same package, named after Foo's binary
+ * name (i.e. <code>Outer$Foo_BusinessIdentity</code> for a nested class). When present it is used by the default
+ * identity handler in place of reflection, and must produce the same results as the reflection based
+ * {@link IdentityEvaluator}, {@link HashCodeGenerator} and {@link BusinessValidator}.
+ * <br>
+ * Generated identities are ignored for classes annotated with
+ * {@link com.openpojo.business.annotation.ImmutableBusinessKeys} or
+ * {@link com.openpojo.business.annotation.AdaptiveBusinessKeyOrder}, those keep using their business key plan.
+ */
+public interface GeneratedIdentity extends CompiledIdentity {
+  /**
+   * The suffix appended to a class's binary name to name the class holding its generated identity.
+   */
+  String CLASS_SUFFIX = "_BusinessIdentity";
+
+  /**
+   * The name of the static field holding the generated identity.
+   */
+  String INSTANCE_FIELD = "IDENTITY";
+
+  /**
+   * This method validates an object to comply with the BusinessKey annotation rules.
+   * If an object fails the validation, a BusinessException will be thrown.
+   *
+   * @param object
+   *     The Business Object to be validated, must be null or an instance of the class this identity was generated for.
+   */
+  void validate(Object object);
+
+  /**
+   * This method validates both objects and evaluates them as equal in a single pass over the business keys.
+   * The outcome, including any BusinessException thrown, must be the same as calling {@link #validate(Object)} on
+   * first then second followed by {@link #areEqual(Object, Object)}.
+   *
+   * @param first
+   *     First object in the equality, must be an instance of the class this identity was generated for.
+   * @param second
+   *     Second object in the equality, must be an instance of the class this identity was generated for.
+   * @return True if both objects are equal.
+   */
+  boolean validateAndCompare(Object first, Object second);
+}
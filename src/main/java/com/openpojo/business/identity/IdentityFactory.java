@@ -22,6 +22,7 @@ import java.util.LinkedList;
 
 import com.openpojo.business.exception.BusinessException;
 import com.openpojo.business.identity.impl.DefaultIdentityHandler;
+import com.openpojo.business.metrics.IdentityMetrics;
 
 /**
  * This is the Default factory that holds the default implementation of {@link IdentityEvaluator},
@@ -32,22 +33,41 @@ import com.openpojo.business.identity.impl.DefaultIdentityHandler;
  */
 public final class IdentityFactory {
 
-  private static volatile LinkedList<IdentityHandler> identityHandlers = new LinkedList<IdentityHandler>();
+  private static volatile IdentityHandlerRegistry identityHandlerRegistry;
 
   static {
-    identityHandlers.add(DefaultIdentityHandler.getInstance());
+    LinkedList<IdentityHandler> defaultIdentityHandlers = new LinkedList<IdentityHandler>();
+    defaultIdentityHandlers.add(DefaultIdentityHandler.getInstance());
+    identityHandlerRegistry = new IdentityHandlerRegistry(defaultIdentityHandlers);
   }
 
   /**
    * This method looks through the list of registered IdentityHandler(s) and returns the first one that returns true
    * on handlerFor(Object) call.
+   * <br>
+   * When the lookup can be decided by class alone (see {@link ClassScopedIdentityHandler}), the result is cached per
+   * class until the next registration change.
+   * <br>
+   * Lookups are counted per class when {@link IdentityMetrics} are enabled.
    *
    * @param object
    *     the object to use for looking up the appropriate handler.
    * @return the identityEvaluator
    */
   public static IdentityHandler getIdentityHandler(final Object object) {
-    for (IdentityHandler identityHandler : identityHandlers) {
+    final IdentityHandlerRegistry registry = identityHandlerRegistry;
+    if (object != null) {
+      IdentityHandler identityHandler = registry.resolvedIdentityHandlers.get(object.getClass());
+      if (identityHandler != null) {
+        if (IdentityMetrics.isEnabled())
+          IdentityMetrics.lookup(object, true);
+        return identityHandler;
+      }
+    }
+
+    if (IdentityMetrics.isEnabled())
+      IdentityMetrics.lookup(object, false);
+    for (IdentityHandler identityHandler : registry.identityHandlers) {
       if (identityHandler.handlerFor(object)) {
         return identityHandler;
       }
@@ -56,6 +76,22 @@ public final class IdentityFactory {
         String.format("Invalid IdentityFactory state, no IdentityHandler found for object [%s]", object));
   }
 
+  /**
+   * This method returns the handler cached for a class, that is the first {@link ClassScopedIdentityHandler} that
+   * handles the class when every handler registered ahead of it is class scoped too.
+   * <br>
+   * A handler returned here holds for every instance of the class, until the next registration change.
+   *
+   * @param clazz
+   *     the class to look up the handler for.
+   * @return the class scoped handler, or null when the handler has to be looked up per instance.
+   */
+  public static IdentityHandler getClassScopedIdentityHandler(final Class<?> clazz) {
+    if (clazz == null)
+      return null;
+    return identityHandlerRegistry.resolvedIdentityHandlers.get(clazz);
+  }
+
   /**
    * This method registers an IdentityHandler to the list of possible IdentityHandlers.
    * An IdentityHandler will not be registered more than once.
@@ -70,7 +106,7 @@ public final class IdentityFactory {
     LinkedList<IdentityHandler> newList = duplicateIdentityHandlers();
     newList.remove(identityHandler);
     newList.addFirst(identityHandler);
-    identityHandlers = newList;
+    identityHandlerRegistry = new IdentityHandlerRegistry(newList);
   }
 
   /**
@@ -82,13 +118,44 @@ public final class IdentityFactory {
   public static synchronized void unregisterIdentityHandler(final IdentityHandler identityHandler) {
     LinkedList<IdentityHandler> newList = duplicateIdentityHandlers();
     if (newList.remove(identityHandler))
-      identityHandlers = newList;
+      identityHandlerRegistry = new IdentityHandlerRegistry(newList);
   }
 
   @SuppressWarnings("unchecked")
   private static LinkedList<IdentityHandler> duplicateIdentityHandlers() {
-    return (LinkedList<IdentityHandler>) identityHandlers.clone();
+    return (LinkedList<IdentityHandler>) identityHandlerRegistry.identityHandlers.clone();
+  }
+
+  /**
+   * An immutable snapshot of the registered handlers along with the per class resolutions made against them.
+   * Registration changes replace the whole snapshot, which discards every cached resolution at once.
+   */
+  private static final class IdentityHandlerRegistry {
+    private final LinkedList<IdentityHandler> identityHandlers;
+    private final ClassValue<IdentityHandler> resolvedIdentityHandlers = new ClassValue<IdentityHandler>() {
+      @Override
+      protected IdentityHandler computeValue(Class<?> type) {
+        return resolve(type);
+      }
+    };
 
+    private IdentityHandlerRegistry(LinkedList<IdentityHandler> identityHandlers) {
+      this.identityHandlers = identityHandlers;
+    }
+
+    /**
+     * @return the first class scoped handler for this class, or null when a handler that decides per instance is
+     * reached first, in which case every lookup for this class has to walk the chain.
+     */
+    private IdentityHandler resolve(Class<?> type) {
+      for (IdentityHandler identityHandler : identityHandlers) {
+        if (!(identityHandler instanceof ClassScopedIdentityHandler))
+          return null;
+        if (((ClassScopedIdentityHandler) identityHandler).handlerFor(type))
+          return identityHandler;
+      }
+      return null;
+    }
   }
 
   private IdentityFactory() {
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity;
+
+/**
+ * An IdentityHandler that can validate two objects and evaluate them as equal in a single call.
+ * <br>
+ * {@link com.openpojo.business.BusinessIdentity#areEqual(Object, Object)} uses this when the same handler is resolved
+ * for both objects, in place of calling validate on each object followed by areEqual.
+ */
+public interface ValidatingIdentityHandler extends IdentityHandler {
+
+  /**
+   * This method validates both objects and evaluates them as equal using the identity.
+   * The outcome, including any exception thrown, must be the same as calling validate on first then second followed
+   * by areEqual.
+   *
+   * @param first
+   *     First object in the equality, never null.
+   * @param second
+   *     Second object in the equality, never null and of the same class as first.
+   * @return True if both objects are equal.
+   */
+  boolean validateAndCompare(Object first, Object second);
+}
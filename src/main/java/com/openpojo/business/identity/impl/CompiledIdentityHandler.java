@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity.impl;
+
+import java.io.IOException;
+
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.AppendingIdentityHandler;
+import com.openpojo.business.identity.ClassScopedIdentityHandler;
+import com.openpojo.business.identity.CompiledIdentity;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+import com.openpojo.business.utils.BusinessPojoHelper;
+import com.openpojo.log.LoggerFactory;
+import com.openpojo.reflection.java.bytecode.ByteCodeFactory;
+
+/**
+ * This IdentityHandler evaluates equality and hash codes through a {@link CompiledIdentity} generated once per class
+ * using ASM, instead of reading every business key through reflection on every call.
+ * <br>
+ * Results are the same as the {@link DefaultIdentityHandler}, validation and toString are delegated to the defaults.
+ * If the identity can't be generated for a class (i.e. ASM isn't available or the class isn't accessible), that class
+ * falls back to the reflection based evaluation.
+ * <br>
+ * This handler is opt-in, to enable it register it with the IdentityFactory:<br>
+ * <code>IdentityFactory.registerIdentityHandler(CompiledIdentityHandler.getInstance());</code>
+ */
+public final class CompiledIdentityHandler implements ClassScopedIdentityHandler, AppendingIdentityHandler {
+  private static final CompiledIdentityHandler INSTANCE = new CompiledIdentityHandler();
+
+  private final ClassValue<CompiledIdentity> compiledIdentities = new ClassValue<CompiledIdentity>() {
+    @Override
+    protected CompiledIdentity computeValue(Class<?> type) {
+      return compile(type);
+    }
+  };
+
+  private CompiledIdentityHandler() {
+  }
+
+  public static CompiledIdentityHandler getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the CompiledIdentity used for a given class, generating it on first use.
+   *
+   * @param clazz
+   *     The class to get the identity for.
+   * @return the compiled identity, or a reflection based one if generation failed.
+   */
+  public CompiledIdentity getCompiledIdentity(final Class<?> clazz) {
+    return compiledIdentities.get(clazz);
+  }
+
+  public boolean areEqual(final Object first, final Object second) {
+    if (BusinessIdentityUtils.sameInstance(first, second))
+      return true;
+
+    return getCompiledIdentity(first.getClass()).areEqual(first, second);
+  }
+
+  public int generateHashCode(final Object object) {
+    if (object == null)
+      throw BusinessException.getInstance("null parameter passed object=[null]");
+
+    return getCompiledIdentity(object.getClass()).generateHashCode(object);
+  }
+
+  public String toString(final Object object) {
+    return DefaultStringanizer.getInstance().toString(object);
+  }
+
+  public void toString(final Object object, final Appendable appendable) throws IOException {
+    DefaultStringanizer.getInstance().toString(object, appendable);
+  }
+
+  public void validate(final Object object) {
+    DefaultBusinessValidator.getInstance().validate(object);
+  }
+
+  public boolean handlerFor(final Object object) {
+    return true;
+  }
+
+  public boolean handlerFor(final Class<?> clazz) {
+    return true;
+  }
+
+  private static CompiledIdentity compile(Class<?> clazz) {
+    try {
+      return ByteCodeFactory.getCompiledIdentity(clazz, BusinessPojoHelper.getBusinessKeyFields(clazz));
+    } catch (Throwable throwable) {
+      LoggerFactory.getLogger(CompiledIdentityHandler.class).warn(
+          "Failed to compile identity for class [{0}], falling back to reflection, reason [{1}]", clazz, throwable);
+      return ReflectionIdentity.INSTANCE;
+    }
+  }
+
+  private static class ReflectionIdentity implements CompiledIdentity {
+    private static final CompiledIdentity INSTANCE = new ReflectionIdentity();
+
+    public boolean areEqual(Object first, Object second) {
+      return DefaultIdentityEvaluator.getInstance().areEqual(first, second);
+    }
+
+    public int generateHashCode(Object object) {
+      return DefaultHashCodeGenerator.getInstance().doGenerate(object);
+    }
+  }
+}
@@ -19,8 +19,6 @@
 package com.openpojo.business.identity.impl;
 
 import com.openpojo.business.annotation.BusinessKey;
-import com.openpojo.business.cache.BusinessKeyField;
-import com.openpojo.business.exception.BusinessException;
 import com.openpojo.business.identity.BusinessValidator;
 import com.openpojo.business.utils.BusinessPojoHelper;
 
@@ -48,31 +46,6 @@ class DefaultBusinessValidator implements BusinessValidator {
 			return;
 		}
 
-		boolean compositeGroupPassed = false;
-		boolean hasCompositeGroup = false;
-		boolean hasBusinessKey = false;
-		for (BusinessKeyField businessKeyField : BusinessPojoHelper.getBusinessKeyFields(object.getClass())) {
-			hasBusinessKey = true;
-			if (businessKeyField.isComposite()) {
-				if (businessKeyField.get(object) != null) {
-					compositeGroupPassed = true;
-				}
-				hasCompositeGroup = true;
-			} else {
-				if (businessKeyField.isRequired() && businessKeyField.get(object) == null) {
-					throw BusinessException
-							.getInstance((String.format("Field required and can't be null [%s]", businessKeyField)));
-				}
-			}
-		}
-		if (!hasBusinessKey) {
-			throw BusinessException
-					.getInstance(String.format("No business Keys defined on class=[%s]", object.getClass()));
-		}
-
-		if (!compositeGroupPassed && hasCompositeGroup) {
-			throw BusinessException.getInstance(
-					String.format("Non of the fields in the composite group were populated [%s]", object.getClass()));
-		}
+		BusinessPojoHelper.getBusinessKeyPlan(object.getClass()).validate(object);
 	}
 }
@@ -18,7 +18,11 @@
 
 package com.openpojo.business.identity.impl;
 
+import java.util.List;
+
 import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.cache.BusinessKeyPlan;
+import com.openpojo.business.cache.HashCodeMemo;
 import com.openpojo.business.exception.BusinessException;
 import com.openpojo.business.identity.HashCodeGenerator;
 import com.openpojo.business.utils.BusinessIdentityUtils;
@@ -50,11 +54,25 @@ class DefaultHashCodeGenerator implements HashCodeGenerator {
     if (object == null)
       throw BusinessException.getInstance("null parameter passed object=[null]");
 
+    final BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(object.getClass());
+    final HashCodeMemo hashCodeMemo = businessKeyPlan.getHashCodeMemo();
+    if (hashCodeMemo != null) {
+      final int rememberedHashCode = hashCodeMemo.get(object);
+      if (rememberedHashCode != 0)
+        return rememberedHashCode;
+    }
+
     final int prime = 31;
     int result = 1;
 
-    for (BusinessKeyField businessKeyField : BusinessPojoHelper.getBusinessKeyFields(object.getClass()))
+    final List<BusinessKeyField> businessKeyFields = businessKeyPlan.getBusinessKeyFields();
+    for (int i = 0; i < businessKeyFields.size(); i++) {
+      final BusinessKeyField businessKeyField = businessKeyFields.get(i);
       result = prime * result + BusinessIdentityUtils.getHashCode(businessKeyField, object, businessKeyField.isCaseSensitive());
+    }
+
+    if (hashCodeMemo != null)
+      hashCodeMemo.put(object, result);
     return result;
   }
 }
@@ -18,7 +18,6 @@
 
 package com.openpojo.business.identity.impl;
 
-import com.openpojo.business.cache.BusinessKeyField;
 import com.openpojo.business.identity.IdentityEvaluator;
 import com.openpojo.business.utils.BusinessIdentityUtils;
 import com.openpojo.business.utils.BusinessPojoHelper;
@@ -47,12 +46,7 @@ class DefaultIdentityEvaluator implements IdentityEvaluator {
     if (BusinessIdentityUtils.sameInstance(first, second))
       return true;
 
-    boolean runningEquality = true;
-    for (BusinessKeyField pojoField : BusinessPojoHelper.getBusinessKeyFields(first.getClass())) {
-      runningEquality = runningEquality
-          && BusinessIdentityUtils.areEqual(pojoField, first, second, pojoField.isCaseSensitive());
-    }
-    return runningEquality;
+    return BusinessPojoHelper.getBusinessKeyPlan(first.getClass()).areEqual(first, second);
   }
 
 }
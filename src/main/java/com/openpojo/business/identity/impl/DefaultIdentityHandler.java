@@ -18,14 +18,37 @@
 
 package com.openpojo.business.identity.impl;
 
+import java.io.IOException;
+
+import com.openpojo.business.annotation.AdaptiveBusinessKeyOrder;
+import com.openpojo.business.annotation.ImmutableBusinessKeys;
+import com.openpojo.business.identity.AppendingIdentityHandler;
+import com.openpojo.business.identity.ClassScopedIdentityHandler;
+import com.openpojo.business.identity.GeneratedIdentity;
 import com.openpojo.business.identity.IdentityHandler;
+import com.openpojo.business.identity.ValidatingIdentityHandler;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+import com.openpojo.business.utils.BusinessPojoHelper;
+import com.openpojo.log.LoggerFactory;
 
 /**
+ * This is the default IdentityHandler, it evaluates business identity through reflection, or through the identity
+ * generated at compile time for a class when there is one, see
+ * {@link com.openpojo.business.processor.BusinessIdentityProcessor}.
+ *
  * @author oshoukry
  */
-public final class DefaultIdentityHandler implements IdentityHandler {
+public final class DefaultIdentityHandler implements ClassScopedIdentityHandler, ValidatingIdentityHandler,
+    AppendingIdentityHandler {
   private static final IdentityHandler INSTANCE = new DefaultIdentityHandler();
 
+  private final ClassValue<GeneratedIdentity> generatedIdentities = new ClassValue<GeneratedIdentity>() {
+    @Override
+    protected GeneratedIdentity computeValue(Class<?> type) {
+      return findGeneratedIdentity(type);
+    }
+  };
+
   private DefaultIdentityHandler() {
   }
 
@@ -33,11 +56,34 @@ public final class DefaultIdentityHandler implements IdentityHandler {
     return INSTANCE;
   }
 
+  /**
+   * Returns the identity generated at compile time for a given class.
+   *
+   * @param clazz
+   *     The class to get the identity for.
+   * @return the generated identity, or null if the class has none, or is annotated with {@link ImmutableBusinessKeys}
+   * or {@link AdaptiveBusinessKeyOrder}, and is evaluated through reflection.
+   */
+  public GeneratedIdentity getGeneratedIdentity(final Class<?> clazz) {
+    return generatedIdentities.get(clazz);
+  }
+
   public boolean areEqual(final Object first, final Object second) {
+    if (BusinessIdentityUtils.sameInstance(first, second))
+      return true;
+
+    final GeneratedIdentity generatedIdentity = generatedIdentities.get(first.getClass());
+    if (generatedIdentity != null)
+      return generatedIdentity.areEqual(first, second);
     return DefaultIdentityEvaluator.getInstance().areEqual(first, second);
   }
 
   public int generateHashCode(final Object object) {
+    if (object != null) {
+      final GeneratedIdentity generatedIdentity = generatedIdentities.get(object.getClass());
+      if (generatedIdentity != null)
+        return generatedIdentity.generateHashCode(object);
+    }
     return DefaultHashCodeGenerator.getInstance().doGenerate(object);
   }
 
@@ -45,11 +91,58 @@ public final class DefaultIdentityHandler implements IdentityHandler {
     return DefaultStringanizer.getInstance().toString(object);
   }
 
+  public void toString(final Object object, final Appendable appendable) throws IOException {
+    DefaultStringanizer.getInstance().toString(object, appendable);
+  }
+
   public void validate(final Object object) {
+    if (object != null) {
+      final GeneratedIdentity generatedIdentity = generatedIdentities.get(object.getClass());
+      if (generatedIdentity != null) {
+        generatedIdentity.validate(object);
+        return;
+      }
+    }
     DefaultBusinessValidator.getInstance().validate(object);
   }
 
+  public boolean validateAndCompare(final Object first, final Object second) {
+    final GeneratedIdentity generatedIdentity = generatedIdentities.get(first.getClass());
+    if (generatedIdentity != null)
+      return generatedIdentity.validateAndCompare(first, second);
+    return BusinessPojoHelper.getBusinessKeyPlan(first.getClass()).validateAndCompare(first, second);
+  }
+
   public boolean handlerFor(final Object object) {
     return true;
   }
+
+  public boolean handlerFor(final Class<?> clazz) {
+    return true;
+  }
+
+  /**
+   * @return The identity generated for the class, or null if there is none, it can't be loaded, or the class relies on
+   * its business key plan to remember hash codes or adapt its comparison order.
+   */
+  private static GeneratedIdentity findGeneratedIdentity(final Class<?> clazz) {
+    if (clazz.getAnnotation(ImmutableBusinessKeys.class) != null
+        || clazz.getAnnotation(AdaptiveBusinessKeyOrder.class) != null)
+      return null;
+
+    try {
+      final Class<?> identityClass = Class.forName(clazz.getName() + GeneratedIdentity.CLASS_SUFFIX, false,
+          clazz.getClassLoader());
+      final Object identity = identityClass.getField(GeneratedIdentity.INSTANCE_FIELD).get(null);
+      if (identity instanceof GeneratedIdentity)
+        return (GeneratedIdentity) identity;
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (Throwable throwable) {
+      LoggerFactory.getLogger(DefaultIdentityHandler.class).warn(
+          "Failed to load generated identity for class [{0}], falling back to reflection, reason [{1}]", clazz,
+          throwable);
+    }
+    return null;
+  }
 }
@@ -18,14 +18,38 @@
 
 package com.openpojo.business.identity.impl;
 
+import java.io.IOException;
+import java.util.List;
+
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.PojoField;
 import com.openpojo.reflection.impl.PojoClassFactory;
+import com.openpojo.reflection.utils.ObjectToString;
+import com.openpojo.reflection.utils.ToStringHelper;
 
 /**
+ * Renders objects in the same format as {@link PojoClass#toString(Object)}.
+ * <br>
+ * The class prefix and the "name=" text preceding every field are computed once per class, and String rendering
+ * borrows a per thread builder, builders that grew beyond {@link #MAX_RETAINED_BUILDER_CAPACITY} aren't kept.
+ *
  * @author oshoukry
  */
 class DefaultStringanizer {
+  private static final int INITIAL_BUILDER_CAPACITY = 256;
+  private static final int MAX_RETAINED_BUILDER_CAPACITY = 8192;
+
   private static DefaultStringanizer instance = new DefaultStringanizer();
 
+  private final ClassValue<ToStringLayout> layouts = new ClassValue<ToStringLayout>() {
+    @Override
+    protected ToStringLayout computeValue(Class<?> type) {
+      return new ToStringLayout(PojoClassFactory.getPojoClass(type));
+    }
+  };
+
+  private final ThreadLocal<StringBuilder> builders = new ThreadLocal<StringBuilder>();
+
   private DefaultStringanizer() {
   }
 
@@ -36,6 +60,56 @@ class DefaultStringanizer {
   public String toString(Object object) {
     if (object == null)
       return "null";
-    return PojoClassFactory.getPojoClass(object.getClass()).toString(object);
+
+    // Taken out while in use so a nested call (i.e. from a field's toString) doesn't append into the same builder.
+    StringBuilder builder = builders.get();
+    if (builder == null)
+      builder = new StringBuilder(INITIAL_BUILDER_CAPACITY);
+    else
+      builders.set(null);
+
+    try {
+      layouts.get(object.getClass()).append(builder, object);
+      return builder.toString();
+    } catch (IOException e) {
+      throw new IllegalStateException("StringBuilder doesn't throw IOException", e);
+    } finally {
+      if (builder.capacity() <= MAX_RETAINED_BUILDER_CAPACITY) {
+        builder.setLength(0);
+        builders.set(builder);
+      }
+    }
+  }
+
+  public void toString(Object object, Appendable appendable) throws IOException {
+    if (object == null) {
+      appendable.append("null");
+      return;
+    }
+    layouts.get(object.getClass()).append(appendable, object);
+  }
+
+  private static class ToStringLayout {
+    private final String pojoClassPrefix;
+    private final PojoField[] pojoFields;
+    private final String[] fieldPrefixes;
+
+    private ToStringLayout(PojoClass pojoClass) {
+      pojoClassPrefix = ToStringHelper.pojoClassPrefix(pojoClass.getName());
+      final List<PojoField> fields = pojoClass.getPojoFields();
+      pojoFields = fields.toArray(new PojoField[0]);
+      fieldPrefixes = new String[pojoFields.length];
+      for (int index = 0; index < pojoFields.length; index++)
+        fieldPrefixes[index] = ToStringHelper.fieldPrefix(index, pojoFields[index].getName());
+    }
+
+    private void append(Appendable appendable, Object object) throws IOException {
+      ToStringHelper.appendPojoClassHeader(appendable, pojoClassPrefix, object);
+      for (int index = 0; index < pojoFields.length; index++) {
+        appendable.append(fieldPrefixes[index]);
+        appendable.append(ObjectToString.toString(pojoFields[index].get(object)));
+      }
+      appendable.append(ToStringHelper.pojoClassSuffix());
+    }
   }
 }
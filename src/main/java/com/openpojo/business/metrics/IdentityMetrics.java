@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.ObjectName;
+
+import com.openpojo.log.LoggerFactory;
+
+/**
+ * Optional per class metrics of the business identity calls made through {@link com.openpojo.business.BusinessIdentity}
+ * and of the handler lookups made by {@link com.openpojo.business.identity.IdentityFactory}.
+ * <br>
+ * Metrics are enabled by starting the JVM with -Dopenpojo.business.metrics=true, they are then published over JMX as
+ * {@value #OBJECT_NAME}. One call in every -Dopenpojo.business.metrics.sampleRate (default
+ * {@value #DEFAULT_SAMPLE_RATE}) is timed into a latency histogram, every call is counted on striped counters.
+ * <br>
+ * The enabled flag is a constant, so when metrics are disabled the JIT removes the instrumentation from the identity
+ * calls altogether.
+ */
+public final class IdentityMetrics {
+  public static final String ENABLED_PROPERTY = "openpojo.business.metrics";
+  public static final String SAMPLE_RATE_PROPERTY = "openpojo.business.metrics.sampleRate";
+  public static final String OBJECT_NAME = "com.openpojo.business:type=IdentityMetrics";
+  public static final int DEFAULT_SAMPLE_RATE = 64;
+
+  private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+  private static final IdentityMetricsRecorder RECORDER;
+
+  static {
+    if (ENABLED) {
+      RECORDER = new IdentityMetricsRecorder(Integer.getInteger(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE));
+      register(RECORDER);
+    } else {
+      RECORDER = null;
+    }
+  }
+
+  /**
+   * @return true if the JVM was started with metrics enabled, the other recording methods may only be called when
+   * enabled.
+   */
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Start an operation.
+   *
+   * @return the value to pass on to {@link #end(IdentityOperation, Object, long)}.
+   */
+  public static long begin() {
+    return RECORDER.begin();
+  }
+
+  /**
+   * Count an operation started with {@link #begin()}, and time it if it was sampled.
+   *
+   * @param identityOperation
+   *     the operation that ended.
+   * @param object
+   *     the object the operation was made on, nothing is recorded for null.
+   * @param begin
+   *     the value returned by {@link #begin()}.
+   */
+  public static void end(final IdentityOperation identityOperation, final Object object, final long begin) {
+    if (object != null)
+      RECORDER.end(identityOperation, object.getClass(), begin);
+  }
+
+  /**
+   * Count an operation that isn't timed.
+   *
+   * @param identityOperation
+   *     the operation made.
+   * @param object
+   *     the object the operation was made on, nothing is recorded for null.
+   */
+  public static void count(final IdentityOperation identityOperation, final Object object) {
+    if (object != null)
+      RECORDER.count(identityOperation, object.getClass());
+  }
+
+  /**
+   * Count an identity handler lookup.
+   *
+   * @param object
+   *     the object the handler was looked up for, nothing is recorded for null.
+   * @param fastPath
+   *     true if the handler was resolved from the per class cache, false if the handler chain had to be walked.
+   */
+  public static void lookup(final Object object, final boolean fastPath) {
+    if (object != null)
+      RECORDER.lookup(object.getClass(), fastPath);
+  }
+
+  /**
+   * @return a snapshot of the metrics of every class seen so far, empty when metrics are disabled.
+   */
+  public static List<IdentityMetricsSnapshot> snapshot() {
+    if (!ENABLED)
+      return Collections.emptyList();
+    return RECORDER.getClassMetrics();
+  }
+
+  /**
+   * Reset all the counters and histograms to zero.
+   */
+  public static void reset() {
+    if (ENABLED)
+      RECORDER.reset();
+  }
+
+  private static void register(final IdentityMetricsMXBean identityMetricsMXBean) {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(identityMetricsMXBean, new ObjectName(OBJECT_NAME));
+    } catch (Exception e) {
+      LoggerFactory.getLogger(IdentityMetrics.class).warn("Failed to register [{0}] over JMX, reason [{1}]",
+          OBJECT_NAME, e);
+    }
+  }
+
+  private IdentityMetrics() {
+    throw new UnsupportedOperationException(IdentityMetrics.class.getName() + " should not be constructed!");
+  }
+}
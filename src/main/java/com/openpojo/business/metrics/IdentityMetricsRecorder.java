@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the metrics of {@link IdentityMetrics}, calls are counted on {@link LongAdder}s so threads counting calls on
+ * the same class don't contend, sampled latencies are rare enough to go to plain atomic histograms.
+ * <br>
+ * Metrics are held per class in a {@link ClassValue}, and listed for snapshots in a map weakly keyed on the class,
+ * neither keeps a class, or its class loader, from being unloaded, at which point its metrics drop out of snapshots.
+ */
+class IdentityMetricsRecorder implements IdentityMetricsMXBean {
+  static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+  private final int sampleRate;
+  private final Map<Class<?>, ClassMetrics> allClassMetrics = new WeakHashMap<Class<?>, ClassMetrics>();
+  private final ClassValue<ClassMetrics> classMetrics = new ClassValue<ClassMetrics>() {
+    @Override
+    protected ClassMetrics computeValue(Class<?> type) {
+      synchronized (allClassMetrics) {
+        ClassMetrics metrics = allClassMetrics.get(type);
+        if (metrics == null) {
+          metrics = new ClassMetrics(type.getName());
+          allClassMetrics.put(type, metrics);
+        }
+        return metrics;
+      }
+    }
+  };
+
+  IdentityMetricsRecorder(final int sampleRate) {
+    this.sampleRate = Math.max(1, sampleRate);
+  }
+
+  long begin() {
+    if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0)
+      return NOT_SAMPLED;
+    return System.nanoTime();
+  }
+
+  void end(final IdentityOperation identityOperation, final Class<?> type, final long begin) {
+    final ClassMetrics metrics = classMetrics.get(type);
+    metrics.counts[identityOperation.ordinal()].increment();
+    if (begin != NOT_SAMPLED)
+      metrics.latencies[identityOperation.ordinal()].incrementAndGet(bucketOf(System.nanoTime() - begin));
+  }
+
+  void count(final IdentityOperation identityOperation, final Class<?> type) {
+    classMetrics.get(type).counts[identityOperation.ordinal()].increment();
+  }
+
+  void lookup(final Class<?> type, final boolean fastPath) {
+    final ClassMetrics metrics = classMetrics.get(type);
+    if (fastPath)
+      metrics.fastPath.increment();
+    else
+      metrics.slowPath.increment();
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public List<IdentityMetricsSnapshot> getClassMetrics() {
+    final List<IdentityMetricsSnapshot> snapshots = new ArrayList<IdentityMetricsSnapshot>();
+    for (ClassMetrics metrics : getAllClassMetrics())
+      snapshots.add(metrics.snapshot());
+    return snapshots;
+  }
+
+  public void reset() {
+    for (ClassMetrics metrics : getAllClassMetrics())
+      metrics.reset();
+  }
+
+  private List<ClassMetrics> getAllClassMetrics() {
+    synchronized (allClassMetrics) {
+      return new ArrayList<ClassMetrics>(allClassMetrics.values());
+    }
+  }
+
+  /**
+   * @return the histogram bucket of a latency, bucket 0 holds 0ns and bucket i holds [2^(i-1), 2^i) ns.
+   */
+  static int bucketOf(final long nanos) {
+    return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+  }
+
+  private static class ClassMetrics {
+    private static final IdentityOperation[] IDENTITY_OPERATIONS = IdentityOperation.values();
+
+    private final String typeName;
+    private final LongAdder[] counts = new LongAdder[IDENTITY_OPERATIONS.length];
+    private final AtomicLongArray[] latencies = new AtomicLongArray[IDENTITY_OPERATIONS.length];
+    private final LongAdder fastPath = new LongAdder();
+    private final LongAdder slowPath = new LongAdder();
+
+    private ClassMetrics(final String typeName) {
+      this.typeName = typeName;
+      for (int i = 0; i < IDENTITY_OPERATIONS.length; i++) {
+        counts[i] = new LongAdder();
+        latencies[i] = new AtomicLongArray(IdentityMetricsSnapshot.LATENCY_BUCKETS);
+      }
+    }
+
+    private IdentityMetricsSnapshot snapshot() {
+      final long[] countSnapshot = new long[counts.length];
+      final long[][] latencySnapshot = new long[latencies.length][IdentityMetricsSnapshot.LATENCY_BUCKETS];
+      for (int i = 0; i < counts.length; i++) {
+        countSnapshot[i] = counts[i].sum();
+        for (int bucket = 0; bucket < IdentityMetricsSnapshot.LATENCY_BUCKETS; bucket++)
+          latencySnapshot[i][bucket] = latencies[i].get(bucket);
+      }
+      return new IdentityMetricsSnapshot(typeName, countSnapshot, fastPath.sum(), slowPath.sum(),
+          latencySnapshot);
+    }
+
+    private void reset() {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i].reset();
+        for (int bucket = 0; bucket < IdentityMetricsSnapshot.LATENCY_BUCKETS; bucket++)
+          latencies[i].set(bucket, 0);
+      }
+      fastPath.reset();
+      slowPath.reset();
+    }
+  }
+}
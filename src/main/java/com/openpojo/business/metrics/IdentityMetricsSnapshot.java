@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The metrics of one class at the time of the snapshot, see {@link IdentityMetrics}.
+ * <br>
+ * Sampled latencies are kept in power of two buckets, bucket 0 holds 0ns and bucket i holds [2^(i-1), 2^i) ns.
+ */
+public final class IdentityMetricsSnapshot {
+  public static final int LATENCY_BUCKETS = 64;
+
+  private final String className;
+  private final long[] counts;
+  private final long fastPathCount;
+  private final long slowPathCount;
+  private final long[][] latencies;
+
+  IdentityMetricsSnapshot(final String className, final long[] counts, final long fastPathCount,
+                          final long slowPathCount, final long[][] latencies) {
+    this.className = className;
+    this.counts = counts;
+    this.fastPathCount = fastPathCount;
+    this.slowPathCount = slowPathCount;
+    this.latencies = latencies;
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * @return the number of handler lookups resolved from the per class cache.
+   */
+  public long getFastPathCount() {
+    return fastPathCount;
+  }
+
+  /**
+   * @return the number of handler lookups that walked the handler chain.
+   */
+  public long getSlowPathCount() {
+    return slowPathCount;
+  }
+
+  public long getCount(final IdentityOperation identityOperation) {
+    return counts[identityOperation.ordinal()];
+  }
+
+  /**
+   * @return the number of calls per operation name.
+   */
+  public Map<String, Long> getCounts() {
+    final Map<String, Long> countsByName = new LinkedHashMap<String, Long>();
+    for (IdentityOperation identityOperation : IdentityOperation.values())
+      countsByName.put(identityOperation.name(), counts[identityOperation.ordinal()]);
+    return Collections.unmodifiableMap(countsByName);
+  }
+
+  /**
+   * @return a copy of the sampled latency histogram of an operation.
+   */
+  public long[] getSampledLatencies(final IdentityOperation identityOperation) {
+    return latencies[identityOperation.ordinal()].clone();
+  }
+
+  /**
+   * @return the sampled latency histogram per name of timed operation.
+   */
+  public Map<String, long[]> getSampledLatencies() {
+    final Map<String, long[]> latenciesByName = new LinkedHashMap<String, long[]>();
+    for (IdentityOperation identityOperation : IdentityOperation.values())
+      if (identityOperation.isTimed())
+        latenciesByName.put(identityOperation.name(), getSampledLatencies(identityOperation));
+    return Collections.unmodifiableMap(latenciesByName);
+  }
+
+  /**
+   * @param identityOperation
+   *     the operation.
+   * @param percentile
+   *     the percentile, between 0 and 100.
+   * @return the upper bound in nanoseconds of the bucket holding the percentile of the sampled latencies, or 0 if
+   * none were sampled.
+   */
+  public long getSampledLatencyPercentile(final IdentityOperation identityOperation, final double percentile) {
+    final long[] histogram = latencies[identityOperation.ordinal()];
+    long samples = 0;
+    for (long bucketCount : histogram)
+      samples += bucketCount;
+    if (samples == 0)
+      return 0;
+
+    final long rank = Math.max(1, (long) Math.ceil(samples * percentile / 100));
+    long seen = 0;
+    int bucket = 0;
+    while (bucket < histogram.length - 1 && (seen += histogram[bucket]) < rank)
+      bucket++;
+    return bucket == 0 ? 0 : (1L << bucket) - 1;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("IdentityMetricsSnapshot [className=%s, counts=%s, fastPathCount=%d, slowPathCount=%d]",
+        className, getCounts(), fastPathCount, slowPathCount);
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+/**
+ * The business identity operations counted by {@link IdentityMetrics}.
+ */
+public enum IdentityOperation {
+  EQUALS,
+  HASH_CODE,
+  TO_STRING,
+  /**
+   * Counted once per validated object, validation isn't timed on its own since it runs inside the other operations.
+   */
+  VALIDATE;
+
+  /**
+   * @return true if sampled calls of this operation are timed.
+   */
+  public boolean isTimed() {
+    return this != VALIDATE;
+  }
+}
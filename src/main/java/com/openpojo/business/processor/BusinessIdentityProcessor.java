@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import com.openpojo.business.annotation.AdaptiveBusinessKeyOrder;
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.annotation.ImmutableBusinessKeys;
+import com.openpojo.business.identity.GeneratedIdentity;
+
+/**
+ * This annotation processor generates the business identity of every class that has
+ * {@link BusinessKey} fields, declared or inherited, so equality, hash codes and validation don't read the keys
+ * through reflection at runtime.
+ * <br>
+ * For a class <code>Foo</code> it generates <code>Foo_BusinessIdentity</code> in the same package, with static
+ * <code>equals(Object, Object)</code>, <code>hashCode(Object)</code>, <code>validate(Object)</code>,
+ * <code>validateAndEquals(Object, Object)</code> and <code>toString(Object)</code> methods following the same rules
+ * as the reflection based defaults, and the {@link GeneratedIdentity} that the default identity handler picks up.
+ * Keys are read through VarHandles, which reach private and inherited fields at the cost of a plain field read.
+ * toString renders every declared field the same way as the default handler, through reflection, so it includes
+ * fields added after compilation.
+ * <br>
+ * Classes that can't be named from their package (private nested classes) are skipped, and keep using reflection.
+ * So are classes annotated with {@link ImmutableBusinessKeys} or {@link AdaptiveBusinessKeyOrder}, whose remembered
+ * hash codes and adaptive comparison order only their business key plan provides.
+ * <br>
+ * The processor is opt-in, to enable it name it on the compiler's command line:<br>
+ * <code>javac -processor com.openpojo.business.processor.BusinessIdentityProcessor ...</code><br>
+ * or in the maven-compiler-plugin's <code>annotationProcessors</code>.
+ */
+public class BusinessIdentityProcessor extends AbstractProcessor {
+  private static final String GENERATED_IDENTITY = GeneratedIdentity.class.getName();
+  private static final String BUSINESS_EXCEPTION = "com.openpojo.business.exception.BusinessException";
+  private static final String BUSINESS_IDENTITY_UTILS = "com.openpojo.business.utils.BusinessIdentityUtils";
+  private static final String BUSINESS_POJO_HELPER = "com.openpojo.business.utils.BusinessPojoHelper";
+  private static final String DEFAULT_IDENTITY_HANDLER = "com.openpojo.business.identity.impl.DefaultIdentityHandler";
+  private static final String VAR_HANDLE = "java.lang.invoke.VarHandle";
+
+  private final Set<String> generated = new HashSet<String>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    // Classes inheriting all their keys carry no annotation of their own, every class has to be seen.
+    return Collections.singleton("*");
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements()))
+      processType(typeElement);
+    return false;
+  }
+
+  private void processType(final TypeElement typeElement) {
+    for (TypeElement nested : ElementFilter.typesIn(typeElement.getEnclosedElements()))
+      processType(nested);
+
+    if (!typeElement.getKind().isClass() || typeElement.getModifiers().contains(Modifier.ABSTRACT))
+      return;
+
+    final List<BusinessKeyElement> businessKeys = getBusinessKeys(typeElement);
+    if (businessKeys.isEmpty())
+      return;
+
+    if (!isNameable(typeElement)) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+          "Business identity not generated for a private class, it will use reflection", typeElement);
+      return;
+    }
+
+    if (typeElement.getAnnotation(ImmutableBusinessKeys.class) != null
+        || typeElement.getAnnotation(AdaptiveBusinessKeyOrder.class) != null) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+          "Business identity not generated for a class with immutable business keys or an adaptive business key "
+              + "order, it will use reflection", typeElement);
+      return;
+    }
+
+    final String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    if (!generated.add(binaryName))
+      return;
+
+    final String identityName = binaryName + GeneratedIdentity.CLASS_SUFFIX;
+    try {
+      final Writer writer = processingEnv.getFiler().createSourceFile(identityName, typeElement).openWriter();
+      try {
+        writer.write(generate(typeElement, identityName, businessKeys));
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Failed to generate business identity [" + identityName + "]: " + e, typeElement);
+    }
+  }
+
+  /**
+   * The business keys in the order reflection finds them: the class's own fields in declaration order, then its super
+   * class's, up the hierarchy.
+   */
+  private List<BusinessKeyElement> getBusinessKeys(final TypeElement typeElement) {
+    final List<BusinessKeyElement> businessKeys = new ArrayList<BusinessKeyElement>();
+    TypeElement current = typeElement;
+    int depth = 0;
+    while (current != null) {
+      for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        final BusinessKey businessKey = field.getAnnotation(BusinessKey.class);
+        if (businessKey != null)
+          businessKeys.add(new BusinessKeyElement(field, depth, businessKey));
+      }
+      current = getSuperclass(current);
+      depth++;
+    }
+    return businessKeys;
+  }
+
+  private static TypeElement getSuperclass(final TypeElement typeElement) {
+    final TypeMirror superclass = typeElement.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED)
+      return null;
+    return (TypeElement) ((DeclaredType) superclass).asElement();
+  }
+
+  private static boolean isNameable(final TypeElement typeElement) {
+    Element current = typeElement;
+    while (current instanceof TypeElement) {
+      final NestingKind nestingKind = ((TypeElement) current).getNestingKind();
+      if (current.getModifiers().contains(Modifier.PRIVATE) || nestingKind == NestingKind.LOCAL
+          || nestingKind == NestingKind.ANONYMOUS)
+        return false;
+      current = current.getEnclosingElement();
+    }
+    return true;
+  }
+
+  private String generate(final TypeElement typeElement, final String identityName,
+                          final List<BusinessKeyElement> businessKeys) {
+    final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(typeElement);
+    final String typeName = processingEnv.getTypeUtils().erasure(typeElement.asType()).toString();
+    final String simpleName = packageElement.isUnnamed() ? identityName
+        : identityName.substring(packageElement.getQualifiedName().length() + 1);
+
+    final StringBuilder source = new StringBuilder();
+    if (!packageElement.isUnnamed())
+      source.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+
+    source.append("/**\n * The business identity of {@link ").append(typeName).append("}, generated by ")
+        .append(BusinessIdentityProcessor.class.getName()).append(".\n */\n");
+    source.append("@javax.annotation.processing.Generated(\"").append(BusinessIdentityProcessor.class.getName())
+        .append("\")\n");
+    source.append("@SuppressWarnings(\"rawtypes\")\n");
+    source.append("public final class ").append(simpleName).append(" {\n");
+
+    for (int i = 0; i < businessKeys.size(); i++) {
+      final BusinessKeyElement businessKey = businessKeys.get(i);
+      source.append("  private static final ").append(VAR_HANDLE).append(" KEY_").append(i).append(" = varHandle(")
+          .append(typeName).append(".class");
+      for (int depth = 0; depth < businessKey.depth; depth++)
+        source.append(".getSuperclass()");
+      source.append(", \"").append(businessKey.field.getSimpleName()).append("\");\n");
+    }
+    source.append("\n");
+
+    source.append("  public static final ").append(GENERATED_IDENTITY).append(" ")
+        .append(GeneratedIdentity.INSTANCE_FIELD)
+        .append(" = new ").append(GENERATED_IDENTITY).append("() {\n");
+    source.append("    public boolean areEqual(Object first, Object second) {\n");
+    source.append("      return ").append(simpleName).append(".equals(first, second);\n    }\n\n");
+    source.append("    public int generateHashCode(Object object) {\n");
+    source.append("      return ").append(simpleName).append(".hashCode(object);\n    }\n\n");
+    source.append("    public void validate(Object object) {\n");
+    source.append("      ").append(simpleName).append(".validate(object);\n    }\n\n");
+    source.append("    public boolean validateAndCompare(Object first, Object second) {\n");
+    source.append("      return ").append(simpleName).append(".validateAndEquals(first, second);\n    }\n  };\n\n");
+
+    source.append("  private ").append(simpleName).append("() {\n  }\n\n");
+
+    generateEquals(source, typeName, businessKeys);
+    generateHashCode(source, typeName, businessKeys);
+    generateValidate(source, typeName, businessKeys);
+    generateValidateAndEquals(source, typeName, businessKeys);
+
+    source.append("  public static String toString(Object object) {\n");
+    source.append("    return ").append(DEFAULT_IDENTITY_HANDLER).append(".getInstance().toString(object);\n  }\n\n");
+
+    source.append("  private static ").append(VAR_HANDLE)
+        .append(" varHandle(Class<?> declaringClass, String name) {\n");
+    source.append("    try {\n");
+    source.append("      return java.lang.invoke.MethodHandles.privateLookupIn(declaringClass, "
+        + "java.lang.invoke.MethodHandles.lookup())\n");
+    source.append("          .unreflectVarHandle(declaringClass.getDeclaredField(name));\n");
+    source.append("    } catch (ReflectiveOperationException e) {\n");
+    source.append("      throw new ExceptionInInitializerError(e);\n    }\n  }\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private static void generateEquals(final StringBuilder source, final String typeName,
+                                     final List<BusinessKeyElement> businessKeys) {
+    source.append("  public static boolean equals(Object first, Object second) {\n");
+    source.append("    if (first == second)\n      return true;\n\n");
+    source.append("    final ").append(typeName).append(" firstInstance = (").append(typeName).append(") first;\n");
+    source.append("    final ").append(typeName).append(" secondInstance = (").append(typeName).append(") second;\n");
+    for (int i = 0; i < businessKeys.size(); i++) {
+      final BusinessKeyElement businessKey = businessKeys.get(i);
+      final String firstValue = businessKey.read(i, "firstInstance");
+      final String secondValue = businessKey.read(i, "secondInstance");
+      source.append("    if (");
+      appendDiffers(source, businessKey, firstValue, secondValue);
+      source.append(")\n      return false;\n");
+    }
+    source.append("    return true;\n  }\n\n");
+  }
+
+  /**
+   * Appends a condition that is true when two values of a business key differ.
+   */
+  private static void appendDiffers(final StringBuilder source, final BusinessKeyElement businessKey,
+                                    final String firstValue, final String secondValue) {
+    switch (businessKey.kind) {
+      case FLOAT:
+        source.append("Float.floatToIntBits(").append(firstValue).append(") != Float.floatToIntBits(")
+            .append(secondValue).append(")");
+        break;
+      case DOUBLE:
+        source.append("Double.doubleToLongBits(").append(firstValue).append(") != Double.doubleToLongBits(")
+            .append(secondValue).append(")");
+        break;
+      case CHAR:
+        if (businessKey.caseSensitive)
+          source.append(firstValue).append(" != ").append(secondValue);
+        else
+          source.append("!").append(BUSINESS_IDENTITY_UTILS).append(".areEqual(Character.valueOf(")
+              .append(firstValue).append("), Character.valueOf(").append(secondValue).append("), false)");
+        break;
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        source.append(firstValue).append(" != ").append(secondValue);
+        break;
+      default:
+        source.append("!").append(BUSINESS_IDENTITY_UTILS).append(".areEqual(").append(firstValue).append(", ")
+            .append(secondValue).append(", ").append(businessKey.caseSensitive).append(")");
+    }
+  }
+
+  private static void generateHashCode(final StringBuilder source, final String typeName,
+                                       final List<BusinessKeyElement> businessKeys) {
+    source.append("  public static int hashCode(Object object) {\n");
+    source.append("    if (object == null)\n      throw ").append(BUSINESS_EXCEPTION)
+        .append(".getInstance(\"null parameter passed object=[null]\");\n\n");
+    source.append("    final ").append(typeName).append(" instance = (").append(typeName).append(") object;\n");
+    source.append("    int result = 1;\n");
+    for (int i = 0; i < businessKeys.size(); i++) {
+      final BusinessKeyElement businessKey = businessKeys.get(i);
+      final String value = businessKey.read(i, "instance");
+      source.append("    result = 31 * result + ");
+      switch (businessKey.kind) {
+        case BOOLEAN:
+          source.append("Boolean.hashCode(").append(value).append(")");
+          break;
+        case LONG:
+          source.append("Long.hashCode(").append(value).append(")");
+          break;
+        case FLOAT:
+          source.append("Float.hashCode(").append(value).append(")");
+          break;
+        case DOUBLE:
+          source.append("Double.hashCode(").append(value).append(")");
+          break;
+        case CHAR:
+          if (businessKey.caseSensitive)
+            source.append(value);
+          else
+            source.append(BUSINESS_IDENTITY_UTILS).append(".getHashCode(Character.valueOf(").append(value)
+                .append("), false)");
+          break;
+        case BYTE:
+        case SHORT:
+        case INT:
+          source.append(value);
+          break;
+        default:
+          source.append(BUSINESS_IDENTITY_UTILS).append(".getHashCode(").append(value).append(", ")
+              .append(businessKey.caseSensitive).append(")");
+      }
+      source.append(";\n");
+    }
+    source.append("    return result;\n  }\n\n");
+  }
+
+  /**
+   * Required fields are checked in order, then the composite group, the same order the reflection based validation
+   * takes so the same BusinessException is thrown. Messages name the field the same way, looking it up only once
+   * validation failed.
+   */
+  private static void generateValidate(final StringBuilder source, final String typeName,
+                                       final List<BusinessKeyElement> businessKeys) {
+    boolean hasCompositeGroup = false;
+    for (BusinessKeyElement businessKey : businessKeys)
+      hasCompositeGroup |= businessKey.composite;
+
+    source.append("  public static void validate(Object object) {\n");
+    source.append("    if (object == null)\n      return;\n\n");
+    source.append("    final ").append(typeName).append(" instance = (").append(typeName).append(") object;\n");
+    if (hasCompositeGroup)
+      source.append("    boolean compositeGroupPassed = false;\n");
+    for (int i = 0; i < businessKeys.size(); i++) {
+      final BusinessKeyElement businessKey = businessKeys.get(i);
+      final boolean primitive = businessKey.kind.isPrimitive();
+      if (businessKey.composite) {
+        if (primitive)
+          source.append("    compositeGroupPassed = true;\n");
+        else
+          source.append("    compositeGroupPassed = compositeGroupPassed || ").append(businessKey.read(i, "instance"))
+              .append(" != null;\n");
+      } else if (businessKey.required && !primitive) {
+        source.append("    if (").append(businessKey.read(i, "instance")).append(" == null)\n");
+        source.append("      throw ").append(BUSINESS_EXCEPTION).append(".getInstance(String.format(")
+            .append("\"Field required and can't be null [%s]\", ").append(BUSINESS_POJO_HELPER)
+            .append(".getBusinessKeyFields(object.getClass()).get(").append(i).append(")));\n");
+      }
+    }
+    if (hasCompositeGroup) {
+      source.append("    if (!compositeGroupPassed)\n");
+      source.append("      throw ").append(BUSINESS_EXCEPTION).append(".getInstance(String.format(")
+          .append("\"Non of the fields in the composite group were populated [%s]\", object.getClass()));\n");
+    }
+    source.append("  }\n\n");
+  }
+
+  /**
+   * Validates both objects and compares them in one pass over the keys, reading each key once. Keys validation
+   * doesn't depend on are only read while the objects are still equal. On a validation failure the objects are
+   * validated again one after the other, so the same BusinessException is thrown as validating first then second.
+   */
+  private static void generateValidateAndEquals(final StringBuilder source, final String typeName,
+                                                final List<BusinessKeyElement> businessKeys) {
+    boolean hasCompositeGroup = false;
+    for (BusinessKeyElement businessKey : businessKeys)
+      hasCompositeGroup |= businessKey.composite;
+
+    source.append("  public static boolean validateAndEquals(Object first, Object second) {\n");
+    source.append("    if (first == second) {\n      validate(first);\n      return true;\n    }\n\n");
+    source.append("    final ").append(typeName).append(" firstInstance = (").append(typeName).append(") first;\n");
+    source.append("    final ").append(typeName).append(" secondInstance = (").append(typeName).append(") second;\n");
+    source.append("    boolean equal = true;\n");
+    if (hasCompositeGroup)
+      source.append("    boolean firstCompositeGroupPassed = false;\n")
+          .append("    boolean secondCompositeGroupPassed = false;\n");
+    for (int i = 0; i < businessKeys.size(); i++) {
+      final BusinessKeyElement businessKey = businessKeys.get(i);
+      final boolean primitive = businessKey.kind.isPrimitive();
+      String firstValue = businessKey.read(i, "firstInstance");
+      String secondValue = businessKey.read(i, "secondInstance");
+      if (!primitive && (businessKey.composite || businessKey.required)) {
+        source.append("    final Object first").append(i).append(" = ").append(firstValue).append(";\n");
+        source.append("    final Object second").append(i).append(" = ").append(secondValue).append(";\n");
+        firstValue = "first" + i;
+        secondValue = "second" + i;
+      }
+      if (businessKey.composite) {
+        if (primitive) {
+          source.append("    firstCompositeGroupPassed = true;\n    secondCompositeGroupPassed = true;\n");
+        } else {
+          source.append("    firstCompositeGroupPassed = firstCompositeGroupPassed || ").append(firstValue)
+              .append(" != null;\n");
+          source.append("    secondCompositeGroupPassed = secondCompositeGroupPassed || ").append(secondValue)
+              .append(" != null;\n");
+        }
+      } else if (businessKey.required && !primitive) {
+        source.append("    if (").append(firstValue).append(" == null || ").append(secondValue).append(" == null)\n");
+        source.append("      return rejected(first, second);\n");
+      }
+      source.append("    equal = equal && !(");
+      appendDiffers(source, businessKey, firstValue, secondValue);
+      source.append(");\n");
+    }
+    if (hasCompositeGroup) {
+      source.append("    if (!firstCompositeGroupPassed || !secondCompositeGroupPassed)\n");
+      source.append("      return rejected(first, second);\n");
+    }
+    source.append("    return equal;\n  }\n\n");
+
+    source.append("  private static boolean rejected(Object first, Object second) {\n");
+    source.append("    validate(first);\n    validate(second);\n    return equals(first, second);\n  }\n\n");
+  }
+
+  private static class BusinessKeyElement {
+    private final VariableElement field;
+    private final int depth;
+    private final TypeKind kind;
+    private final boolean isStatic;
+    private final boolean caseSensitive;
+    private final boolean required;
+    private final boolean composite;
+
+    private BusinessKeyElement(final VariableElement field, final int depth, final BusinessKey businessKey) {
+      this.field = field;
+      this.depth = depth;
+      kind = field.asType().getKind();
+      isStatic = field.getModifiers().contains(Modifier.STATIC);
+      caseSensitive = businessKey.caseSensitive();
+      required = businessKey.required();
+      composite = businessKey.composite();
+    }
+
+    /**
+     * @return An expression reading this key of the instance, as its primitive type or as an Object.
+     */
+    private String read(final int index, final String instance) {
+      final String type = kind.isPrimitive() ? kind.name().toLowerCase(Locale.ROOT) : "Object";
+      return "(" + type + ") KEY_" + index + ".get(" + (isStatic ? "" : instance) + ")";
+    }
+  }
+}
@@ -19,6 +19,9 @@
 package com.openpojo.business.utils;
 
 import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
 
 import com.openpojo.business.cache.BusinessKeyField;
 import com.openpojo.business.exception.BusinessException;
@@ -29,6 +32,10 @@ import com.openpojo.business.exception.BusinessException;
  * @author oshoukry
  */
 public class BusinessIdentityUtils {
+  private static final int PRIME = 31;
+  private static final int PRIME_POWER_2 = PRIME * PRIME;
+  private static final int PRIME_POWER_3 = PRIME_POWER_2 * PRIME;
+  private static final int PRIME_POWER_4 = PRIME_POWER_3 * PRIME;
 
   private BusinessIdentityUtils() {
     throw new UnsupportedOperationException(BusinessIdentityUtils.class.getName() + " should not be constructed!");
@@ -94,41 +101,274 @@ public class BusinessIdentityUtils {
    */
   public static boolean areEqual(final BusinessKeyField pojoField, final Object first, final Object second, final boolean
       caseSensitive) {
-    Object firstField = pojoField.get(first);
-    Object secondField = pojoField.get(second);
+    return areEqual(pojoField.get(first), pojoField.get(second), caseSensitive);
+  }
+
+  /**
+   * Perform Equality between two already extracted field values.
+   * This follows the same rules as {@link #areEqual(BusinessKeyField, Object, Object, boolean)}, and is meant for
+   * callers that read the field values themselves (i.e. generated identity code).
+   *
+   * @param firstField
+   *     The value of the field in the first instance.
+   * @param secondField
+   *     The value of the field in the second instance.
+   * @param caseSensitive
+   *     Whether or not to compare ignoring case.
+   * @return True if they are equal or if they are both null.
+   */
+  public static boolean areEqual(final Object firstField, final Object secondField, final boolean caseSensitive) {
     if (firstField == null) {
       return secondField == null;
     }
 
     return secondField != null && doEquals(firstField, secondField, caseSensitive);
-
   }
 
   private static boolean doEquals(Object first, Object second, boolean caseSensitive) {
     if (first == second)
       return true;
 
-    if (first == null) {
+    if (first == null || second == null) {
       return false;
     }
 
     if (first.getClass().isArray()) {
-      if (Array.getLength(first) != Array.getLength(second)) {
+      return arraysEqual(first, second, caseSensitive);
+    }
+
+    return valuesEqual(first, second, caseSensitive);
+  }
+
+  private static boolean valuesEqual(Object first, Object second, boolean caseSensitive) {
+    if (!caseSensitive && isCharacterBased(first)) {
+      return equalsIgnoreCase(first, second);
+    }
+
+    return first.equals(second);
+  }
+
+  /**
+   * Compare two arrays element by element, primitive arrays of the same type are compared without boxing and nested
+   * Object[] are walked iteratively.
+   * Anything that isn't an array never equals an array.
+   */
+  private static boolean arraysEqual(Object first, Object second, boolean caseSensitive) {
+    if (!second.getClass().isArray()) {
+      return false;
+    }
+
+    if (first instanceof Object[] && second instanceof Object[]) {
+      return objectArraysEqual((Object[]) first, (Object[]) second, caseSensitive);
+    }
+
+    if (first.getClass() == second.getClass()) {
+      return primitiveArraysEqual(first, second, caseSensitive);
+    }
+
+    final int length = Array.getLength(first);
+    if (length != Array.getLength(second)) {
+      return false;
+    }
+
+    for (int idx = 0; idx < length; idx++) {
+      if (!doEquals(Array.get(first, idx), Array.get(second, idx), caseSensitive))
         return false;
+    }
+    return true;
+  }
+
+  private static boolean primitiveArraysEqual(Object first, Object second, boolean caseSensitive) {
+    if (first instanceof int[])
+      return Arrays.equals((int[]) first, (int[]) second);
+    if (first instanceof long[])
+      return Arrays.equals((long[]) first, (long[]) second);
+    if (first instanceof byte[])
+      return Arrays.equals((byte[]) first, (byte[]) second);
+    if (first instanceof char[]) {
+      if (caseSensitive)
+        return Arrays.equals((char[]) first, (char[]) second);
+
+      return charArraysEqualIgnoreCase((char[]) first, (char[]) second);
+    }
+    if (first instanceof short[])
+      return Arrays.equals((short[]) first, (short[]) second);
+    if (first instanceof boolean[])
+      return Arrays.equals((boolean[]) first, (boolean[]) second);
+    if (first instanceof float[])
+      return Arrays.equals((float[]) first, (float[]) second);
+    return Arrays.equals((double[]) first, (double[]) second);
+  }
+
+  private static boolean objectArraysEqual(Object[] first, Object[] second, boolean caseSensitive) {
+    Deque<Object[]> pending = null;
+    Object[] currentFirst = first;
+    Object[] currentSecond = second;
+
+    while (true) {
+      if (currentFirst.length != currentSecond.length) {
+        return false;
+      }
+
+      for (int idx = 0; idx < currentFirst.length; idx++) {
+        final Object firstElement = currentFirst[idx];
+        final Object secondElement = currentSecond[idx];
+        if (firstElement instanceof Object[] && secondElement instanceof Object[]) {
+          if (firstElement != secondElement) {
+            if (pending == null)
+              pending = new ArrayDeque<Object[]>();
+            pending.push((Object[]) firstElement);
+            pending.push((Object[]) secondElement);
+          }
+        } else if (!doEquals(firstElement, secondElement, caseSensitive)) {
+          return false;
+        }
       }
 
-      boolean runningEquality = true;
-      for (int idx = 0; idx < Array.getLength(first); idx++) {
-        runningEquality = runningEquality && doEquals(Array.get(first, idx), Array.get(second, idx), caseSensitive);
+      if (pending == null || pending.isEmpty()) {
+        return true;
       }
-      return runningEquality;
+      currentSecond = pending.pop();
+      currentFirst = pending.pop();
     }
+  }
 
-    if (!caseSensitive && isCharacterBased(first)) {
-      return first.toString().equalsIgnoreCase(second.toString());
+  /**
+   * Order two already extracted field values, consistent with {@link #areEqual(Object, Object, boolean)} as long as
+   * the natural ordering of the values is consistent with their equals.
+   * Null values order first, case insensitive character values order as their case folded text would (the same folding
+   * used for equality and hash codes), arrays order element by element with shorter arrays first when one is a prefix
+   * of the other, and any other value is ordered through its {@link Comparable} implementation.
+   *
+   * @param firstField
+   *     The value of the field in the first instance.
+   * @param secondField
+   *     The value of the field in the second instance.
+   * @param caseSensitive
+   *     Whether or not to compare ignoring case.
+   * @return A negative number, zero, or a positive number as the first value orders before, the same as, or after the
+   * second.
+   */
+  public static int compare(final Object firstField, final Object secondField, final boolean caseSensitive) {
+    if (firstField == secondField)
+      return 0;
+    if (firstField == null)
+      return -1;
+    if (secondField == null)
+      return 1;
+
+    final boolean firstIsArray = firstField.getClass().isArray();
+    final boolean secondIsArray = secondField.getClass().isArray();
+    if (firstIsArray || secondIsArray) {
+      if (firstIsArray && secondIsArray)
+        return compareArrays(firstField, secondField, caseSensitive);
+      return firstIsArray ? 1 : -1;
     }
 
-    return first.equals(second);
+    return compareValues(firstField, secondField, caseSensitive);
+  }
+
+  /**
+   * Normalize a field value into a sort key, so that sort keys can be ordered case sensitively with
+   * {@link #compare(Object, Object, boolean)} and get the same order as the original values would with the given case
+   * sensitivity.
+   * Case insensitive character values are replaced with their case folded text, anything else is returned as is.
+   *
+   * @param data
+   *     The field value.
+   * @param caseSensitive
+   *     Whether or not the field is compared ignoring case.
+   * @return The sort key for the value.
+   */
+  public static Object getSortKey(final Object data, final boolean caseSensitive) {
+    if (caseSensitive || data == null)
+      return data;
+
+    if (isCharacterBased(data))
+      return foldCase(data instanceof CharSequence ? (CharSequence) data : data.toString());
+
+    if (data instanceof char[]) {
+      final char[] folded = ((char[]) data).clone();
+      for (int idx = 0; idx < folded.length; idx++)
+        folded[idx] = (char) foldCase(folded[idx]);
+      return folded;
+    }
+
+    if (data instanceof Object[]) {
+      final Object[] folded = ((Object[]) data).clone();
+      for (int idx = 0; idx < folded.length; idx++)
+        folded[idx] = getSortKey(folded[idx], false);
+      return folded;
+    }
+    return data;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static int compareValues(Object first, Object second, boolean caseSensitive) {
+    if (!caseSensitive && isCharacterBased(first) && isCharacterBased(second)) {
+      if (first instanceof Character && second instanceof Character)
+        return foldCase((Character) first) - foldCase((Character) second);
+      return compareIgnoreCase(toCharSequence(first), toCharSequence(second));
+    }
+
+    if (!(first instanceof Comparable))
+      throw BusinessException.getInstance(String.format("Business key value isn't Comparable [%s]", first.getClass()));
+    return ((Comparable<Object>) first).compareTo(second);
+  }
+
+  private static int compareArrays(Object first, Object second, boolean caseSensitive) {
+    if (first instanceof Object[] && second instanceof Object[])
+      return compareObjectArrays((Object[]) first, (Object[]) second, caseSensitive);
+
+    if (first.getClass() == second.getClass())
+      return comparePrimitiveArrays(first, second, caseSensitive);
+
+    final int firstLength = Array.getLength(first);
+    final int secondLength = Array.getLength(second);
+    for (int idx = 0; idx < firstLength && idx < secondLength; idx++) {
+      final int result = compare(Array.get(first, idx), Array.get(second, idx), caseSensitive);
+      if (result != 0)
+        return result;
+    }
+    return firstLength - secondLength;
+  }
+
+  private static int comparePrimitiveArrays(Object first, Object second, boolean caseSensitive) {
+    if (first instanceof int[])
+      return Arrays.compare((int[]) first, (int[]) second);
+    if (first instanceof long[])
+      return Arrays.compare((long[]) first, (long[]) second);
+    if (first instanceof byte[])
+      return Arrays.compare((byte[]) first, (byte[]) second);
+    if (first instanceof char[]) {
+      if (caseSensitive)
+        return Arrays.compare((char[]) first, (char[]) second);
+
+      final char[] firstChars = (char[]) first;
+      final char[] secondChars = (char[]) second;
+      for (int idx = 0; idx < firstChars.length && idx < secondChars.length; idx++) {
+        final int result = foldCase(firstChars[idx]) - foldCase(secondChars[idx]);
+        if (result != 0)
+          return result;
+      }
+      return firstChars.length - secondChars.length;
+    }
+    if (first instanceof short[])
+      return Arrays.compare((short[]) first, (short[]) second);
+    if (first instanceof boolean[])
+      return Arrays.compare((boolean[]) first, (boolean[]) second);
+    if (first instanceof float[])
+      return Arrays.compare((float[]) first, (float[]) second);
+    return Arrays.compare((double[]) first, (double[]) second);
+  }
+
+  private static int compareObjectArrays(Object[] first, Object[] second, boolean caseSensitive) {
+    for (int idx = 0; idx < first.length && idx < second.length; idx++) {
+      final int result = compare(first[idx], second[idx], caseSensitive);
+      if (result != 0)
+        return result;
+    }
+    return first.length - second.length;
   }
 
   /**
@@ -143,7 +383,20 @@ public class BusinessIdentityUtils {
    * @return The generated HashCode.
    */
   public static int getHashCode(final BusinessKeyField pojoField, final Object instance, final boolean caseSensitive) {
-    Object data = pojoField.get(instance);
+    return getHashCode(pojoField.get(instance), caseSensitive);
+  }
+
+  /**
+   * Generate HashCode on an already extracted field value.
+   * This follows the same rules as {@link #getHashCode(BusinessKeyField, Object, boolean)}.
+   *
+   * @param data
+   *     The field value to get the hashCode for.
+   * @param caseSensitive
+   *     Whether or not to ignore case while generating hash code.
+   * @return The generated HashCode, 0 if data is null.
+   */
+  public static int getHashCode(final Object data, final boolean caseSensitive) {
     if (data == null) {
       return 0;
     }
@@ -156,22 +409,397 @@ public class BusinessIdentityUtils {
       return 1;
     }
 
+    if (data instanceof Object[]) {
+      return objectArrayHashCode((Object[]) data, caseSensitive);
+    }
+
     if (data.getClass().isArray()) {
-      final int prime = 31;
-      int result = 1;
+      return primitiveArrayHashCode(data, caseSensitive);
+    }
+
+    return valueHashCode(data, caseSensitive);
+  }
 
-      for (int idx = 0; idx < Array.getLength(data); idx++) {
-        result = prime * result + doHashCode(Array.get(data, idx), caseSensitive);
+  private static int valueHashCode(Object data, boolean caseSensitive) {
+    if (!caseSensitive) {
+      if (data instanceof CharSequence)
+        return hashCodeIgnoreCase((CharSequence) data);
+      if (data instanceof Character)
+        return hashCodeIgnoreCase((Character) data);
+    }
+
+    return data.hashCode();
+  }
+
+  /**
+   * Primitive arrays hash the same way as their boxed elements would, which is what {@link Arrays#hashCode(int[])}
+   * and its siblings do. The JVM vectorizes those for int, byte, char, short and boolean arrays, the other element
+   * types go through {@link #blockHashCode(long[])} and its siblings.
+   */
+  private static int primitiveArrayHashCode(Object data, boolean caseSensitive) {
+    if (data instanceof int[])
+      return Arrays.hashCode((int[]) data);
+    if (data instanceof long[])
+      return blockHashCode((long[]) data);
+    if (data instanceof byte[])
+      return Arrays.hashCode((byte[]) data);
+    if (data instanceof char[]) {
+      if (caseSensitive)
+        return Arrays.hashCode((char[]) data);
+      return blockHashCodeIgnoreCase((char[]) data);
+    }
+    if (data instanceof short[])
+      return Arrays.hashCode((short[]) data);
+    if (data instanceof boolean[])
+      return Arrays.hashCode((boolean[]) data);
+    if (data instanceof float[])
+      return blockHashCode((float[]) data);
+    return blockHashCode((double[]) data);
+  }
+
+  /**
+   * The same hash as {@link Arrays#hashCode(long[])}, folded in four elements at a time: h * 31^4 + e0 * 31^3 +
+   * e1 * 31^2 + e2 * 31 + e3 is exactly four steps of h * 31 + e in int arithmetic, but the four element terms no
+   * longer wait on each other, which is what bounds the one at a time loop on long arrays.
+   */
+  private static int blockHashCode(final long[] data) {
+    int result = 1;
+    int idx = 0;
+    for (final int blocks = data.length & ~3; idx < blocks; idx += 4) {
+      result = PRIME_POWER_4 * result + PRIME_POWER_3 * elementHashCode(data[idx])
+          + PRIME_POWER_2 * elementHashCode(data[idx + 1]) + PRIME * elementHashCode(data[idx + 2])
+          + elementHashCode(data[idx + 3]);
+    }
+    for (; idx < data.length; idx++)
+      result = PRIME * result + elementHashCode(data[idx]);
+    return result;
+  }
+
+  private static int blockHashCode(final double[] data) {
+    int result = 1;
+    int idx = 0;
+    for (final int blocks = data.length & ~3; idx < blocks; idx += 4) {
+      result = PRIME_POWER_4 * result + PRIME_POWER_3 * elementHashCode(Double.doubleToLongBits(data[idx]))
+          + PRIME_POWER_2 * elementHashCode(Double.doubleToLongBits(data[idx + 1]))
+          + PRIME * elementHashCode(Double.doubleToLongBits(data[idx + 2]))
+          + elementHashCode(Double.doubleToLongBits(data[idx + 3]));
+    }
+    for (; idx < data.length; idx++)
+      result = PRIME * result + elementHashCode(Double.doubleToLongBits(data[idx]));
+    return result;
+  }
+
+  private static int blockHashCode(final float[] data) {
+    int result = 1;
+    int idx = 0;
+    for (final int blocks = data.length & ~3; idx < blocks; idx += 4) {
+      result = PRIME_POWER_4 * result + PRIME_POWER_3 * Float.floatToIntBits(data[idx])
+          + PRIME_POWER_2 * Float.floatToIntBits(data[idx + 1]) + PRIME * Float.floatToIntBits(data[idx + 2])
+          + Float.floatToIntBits(data[idx + 3]);
+    }
+    for (; idx < data.length; idx++)
+      result = PRIME * result + Float.floatToIntBits(data[idx]);
+    return result;
+  }
+
+  private static int blockHashCodeIgnoreCase(final char[] data) {
+    int result = 1;
+    int idx = 0;
+    for (final int blocks = data.length & ~3; idx < blocks; idx += 4) {
+      result = PRIME_POWER_4 * result + PRIME_POWER_3 * hashCodeIgnoreCase(data[idx])
+          + PRIME_POWER_2 * hashCodeIgnoreCase(data[idx + 1]) + PRIME * hashCodeIgnoreCase(data[idx + 2])
+          + hashCodeIgnoreCase(data[idx + 3]);
+    }
+    for (; idx < data.length; idx++)
+      result = PRIME * result + hashCodeIgnoreCase(data[idx]);
+    return result;
+  }
+
+  private static int elementHashCode(final long element) {
+    return (int) (element ^ (element >>> 32));
+  }
+
+  /**
+   * Hash an Object[] the same way a recursive walk would, keeping the partially hashed enclosing arrays on an explicit
+   * stack instead of the call stack.
+   */
+  private static int objectArrayHashCode(Object[] data, boolean caseSensitive) {
+    final int prime = 31;
+    Deque<ArrayHashFrame> enclosing = null;
+    Object[] current = data;
+    int idx = 0;
+    int result = 1;
+
+    while (true) {
+      if (idx < current.length) {
+        final Object element = current[idx++];
+        if (element instanceof Object[]) {
+          if (enclosing == null)
+            enclosing = new ArrayDeque<ArrayHashFrame>();
+          enclosing.push(new ArrayHashFrame(current, idx, result));
+          current = (Object[]) element;
+          idx = 0;
+          result = 1;
+        } else {
+          result = prime * result + doHashCode(element, caseSensitive);
+        }
+      } else {
+        if (enclosing == null || enclosing.isEmpty()) {
+          return result;
+        }
+        final ArrayHashFrame frame = enclosing.pop();
+        result = prime * frame.result + result;
+        current = frame.array;
+        idx = frame.index;
       }
+    }
+  }
+
+  private static class ArrayHashFrame {
+    private final Object[] array;
+    private final int index;
+    private final int result;
 
-      return result;
+    private ArrayHashFrame(Object[] array, int index, int result) {
+      this.array = array;
+      this.index = index;
+      this.result = result;
     }
+  }
 
-    if (!caseSensitive && isCharacterBased(data)) {
-      return data.toString().toLowerCase().hashCode();
+  /**
+   * Case insensitive equality with the same outcome as {@link String#equalsIgnoreCase(String)} on both values'
+   * toString, without creating those strings for CharSequence and Character values.
+   */
+  private static boolean equalsIgnoreCase(final Object first, final Object second) {
+    if (first instanceof CharSequence && second instanceof CharSequence) {
+      return equalsIgnoreCase((CharSequence) first, (CharSequence) second);
     }
 
-    return data.hashCode();
+    if (first instanceof Character && second instanceof Character) {
+      return charsEqualIgnoreCase((Character) first, (Character) second);
+    }
+
+    return first.toString().equalsIgnoreCase(second.toString());
+  }
+
+  /**
+   * Walks both sequences in place, matching code points the way {@link String#equalsIgnoreCase(String)} does: two code
+   * points match if they are equal once upper cased, or once upper cased then lower cased.
+   */
+  private static boolean equalsIgnoreCase(final CharSequence first, final CharSequence second) {
+    final int length = first.length();
+    if (length != second.length()) {
+      return false;
+    }
+
+    for (int firstIdx = 0, secondIdx = 0; firstIdx < length && secondIdx < length; firstIdx++, secondIdx++) {
+      final char firstChar = first.charAt(firstIdx);
+      final char secondChar = second.charAt(secondIdx);
+      if (firstChar == secondChar) {
+        continue;
+      }
+
+      if ((firstChar | secondChar) < 0x80) {
+        if (foldAscii(firstChar) != foldAscii(secondChar))
+          return false;
+        continue;
+      }
+
+      if (foldCase(firstChar) == foldCase(secondChar)) {
+        continue;
+      }
+
+      int firstCodePoint = firstChar;
+      if (Character.isHighSurrogate(firstChar) && firstIdx + 1 < length
+          && Character.isLowSurrogate(first.charAt(firstIdx + 1))) {
+        firstCodePoint = Character.toCodePoint(firstChar, first.charAt(++firstIdx));
+      } else if (Character.isLowSurrogate(firstChar) && firstIdx > 0
+          && Character.isHighSurrogate(first.charAt(firstIdx - 1))) {
+        firstCodePoint = Character.toCodePoint(first.charAt(firstIdx - 1), firstChar);
+      }
+
+      int secondCodePoint = secondChar;
+      if (Character.isHighSurrogate(secondChar) && secondIdx + 1 < length
+          && Character.isLowSurrogate(second.charAt(secondIdx + 1))) {
+        secondCodePoint = Character.toCodePoint(secondChar, second.charAt(++secondIdx));
+      } else if (Character.isLowSurrogate(secondChar) && secondIdx > 0
+          && Character.isHighSurrogate(second.charAt(secondIdx - 1))) {
+        secondCodePoint = Character.toCodePoint(second.charAt(secondIdx - 1), secondChar);
+      }
+
+      if (foldCase(firstCodePoint) != foldCase(secondCodePoint)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Orders two sequences the way {@link String#compareTo(String)} would order their case folded text, walking both in
+   * place.
+   */
+  private static int compareIgnoreCase(final CharSequence first, final CharSequence second) {
+    final int firstLength = first.length();
+    final int secondLength = second.length();
+    int firstIdx = 0;
+    int secondIdx = 0;
+    char firstPending = 0;
+    char secondPending = 0;
+
+    while (true) {
+      final int firstUnit;
+      if (firstPending != 0) {
+        firstUnit = firstPending;
+        firstPending = 0;
+      } else if (firstIdx < firstLength) {
+        final char current = first.charAt(firstIdx++);
+        if (current < 0x80) {
+          firstUnit = foldAscii(current);
+        } else {
+          int codePoint = current;
+          if (Character.isHighSurrogate(current) && firstIdx < firstLength
+              && Character.isLowSurrogate(first.charAt(firstIdx)))
+            codePoint = Character.toCodePoint(current, first.charAt(firstIdx++));
+          final int folded = foldCase(codePoint);
+          if (Character.isBmpCodePoint(folded)) {
+            firstUnit = folded;
+          } else {
+            firstUnit = Character.highSurrogate(folded);
+            firstPending = Character.lowSurrogate(folded);
+          }
+        }
+      } else {
+        firstUnit = -1;
+      }
+
+      final int secondUnit;
+      if (secondPending != 0) {
+        secondUnit = secondPending;
+        secondPending = 0;
+      } else if (secondIdx < secondLength) {
+        final char current = second.charAt(secondIdx++);
+        if (current < 0x80) {
+          secondUnit = foldAscii(current);
+        } else {
+          int codePoint = current;
+          if (Character.isHighSurrogate(current) && secondIdx < secondLength
+              && Character.isLowSurrogate(second.charAt(secondIdx)))
+            codePoint = Character.toCodePoint(current, second.charAt(secondIdx++));
+          final int folded = foldCase(codePoint);
+          if (Character.isBmpCodePoint(folded)) {
+            secondUnit = folded;
+          } else {
+            secondUnit = Character.highSurrogate(folded);
+            secondPending = Character.lowSurrogate(folded);
+          }
+        }
+      } else {
+        secondUnit = -1;
+      }
+
+      if (firstUnit != secondUnit)
+        return firstUnit - secondUnit;
+      if (firstUnit == -1)
+        return 0;
+    }
+  }
+
+  /**
+   * The case folded text of a sequence, the text that {@link #hashCodeIgnoreCase(CharSequence)} hashes and
+   * {@link #compareIgnoreCase(CharSequence, CharSequence)} orders by.
+   */
+  private static String foldCase(final CharSequence data) {
+    final int length = data.length();
+    final StringBuilder folded = new StringBuilder(length);
+    for (int idx = 0; idx < length; idx++) {
+      final char current = data.charAt(idx);
+      if (current < 0x80) {
+        folded.append((char) foldAscii(current));
+        continue;
+      }
+
+      int codePoint = current;
+      if (Character.isHighSurrogate(current) && idx + 1 < length && Character.isLowSurrogate(data.charAt(idx + 1))) {
+        codePoint = Character.toCodePoint(current, data.charAt(++idx));
+      }
+      folded.appendCodePoint(foldCase(codePoint));
+    }
+    return folded.toString();
+  }
+
+  private static CharSequence toCharSequence(final Object data) {
+    return data instanceof CharSequence ? (CharSequence) data : data.toString();
+  }
+
+  /**
+   * The identical prefix is skipped with {@link Arrays#mismatch(char[], char[])}, which the JVM vectorizes, case
+   * folding only starts at the first unit that differs.
+   */
+  private static boolean charArraysEqualIgnoreCase(final char[] first, final char[] second) {
+    if (first.length != second.length)
+      return false;
+
+    final int mismatch = Arrays.mismatch(first, second);
+    if (mismatch < 0)
+      return true;
+    for (int idx = mismatch; idx < first.length; idx++) {
+      if (!charsEqualIgnoreCase(first[idx], second[idx]))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean charsEqualIgnoreCase(final char first, final char second) {
+    return first == second || foldCase(first) == foldCase(second);
+  }
+
+  /**
+   * The hash code of the case folded sequence, computed the way {@link String#hashCode()} would be on it.
+   * Folding is locale independent and consistent with {@link #equalsIgnoreCase(CharSequence, CharSequence)}, so
+   * sequences that are equal ignoring case always hash the same; for ASCII text this is the hash of the lower case
+   * string.
+   */
+  private static int hashCodeIgnoreCase(final CharSequence data) {
+    final int length = data.length();
+    int hash = 0;
+    for (int idx = 0; idx < length; idx++) {
+      final char current = data.charAt(idx);
+      if (current < 0x80) {
+        hash = 31 * hash + foldAscii(current);
+        continue;
+      }
+
+      int codePoint = current;
+      if (Character.isHighSurrogate(current) && idx + 1 < length && Character.isLowSurrogate(data.charAt(idx + 1))) {
+        codePoint = Character.toCodePoint(current, data.charAt(++idx));
+      }
+      hash = hashFoldedCodePoint(hash, codePoint);
+    }
+    return hash;
+  }
+
+  private static int hashCodeIgnoreCase(final char data) {
+    if (data < 0x80) {
+      return foldAscii(data);
+    }
+    return hashFoldedCodePoint(0, data);
+  }
+
+  private static int hashFoldedCodePoint(final int hash, final int codePoint) {
+    final int folded = foldCase(codePoint);
+    if (Character.isBmpCodePoint(folded)) {
+      return 31 * hash + folded;
+    }
+    return 31 * (31 * hash + Character.highSurrogate(folded)) + Character.lowSurrogate(folded);
+  }
+
+  private static int foldAscii(final char data) {
+    return data >= 'A' && data <= 'Z' ? data + ('a' - 'A') : data;
+  }
+
+  static int foldCase(final int codePoint) {
+    return Character.toLowerCase(Character.toUpperCase(codePoint));
   }
 
   /**
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.utils;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Computes business key fingerprints: MurmurHash3 x64 128 (seed 0) over a canonical encoding of the key values.
+ * <br>
+ * <strong>Encoding, version 1:</strong><br>
+ * The encoding is a sequence of 64 bit words, hashed as their little endian bytes. It starts with the word
+ * {@link #VERSION_1} followed by the number of fields, then each field value in order. A value is encoded as a tag in
+ * the top byte of a word, with small payloads in the low bits of that same word:
+ * <ul>
+ * <li>null: the tag alone.</li>
+ * <li>Boolean, Byte, Short, Integer and Float (as {@link Float#floatToIntBits(float)}): the value, zero extended, in the
+ * tag's word.</li>
+ * <li>Long and Double (as {@link Double#doubleToLongBits(double)}): the tag, then the value.</li>
+ * <li>CharSequence and Character: the tag, then the UTF-16 units four per word, the first unit in the lowest bits and
+ * the last word zero padded, then a word with the text end tag and the number of units. Case insensitive text is case
+ * folded per code point first, the same folding used for case insensitive equality and hash codes.</li>
+ * <li>Enum: the tag, then its declaring class name and its name, each as text.</li>
+ * <li>UUID: the tag, then its most and least significant bits.</li>
+ * <li>BigInteger: the tag, then the length of its two's complement bytes, then those bytes eight per word, the first
+ * byte in the lowest bits. BigDecimal: the tag, then its scale, then its unscaled value as a BigInteger.</li>
+ * <li>Date: the tag, then {@link Date#getTime()}.</li>
+ * <li>Arrays, primitive or not: the tag, then the length, then each element encoded as a value, primitive elements
+ * the same as their boxed values. This keeps arrays that are equal as business keys, like int[] and Integer[], equal.</li>
+ * <li>Any other object: the tag, then its class name as text, then its hashCode in the low bits of a word. Such
+ * fingerprints are only as stable as that class's hashCode.</li>
+ * </ul>
+ * Objects that are equal by their business keys always have the same fingerprint. The encoding and the tag values
+ * never change within a version, a new version number is introduced if they have to.
+ */
+public final class BusinessKeyFingerprint {
+  public static final long VERSION_1 = 0x4F50465000000001L;
+
+  private static final long NULL_TAG = 0x01L << 56;
+  private static final long BOOLEAN_TAG = 0x02L << 56;
+  private static final long BYTE_TAG = 0x03L << 56;
+  private static final long SHORT_TAG = 0x04L << 56;
+  private static final long INTEGER_TAG = 0x05L << 56;
+  private static final long LONG_TAG = 0x06L << 56;
+  private static final long FLOAT_TAG = 0x07L << 56;
+  private static final long DOUBLE_TAG = 0x08L << 56;
+  private static final long TEXT_TAG = 0x09L << 56;
+  private static final long TEXT_END_TAG = 0x0AL << 56;
+  private static final long ENUM_TAG = 0x0BL << 56;
+  private static final long UUID_TAG = 0x0CL << 56;
+  private static final long BIG_INTEGER_TAG = 0x0DL << 56;
+  private static final long BIG_DECIMAL_TAG = 0x0EL << 56;
+  private static final long DATE_TAG = 0x0FL << 56;
+  private static final long ARRAY_TAG = 0x10L << 56;
+  private static final long OBJECT_TAG = 0x11L << 56;
+
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private long h1;
+  private long h2;
+  private long pendingWord;
+  private boolean pending;
+  private long words;
+
+  /**
+   * Starts a fingerprint of the given number of fields, add each field value through
+   * {@link #addValue(Object, boolean)}.
+   *
+   * @param fieldCount
+   *     The number of fields to be added.
+   */
+  public BusinessKeyFingerprint(final int fieldCount) {
+    addWord(VERSION_1);
+    addWord(fieldCount);
+  }
+
+  /**
+   * Add the next field value.
+   *
+   * @param value
+   *     The value, may be null.
+   * @param caseSensitive
+   *     Whether or not the value is compared ignoring case.
+   */
+  public void addValue(final Object value, final boolean caseSensitive) {
+    if (value == null) {
+      addWord(NULL_TAG);
+    } else if (value instanceof String) {
+      addText((String) value, caseSensitive);
+    } else if (value instanceof Integer) {
+      addWord(INTEGER_TAG | ((Integer) value & 0xFFFFFFFFL));
+    } else if (value instanceof Long) {
+      addWord(LONG_TAG);
+      addWord((Long) value);
+    } else if (value.getClass().isArray()) {
+      addArray(value, caseSensitive);
+    } else if (value instanceof CharSequence) {
+      addText((CharSequence) value, caseSensitive);
+    } else if (value instanceof Character) {
+      addCharacter((Character) value, caseSensitive);
+    } else if (value instanceof Boolean) {
+      addWord(BOOLEAN_TAG | ((Boolean) value ? 1 : 0));
+    } else if (value instanceof Byte) {
+      addWord(BYTE_TAG | ((Byte) value & 0xFFL));
+    } else if (value instanceof Short) {
+      addWord(SHORT_TAG | ((Short) value & 0xFFFFL));
+    } else if (value instanceof Float) {
+      addWord(FLOAT_TAG | (Float.floatToIntBits((Float) value) & 0xFFFFFFFFL));
+    } else if (value instanceof Double) {
+      addWord(DOUBLE_TAG);
+      addWord(Double.doubleToLongBits((Double) value));
+    } else if (value instanceof Enum) {
+      addWord(ENUM_TAG);
+      addText(((Enum<?>) value).getDeclaringClass().getName(), true);
+      addText(((Enum<?>) value).name(), true);
+    } else if (value instanceof UUID) {
+      addWord(UUID_TAG);
+      addWord(((UUID) value).getMostSignificantBits());
+      addWord(((UUID) value).getLeastSignificantBits());
+    } else if (value instanceof BigInteger) {
+      addWord(BIG_INTEGER_TAG);
+      addBigInteger((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      addWord(BIG_DECIMAL_TAG);
+      addWord(((BigDecimal) value).scale());
+      addBigInteger(((BigDecimal) value).unscaledValue());
+    } else if (value instanceof Date) {
+      addWord(DATE_TAG);
+      addWord(((Date) value).getTime());
+    } else {
+      addWord(OBJECT_TAG);
+      addText(value.getClass().getName(), true);
+      addWord(value.hashCode() & 0xFFFFFFFFL);
+    }
+  }
+
+  /**
+   * @return The 64 bit fingerprint of the values added so far.
+   */
+  public long getFingerprint64() {
+    return finish()[0];
+  }
+
+  /**
+   * @return The 128 bit fingerprint of the values added so far, its high bits are {@link #getFingerprint64()}.
+   */
+  public long[] getFingerprint128() {
+    return finish();
+  }
+
+  private void addCharacter(final char value, final boolean caseSensitive) {
+    addWord(TEXT_TAG);
+    final int unit = caseSensitive ? value : BusinessIdentityUtils.foldCase(value);
+    if (Character.isBmpCodePoint(unit)) {
+      addWord(unit);
+      addWord(TEXT_END_TAG | 1);
+    } else {
+      addWord(Character.highSurrogate(unit) | (long) Character.lowSurrogate(unit) << 16);
+      addWord(TEXT_END_TAG | 2);
+    }
+  }
+
+  private void addText(final CharSequence text, final boolean caseSensitive) {
+    addWord(TEXT_TAG);
+    final int length = text.length();
+    long packed = 0;
+    int units = 0;
+    for (int idx = 0; idx < length; idx++) {
+      final char current = text.charAt(idx);
+      if (caseSensitive) {
+        packed |= (long) current << ((units++ & 3) << 4);
+      } else if (current < 0x80) {
+        packed |= (long) (current >= 'A' && current <= 'Z' ? current + ('a' - 'A') : current) << ((units++ & 3) << 4);
+      } else {
+        int codePoint = current;
+        if (Character.isHighSurrogate(current) && idx + 1 < length && Character.isLowSurrogate(text.charAt(idx + 1)))
+          codePoint = Character.toCodePoint(current, text.charAt(++idx));
+        final int folded = BusinessIdentityUtils.foldCase(codePoint);
+        if (Character.isBmpCodePoint(folded)) {
+          packed |= (long) folded << ((units++ & 3) << 4);
+        } else {
+          packed |= (long) Character.highSurrogate(folded) << ((units++ & 3) << 4);
+          if ((units & 3) == 0) {
+            addWord(packed);
+            packed = 0;
+          }
+          packed |= (long) Character.lowSurrogate(folded) << ((units++ & 3) << 4);
+        }
+      }
+      if ((units & 3) == 0) {
+        addWord(packed);
+        packed = 0;
+      }
+    }
+    if ((units & 3) != 0)
+      addWord(packed);
+    addWord(TEXT_END_TAG | units);
+  }
+
+  private void addArray(final Object array, final boolean caseSensitive) {
+    addWord(ARRAY_TAG);
+    final int length = Array.getLength(array);
+    addWord(length);
+    if (array instanceof Object[]) {
+      for (Object element : (Object[]) array)
+        addValue(element, caseSensitive);
+    } else if (array instanceof int[]) {
+      for (int element : (int[]) array)
+        addWord(INTEGER_TAG | (element & 0xFFFFFFFFL));
+    } else if (array instanceof long[]) {
+      for (long element : (long[]) array) {
+        addWord(LONG_TAG);
+        addWord(element);
+      }
+    } else if (array instanceof byte[]) {
+      for (byte element : (byte[]) array)
+        addWord(BYTE_TAG | (element & 0xFFL));
+    } else if (array instanceof char[]) {
+      for (char element : (char[]) array)
+        addCharacter(element, caseSensitive);
+    } else if (array instanceof short[]) {
+      for (short element : (short[]) array)
+        addWord(SHORT_TAG | (element & 0xFFFFL));
+    } else if (array instanceof boolean[]) {
+      for (boolean element : (boolean[]) array)
+        addWord(BOOLEAN_TAG | (element ? 1 : 0));
+    } else if (array instanceof float[]) {
+      for (float element : (float[]) array)
+        addWord(FLOAT_TAG | (Float.floatToIntBits(element) & 0xFFFFFFFFL));
+    } else {
+      for (double element : (double[]) array) {
+        addWord(DOUBLE_TAG);
+        addWord(Double.doubleToLongBits(element));
+      }
+    }
+  }
+
+  private void addBigInteger(final BigInteger value) {
+    final byte[] bytes = value.toByteArray();
+    addWord(bytes.length);
+    long packed = 0;
+    for (int idx = 0; idx < bytes.length; idx++) {
+      packed |= (bytes[idx] & 0xFFL) << ((idx & 7) << 3);
+      if ((idx & 7) == 7) {
+        addWord(packed);
+        packed = 0;
+      }
+    }
+    if ((bytes.length & 7) != 0)
+      addWord(packed);
+  }
+
+  /**
+   * Feeds MurmurHash3 x64 128 one 64 bit word at a time, two words make up one of its 16 byte blocks.
+   */
+  private void addWord(final long word) {
+    words++;
+    if (!pending) {
+      pendingWord = word;
+      pending = true;
+      return;
+    }
+    pending = false;
+
+    long k1 = pendingWord;
+    long k2 = word;
+
+    k1 *= C1;
+    k1 = Long.rotateLeft(k1, 31);
+    k1 *= C2;
+    h1 ^= k1;
+
+    h1 = Long.rotateLeft(h1, 27);
+    h1 += h2;
+    h1 = h1 * 5 + 0x52dce729;
+
+    k2 *= C2;
+    k2 = Long.rotateLeft(k2, 33);
+    k2 *= C1;
+    h2 ^= k2;
+
+    h2 = Long.rotateLeft(h2, 31);
+    h2 += h1;
+    h2 = h2 * 5 + 0x38495ab5;
+  }
+
+  private long[] finish() {
+    long finalH1 = h1;
+    long finalH2 = h2;
+    if (pending) {
+      long k1 = pendingWord;
+      k1 *= C1;
+      k1 = Long.rotateLeft(k1, 31);
+      k1 *= C2;
+      finalH1 ^= k1;
+    }
+
+    final long length = words * 8;
+    finalH1 ^= length;
+    finalH2 ^= length;
+
+    finalH1 += finalH2;
+    finalH2 += finalH1;
+
+    finalH1 = fmix64(finalH1);
+    finalH2 = fmix64(finalH2);
+
+    finalH1 += finalH2;
+    finalH2 += finalH1;
+    return new long[] { finalH1, finalH2 };
+  }
+
+  private static long fmix64(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+}
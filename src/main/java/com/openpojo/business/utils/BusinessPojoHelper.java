@@ -18,16 +18,12 @@
 
 package com.openpojo.business.utils;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import com.openpojo.business.annotation.BusinessKey;
 import com.openpojo.business.cache.BusinessKeyField;
 import com.openpojo.business.cache.BusinessKeyFieldCache;
-import com.openpojo.business.cache.impl.DefaultBusinessKeyField;
-import com.openpojo.reflection.PojoClass;
-import com.openpojo.reflection.PojoField;
-import com.openpojo.reflection.impl.PojoClassFactory;
+import com.openpojo.business.cache.BusinessKeyPlan;
 
 /**
  * This Utility helper class that holds the logic of extracting the {@link BusinessKey} fields from a Class.
@@ -35,34 +31,29 @@ import com.openpojo.reflection.impl.PojoClassFactory;
  * @author oshoukry
  */
 public class BusinessPojoHelper {
-  private static BusinessKeyFieldCache cache = new BusinessKeyFieldCache();
+  private static final BusinessKeyFieldCache cache = new BusinessKeyFieldCache();
 
   /**
    * Get all business keys declared on a class and the parent super classes.
    *
    * @param clazz
    *     The class to introspect.
-   * @return The list of fields that are annotated with @BusinessKey, will return an empty list if none are found.
+   * @return The unmodifiable, random access list of fields that are annotated with @BusinessKey, will return an empty
+   * list if none are found.
    */
   public static List<BusinessKeyField> getBusinessKeyFields(final Class<?> clazz) {
+    return cache.get(clazz);
+  }
 
-    List<BusinessKeyField> businessKeyFields = cache.get(clazz.getName());
-    if (businessKeyFields != null) {
-      return businessKeyFields;
-    }
-
-    businessKeyFields = new LinkedList<BusinessKeyField>();
-
-    PojoClass pojoClass = PojoClassFactory.getPojoClass(clazz);
-    while (pojoClass != null) {
-      for (PojoField pojoField : pojoClass.getPojoFieldsAnnotatedWith(BusinessKey.class)) {
-        businessKeyFields.add(new DefaultBusinessKeyField(pojoField));
-      }
-      pojoClass = pojoClass.getSuperClass();
-    }
-
-    cache.add(clazz.getName(), businessKeyFields);
-    return businessKeyFields;
+  /**
+   * Get the business key plan for a class, covering the keys declared on the class and the parent super classes.
+   *
+   * @param clazz
+   *     The class to introspect.
+   * @return The plan used to validate and compare instances of this class.
+   */
+  public static BusinessKeyPlan getBusinessKeyPlan(final Class<?> clazz) {
+    return cache.getBusinessKeyPlan(clazz);
   }
 
   private BusinessPojoHelper() {
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache;
+
+/**
+ * This Interface defines how a missing item is loaded into a {@link CacheStorage}, see
+ * {@link CacheStorage#get(String, CacheLoader)}.
+ */
+public interface CacheLoader<T> {
+
+  /**
+   * Load an item that isn't in the cache.
+   *
+   * @param name
+   *     The lookup key.
+   * @return The value to cache, or null if there is none, null values aren't cached.
+   */
+  T load(String name);
+}
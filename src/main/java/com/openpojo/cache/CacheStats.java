@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache;
+
+/**
+ * The statistics of a {@link CacheStorage} at the time they were requested.
+ */
+public final class CacheStats {
+  private final long hitCount;
+  private final long missCount;
+  private final long loadCount;
+  private final long totalLoadTime;
+  private final long evictionCount;
+
+  public CacheStats(final long hitCount, final long missCount, final long loadCount, final long totalLoadTime,
+                    final long evictionCount) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.loadCount = loadCount;
+    this.totalLoadTime = totalLoadTime;
+    this.evictionCount = evictionCount;
+  }
+
+  /**
+   * @return The number of lookups that found a cached value.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return The number of lookups that didn't find a cached value, including those that waited on another thread's
+   * load.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getRequestCount() {
+    return hitCount + missCount;
+  }
+
+  /**
+   * @return The ratio of lookups that found a cached value, 1.0 when there were no lookups.
+   */
+  public double getHitRate() {
+    final long requestCount = getRequestCount();
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * @return The number of times a {@link CacheLoader} was called.
+   */
+  public long getLoadCount() {
+    return loadCount;
+  }
+
+  /**
+   * @return The nanoseconds spent in {@link CacheLoader}s.
+   */
+  public long getTotalLoadTime() {
+    return totalLoadTime;
+  }
+
+  /**
+   * @return The number of items removed to respect the cache bounds or memory pressure, clear isn't counted.
+   */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("CacheStats [hitCount=%d, missCount=%d, loadCount=%d, totalLoadTime=%d, evictionCount=%d]",
+        hitCount, missCount, loadCount, totalLoadTime, evictionCount);
+  }
+}
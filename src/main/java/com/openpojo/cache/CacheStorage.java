@@ -44,8 +44,29 @@ public interface CacheStorage<T> {
    */
   T get(String name);
 
+  /**
+   * Get an item from the cache, loading and adding it if not found. When several threads ask for the same missing
+   * item, one of them loads it while the others wait for its result.
+   * <br>
+   * A loader may get other items, from this or other caches. A thread that would end up waiting on itself, asking for
+   * an item it is loading, or closing a cycle with other threads (loading A needs B while another thread loading B
+   * needs A), loads an uncached value instead of waiting.
+   *
+   * @param name
+   *     The lookup key.
+   * @param loader
+   *     Loads the item if not found.
+   * @return returns the cached or loaded value, null if the loader returned null, in which case nothing is cached.
+   */
+  T get(String name, CacheLoader<? extends T> loader);
+
   /**
    * The method clears the cache.
    */
   void clear();
+
+  /**
+   * @return The statistics of this cache so far.
+   */
+  CacheStats getStats();
 }
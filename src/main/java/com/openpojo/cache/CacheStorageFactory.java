@@ -18,6 +18,8 @@
 
 package com.openpojo.cache;
 
+import com.openpojo.cache.impl.BoundedCacheStorage;
+import com.openpojo.cache.impl.SoftReferenceCacheStorage;
 import com.openpojo.cache.impl.StrongRefHashMapCacheStorage;
 import com.openpojo.cache.impl.WeakHashMapCacheStorage;
 
@@ -50,6 +52,30 @@ public class CacheStorageFactory {
     return new StrongRefHashMapCacheStorage<T>();
   }
 
+  /**
+   * Returns an instance of CacheStorage that holds at most maximumSize items, evicting the least recently used ones.
+   *
+   * @param maximumSize
+   *     The maximum number of items cached.
+   * @param <T>
+   *     The value type used for caching.
+   * @return returns an instance of BoundedCacheStorage.
+   */
+  public static <T> CacheStorage<T> getBoundedCacheStorage(int maximumSize) {
+    return new BoundedCacheStorage<T>(maximumSize);
+  }
+
+  /**
+   * Returns an instance of CacheStorage that will garbage collect only when memory runs low.
+   *
+   * @param <T>
+   *     The value type used for caching.
+   * @return returns an instance of SoftReferenceCacheStorage.
+   */
+  public static <T> CacheStorage<T> getMemorySensitiveCacheStorage() {
+    return new SoftReferenceCacheStorage<T>();
+  }
+
   private CacheStorageFactory() {
     throw new UnsupportedOperationException(CacheStorageFactory.class.getName() + " should not be constructed!");
   }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.openpojo.cache.CacheLoader;
+import com.openpojo.cache.CacheStats;
+import com.openpojo.cache.CacheStorage;
+
+/**
+ * The common part of the CacheStorage implementations, it keeps the {@link CacheStats} and makes
+ * {@link #get(String, CacheLoader)} load each missing item once, however many threads ask for it at the same time.
+ * Waits that would deadlock are detected by the {@link PendingLoad}.
+ * <br>
+ * Implementations only store and look up values, they must be safe to call from multiple threads.
+ */
+public abstract class AbstractCacheStorage<T> implements CacheStorage<T> {
+  private final ConcurrentMap<String, PendingLoad<T>> loads = new ConcurrentHashMap<String, PendingLoad<T>>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder loadCount = new LongAdder();
+  private final LongAdder totalLoadTime = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * @return The cached value, or null if not found.
+   */
+  protected abstract T lookup(String name);
+
+  protected abstract void store(String name, T value);
+
+  protected abstract void removeAll();
+
+  public void add(final String name, final T value) {
+    store(name, value);
+  }
+
+  public T get(final String name) {
+    final T value = lookup(name);
+    recordLookup(value != null);
+    return value;
+  }
+
+  public T get(final String name, final CacheLoader<? extends T> loader) {
+    T value = lookup(name);
+    if (value != null) {
+      hitCount.increment();
+      return value;
+    }
+
+    final PendingLoad<T> load = new PendingLoad<T>();
+    final PendingLoad<T> existingLoad = loads.putIfAbsent(name, load);
+    if (existingLoad != null) {
+      missCount.increment();
+      return existingLoad.awaitOrLoad(name, new CacheLoader<T>() {
+        public T load(String name) {
+          return AbstractCacheStorage.this.load(name, loader);
+        }
+      });
+    }
+
+    try {
+      value = lookup(name);
+      recordLookup(value != null);
+      if (value == null) {
+        value = load(name, loader);
+        if (value != null)
+          store(name, value);
+      }
+      load.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      load.fail(e);
+      throw e;
+    } catch (Error e) {
+      load.fail(e);
+      throw e;
+    } finally {
+      loads.remove(name, load);
+    }
+  }
+
+  public void clear() {
+    removeAll();
+  }
+
+  public CacheStats getStats() {
+    return new CacheStats(hitCount.sum(), missCount.sum(), loadCount.sum(), totalLoadTime.sum(), evictionCount.sum());
+  }
+
+  protected void recordEviction() {
+    evictionCount.increment();
+  }
+
+  private void recordLookup(final boolean hit) {
+    if (hit)
+      hitCount.increment();
+    else
+      missCount.increment();
+  }
+
+  private T load(final String name, final CacheLoader<? extends T> loader) {
+    final long start = System.nanoTime();
+    try {
+      return loader.load(name);
+    } finally {
+      loadCount.increment();
+      totalLoadTime.add(System.nanoTime() - start);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This implementation of CacheStorage holds at most a fixed number of items, evicting with the CLOCK (second chance)
+ * approximation of LRU.
+ * <br>
+ * Lookups are lock free, they only mark the item as referenced. Adding an item to a full cache sweeps the clock hand
+ * over the items, clearing the referenced mark of each until it finds one that wasn't referenced since the last sweep,
+ * and evicts it. New items start unreferenced, so items that are only ever looked up once are evicted first.
+ */
+public class BoundedCacheStorage<T> extends AbstractCacheStorage<T> {
+  private final ConcurrentMap<String, Entry<T>> entries = new ConcurrentHashMap<String, Entry<T>>();
+  private final Entry<T>[] clock;
+  private int size;
+  private int hand;
+
+  @SuppressWarnings("unchecked")
+  public BoundedCacheStorage(final int maximumSize) {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximumSize must be positive, was [" + maximumSize + "]");
+    clock = (Entry<T>[]) new Entry<?>[maximumSize];
+  }
+
+  public int getMaximumSize() {
+    return clock.length;
+  }
+
+  @Override
+  protected T lookup(final String name) {
+    final Entry<T> entry = entries.get(name);
+    if (entry == null)
+      return null;
+    if (!entry.referenced)
+      entry.referenced = true;
+    return entry.value;
+  }
+
+  @Override
+  protected synchronized void store(final String name, final T value) {
+    final Entry<T> existing = entries.get(name);
+    if (existing != null) {
+      existing.value = value;
+      existing.referenced = true;
+      return;
+    }
+
+    final int slot = size < clock.length ? size++ : evict();
+    final Entry<T> entry = new Entry<T>(name, value);
+    clock[slot] = entry;
+    entries.put(name, entry);
+  }
+
+  @Override
+  protected synchronized void removeAll() {
+    entries.clear();
+    Arrays.fill(clock, null);
+    size = 0;
+    hand = 0;
+  }
+
+  /**
+   * @return the slot freed.
+   */
+  private int evict() {
+    while (true) {
+      final int slot = hand;
+      final Entry<T> entry = clock[slot];
+      hand = slot + 1 == clock.length ? 0 : slot + 1;
+      if (entry.referenced) {
+        entry.referenced = false;
+      } else {
+        entries.remove(entry.name, entry);
+        recordEviction();
+        return slot;
+      }
+    }
+  }
+
+  private static class Entry<T> {
+    private final String name;
+    private volatile T value;
+    private volatile boolean referenced;
+
+    private Entry(final String name, final T value) {
+      this.name = name;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.openpojo.cache.CacheLoader;
+
+/**
+ * A load of a missing cache item in progress, owned by the thread that started it, which other threads asking for the
+ * same item wait on.
+ * <br>
+ * Loaders may ask caches for other items, so waits can chain across threads, keys and caches. Every thread waiting on
+ * a load is registered in one place shared by all caches, a thread whose wait would close a cycle (loading A needs B
+ * while another thread loading B needs A), or that asks for an item it is loading itself, loads an uncached value
+ * instead of waiting.
+ *
+ * @param <T>
+ *     The type of the loaded value.
+ */
+public final class PendingLoad<T> {
+  private static final ConcurrentMap<Thread, PendingLoad<?>> waitingThreads =
+      new ConcurrentHashMap<Thread, PendingLoad<?>>();
+
+  private final Thread owner = Thread.currentThread();
+  private final CompletableFuture<T> result = new CompletableFuture<T>();
+
+  /**
+   * Complete this load, handing its value to the waiting threads. Only called by the thread that started the load.
+   *
+   * @param value
+   *     The loaded value, may be null.
+   */
+  public void complete(final T value) {
+    result.complete(value);
+  }
+
+  /**
+   * Fail this load, the waiting threads rethrow the failure. Only called by the thread that started the load.
+   *
+   * @param throwable
+   *     The RuntimeException or Error thrown by the loader.
+   */
+  public void fail(final Throwable throwable) {
+    result.completeExceptionally(throwable);
+  }
+
+  /**
+   * Wait for the result of this load, unless the calling thread would wait on itself, directly or through the loads
+   * the other threads are waiting on, in which case the item is loaded again without waiting.
+   *
+   * @param name
+   *     The lookup key.
+   * @param loader
+   *     Loads an uncached value when waiting is not possible.
+   * @return The loaded value.
+   */
+  public T awaitOrLoad(final String name, final CacheLoader<? extends T> loader) {
+    final Thread thread = Thread.currentThread();
+    if (owner != thread) {
+      waitingThreads.put(thread, this);
+      try {
+        if (!waitsOn(thread))
+          return await();
+      } finally {
+        waitingThreads.remove(thread);
+      }
+    }
+    return loader.load(name);
+  }
+
+  /**
+   * Follows the owners of the loads each owner is waiting on, the thread is registered as waiting on this load
+   * before looking, so of two threads closing a cycle at the same time at least one sees it.
+   */
+  private boolean waitsOn(final Thread thread) {
+    PendingLoad<?> load = this;
+    for (int remaining = waitingThreads.size(); load != null && remaining >= 0; remaining--) {
+      if (load.owner == thread)
+        return true;
+      load = waitingThreads.get(load.owner);
+    }
+    return false;
+  }
+
+  private T await() {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw e;
+    }
+  }
+}
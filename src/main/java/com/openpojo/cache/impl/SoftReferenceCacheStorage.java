@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache.impl;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This implementation of CacheStorage holds its values through soft references, so they stay cached until the JVM
+ * runs low on memory, unlike {@link WeakHashMapCacheStorage} where they go at the next garbage collection.
+ * <br>
+ * Items collected by the garbage collector are counted as evictions and their keys removed on the next add.
+ */
+public class SoftReferenceCacheStorage<T> extends AbstractCacheStorage<T> {
+  private final ConcurrentMap<String, SoftValue<T>> values = new ConcurrentHashMap<String, SoftValue<T>>();
+  private final ReferenceQueue<T> collected = new ReferenceQueue<T>();
+
+  @Override
+  protected T lookup(final String name) {
+    final SoftValue<T> softValue = values.get(name);
+    return softValue == null ? null : softValue.get();
+  }
+
+  @Override
+  protected void store(final String name, final T value) {
+    expungeCollected();
+    if (value == null)
+      values.remove(name);
+    else
+      values.put(name, new SoftValue<T>(name, value, collected));
+  }
+
+  @Override
+  protected void removeAll() {
+    values.clear();
+    expungeCollected();
+  }
+
+  private void expungeCollected() {
+    for (Reference<? extends T> reference = collected.poll(); reference != null; reference = collected.poll()) {
+      final SoftValue<?> softValue = (SoftValue<?>) reference;
+      if (values.remove(softValue.name, softValue))
+        recordEviction();
+    }
+  }
+
+  private static class SoftValue<T> extends SoftReference<T> {
+    private final String name;
+
+    private SoftValue(final String name, final T value, final ReferenceQueue<T> queue) {
+      super(value, queue);
+      this.name = name;
+    }
+  }
+}
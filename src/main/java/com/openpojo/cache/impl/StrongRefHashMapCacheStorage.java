@@ -20,23 +20,24 @@ package com.openpojo.cache.impl;
 
 import java.util.HashMap;
 
-import com.openpojo.cache.CacheStorage;
-
 /**
  * @author oshoukry
  */
-public class StrongRefHashMapCacheStorage<T> implements CacheStorage<T> {
+public class StrongRefHashMapCacheStorage<T> extends AbstractCacheStorage<T> {
   private HashMap<String, T> storage = new HashMap<String, T>();
 
-  public void add(String name, T value) {
+  @Override
+  protected synchronized void store(String name, T value) {
     storage.put(name, value);
   }
 
-  public T get(String name) {
+  @Override
+  protected synchronized T lookup(String name) {
     return storage.get(name);
   }
 
-  public void clear() {
+  @Override
+  protected synchronized void removeAll() {
     storage.clear();
   }
 }
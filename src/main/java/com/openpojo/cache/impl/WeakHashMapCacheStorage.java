@@ -21,29 +21,30 @@ package com.openpojo.cache.impl;
 import java.util.Map;
 import java.util.WeakHashMap;
 
-import com.openpojo.cache.CacheStorage;
-
 /**
  * This simple implementation of CacheStorage uses WeakHashMap as the underlying storage mechanism and only well suited
  * for temporal short bursts of cache are needed and GC removal of cached items is acceptable.
  *
  * @author oshoukry
  */
-public class WeakHashMapCacheStorage<T> implements CacheStorage<T> {
+public class WeakHashMapCacheStorage<T> extends AbstractCacheStorage<T> {
 
   private final Map<String, T> repository = new WeakHashMap<String, T>();
 
-  public void clear() {
+  @Override
+  protected synchronized void removeAll() {
     repository.clear();
   }
 
   @SuppressWarnings("RedundantStringConstructorCall")
-  public void add(String name, T value) {
+  @Override
+  protected synchronized void store(String name, T value) {
     // Ensure that we don't have a "Strong" reference to the key in the map, otherwise no cleanup will occur.
     repository.put(new String(name), value);
   }
 
-  public T get(String name) {
+  @Override
+  protected synchronized T lookup(String name) {
     return repository.get(name);
   }
 
@@ -88,7 +88,8 @@ public interface PojoClass extends PojoElement, Accessible {
    *
    * @param annotation
    *     the annotation to use for lookup.
-   * @return the list of fields that are annotated with given annotation.
+   * @return an unmodifiable list of the fields that are annotated with given annotation, it may be shared between
+   * calls.
    */
   List<PojoField> getPojoFieldsAnnotatedWith(Class<? extends Annotation> annotation);
 
@@ -105,12 +106,13 @@ public interface PojoClass extends PojoElement, Accessible {
    *
    * @param annotation
    *     the annotation to use for lookup.
-   * @return a list of methods that are annotated with given annotation.
+   * @return an unmodifiable list of the methods that are annotated with given annotation, it may be shared between
+   * calls.
    */
   List<PojoMethod> getPojoMethodsAnnotatedWith(Class<? extends Annotation> annotation);
 
   /**
-   * Get all Constructors defined in the class.
+   * Get all Constructors defined in the class, ordered by number of parameters.
    *
    * @return the list of constructors.
    */
@@ -18,8 +18,15 @@
 
 package com.openpojo.reflection;
 
+import java.lang.invoke.VarHandle;
+
+import com.openpojo.reflection.exception.ReflectionException;
+
 /**
  * This class encapsulates the meta data definition of a field on a class.
+ * <br>
+ * The typed and memory ordered accessors default to {@link #get(Object)} and {@link #set(Object, Object)}, boxing
+ * values and fencing around the plain access, implementations can override them with direct access.
  *
  * @author oshoukry
  */
@@ -44,6 +51,250 @@ public interface PojoField extends PojoElement, Parameterizable, Accessible {
    */
   void set(final Object instance, final Object value);
 
+  /**
+   * This method gets the value of a boolean field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getBoolean(Object)} does.
+   */
+  default boolean getBoolean(final Object instance) {
+    final Object value = get(instance);
+    if (value instanceof Boolean)
+      return (Boolean) value;
+    throw notConvertible(value, "boolean");
+  }
+
+  /**
+   * This method gets the value of a byte field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getByte(Object)} does.
+   */
+  default byte getByte(final Object instance) {
+    return widen(get(instance), byte.class).byteValue();
+  }
+
+  /**
+   * This method gets the value of a char field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getChar(Object)} does.
+   */
+  default char getChar(final Object instance) {
+    final Object value = get(instance);
+    if (value instanceof Character)
+      return (Character) value;
+    throw notConvertible(value, "char");
+  }
+
+  /**
+   * This method gets the value of a short field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getShort(Object)} does.
+   */
+  default short getShort(final Object instance) {
+    return widen(get(instance), short.class).shortValue();
+  }
+
+  /**
+   * This method gets the value of a int field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getInt(Object)} does.
+   */
+  default int getInt(final Object instance) {
+    return widen(get(instance), int.class).intValue();
+  }
+
+  /**
+   * This method gets the value of a long field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getLong(Object)} does.
+   */
+  default long getLong(final Object instance) {
+    return widen(get(instance), long.class).longValue();
+  }
+
+  /**
+   * This method gets the value of a float field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getFloat(Object)} does.
+   */
+  default float getFloat(final Object instance) {
+    return widen(get(instance), float.class).floatValue();
+  }
+
+  /**
+   * This method gets the value of a double field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field, converted as {@link java.lang.reflect.Field#getDouble(Object)} does.
+   */
+  default double getDouble(final Object instance) {
+    return widen(get(instance), double.class).doubleValue();
+  }
+
+  /**
+   * This method sets the value of a boolean field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setBoolean(Object, boolean)} does.
+   */
+  default void setBoolean(final Object instance, final boolean value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a byte field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setByte(Object, byte)} does.
+   */
+  default void setByte(final Object instance, final byte value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a char field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setChar(Object, char)} does.
+   */
+  default void setChar(final Object instance, final char value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a short field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setShort(Object, short)} does.
+   */
+  default void setShort(final Object instance, final short value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a int field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setInt(Object, int)} does.
+   */
+  default void setInt(final Object instance, final int value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a long field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setLong(Object, long)} does.
+   */
+  default void setLong(final Object instance, final long value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a float field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setFloat(Object, float)} does.
+   */
+  default void setFloat(final Object instance, final float value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method sets the value of a double field, implementations may avoid boxing it.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to, converted as {@link java.lang.reflect.Field#setDouble(Object, double)} does.
+   */
+  default void setDouble(final Object instance, final double value) {
+    set(instance, value);
+  }
+
+  /**
+   * This method gets the value of the field with volatile memory semantics, even if the field isn't declared volatile.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field.
+   */
+  default Object getVolatile(final Object instance) {
+    VarHandle.fullFence();
+    final Object value = get(instance);
+    VarHandle.acquireFence();
+    return value;
+  }
+
+  /**
+   * This method gets the value of the field with acquire memory semantics, pairs with {@link #setRelease}.
+   *
+   * @param instance
+   *     The instance to extract the value out of.
+   * @return The value of the field.
+   */
+  default Object getAcquire(final Object instance) {
+    final Object value = get(instance);
+    VarHandle.acquireFence();
+    return value;
+  }
+
+  /**
+   * This method sets the value of the field with volatile memory semantics, even if the field isn't declared volatile.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to.
+   */
+  default void setVolatile(final Object instance, final Object value) {
+    VarHandle.releaseFence();
+    set(instance, value);
+    VarHandle.fullFence();
+  }
+
+  /**
+   * This method sets the value of the field with release memory semantics, pairs with {@link #getAcquire}.
+   *
+   * @param instance
+   *     The instance to set the value on.
+   * @param value
+   *     The value to set it to.
+   */
+  default void setRelease(final Object instance, final Object value) {
+    VarHandle.releaseFence();
+    set(instance, value);
+  }
+
   /**
    * Returns true if this field has a getter method.
    *
@@ -140,4 +391,36 @@ public interface PojoField extends PojoElement, Parameterizable, Accessible {
    */
   String toString(Object instance);
 
-}
\ No newline at end of file
+  /**
+   * Widens a field value the way the typed getters of {@link java.lang.reflect.Field} do, a char widens like an int.
+   */
+  private Number widen(final Object value, final Class<?> type) {
+    if (value == null || wideningRank(value.getClass()) > wideningRank(type))
+      throw notConvertible(value, type.getName());
+    return value instanceof Character ? Integer.valueOf((Character) value) : (Number) value;
+  }
+
+  /**
+   * @return the position of a primitive or wrapper type in the byte, short, int, long, float, double widening order.
+   */
+  private static int wideningRank(final Class<?> type) {
+    if (type == byte.class || type == Byte.class)
+      return 0;
+    if (type == short.class || type == Short.class)
+      return 1;
+    if (type == int.class || type == Integer.class || type == Character.class)
+      return 2;
+    if (type == long.class || type == Long.class)
+      return 3;
+    if (type == float.class || type == Float.class)
+      return 4;
+    if (type == double.class || type == Double.class)
+      return 5;
+    return Integer.MAX_VALUE;
+  }
+
+  private ReflectionException notConvertible(final Object value, final String type) {
+    return ReflectionException.getInstance(String.format("Can not get %s value of field [%s] holding [%s]", type,
+        getName(), value));
+  }
+}
@@ -18,39 +18,98 @@
 
 package com.openpojo.reflection.cache;
 
-import com.openpojo.cache.CacheStorage;
-import com.openpojo.cache.CacheStorageFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.openpojo.cache.CacheLoader;
+import com.openpojo.cache.impl.PendingLoad;
 import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.java.load.ClassUtil;
 
 /**
  * This is the Cache to hold references for PojoClasses, to prevent looking them up over and over.
+ * <br>
+ * Entries are attached to their Class through a {@link ClassValue}, so they live exactly as long as the Class does,
+ * without keeping its ClassLoader from being unloaded.
+ * <br>
+ * Each PojoClass is loaded by a single thread while other threads asking for it wait for the result. A thread whose
+ * wait would close a cycle (loading A needs B while another thread loading B needs A), including through loads of
+ * other caches, loads its own uncached copy instead of waiting, see {@link PendingLoad}.
  *
  * @author oshoukry
  */
 public class PojoCache {
-  private static CacheStorage<PojoClass> pojoClassCache = CacheStorageFactory.getTemporalCacheStorage();
+  private static volatile ClassValue<PojoClassEntry> pojoClassCache = newPojoClassCache();
+
+  /**
+   * Retrieve an implementation from Cache.
+   *
+   * @param clazz
+   *     The class to look up.
+   * @return Cached PojoReference, or null if none found.
+   */
+  public static PojoClass getPojoClass(final Class<?> clazz) {
+    return pojoClassCache.get(clazz).pojoClass;
+  }
+
+  /**
+   * Retrieve an implementation from Cache, loading it if none found. Concurrent calls for the same class load it once.
+   *
+   * @param clazz
+   *     The class to look up.
+   * @param loader
+   *     Creates the PojoClass when not cached, it is passed the Fully Qualified Class Name.
+   * @return Cached or loaded PojoReference, or null if the loader returned null.
+   */
+  public static PojoClass getPojoClass(final Class<?> clazz, final CacheLoader<PojoClass> loader) {
+    final PojoClassEntry pojoClassEntry = pojoClassCache.get(clazz);
+    final PojoClass pojoClass = pojoClassEntry.pojoClass;
+    if (pojoClass != null)
+      return pojoClass;
+    return pojoClassEntry.load(clazz, loader);
+  }
+
+  /**
+   * Add a PojoClass definition to the Cache.
+   *
+   * @param clazz
+   *     The class the definition is for.
+   * @param pojoClass
+   *     The entry to add to the cache.
+   */
+  public static void addPojoClass(final Class<?> clazz, final PojoClass pojoClass) {
+    pojoClassCache.get(clazz).pojoClass = pojoClass;
+  }
 
   /**
    * Retrieve an implementation from Cache.
    *
    * @param name
    *     Fully Qualified Class Name.
-   * @return Cached PojoReference, or null if none found.
+   * @return Cached PojoReference, or null if none found or the name doesn't resolve to a loadable class.
+   * @deprecated Entries are now kept per Class, use {@link #getPojoClass(Class)} instead.
    */
+  @Deprecated
   public static PojoClass getPojoClass(final String name) {
-    return pojoClassCache.get(name);
+    final Class<?> clazz = ClassUtil.loadClass(name, false);
+    if (clazz == null)
+      return null;
+    return getPojoClass(clazz);
   }
 
   /**
-   * Add a PojoClass definition to the Cache.
+   * Add a PojoClass definition to the Cache, nothing is added if the name doesn't resolve to a loadable class.
    *
    * @param name
    *     Fully Qualified Class Name.
    * @param pojoClass
    *     The entry to add to the cache.
+   * @deprecated Entries are now kept per Class, use {@link #addPojoClass(Class, PojoClass)} instead.
    */
+  @Deprecated
   public static void addPojoClass(final String name, final PojoClass pojoClass) {
-    pojoClassCache.add(name, pojoClass);
+    final Class<?> clazz = ClassUtil.loadClass(name, false);
+    if (clazz != null)
+      addPojoClass(clazz, pojoClass);
   }
 
   /**
@@ -58,10 +117,51 @@ public class PojoCache {
    * Note: Calling this under a heavy loads can have negatively impact performance.
    */
   public static void clear() {
-    pojoClassCache.clear();
+    pojoClassCache = newPojoClassCache();
+  }
+
+  private static ClassValue<PojoClassEntry> newPojoClassCache() {
+    return new ClassValue<PojoClassEntry>() {
+      @Override
+      protected PojoClassEntry computeValue(Class<?> type) {
+        return new PojoClassEntry();
+      }
+    };
   }
 
   private PojoCache() {
     throw new UnsupportedOperationException(PojoCache.class.getName() + " should not be constructed!");
   }
+
+  private static class PojoClassEntry {
+    private volatile PojoClass pojoClass;
+    private final AtomicReference<PendingLoad<PojoClass>> currentLoad = new AtomicReference<PendingLoad<PojoClass>>();
+
+    private PojoClass load(final Class<?> clazz, final CacheLoader<PojoClass> loader) {
+      final PendingLoad<PojoClass> load = new PendingLoad<PojoClass>();
+      while (!currentLoad.compareAndSet(null, load)) {
+        final PendingLoad<PojoClass> otherLoad = currentLoad.get();
+        if (otherLoad != null)
+          return otherLoad.awaitOrLoad(clazz.getName(), loader);
+      }
+
+      try {
+        PojoClass loaded = pojoClass;
+        if (loaded == null) {
+          loaded = loader.load(clazz.getName());
+          pojoClass = loaded;
+        }
+        load.complete(loaded);
+        return loaded;
+      } catch (RuntimeException e) {
+        load.fail(e);
+        throw e;
+      } catch (Error e) {
+        load.fail(e);
+        throw e;
+      } finally {
+        currentLoad.set(null);
+      }
+    }
+  }
 }
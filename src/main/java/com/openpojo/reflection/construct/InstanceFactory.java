@@ -113,16 +113,17 @@ public class InstanceFactory {
     }
 
     Object instance;
+    final Class<?>[] parameterTypes = getTypes(parameters);
     final List<PojoMethod> constructors = pojoClass.getPojoConstructors();
     for (final PojoMethod constructor : constructors) {
-      if (areEquivalentParameters(upCast(constructor.getParameterTypes()), getTypes(parameters))) {
+      if (areEquivalentParameters(constructor.getParameterTypes(), parameterTypes)) {
         instance = constructor.invoke(null, parameters);
         initializeBusinessKeys(pojoClass, instance);
         return instance;
       }
     }
     throw ReflectionException.getInstance(String.format("No matching constructor for [%s] found using parameters[%s]",
-        pojoClass.getClazz(), Arrays.toString(getTypes(parameters))));
+        pojoClass.getClazz(), Arrays.toString(parameterTypes)));
   }
 
   private static void initializeBusinessKeys(PojoClass pojoClass, Object instance) {
@@ -132,29 +133,12 @@ public class InstanceFactory {
     }
   }
 
-  /**
-   * This method will upCast Native parameters to their equivalent Class-es.
-   *
-   * @param parameterTypes
-   *     The array of parameters needed to be upCast.
-   * @return An upcasted array of parameters (i.e. short -> Short, int -> Int, String doesn't change).
-   */
-  private static Class<?>[] upCast(final Class<?>[] parameterTypes) {
-    final Class<?>[] upCastedParameters = new Class[parameterTypes.length];
-
-    for (int idx = 0; idx < parameterTypes.length; idx++)
-      upCastedParameters[idx] = Primitives.getInstance().autoBox(parameterTypes[idx]);
-
-    return upCastedParameters;
-  }
-
-
   /**
    * This method evaluates if the parameters are equivalent / compatible.
    * Null values in the givenTypes are treated as compatible.
    *
    * @param expectedTypes
-   *     The expected types.
+   *     The expected types, native types are upCast to their equivalent Class-es (i.e. short -> Short, int -> Int).
    * @param givenTypes
    *     The given types to compare with.
    * @return True if the given can be used as argument list for expected.
@@ -169,7 +153,7 @@ public class InstanceFactory {
     }
 
     for (int idx = 0; idx < expectedTypes.length; idx++) {
-      if (!isAssignableFrom(expectedTypes[idx], givenTypes[idx])) {
+      if (!isAssignableFrom(Primitives.getInstance().autoBox(expectedTypes[idx]), givenTypes[idx])) {
         return false;
       }
     }
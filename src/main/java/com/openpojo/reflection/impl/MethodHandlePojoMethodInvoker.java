@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.openpojo.reflection.java.type.Primitives;
+
+/**
+ * Invokes through a {@link MethodHandle} resolved once, with dedicated paths for the zero and one argument calls that
+ * getters and setters make.
+ * <br>
+ * Arguments that core reflection would convert or reject, such as a null for a primitive, a widening conversion, or
+ * an instance of the wrong type, are passed to the reflective invoker instead, so results and exceptions stay the
+ * same.
+ */
+final class MethodHandlePojoMethodInvoker extends PojoMethodInvoker {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final MethodHandle methodHandle;
+  private final Class<?> instanceType;
+  private final Class<?>[] parameterTypes;
+  private final boolean[] primitiveParameters;
+  private final PojoMethodInvoker fallback;
+
+  private MethodHandlePojoMethodInvoker(final MethodHandle methodHandle, final Class<?> instanceType,
+                                        final Class<?>[] parameterTypes, final PojoMethodInvoker fallback) {
+    final int arity = parameterTypes.length;
+    MethodHandle handle = methodHandle.asFixedArity();
+    if (instanceType == null)
+      handle = MethodHandles.dropArguments(handle, 0, Object.class);
+    handle = handle.asType(MethodType.genericMethodType(arity + 1));
+    if (arity > 1)
+      handle = handle.asSpreader(Object[].class, arity);
+
+    this.methodHandle = handle;
+    this.instanceType = instanceType;
+    this.parameterTypes = new Class<?>[arity];
+    this.primitiveParameters = new boolean[arity];
+    for (int i = 0; i < arity; i++) {
+      this.parameterTypes[i] = Primitives.getInstance().autoBox(parameterTypes[i]);
+      this.primitiveParameters[i] = parameterTypes[i].isPrimitive();
+    }
+    this.fallback = fallback;
+  }
+
+  /**
+   * Resolve a method handle based invoker, or return the fallback if the member can't be reached through a method
+   * handle, or is a constructor reflection refuses to call (abstract classes and enums).
+   *
+   * @param accessibleObject
+   *     the method or constructor, already made accessible where allowed.
+   * @param fallback
+   *     the reflective invoker to use for anything this invoker doesn't handle.
+   */
+  static PojoMethodInvoker getPojoMethodInvoker(final AccessibleObject accessibleObject,
+                                                final PojoMethodInvoker fallback) {
+    try {
+      if (accessibleObject instanceof Constructor<?>) {
+        final Constructor<?> constructor = (Constructor<?>) accessibleObject;
+        final Class<?> declaringClass = constructor.getDeclaringClass();
+        if (Modifier.isAbstract(declaringClass.getModifiers()) || declaringClass.isEnum())
+          return fallback;
+        return new MethodHandlePojoMethodInvoker(LOOKUP.unreflectConstructor(constructor), null,
+            constructor.getParameterTypes(), fallback);
+      }
+
+      final Method method = (Method) accessibleObject;
+      final Class<?> instanceType = Modifier.isStatic(method.getModifiers()) ? null : method.getDeclaringClass();
+      return new MethodHandlePojoMethodInvoker(LOOKUP.unreflect(method), instanceType, method.getParameterTypes(),
+          fallback);
+    } catch (IllegalAccessException e) {
+      return fallback;
+    }
+  }
+
+  @Override
+  Object invoke(final Object instance, final Object[] parameters)
+      throws IllegalAccessException, InstantiationException, InvocationTargetException {
+    if (!accepts(instance, parameters))
+      return fallback.invoke(instance, parameters);
+
+    try {
+      switch (parameterTypes.length) {
+        case 0:
+          return (Object) methodHandle.invokeExact(instance);
+        case 1:
+          return (Object) methodHandle.invokeExact(instance, parameters[0]);
+        default:
+          return (Object) methodHandle.invokeExact(instance, parameters);
+      }
+    } catch (Throwable throwable) {
+      throw new InvocationTargetException(throwable);
+    }
+  }
+
+  private boolean accepts(final Object instance, final Object[] parameters) {
+    if (instanceType != null && !instanceType.isInstance(instance))
+      return false;
+
+    final int count = parameters == null ? 0 : parameters.length;
+    if (count != parameterTypes.length)
+      return false;
+
+    for (int i = 0; i < count; i++) {
+      final Object parameter = parameters[i];
+      if (parameter == null ? primitiveParameters[i] : !parameterTypes[i].isInstance(parameter))
+        return false;
+    }
+    return true;
+  }
+}
@@ -21,15 +21,22 @@ package com.openpojo.reflection.impl;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.openpojo.reflection.Annotatable;
 import com.openpojo.reflection.PojoClass;
 import com.openpojo.reflection.PojoField;
 import com.openpojo.reflection.PojoMethod;
 import com.openpojo.reflection.PojoPackage;
+import com.openpojo.reflection.adapt.PojoClassAdapter;
 import com.openpojo.reflection.exception.ReflectionException;
 import com.openpojo.reflection.java.Java;
 import com.openpojo.reflection.java.packageloader.impl.URLToFileSystemAdapter;
@@ -44,14 +51,29 @@ public class PojoClassImpl implements PojoClass {
 
   private final String name;
   private final Class<?> clazz;
-  private final List<PojoField> pojoFields;
-  private final List<PojoMethod> pojoMethods;
+  private final PojoClassAdapter pojoClassAdapter;
+  private final AtomicReference<Members> members = new AtomicReference<Members>();
 
   public PojoClassImpl(final Class<?> clazz, final List<PojoField> pojoFields, final List<PojoMethod> pojoMethods) {
     this.clazz = clazz;
     this.name = clazz.getName();
-    this.pojoFields = Collections.unmodifiableList(pojoFields);
-    this.pojoMethods = Collections.unmodifiableList(pojoMethods);
+    this.pojoClassAdapter = null;
+    this.members.set(new Members(pojoFields, pojoMethods));
+  }
+
+  /**
+   * Create a PojoClass whose fields, methods and constructors are only introspected the first time any of them is
+   * requested, everything else is answered straight from the class.
+   *
+   * @param clazz
+   *     the class to wrap.
+   * @param pojoClassAdapter
+   *     the adapter to apply to the members once they are introspected, may be null.
+   */
+  public PojoClassImpl(final Class<?> clazz, final PojoClassAdapter pojoClassAdapter) {
+    this.clazz = clazz;
+    this.name = clazz.getName();
+    this.pojoClassAdapter = pojoClassAdapter;
   }
 
   public boolean isInterface() {
@@ -84,39 +106,23 @@ public class PojoClassImpl implements PojoClass {
   }
 
   public List<PojoField> getPojoFields() {
-    return pojoFields;
+    return getMembers().pojoFields;
   }
 
   public List<PojoField> getPojoFieldsAnnotatedWith(Class<? extends Annotation> annotation) {
-    List<PojoField> returnedFields = new LinkedList<PojoField>();
-    for (PojoField pojoField : pojoFields) {
-      if (pojoField.getAnnotation(annotation) != null)
-        returnedFields.add(pojoField);
-    }
-    return returnedFields;
+    return getAnnotated(getMembers().getFieldsByAnnotation(), annotation);
   }
 
   public List<PojoMethod> getPojoMethods() {
-    return pojoMethods;
+    return getMembers().pojoMethods;
   }
 
   public List<PojoMethod> getPojoMethodsAnnotatedWith(Class<? extends Annotation> annotation) {
-    List<PojoMethod> returnedMethods = new LinkedList<PojoMethod>();
-    for (PojoMethod pojoMethod : pojoMethods) {
-      if (pojoMethod.getAnnotation(annotation) != null)
-        returnedMethods.add(pojoMethod);
-    }
-    return returnedMethods;
+    return getAnnotated(getMembers().getMethodsByAnnotation(), annotation);
   }
 
   public List<PojoMethod> getPojoConstructors() {
-    final List<PojoMethod> constructors = new LinkedList<PojoMethod>();
-    for (final PojoMethod pojoMethod : pojoMethods) {
-      if (pojoMethod.isConstructor()) {
-        constructors.add(pojoMethod);
-      }
-    }
-    return constructors;
+    return getMembers().pojoConstructors;
   }
 
   public PojoClass getEnclosingClass() {
@@ -151,7 +157,7 @@ public class PojoClassImpl implements PojoClass {
   }
 
   public void copy(final Object from, final Object to) {
-    for (final PojoField pojoField : pojoFields) {
+    for (final PojoField pojoField : getPojoFields()) {
       if (pojoField.hasGetter() && pojoField.hasSetter()) {
         final Object value = pojoField.invokeGetter(from);
         pojoField.invokeSetter(to, value);
@@ -165,8 +171,8 @@ public class PojoClassImpl implements PojoClass {
 
   @Override
   public String toString() {
-    return String.format(this.getClass().getName() + " [clazz=%s, pojoFields=%s, pojoMethods=%s]", clazz, pojoFields,
-        pojoMethods);
+    return String.format(this.getClass().getName() + " [clazz=%s, pojoFields=%s, pojoMethods=%s]", clazz,
+        getPojoFields(), getPojoMethods());
   }
 
   public String toString(final Object instance) {
@@ -236,4 +242,89 @@ public class PojoClassImpl implements PojoClass {
   public boolean isPublic() {
     return Modifier.isPublic(clazz.getModifiers());
   }
+
+  /**
+   * Introspect the members on first use, racing threads may each build a copy but only the first one published is
+   * ever handed out, so every caller sees the same PojoField and PojoMethod instances.
+   */
+  private Members getMembers() {
+    Members current = members.get();
+    if (current == null) {
+      PojoClass pojoClass = new PojoClassImpl(clazz, PojoFieldFactory.getPojoFields(clazz),
+          PojoMethodFactory.getPojoMethods(clazz));
+      if (pojoClassAdapter != null)
+        pojoClass = pojoClassAdapter.adapt(pojoClass);
+      members.compareAndSet(null, new Members(pojoClass.getPojoFields(), pojoClass.getPojoMethods()));
+      current = members.get();
+    }
+    return current;
+  }
+
+  private static <T> List<T> getAnnotated(final Map<Class<? extends Annotation>, List<T>> index,
+                                          final Class<? extends Annotation> annotation) {
+    final List<T> annotated = index.get(annotation);
+    if (annotated == null)
+      return Collections.emptyList();
+    return annotated;
+  }
+
+  private static <T extends Annotatable> Map<Class<? extends Annotation>, List<T>> indexByAnnotation(
+      final List<T> elements) {
+    final Map<Class<? extends Annotation>, List<T>> index = new HashMap<Class<? extends Annotation>, List<T>>();
+    for (final T element : elements) {
+      for (final Annotation annotation : element.getAnnotations()) {
+        List<T> annotated = index.get(annotation.annotationType());
+        if (annotated == null) {
+          annotated = new ArrayList<T>();
+          index.put(annotation.annotationType(), annotated);
+        }
+        annotated.add(element);
+      }
+    }
+    for (final Map.Entry<Class<? extends Annotation>, List<T>> entry : index.entrySet())
+      entry.setValue(Collections.unmodifiableList(entry.getValue()));
+    return index;
+  }
+
+  private static final class Members {
+    private static final Comparator<PojoMethod> BY_PARAMETER_COUNT = new Comparator<PojoMethod>() {
+      public int compare(final PojoMethod first, final PojoMethod second) {
+        return first.getParameterTypes().length - second.getParameterTypes().length;
+      }
+    };
+
+    private final List<PojoField> pojoFields;
+    private final List<PojoMethod> pojoMethods;
+    private final List<PojoMethod> pojoConstructors;
+    private final AtomicReference<Map<Class<? extends Annotation>, List<PojoField>>> fieldsByAnnotation =
+        new AtomicReference<Map<Class<? extends Annotation>, List<PojoField>>>();
+    private final AtomicReference<Map<Class<? extends Annotation>, List<PojoMethod>>> methodsByAnnotation =
+        new AtomicReference<Map<Class<? extends Annotation>, List<PojoMethod>>>();
+
+    private Members(final List<PojoField> pojoFields, final List<PojoMethod> pojoMethods) {
+      this.pojoFields = Collections.unmodifiableList(pojoFields);
+      this.pojoMethods = Collections.unmodifiableList(pojoMethods);
+      final List<PojoMethod> constructors = new ArrayList<PojoMethod>();
+      for (final PojoMethod pojoMethod : pojoMethods) {
+        if (pojoMethod.isConstructor()) {
+          constructors.add(pojoMethod);
+        }
+      }
+      final PojoMethod[] sortedConstructors = constructors.toArray(new PojoMethod[constructors.size()]);
+      Arrays.sort(sortedConstructors, BY_PARAMETER_COUNT);
+      this.pojoConstructors = Collections.unmodifiableList(Arrays.asList(sortedConstructors));
+    }
+
+    private Map<Class<? extends Annotation>, List<PojoField>> getFieldsByAnnotation() {
+      if (fieldsByAnnotation.get() == null)
+        fieldsByAnnotation.compareAndSet(null, indexByAnnotation(pojoFields));
+      return fieldsByAnnotation.get();
+    }
+
+    private Map<Class<? extends Annotation>, List<PojoMethod>> getMethodsByAnnotation() {
+      if (methodsByAnnotation.get() == null)
+        methodsByAnnotation.compareAndSet(null, indexByAnnotation(pojoMethods));
+      return methodsByAnnotation.get();
+    }
+  }
 }
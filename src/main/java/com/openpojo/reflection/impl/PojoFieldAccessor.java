@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import com.openpojo.reflection.exception.ReflectionException;
+import com.openpojo.reflection.java.type.Primitives;
+
+/**
+ * Reads and writes a field through a {@link VarHandle} resolved once with {@link MethodHandles#privateLookupIn}. Plain
+ * reads and writes go through method handles derived from it with exact types, so the call needs no conversion and
+ * the typed accessors read and write primitives without boxing.
+ * <br>
+ * Whatever the var handle can't do exactly like {@link Field} goes through the field instead, so values and
+ * exceptions stay the same: classes in modules not opened to us, final fields, instances of the wrong type, nulls
+ * for primitives and the widening conversions the typed accessors of {@link Field} allow.
+ */
+final class PojoFieldAccessor {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private final Field field;
+  private final VarHandle varHandle;
+  private final MethodHandle getter;
+  private final MethodHandle setter;
+  private final MethodHandle primitiveGetter;
+  private final MethodHandle primitiveSetter;
+  private final Class<?> declaringClass;
+  private final Class<?> type;
+  private final Class<?> boxedType;
+  private final boolean isStatic;
+  private final boolean isWritable;
+
+  PojoFieldAccessor(final Field field) {
+    this.field = field;
+    this.varHandle = getVarHandle(field);
+    this.declaringClass = field.getDeclaringClass();
+    this.type = field.getType();
+    this.boxedType = Primitives.getInstance().autoBox(type);
+    this.isStatic = Modifier.isStatic(field.getModifiers());
+    this.isWritable = varHandle != null && !Modifier.isFinal(field.getModifiers());
+    this.getter = getAccessMethodHandle(VarHandle.AccessMode.GET, Object.class);
+    this.primitiveGetter = type.isPrimitive() ? getAccessMethodHandle(VarHandle.AccessMode.GET, type) : null;
+    this.setter = isWritable ? getAccessMethodHandle(VarHandle.AccessMode.SET, Object.class) : null;
+    this.primitiveSetter = isWritable && type.isPrimitive() ? getAccessMethodHandle(VarHandle.AccessMode.SET, type)
+        : null;
+  }
+
+  private static VarHandle getVarHandle(final Field field) {
+    try {
+      return MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectVarHandle(field);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  Object get(final Object instance) {
+    if (canRead(instance)) {
+      try {
+        return (Object) getter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    return getReflectively(instance);
+  }
+
+  void set(final Object instance, final Object value) {
+    if (canWrite(instance) && accepts(value)) {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    setReflectively(instance, value);
+  }
+
+  /**
+   * Adapt an access mode of the var handle to take the instance as an Object, ignored for static fields, and to read
+   * or write the value as the given type.
+   */
+  private MethodHandle getAccessMethodHandle(final VarHandle.AccessMode accessMode, final Class<?> valueType) {
+    if (varHandle == null)
+      return null;
+    MethodHandle accessor = varHandle.toMethodHandle(accessMode);
+    if (isStatic)
+      accessor = MethodHandles.dropArguments(accessor, 0, Object.class);
+    if (accessMode == VarHandle.AccessMode.GET)
+      return accessor.asType(MethodType.methodType(valueType, Object.class));
+    return accessor.asType(MethodType.methodType(void.class, Object.class, valueType));
+  }
+
+  Object getVolatile(final Object instance) {
+    if (canRead(instance))
+      return isStatic ? varHandle.getVolatile() : varHandle.getVolatile(instance);
+    VarHandle.fullFence();
+    final Object value = getReflectively(instance);
+    VarHandle.acquireFence();
+    return value;
+  }
+
+  Object getAcquire(final Object instance) {
+    if (canRead(instance))
+      return isStatic ? varHandle.getAcquire() : varHandle.getAcquire(instance);
+    final Object value = getReflectively(instance);
+    VarHandle.acquireFence();
+    return value;
+  }
+
+  void setVolatile(final Object instance, final Object value) {
+    if (canWrite(instance) && accepts(value)) {
+      if (isStatic)
+        varHandle.setVolatile(value);
+      else
+        varHandle.setVolatile(instance, value);
+      return;
+    }
+    VarHandle.releaseFence();
+    setReflectively(instance, value);
+    VarHandle.fullFence();
+  }
+
+  void setRelease(final Object instance, final Object value) {
+    if (canWrite(instance) && accepts(value)) {
+      if (isStatic)
+        varHandle.setRelease(value);
+      else
+        varHandle.setRelease(instance, value);
+      return;
+    }
+    VarHandle.releaseFence();
+    setReflectively(instance, value);
+  }
+
+  boolean getBoolean(final Object instance) {
+    if (type == boolean.class && canRead(instance)) {
+      try {
+        return (boolean) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getBoolean(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  byte getByte(final Object instance) {
+    if (type == byte.class && canRead(instance)) {
+      try {
+        return (byte) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getByte(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  char getChar(final Object instance) {
+    if (type == char.class && canRead(instance)) {
+      try {
+        return (char) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getChar(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  short getShort(final Object instance) {
+    if (type == short.class && canRead(instance)) {
+      try {
+        return (short) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getShort(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  int getInt(final Object instance) {
+    if (type == int.class && canRead(instance)) {
+      try {
+        return (int) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getInt(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  long getLong(final Object instance) {
+    if (type == long.class && canRead(instance)) {
+      try {
+        return (long) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getLong(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  float getFloat(final Object instance) {
+    if (type == float.class && canRead(instance)) {
+      try {
+        return (float) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getFloat(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  double getDouble(final Object instance) {
+    if (type == double.class && canRead(instance)) {
+      try {
+        return (double) primitiveGetter.invokeExact(instance);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+    }
+    try {
+      return field.getDouble(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setBoolean(final Object instance, final boolean value) {
+    if (type == boolean.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setBoolean(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setByte(final Object instance, final byte value) {
+    if (type == byte.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setByte(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setChar(final Object instance, final char value) {
+    if (type == char.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setChar(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setShort(final Object instance, final short value) {
+    if (type == short.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setShort(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setInt(final Object instance, final int value) {
+    if (type == int.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setInt(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setLong(final Object instance, final long value) {
+    if (type == long.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setLong(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setFloat(final Object instance, final float value) {
+    if (type == float.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setFloat(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  void setDouble(final Object instance, final double value) {
+    if (type == double.class && canWrite(instance)) {
+      try {
+        primitiveSetter.invokeExact(instance, value);
+      } catch (Throwable throwable) {
+        throw rethrow(throwable);
+      }
+      return;
+    }
+    try {
+      field.setDouble(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  private boolean canRead(final Object instance) {
+    return varHandle != null && (isStatic || declaringClass.isInstance(instance));
+  }
+
+  private boolean canWrite(final Object instance) {
+    return isWritable && (isStatic || declaringClass.isInstance(instance));
+  }
+
+  private boolean accepts(final Object value) {
+    return value == null ? !type.isPrimitive() : boxedType.isInstance(value);
+  }
+
+  private static RuntimeException rethrow(final Throwable throwable) {
+    if (throwable instanceof Error)
+      throw (Error) throwable;
+    if (throwable instanceof RuntimeException)
+      return (RuntimeException) throwable;
+    return ReflectionException.getInstance(throwable.getMessage(), throwable);
+  }
+
+  private Object getReflectively(final Object instance) {
+    try {
+      return field.get(instance);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+
+  private void setReflectively(final Object instance, final Object value) {
+    try {
+      field.set(instance, value);
+    } catch (IllegalAccessException | IllegalArgumentException | NullPointerException e) {
+      throw ReflectionException.getInstance(e.getMessage(), e);
+    }
+  }
+}
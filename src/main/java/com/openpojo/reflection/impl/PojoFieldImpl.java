@@ -48,6 +48,7 @@ class PojoFieldImpl implements PojoField {
 	private final Field field;
 	private final PojoMethod fieldGetter;
 	private final PojoMethod fieldSetter;
+	private volatile PojoFieldAccessor pojoFieldAccessor;
 
 	PojoFieldImpl(final Field field) {
 		this.field = field;
@@ -59,17 +60,21 @@ class PojoFieldImpl implements PojoField {
 		fieldSetter = PojoMethodFactory.getFieldSetter(field);
 	}
 
+	/**
+	 * Resolve the accessor on first use, racing threads may each resolve one but they are interchangeable.
+	 */
+	private PojoFieldAccessor getPojoFieldAccessor() {
+		PojoFieldAccessor accessor = pojoFieldAccessor;
+		if (accessor == null) {
+			accessor = new PojoFieldAccessor(field);
+			pojoFieldAccessor = accessor;
+		}
+		return accessor;
+	}
+
 	@Override
 	public Object get(final Object instance) {
-		try {
-			return field.get(instance);
-		} catch (IllegalArgumentException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		} catch (IllegalAccessException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		} catch (NullPointerException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		}
+		return getPojoFieldAccessor().get(instance);
 	}
 
 	@Override
@@ -79,15 +84,107 @@ class PojoFieldImpl implements PojoField {
 
 	@Override
 	public void set(final Object instance, final Object value) {
-		try {
-			field.set(instance, value);
-		} catch (IllegalArgumentException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		} catch (IllegalAccessException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		} catch (NullPointerException e) {
-			throw ReflectionException.getInstance(e.getMessage(), e);
-		}
+		getPojoFieldAccessor().set(instance, value);
+	}
+
+	@Override
+	public boolean getBoolean(final Object instance) {
+		return getPojoFieldAccessor().getBoolean(instance);
+	}
+
+	@Override
+	public byte getByte(final Object instance) {
+		return getPojoFieldAccessor().getByte(instance);
+	}
+
+	@Override
+	public char getChar(final Object instance) {
+		return getPojoFieldAccessor().getChar(instance);
+	}
+
+	@Override
+	public short getShort(final Object instance) {
+		return getPojoFieldAccessor().getShort(instance);
+	}
+
+	@Override
+	public int getInt(final Object instance) {
+		return getPojoFieldAccessor().getInt(instance);
+	}
+
+	@Override
+	public long getLong(final Object instance) {
+		return getPojoFieldAccessor().getLong(instance);
+	}
+
+	@Override
+	public float getFloat(final Object instance) {
+		return getPojoFieldAccessor().getFloat(instance);
+	}
+
+	@Override
+	public double getDouble(final Object instance) {
+		return getPojoFieldAccessor().getDouble(instance);
+	}
+
+	@Override
+	public void setBoolean(final Object instance, final boolean value) {
+		getPojoFieldAccessor().setBoolean(instance, value);
+	}
+
+	@Override
+	public void setByte(final Object instance, final byte value) {
+		getPojoFieldAccessor().setByte(instance, value);
+	}
+
+	@Override
+	public void setChar(final Object instance, final char value) {
+		getPojoFieldAccessor().setChar(instance, value);
+	}
+
+	@Override
+	public void setShort(final Object instance, final short value) {
+		getPojoFieldAccessor().setShort(instance, value);
+	}
+
+	@Override
+	public void setInt(final Object instance, final int value) {
+		getPojoFieldAccessor().setInt(instance, value);
+	}
+
+	@Override
+	public void setLong(final Object instance, final long value) {
+		getPojoFieldAccessor().setLong(instance, value);
+	}
+
+	@Override
+	public void setFloat(final Object instance, final float value) {
+		getPojoFieldAccessor().setFloat(instance, value);
+	}
+
+	@Override
+	public void setDouble(final Object instance, final double value) {
+		getPojoFieldAccessor().setDouble(instance, value);
+	}
+
+	@Override
+	public Object getVolatile(final Object instance) {
+		return getPojoFieldAccessor().getVolatile(instance);
+	}
+
+	@Override
+	public Object getAcquire(final Object instance) {
+		return getPojoFieldAccessor().getAcquire(instance);
+	}
+
+	@Override
+	public void setVolatile(final Object instance, final Object value) {
+		getPojoFieldAccessor().setVolatile(instance, value);
+	}
+
+	@Override
+	public void setRelease(final Object instance, final Object value) {
+		getPojoFieldAccessor().setRelease(instance, value);
 	}
 
 	@Override
@@ -18,12 +18,8 @@
 
 package com.openpojo.reflection.impl;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -38,26 +34,25 @@ import static com.openpojo.reflection.utils.AttributeHelper.getFieldNameVariatio
  * @author oshoukry
  */
 public class PojoMethodFactory {
+  private static final ClassValue<PojoMethodTable> pojoMethodTables = new ClassValue<PojoMethodTable>() {
+    @Override
+    protected PojoMethodTable computeValue(Class<?> type) {
+      return new PojoMethodTable(type);
+    }
+  };
 
   /**
    * Returns all methods on a given Class. Note: Constructors are treated as methods and will be returned in the list
    * as well.
+   * <br>
+   * The methods of a class are read once and shared by every lookup on that class.
    *
    * @param clazz
    *     The class to introspect for methods / constructors.
    * @return A list of all methods and constructors in a class.
    */
   public static List<PojoMethod> getPojoMethods(final Class<?> clazz) {
-    final List<PojoMethod> pojoMethods = new LinkedList<PojoMethod>();
-
-    for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-      pojoMethods.add(new PojoMethodImpl(constructor));
-    }
-
-    for (final Method method : clazz.getDeclaredMethods()) {
-      pojoMethods.add(new PojoMethodImpl(method));
-    }
-    return Collections.unmodifiableList(pojoMethods);
+    return pojoMethodTables.get(clazz).getPojoMethods();
   }
 
   /**
@@ -72,12 +67,7 @@ public class PojoMethodFactory {
    * @return A PojoMethod if found, or null otherwise.
    */
   public static PojoMethod getMethod(final Class<?> clazz, final String name, final Class<?>... parameterTypes) {
-    for (final PojoMethod pojoMethod : getPojoMethods(clazz)) {
-      if (pojoMethod.getName().equals(name) && Arrays.equals(pojoMethod.getParameterTypes(), parameterTypes)) {
-        return pojoMethod;
-      }
-    }
-    return null;
+    return pojoMethodTables.get(clazz).getMethod(name, parameterTypes);
   }
 
   /**
@@ -39,6 +39,7 @@ import com.openpojo.reflection.exception.ReflectionException;
  */
 public class PojoMethodImpl implements PojoMethod {
 	private final AccessibleObject accessibleObject;
+	private volatile PojoMethodInvoker pojoMethodInvoker;
 
 	PojoMethodImpl(final Method method) {
 		this((AccessibleObject) method);
@@ -52,11 +53,22 @@ public class PojoMethodImpl implements PojoMethod {
 		this.accessibleObject = accessibleObject;
 	}
 
-	private void allowAccessibility() {
-		try {
-			accessibleObject.setAccessible(true);
-		} catch (InaccessibleObjectException e) {
+	/**
+	 * Make the member accessible and resolve the invoker on first use, racing threads may each resolve one but they
+	 * are interchangeable.
+	 */
+	private PojoMethodInvoker getPojoMethodInvoker() {
+		PojoMethodInvoker invoker = pojoMethodInvoker;
+		if (invoker == null) {
+			try {
+				accessibleObject.setAccessible(true);
+			} catch (InaccessibleObjectException e) {
+			}
+			invoker = MethodHandlePojoMethodInvoker.getPojoMethodInvoker(accessibleObject,
+					new ReflectivePojoMethodInvoker(accessibleObject));
+			pojoMethodInvoker = invoker;
 		}
+		return invoker;
 	}
 
 	@Override
@@ -79,25 +91,12 @@ public class PojoMethodImpl implements PojoMethod {
 
 	@Override
 	public Object invoke(final Object instance, final Object... parameters) {
-		allowAccessibility();
-		if (isConstructor()) {
-			try {
-				return getAsConstructor().newInstance(parameters);
-			} catch (final IllegalArgumentException e) {
-				throw ReflectionException.getInstance(e.getMessage(), e);
-			} catch (final InstantiationException e) {
-				throw ReflectionException.getInstance(e.getMessage(), e);
-			} catch (final IllegalAccessException e) {
-				throw ReflectionException.getInstance(e.getMessage(), e);
-			} catch (final InvocationTargetException e) {
-				throw ReflectionException.getInstance(e.getMessage(), e);
-			}
-		}
-
 		try {
-			return getAsMethod().invoke(instance, parameters);
+			return getPojoMethodInvoker().invoke(instance, parameters);
 		} catch (final IllegalArgumentException e) {
 			throw ReflectionException.getInstance(e.getMessage(), e);
+		} catch (final InstantiationException e) {
+			throw ReflectionException.getInstance(e.getMessage(), e);
 		} catch (final IllegalAccessException e) {
 			throw ReflectionException.getInstance(e.getMessage(), e);
 		} catch (final InvocationTargetException e) {
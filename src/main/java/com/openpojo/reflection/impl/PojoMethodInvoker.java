@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The strategy a {@link PojoMethodImpl} uses to call its method or constructor, resolved once on first invocation.
+ * Implementations report failures the same way {@link java.lang.reflect.Method#invoke(Object, Object...)} and
+ * {@link java.lang.reflect.Constructor#newInstance(Object...)} do.
+ */
+abstract class PojoMethodInvoker {
+
+  /**
+   * @param instance
+   *     the instance to invoke on, ignored for static methods and constructors.
+   * @param parameters
+   *     the arguments, null is treated as no arguments.
+   * @return the value returned, the new instance for constructors or null for void methods.
+   */
+  abstract Object invoke(Object instance, Object[] parameters)
+      throws IllegalAccessException, InstantiationException, InvocationTargetException;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.openpojo.reflection.PojoMethod;
+
+/**
+ * The methods and constructors declared by a class, read once and indexed by name, with each overload keyed by its
+ * parameter types.
+ */
+final class PojoMethodTable {
+  private final List<PojoMethod> pojoMethods;
+  private final Map<String, Overload[]> overloadsByName = new HashMap<String, Overload[]>();
+
+  PojoMethodTable(final Class<?> clazz) {
+    final Constructor<?>[] constructors = clazz.getDeclaredConstructors();
+    final Method[] methods = clazz.getDeclaredMethods();
+    final List<PojoMethod> allPojoMethods = new ArrayList<PojoMethod>(constructors.length + methods.length);
+
+    for (final Constructor<?> constructor : constructors) {
+      final PojoMethod pojoMethod = new PojoMethodImpl(constructor);
+      allPojoMethods.add(pojoMethod);
+      index(constructor.getName(), new Overload(pojoMethod, constructor.getParameterTypes()));
+    }
+
+    for (final Method method : methods) {
+      final PojoMethod pojoMethod = new PojoMethodImpl(method);
+      allPojoMethods.add(pojoMethod);
+      index(method.getName(), new Overload(pojoMethod, method.getParameterTypes()));
+    }
+    pojoMethods = Collections.unmodifiableList(allPojoMethods);
+  }
+
+  /**
+   * @return All the constructors followed by all the methods, in the order reflection returned them.
+   */
+  List<PojoMethod> getPojoMethods() {
+    return pojoMethods;
+  }
+
+  /**
+   * @return The first method or constructor with the given name and parameter types, or null if there is none.
+   */
+  PojoMethod getMethod(final String name, final Class<?>[] parameterTypes) {
+    final Overload[] overloads = overloadsByName.get(name);
+    if (overloads != null) {
+      for (final Overload overload : overloads) {
+        if (Arrays.equals(overload.parameterTypes, parameterTypes))
+          return overload.pojoMethod;
+      }
+    }
+    return null;
+  }
+
+  private void index(final String name, final Overload overload) {
+    final Overload[] overloads = overloadsByName.get(name);
+    if (overloads == null) {
+      overloadsByName.put(name, new Overload[] { overload });
+    } else {
+      final Overload[] moreOverloads = Arrays.copyOf(overloads, overloads.length + 1);
+      moreOverloads[overloads.length] = overload;
+      overloadsByName.put(name, moreOverloads);
+    }
+  }
+
+  private static final class Overload {
+    private final PojoMethod pojoMethod;
+    private final Class<?>[] parameterTypes;
+
+    private Overload(final PojoMethod pojoMethod, final Class<?>[] parameterTypes) {
+      this.pojoMethod = pojoMethod;
+      this.parameterTypes = parameterTypes;
+    }
+  }
+}
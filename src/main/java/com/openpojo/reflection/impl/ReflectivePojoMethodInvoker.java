@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Invokes through core reflection, it works for everything including members of modules that aren't opened to us,
+ * and is what the other strategies fall back to. Callers make the member accessible before invoking through it.
+ */
+final class ReflectivePojoMethodInvoker extends PojoMethodInvoker {
+  private final Method method;
+  private final Constructor<?> constructor;
+
+  ReflectivePojoMethodInvoker(final AccessibleObject accessibleObject) {
+    if (accessibleObject instanceof Constructor<?>) {
+      this.constructor = (Constructor<?>) accessibleObject;
+      this.method = null;
+    } else {
+      this.constructor = null;
+      this.method = (Method) accessibleObject;
+    }
+  }
+
+  @Override
+  Object invoke(final Object instance, final Object[] parameters)
+      throws IllegalAccessException, InstantiationException, InvocationTargetException {
+    if (constructor != null)
+      return constructor.newInstance(parameters);
+    return method.invoke(instance, parameters);
+  }
+}
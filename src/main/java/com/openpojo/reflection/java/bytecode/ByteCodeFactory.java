@@ -19,7 +19,10 @@
 package com.openpojo.reflection.java.bytecode;
 
 import java.lang.reflect.Modifier;
+import java.util.List;
 
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.identity.CompiledIdentity;
 import com.openpojo.log.Logger;
 import com.openpojo.log.LoggerFactory;
 import com.openpojo.reflection.java.bytecode.asm.ASMDetector;
@@ -58,6 +61,27 @@ public class ByteCodeFactory {
 		return ASMService.getInstance().createSubclassFor(clazz);
 	}
 
+	/**
+	 * Generate a {@link CompiledIdentity} that evaluates the given business keys of a class without reflection.
+	 *
+	 * @param clazz
+	 *            the class to generate the identity for.
+	 * @param businessKeyFields
+	 *            the business keys of the class, in evaluation order.
+	 * @return the generated identity.
+	 */
+	public static CompiledIdentity getCompiledIdentity(Class<?> clazz, List<BusinessKeyField> businessKeyFields) {
+		if (isNull(clazz) || isAnInterface(clazz) || isPrimitive(clazz) || isAnArray(clazz)) {
+			throw new IllegalArgumentException("Invalid request to generate a compiled identity for [" + clazz
+					+ "], argument must be [not null, not an interface, not primitive and not an array]");
+		}
+
+		verifyASMLoadedAndMatchesRequiredVersions();
+
+		LOGGER.info("Generating compiled identity for class [{0}]", clazz);
+		return ASMService.getInstance().createCompiledIdentityFor(clazz, businessKeyFields);
+	}
+
 	private static void verifyASMLoadedAndMatchesRequiredVersions() {
 		if (!asm_enabled)
 			throw ASMNotLoadedException.getInstance();
@@ -18,9 +18,13 @@
 
 package com.openpojo.reflection.java.bytecode.asm;
 
+import java.util.List;
+
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.identity.CompiledIdentity;
 import com.openpojo.cache.CacheStorage;
 import com.openpojo.cache.CacheStorageFactory;
 import com.openpojo.log.Logger;
@@ -66,6 +70,14 @@ public class ASMService {
 		return generatedClass;
 	}
 
+	public CompiledIdentity createCompiledIdentityFor(Class<?> clazz, List<BusinessKeyField> businessKeyFields) {
+		try {
+			return new CompiledIdentityCreator(clazz, businessKeyFields).create();
+		} catch (Throwable throwable) {
+			throw ReflectionException.getInstance("Failed to create compiled identity for class: " + clazz, throwable);
+		}
+	}
+
 	private byte[] getSubClassByteCode(SubClassDefinition subClassDefinition) {
 
 		ClassReader classReader = subClassDefinition.getClassReader();
@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.java.bytecode.asm;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.cache.impl.DefaultBusinessKeyField;
+import com.openpojo.business.identity.CompiledIdentity;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+import com.openpojo.reflection.PojoField;
+import com.openpojo.reflection.java.Java;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * This class generates a {@link CompiledIdentity} for a given class.
+ * <br>
+ * The generated class is defined as a hidden nest mate of the class it was compiled for, this allows it to read the
+ * declared {@link com.openpojo.business.annotation.BusinessKey} fields using straight GETFIELD instructions.
+ * Business keys inherited from super classes are read through a {@link MethodHandle} getter resolved once at
+ * generation time, and any other {@link BusinessKeyField} is read through {@link BusinessKeyField#get(Object)}.
+ * <br>
+ * Primitive keys are compared and hashed without boxing, all other keys are delegated to
+ * {@link BusinessIdentityUtils} so the results are the same as the reflection based identity.
+ */
+class CompiledIdentityCreator {
+  static final String GENERATED_CLASS_POSTFIX = "$$OpenPojoIdentity";
+
+  private static final String OBJECT = Type.getInternalName(Object.class);
+  private static final String METHOD_HANDLE = Type.getInternalName(MethodHandle.class);
+  private static final String BUSINESS_KEY_FIELD = Type.getInternalName(BusinessKeyField.class);
+  private static final String BUSINESS_IDENTITY_UTILS = Type.getInternalName(BusinessIdentityUtils.class);
+  private static final String CLASS_DATA_NAME = "_";
+  private static final int HASH_PRIME = 31;
+
+  private final Class<?> clazz;
+  private final String classInternalName;
+  private final String generatedInternalName;
+  private final List<KeyAccessor> keyAccessors = new ArrayList<KeyAccessor>();
+  private final List<Object> classData = new ArrayList<Object>();
+
+  CompiledIdentityCreator(Class<?> clazz, List<BusinessKeyField> businessKeyFields) throws ReflectiveOperationException {
+    this.clazz = clazz;
+    this.classInternalName = Type.getInternalName(clazz);
+    this.generatedInternalName = clazz.getName().replace(Java.PACKAGE_DELIMITER, Java.PATH_DELIMITER)
+        + GENERATED_CLASS_POSTFIX;
+
+    for (BusinessKeyField businessKeyField : businessKeyFields)
+      keyAccessors.add(getKeyAccessor(businessKeyField));
+  }
+
+  CompiledIdentity create() throws ReflectiveOperationException {
+    Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+    Lookup generated = lookup.defineHiddenClassWithClassData(getByteCode(), classData, true, Lookup.ClassOption.NESTMATE);
+    return (CompiledIdentity) generated.lookupClass().getDeclaredConstructor().newInstance();
+  }
+
+  private KeyAccessor getKeyAccessor(BusinessKeyField businessKeyField) throws ReflectiveOperationException {
+    if (!(businessKeyField instanceof DefaultBusinessKeyField)) {
+      return new KeyAccessor(businessKeyField, null, addClassData(businessKeyField));
+    }
+
+    PojoField pojoField = ((DefaultBusinessKeyField) businessKeyField).getPojoField();
+    Field field = pojoField.getDeclaringPojoClass().getClazz().getDeclaredField(pojoField.getName());
+    if (field.getDeclaringClass() == clazz) {
+      return new KeyAccessor(businessKeyField, field, -1);
+    }
+
+    MethodHandle getter = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+        .unreflectGetter(field)
+        .asType(MethodType.methodType(getHandleType(field), Object.class));
+    return new KeyAccessor(businessKeyField, field, addClassData(getter));
+  }
+
+  /**
+   * Reference keys are returned as Object, so the generated call site never has to resolve the key's declared type.
+   */
+  private static Class<?> getHandleType(Field field) {
+    return field.getType().isPrimitive() ? field.getType() : Object.class;
+  }
+
+  private int addClassData(Object data) {
+    classData.add(data);
+    return classData.size() - 1;
+  }
+
+  byte[] getByteCode() {
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+      @Override
+      protected String getCommonSuperClass(String type1, String type2) {
+        // Frames never merge two different reference types, avoid loading classes through the wrong class loader.
+        return OBJECT;
+      }
+    };
+
+    cw.visit(V11, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, generatedInternalName, null, OBJECT,
+        new String[] { Type.getInternalName(CompiledIdentity.class) });
+
+    for (KeyAccessor keyAccessor : keyAccessors) {
+      if (keyAccessor.classDataIndex >= 0)
+        cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, keyAccessor.getStaticFieldName(),
+            keyAccessor.getStaticFieldDescriptor(), null, null).visitEnd();
+    }
+
+    generateStaticInitializer(cw);
+    generateConstructor(cw);
+    generateAreEqual(cw);
+    generateHashCode(cw);
+
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  private void generateStaticInitializer(ClassWriter cw) {
+    MethodVisitor mv = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+    mv.visitCode();
+    for (KeyAccessor keyAccessor : keyAccessors) {
+      if (keyAccessor.classDataIndex < 0)
+        continue;
+      mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(MethodHandles.class), "lookup",
+          "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+      mv.visitLdcInsn(CLASS_DATA_NAME);
+      mv.visitLdcInsn(Type.getType(keyAccessor.getStaticFieldDescriptor()));
+      mv.visitLdcInsn(keyAccessor.classDataIndex);
+      mv.visitMethodInsn(INVOKESTATIC, Type.getInternalName(MethodHandles.class), "classDataAt",
+          "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;I)Ljava/lang/Object;", false);
+      mv.visitTypeInsn(CHECKCAST, Type.getType(keyAccessor.getStaticFieldDescriptor()).getInternalName());
+      mv.visitFieldInsn(PUTSTATIC, generatedInternalName, keyAccessor.getStaticFieldName(),
+          keyAccessor.getStaticFieldDescriptor());
+    }
+    mv.visitInsn(RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  private void generateConstructor(ClassWriter cw) {
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+    mv.visitInsn(RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  /**
+   * boolean areEqual(Object first, Object second), locals: 1 = first, 2 = second, 3 = (T) first, 4 = (T) second.
+   * Either side being null or of a different class is never equal, so the casts below can not fail.
+   */
+  private void generateAreEqual(ClassWriter cw) {
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "areEqual", "(Ljava/lang/Object;Ljava/lang/Object;)Z", null, null);
+    mv.visitCode();
+    Label notSameInstance = new Label();
+    Label notEqual = new Label();
+
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitJumpInsn(IF_ACMPNE, notSameInstance);
+    mv.visitInsn(ICONST_1);
+    mv.visitInsn(IRETURN);
+
+    mv.visitLabel(notSameInstance);
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitJumpInsn(IFNULL, notEqual);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitJumpInsn(IFNULL, notEqual);
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitMethodInsn(INVOKEVIRTUAL, OBJECT, "getClass", "()Ljava/lang/Class;", false);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitMethodInsn(INVOKEVIRTUAL, OBJECT, "getClass", "()Ljava/lang/Class;", false);
+    mv.visitJumpInsn(IF_ACMPNE, notEqual);
+
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitTypeInsn(CHECKCAST, classInternalName);
+    mv.visitVarInsn(ASTORE, 3);
+    mv.visitVarInsn(ALOAD, 2);
+    mv.visitTypeInsn(CHECKCAST, classInternalName);
+    mv.visitVarInsn(ASTORE, 4);
+
+    for (KeyAccessor keyAccessor : keyAccessors) {
+      Type type = keyAccessor.getValueType();
+      switch (keyAccessor.getComparison()) {
+        case INT:
+          keyAccessor.read(mv, 3);
+          keyAccessor.read(mv, 4);
+          mv.visitJumpInsn(IF_ICMPNE, notEqual);
+          break;
+        case LONG:
+          keyAccessor.read(mv, 3);
+          keyAccessor.read(mv, 4);
+          mv.visitInsn(LCMP);
+          mv.visitJumpInsn(IFNE, notEqual);
+          break;
+        case FLOAT:
+          keyAccessor.read(mv, 3);
+          mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "floatToIntBits", "(F)I", false);
+          keyAccessor.read(mv, 4);
+          mv.visitMethodInsn(INVOKESTATIC, "java/lang/Float", "floatToIntBits", "(F)I", false);
+          mv.visitJumpInsn(IF_ICMPNE, notEqual);
+          break;
+        case DOUBLE:
+          keyAccessor.read(mv, 3);
+          mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+          keyAccessor.read(mv, 4);
+          mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "doubleToLongBits", "(D)J", false);
+          mv.visitInsn(LCMP);
+          mv.visitJumpInsn(IFNE, notEqual);
+          break;
+        default:
+          keyAccessor.read(mv, 3);
+          box(mv, type);
+          keyAccessor.read(mv, 4);
+          box(mv, type);
+          mv.visitInsn(keyAccessor.businessKeyField.isCaseSensitive() ? ICONST_1 : ICONST_0);
+          mv.visitMethodInsn(INVOKESTATIC, BUSINESS_IDENTITY_UTILS, "areEqual",
+              "(Ljava/lang/Object;Ljava/lang/Object;Z)Z", false);
+          mv.visitJumpInsn(IFEQ, notEqual);
+      }
+    }
+    mv.visitInsn(ICONST_1);
+    mv.visitInsn(IRETURN);
+
+    mv.visitLabel(notEqual);
+    mv.visitInsn(ICONST_0);
+    mv.visitInsn(IRETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  /**
+   * int generateHashCode(Object object), locals: 1 = object, 2 = (T) object, 3 = result.
+   */
+  private void generateHashCode(ClassWriter cw) {
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "generateHashCode", "(Ljava/lang/Object;)I", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(ALOAD, 1);
+    mv.visitTypeInsn(CHECKCAST, classInternalName);
+    mv.visitVarInsn(ASTORE, 2);
+    mv.visitInsn(ICONST_1);
+    mv.visitVarInsn(ISTORE, 3);
+
+    for (KeyAccessor keyAccessor : keyAccessors) {
+      Type type = keyAccessor.getValueType();
+      mv.visitIntInsn(BIPUSH, HASH_PRIME);
+      mv.visitVarInsn(ILOAD, 3);
+      mv.visitInsn(IMUL);
+      keyAccessor.read(mv, 2);
+      if (keyAccessor.getComparison() == Comparison.OBJECT) {
+        box(mv, type);
+        mv.visitInsn(keyAccessor.businessKeyField.isCaseSensitive() ? ICONST_1 : ICONST_0);
+        mv.visitMethodInsn(INVOKESTATIC, BUSINESS_IDENTITY_UTILS, "getHashCode", "(Ljava/lang/Object;Z)I", false);
+      } else {
+        String wrapper = getWrapper(type).getInternalName();
+        mv.visitMethodInsn(INVOKESTATIC, wrapper, "hashCode", "(" + type.getDescriptor() + ")I", false);
+      }
+      mv.visitInsn(IADD);
+      mv.visitVarInsn(ISTORE, 3);
+    }
+    mv.visitVarInsn(ILOAD, 3);
+    mv.visitInsn(IRETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  private static void box(MethodVisitor mv, Type type) {
+    if (type.getSort() == Type.OBJECT || type.getSort() == Type.ARRAY)
+      return;
+    Type wrapper = getWrapper(type);
+    mv.visitMethodInsn(INVOKESTATIC, wrapper.getInternalName(), "valueOf",
+        "(" + type.getDescriptor() + ")" + wrapper.getDescriptor(), false);
+  }
+
+  private static Type getWrapper(Type type) {
+    switch (type.getSort()) {
+      case Type.BOOLEAN:
+        return Type.getType(Boolean.class);
+      case Type.BYTE:
+        return Type.getType(Byte.class);
+      case Type.CHAR:
+        return Type.getType(Character.class);
+      case Type.SHORT:
+        return Type.getType(Short.class);
+      case Type.INT:
+        return Type.getType(Integer.class);
+      case Type.LONG:
+        return Type.getType(Long.class);
+      case Type.FLOAT:
+        return Type.getType(Float.class);
+      case Type.DOUBLE:
+        return Type.getType(Double.class);
+      default:
+        throw new IllegalArgumentException("Not a primitive type [" + type + "]");
+    }
+  }
+
+  private enum Comparison {
+    INT, LONG, FLOAT, DOUBLE, OBJECT
+  }
+
+  private class KeyAccessor {
+    private final BusinessKeyField businessKeyField;
+    private final Field field;
+    private final int classDataIndex;
+
+    private KeyAccessor(BusinessKeyField businessKeyField, Field field, int classDataIndex) {
+      this.businessKeyField = businessKeyField;
+      this.field = field;
+      this.classDataIndex = classDataIndex;
+    }
+
+    private Type getValueType() {
+      if (field == null)
+        return Type.getType(Object.class);
+      return Type.getType(field.getType());
+    }
+
+    private Comparison getComparison() {
+      switch (getValueType().getSort()) {
+        case Type.CHAR:
+          // Case insensitive characters are normalized the same way BusinessIdentityUtils does.
+          return businessKeyField.isCaseSensitive() ? Comparison.INT : Comparison.OBJECT;
+        case Type.BOOLEAN:
+        case Type.BYTE:
+        case Type.SHORT:
+        case Type.INT:
+          return Comparison.INT;
+        case Type.LONG:
+          return Comparison.LONG;
+        case Type.FLOAT:
+          return Comparison.FLOAT;
+        case Type.DOUBLE:
+          return Comparison.DOUBLE;
+        default:
+          return Comparison.OBJECT;
+      }
+    }
+
+    private String getStaticFieldName() {
+      return "key" + classDataIndex;
+    }
+
+    private String getStaticFieldDescriptor() {
+      return field == null ? Type.getDescriptor(BusinessKeyField.class) : Type.getDescriptor(MethodHandle.class);
+    }
+
+    /**
+     * Pushes the value of this key read from the instance stored in the given local variable.
+     */
+    private void read(MethodVisitor mv, int instanceLocal) {
+      if (classDataIndex < 0) {
+        mv.visitVarInsn(ALOAD, instanceLocal);
+        mv.visitFieldInsn(GETFIELD, classInternalName, field.getName(), Type.getDescriptor(field.getType()));
+        return;
+      }
+
+      mv.visitFieldInsn(GETSTATIC, generatedInternalName, getStaticFieldName(), getStaticFieldDescriptor());
+      mv.visitVarInsn(ALOAD, instanceLocal);
+      if (field == null) {
+        mv.visitMethodInsn(INVOKEINTERFACE, BUSINESS_KEY_FIELD, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", true);
+      } else {
+        mv.visitMethodInsn(INVOKEVIRTUAL, METHOD_HANDLE, "invokeExact",
+            "(Ljava/lang/Object;)" + Type.getDescriptor(getHandleType(field)), false);
+      }
+    }
+  }
+}
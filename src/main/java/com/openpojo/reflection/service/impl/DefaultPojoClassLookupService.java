@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
+import com.openpojo.cache.CacheLoader;
 import com.openpojo.log.LoggerFactory;
 import com.openpojo.reflection.PojoClass;
 import com.openpojo.reflection.PojoClassFilter;
@@ -31,8 +32,6 @@ import com.openpojo.reflection.cache.PojoCache;
 import com.openpojo.reflection.filters.FilterBasedOnInheritance;
 import com.openpojo.reflection.filters.FilterChain;
 import com.openpojo.reflection.impl.PojoClassImpl;
-import com.openpojo.reflection.impl.PojoFieldFactory;
-import com.openpojo.reflection.impl.PojoMethodFactory;
 import com.openpojo.reflection.impl.PojoPackageFactory;
 import com.openpojo.reflection.service.PojoClassLookupService;
 import com.openpojo.registry.Service;
@@ -61,19 +60,29 @@ public class DefaultPojoClassLookupService implements Service, PojoClassLookupSe
   }
 
   public PojoClass getPojoClass(final Class<?> clazz) {
-    PojoClass pojoClass = PojoCache.getPojoClass(clazz.getName());
-    if (pojoClass == null) {
-      try {
-        pojoClass = new PojoClassImpl(clazz, PojoFieldFactory.getPojoFields(clazz), PojoMethodFactory.getPojoMethods(clazz));
-        pojoClass = ServiceRegistrar.getInstance().getPojoCoverageFilterService().adapt(pojoClass);
-      } catch (LinkageError le) {
-        if (clazz.getName().endsWith(GENERATED_CLASS_POSTFIX))
-          throw le;
-        LoggerFactory.getLogger(this.getClass()).warn("Failed to load class [{0}], exception [{1}]", clazz, le);
+    return PojoCache.getPojoClass(clazz, new CacheLoader<PojoClass>() {
+      public PojoClass load(String name) {
+        return createPojoClass(clazz);
       }
-      PojoCache.addPojoClass(clazz.getName(), pojoClass);
+    });
+  }
+
+  /**
+   * Members are introspected and coverage adapted lazily by the PojoClass, only linkage is checked here so classes
+   * whose members reference missing types are still reported as null.
+   */
+  private PojoClass createPojoClass(final Class<?> clazz) {
+    try {
+      clazz.getDeclaredFields();
+      clazz.getDeclaredMethods();
+      clazz.getDeclaredConstructors();
+      return new PojoClassImpl(clazz, ServiceRegistrar.getInstance().getPojoCoverageFilterService());
+    } catch (LinkageError le) {
+      if (clazz.getName().endsWith(GENERATED_CLASS_POSTFIX))
+        throw le;
+      LoggerFactory.getLogger(this.getClass()).warn("Failed to load class [{0}], exception [{1}]", clazz, le);
+      return null;
     }
-    return pojoClass;
   }
 
   public List<PojoClass> getPojoClasses(final String packageName) {
@@ -24,6 +24,71 @@ import java.util.Arrays;
  * @author oshoukry
  */
 public class ObjectToString {
+  private static final ObjectToStringHandler NULL_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return null;
+    }
+  };
+
+  private static final ObjectToStringHandler OBJECT_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return o.toString();
+    }
+  };
+
+  private static final ObjectToStringHandler BYTE_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(byte[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler CHAR_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(char[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler SHORT_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(short[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler INT_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(int[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler LONG_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(long[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler FLOAT_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(float[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler DOUBLE_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(double[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler BOOLEAN_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.toString(boolean[].class.cast(o));
+    }
+  };
+
+  private static final ObjectToStringHandler OBJECT_ARRAY_HANDLER = new ObjectToStringHandler() {
+    public String toString(Object o) {
+      return Arrays.deepToString((Object[]) o);
+    }
+  };
 
   public static String toString(Object o) {
     return getHandler(o).toString(o);
@@ -31,84 +96,40 @@ public class ObjectToString {
 
   private static ObjectToStringHandler getHandler(Object o) {
     if (o == null)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return null;
-        }
-      };
+      return NULL_HANDLER;
 
     if (!o.getClass().isArray())
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return o.toString();
-        }
-      };
+      return OBJECT_HANDLER;
 
     // Array handling
     // Since Java has no way of auto-boxing an array of primitives, each must be examined independently.
     Class<?> componentType = o.getClass().getComponentType();
 
     if (componentType == byte.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(byte[].class.cast(o));
-        }
-      };
+      return BYTE_ARRAY_HANDLER;
 
     if (componentType == char.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(char[].class.cast(o));
-        }
-      };
+      return CHAR_ARRAY_HANDLER;
 
     if (componentType == short.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(short[].class.cast(o));
-        }
-      };
+      return SHORT_ARRAY_HANDLER;
 
     if (componentType == int.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(int[].class.cast(o));
-        }
-      };
+      return INT_ARRAY_HANDLER;
 
     if (componentType == long.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(long[].class.cast(o));
-        }
-      };
+      return LONG_ARRAY_HANDLER;
 
     if (componentType == float.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(float[].class.cast(o));
-        }
-      };
+      return FLOAT_ARRAY_HANDLER;
 
     if (componentType == double.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(double[].class.cast(o));
-        }
-      };
+      return DOUBLE_ARRAY_HANDLER;
 
     if (componentType == boolean.class)
-      return new ObjectToStringHandler() {
-        public String toString(Object o) {
-          return Arrays.toString(boolean[].class.cast(o));
-        }
-      };
-
-    return new ObjectToStringHandler() {
-      public String toString(Object o) {
-        return Arrays.deepToString((Object[]) o);
-      }
-    };
+      return BOOLEAN_ARRAY_HANDLER;
+
+    return OBJECT_ARRAY_HANDLER;
   }
 
   interface ObjectToStringHandler {
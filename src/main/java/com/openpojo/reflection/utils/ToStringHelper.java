@@ -18,6 +18,7 @@
 
 package com.openpojo.reflection.utils;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.openpojo.reflection.PojoClass;
@@ -29,9 +30,11 @@ import com.openpojo.reflection.PojoField;
  * @author oshoukry
  */
 public final class ToStringHelper {
-  private static final String NAME_VALUE_TOKEN_FORMAT = "%s=%s";
+  private static final String NAME_VALUE_SEPARATOR = "=";
   private static final String LIST_TOKEN_SEPARATOR = ", ";
-  private static final String POJO_CLASS_TO_STRING_FORMAT = "%s [@%s: %s]";
+  private static final String POJO_CLASS_PREFIX = " [@";
+  private static final String POJO_CLASS_FIELDS_PREFIX = ": ";
+  private static final String POJO_CLASS_SUFFIX = "]";
 
   /**
    * This method formats name value pairs into the proper string format.
@@ -43,8 +46,7 @@ public final class ToStringHelper {
    * @return String formatted, human readable name/value pair.
    */
   public static String nameValuePair(final Object name, final Object value) {
-    String valueString = ObjectToString.toString(value);
-    return String.format(NAME_VALUE_TOKEN_FORMAT, name, valueString);
+    return String.valueOf(name) + NAME_VALUE_SEPARATOR + ObjectToString.toString(value);
   }
 
   /**
@@ -58,30 +60,87 @@ public final class ToStringHelper {
    */
 
   public static String pojoClassToString(final PojoClass pojoClass, final Object instance) {
-    return String.format(POJO_CLASS_TO_STRING_FORMAT,
-        pojoClass.getName(),
-        Integer.toHexString(System.identityHashCode(instance)),
-        PojoFieldsToString(pojoClass.getPojoFields(), instance));
+    final StringBuilder builder = new StringBuilder();
+    try {
+      appendPojoClass(builder, pojoClass, instance);
+    } catch (IOException e) {
+      throw new IllegalStateException("StringBuilder doesn't throw IOException", e);
+    }
+    return builder.toString();
   }
 
   /**
-   * This method takes a list of PojoFields and turns them into token separated name-value pairs.
+   * This method takes an object instance for a pojoClass and appends it in the same format as
+   * {@link #pojoClassToString(PojoClass, Object)}.
    *
-   * @param pojoFields
-   *     The list of pojoFields to render.
+   * @param appendable
+   *     Where to append the formatted instance.
+   * @param pojoClass
+   *     The meta representation of the instance class.
    * @param instance
-   *     The object instance to get the values out of.
-   * @return String formatted, human readable list of pojoFields.
+   *     The instance to format.
+   * @throws IOException
+   *     If the appendable fails.
    */
-  private static String PojoFieldsToString(final List<PojoField> pojoFields, final Object instance) {
-    String pojoString = "";
+  public static void appendPojoClass(final Appendable appendable, final PojoClass pojoClass, final Object instance)
+      throws IOException {
+    appendable.append(pojoClass.getName());
+    appendPojoClassHeader(appendable, POJO_CLASS_PREFIX, instance);
+    final List<PojoField> pojoFields = pojoClass.getPojoFields();
     for (int index = 0; index < pojoFields.size(); index++) {
-      pojoString += pojoFields.get(index).toString(instance);
-      if (index < pojoFields.size() - 1) {
-        pojoString += LIST_TOKEN_SEPARATOR;
-      }
+      final PojoField pojoField = pojoFields.get(index);
+      if (index > 0)
+        appendable.append(LIST_TOKEN_SEPARATOR);
+      appendable.append(pojoField.getName()).append(NAME_VALUE_SEPARATOR);
+      appendable.append(ObjectToString.toString(pojoField.get(instance)));
     }
-    return pojoString;
+    appendable.append(POJO_CLASS_SUFFIX);
+  }
+
+  /**
+   * @param className
+   *     The name of the class being rendered.
+   * @return The text that precedes the identity hash code of an instance.
+   */
+  public static String pojoClassPrefix(final String className) {
+    return className + POJO_CLASS_PREFIX;
+  }
+
+  /**
+   * @param index
+   *     The position of the field within the rendered fields.
+   * @param fieldName
+   *     The name of the field.
+   * @return The text that precedes the field's value, including the separator from the previous field.
+   */
+  public static String fieldPrefix(final int index, final String fieldName) {
+    return index == 0 ? fieldName + NAME_VALUE_SEPARATOR : LIST_TOKEN_SEPARATOR + fieldName + NAME_VALUE_SEPARATOR;
+  }
+
+  /**
+   * Appends the class prefix along with the instance's identity hash code, up to where the first field starts.
+   *
+   * @param appendable
+   *     Where to append.
+   * @param pojoClassPrefix
+   *     The prefix as returned by {@link #pojoClassPrefix(String)}.
+   * @param instance
+   *     The instance being rendered.
+   * @throws IOException
+   *     If the appendable fails.
+   */
+  public static void appendPojoClassHeader(final Appendable appendable, final String pojoClassPrefix,
+                                           final Object instance) throws IOException {
+    appendable.append(pojoClassPrefix);
+    appendable.append(Integer.toHexString(System.identityHashCode(instance)));
+    appendable.append(POJO_CLASS_FIELDS_PREFIX);
+  }
+
+  /**
+   * @return The text that closes a rendered instance.
+   */
+  public static String pojoClassSuffix() {
+    return POJO_CLASS_SUFFIX;
   }
 
   private ToStringHelper() {
@@ -88,7 +88,7 @@ public class SerializableTester implements Tester {
                   + "]"
               );
         }
-        if (field.get(instance) == null)
+        if (!field.isPrimitive() && field.get(instance) == null)
           field.set(instance, RandomFactory.getRandomValue(field));
       }
       currentPojo = currentPojo.getSuperClass();
@@ -84,6 +84,7 @@ public class StructuralTest {
       ,com.openpojo.reflection.java.packageloader.utils.Helper.class
       ,com.openpojo.random.generator.time.util.ReflectionHelper.class
       ,com.openpojo.validation.affirm.Affirm.class
+      ,com.openpojo.business.metrics.IdentityMetrics.class
   };
 
   private Validator validator;
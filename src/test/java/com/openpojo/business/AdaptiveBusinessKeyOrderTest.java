@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.AdaptiveBusinessKeyOrder;
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.cache.BusinessKeyPlan;
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.utils.BusinessPojoHelper;
+
+public class AdaptiveBusinessKeyOrderTest {
+
+	@Test
+	public void shouldCompareDiscriminatingFieldFirstAfterReorderInterval() {
+		BusinessKeyPlan plan = BusinessPojoHelper.getBusinessKeyPlan(TenantEntity.class);
+		Assertions.assertTrue(plan.isAdaptive());
+		BusinessKeyField tenant = plan.getBusinessKeyFields().get(0);
+		BusinessKeyField id = plan.getBusinessKeyFields().get(1);
+		Assertions.assertEquals(plan.getBusinessKeyFields(), plan.getComparisonOrder());
+
+		for (int i = 0; i < 8; i++) {
+			Assertions.assertFalse(BusinessIdentity.areEqual(new TenantEntity("tenant", "id" + i),
+					new TenantEntity("tenant", "other" + i)));
+		}
+		Assertions.assertEquals(8, plan.getComparisonCount(tenant));
+		Assertions.assertEquals(0, plan.getMismatchCount(tenant));
+		Assertions.assertEquals(8, plan.getComparisonCount(id));
+		Assertions.assertEquals(8, plan.getMismatchCount(id));
+
+		List<BusinessKeyField> comparisonOrder = plan.getComparisonOrder();
+		Assertions.assertSame(id, comparisonOrder.get(0));
+		Assertions.assertSame(tenant, comparisonOrder.get(1));
+
+		Assertions.assertFalse(BusinessIdentity.areEqual(new TenantEntity("tenant", "id"),
+				new TenantEntity("tenant", "other")));
+		Assertions.assertEquals(8, plan.getComparisonCount(tenant));
+		Assertions.assertEquals(9, plan.getMismatchCount(id));
+
+		Assertions.assertTrue(BusinessIdentity.areEqual(new TenantEntity("tenant", "id"),
+				new TenantEntity("tenant", "id")));
+		Assertions.assertFalse(BusinessIdentity.areEqual(new TenantEntity("tenant", "id"),
+				new TenantEntity("other", "id")));
+	}
+
+	@Test
+	public void shouldStillValidateFieldsAfterReorder() {
+		BusinessKeyPlan plan = BusinessPojoHelper.getBusinessKeyPlan(RequiredLastEntity.class);
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertFalse(BusinessIdentity.areEqual(new RequiredLastEntity("id" + i, "required"),
+					new RequiredLastEntity("other" + i, "required")));
+		}
+		Assertions.assertSame(plan.getBusinessKeyFields().get(0), plan.getComparisonOrder().get(0));
+
+		try {
+			BusinessIdentity.areEqual(new RequiredLastEntity("id", "required"), new RequiredLastEntity("other", null));
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+		}
+	}
+
+	@Test
+	public void shouldNotCountForClassesWithoutAdaptiveOrder() {
+		BusinessKeyPlan plan = BusinessPojoHelper.getBusinessKeyPlan(FixedOrderEntity.class);
+		Assertions.assertFalse(plan.isAdaptive());
+
+		for (int i = 0; i < 8; i++) {
+			Assertions.assertFalse(BusinessIdentity.areEqual(new FixedOrderEntity("tenant", "id"),
+					new FixedOrderEntity("tenant", "other")));
+		}
+		Assertions.assertEquals(0, plan.getComparisonCount(plan.getBusinessKeyFields().get(1)));
+		Assertions.assertEquals(plan.getBusinessKeyFields(), plan.getComparisonOrder());
+	}
+
+	@Test
+	public void shouldRejectNonPositiveReorderInterval() {
+		try {
+			BusinessPojoHelper.getBusinessKeyPlan(InvalidReorderInterval.class);
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+		}
+	}
+
+	@AdaptiveBusinessKeyOrder(reorderInterval = 8)
+	private static class TenantEntity {
+		@BusinessKey
+		private final String tenant;
+
+		@BusinessKey
+		private final String id;
+
+		private TenantEntity(String tenant, String id) {
+			this.tenant = tenant;
+			this.id = id;
+		}
+	}
+
+	@AdaptiveBusinessKeyOrder(reorderInterval = 4)
+	private static class RequiredLastEntity {
+		@BusinessKey
+		private final String id;
+
+		@BusinessKey
+		private final String required;
+
+		private RequiredLastEntity(String id, String required) {
+			this.id = id;
+			this.required = required;
+		}
+	}
+
+	private static class FixedOrderEntity {
+		@BusinessKey
+		private final String tenant;
+
+		@BusinessKey
+		private final String id;
+
+		private FixedOrderEntity(String tenant, String id) {
+			this.tenant = tenant;
+			this.id = id;
+		}
+	}
+
+	@AdaptiveBusinessKeyOrder(reorderInterval = 0)
+	private static class InvalidReorderInterval {
+		@BusinessKey
+		private String key;
+	}
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.BusinessKey;
+
+public class BusinessIdentityComparatorTest {
+	private static final String[] NAMES = { "alpha", "Alpha", "ALPHA", "beta", "Gamma", "gamma", "\u00e9t\u00e9",
+			"\u00c9T\u00c9", "x\ud801\udc00", "X\ud801\udc28", "" };
+
+	@Test
+	public void comparatorShouldBeConsistentWithAreEqual() {
+		Comparator<Account> comparator = BusinessIdentity.comparator(Account.class);
+		Account[] accounts = randomAccounts(200, new Random(7));
+		for (Account first : accounts) {
+			for (Account second : accounts) {
+				int result = Integer.signum(comparator.compare(first, second));
+				Assertions.assertEquals(BusinessIdentity.areEqual(first, second), result == 0);
+				Assertions.assertEquals(-result, Integer.signum(comparator.compare(second, first)));
+			}
+		}
+	}
+
+	@Test
+	public void comparatorShouldOrderOnKeysInDeclarationOrder() {
+		Comparator<Account> comparator = BusinessIdentity.comparator(Account.class);
+		Assertions.assertTrue(comparator.compare(new Account("a", 2, null), new Account("B", 1, null)) < 0);
+		Assertions.assertTrue(comparator.compare(new Account("b", 1, null), new Account("B", 2, null)) < 0);
+		Assertions.assertTrue(comparator.compare(new Account("b", 1, null), new Account("B", 1, "x")) < 0);
+		Assertions.assertEquals(0, comparator.compare(new Account("b", 1, "X"), new Account("B", 1, "X")));
+		Assertions.assertTrue(comparator.compare(null, new Account("a", 1, null)) < 0);
+		Assertions.assertEquals(0, comparator.compare(null, null));
+	}
+
+	@Test
+	public void sortShouldOrderLikeComparator() {
+		Account[] accounts = randomAccounts(5000, new Random(11));
+		accounts[17] = null;
+		accounts[4000] = null;
+		Comparator<Account> comparator = BusinessIdentity.comparator(Account.class);
+
+		Account[] expected = accounts.clone();
+		Arrays.sort(expected, comparator);
+
+		Account[] sorted = accounts.clone();
+		BusinessIdentity.sort(Account.class, sorted);
+		assertSameOrder(comparator, expected, sorted);
+
+		Account[] parallelSorted = accounts.clone();
+		BusinessIdentity.parallelSort(Account.class, parallelSorted);
+		assertSameOrder(comparator, expected, parallelSorted);
+		Assertions.assertNull(parallelSorted[0]);
+		Assertions.assertNull(parallelSorted[1]);
+	}
+
+	@Test
+	public void sortShouldOrderOnNumericAndUnprefixedKeysLikeComparator() {
+		Random random = new Random(5);
+		Numbered[] numbered = new Numbered[3000];
+		for (int i = 0; i < numbered.length; i++) {
+			numbered[i] = i % 500 == 0 ? null : new Numbered(random.nextInt(50) - 25, random.nextBoolean(),
+					NAMES[random.nextInt(NAMES.length)]);
+		}
+		Comparator<Numbered> comparator = BusinessIdentity.comparator(Numbered.class);
+
+		Numbered[] expected = numbered.clone();
+		Arrays.sort(expected, comparator);
+		Numbered[] sorted = numbered.clone();
+		BusinessIdentity.sort(Numbered.class, sorted);
+		for (int i = 0; i < expected.length; i++)
+			Assertions.assertSame(expected[i], sorted[i], "at " + i);
+
+		Flagged[] flagged = new Flagged[1000];
+		for (int i = 0; i < flagged.length; i++)
+			flagged[i] = new Flagged(random.nextBoolean(), random.nextInt(10));
+		Comparator<Flagged> flaggedComparator = BusinessIdentity.comparator(Flagged.class);
+		Flagged[] expectedFlagged = flagged.clone();
+		Arrays.sort(expectedFlagged, flaggedComparator);
+		BusinessIdentity.parallelSort(Flagged.class, flagged);
+		for (int i = 0; i < flagged.length; i++)
+			Assertions.assertSame(expectedFlagged[i], flagged[i], "at " + i);
+	}
+
+	@Test
+	public void sortKeysShouldKeepTheirSources() {
+		Account[] accounts = randomAccounts(10, new Random(3));
+		BusinessSortKey<Account>[] sortKeys = BusinessIdentity.sortKeys(Account.class, accounts);
+		for (int i = 0; i < accounts.length; i++)
+			Assertions.assertSame(accounts[i], sortKeys[i].getSource());
+	}
+
+	private static void assertSameOrder(Comparator<Account> comparator, Account[] expected, Account[] actual) {
+		for (int i = 0; i < expected.length; i++)
+			Assertions.assertEquals(0, comparator.compare(expected[i], actual[i]), "at " + i);
+	}
+
+	private static Account[] randomAccounts(int count, Random random) {
+		Account[] accounts = new Account[count];
+		for (int i = 0; i < count; i++) {
+			accounts[i] = new Account(NAMES[random.nextInt(NAMES.length)], random.nextInt(4),
+					random.nextBoolean() ? null : NAMES[random.nextInt(NAMES.length)]);
+		}
+		return accounts;
+	}
+
+	private static class Account {
+		@BusinessKey(caseSensitive = false)
+		private final String name;
+
+		@BusinessKey
+		private final int number;
+
+		@BusinessKey(required = false)
+		private final String reference;
+
+		private Account(String name, int number, String reference) {
+			this.name = name;
+			this.number = number;
+			this.reference = reference;
+		}
+	}
+
+	private static class Numbered {
+		@BusinessKey
+		private final long number;
+
+		@BusinessKey
+		private final boolean flag;
+
+		@BusinessKey(caseSensitive = false)
+		private final String name;
+
+		private Numbered(long number, boolean flag, String name) {
+			this.number = number;
+			this.flag = flag;
+			this.name = name;
+		}
+	}
+
+	private static class Flagged {
+		@BusinessKey
+		private final boolean flag;
+
+		@BusinessKey
+		private final int number;
+
+		private Flagged(boolean flag, int number) {
+			this.flag = flag;
+			this.number = number;
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.exception.BusinessException;
+
+public class BusinessIdentityDistinctTest {
+
+	@Test
+	public void distinctShouldMatchLinkedHashSet() {
+		List<Object> objects = new ArrayList<Object>();
+		objects.add(new Entity(1, "a@"));
+		objects.add(new Entity(1, "b!"));
+		objects.add(new Entity(1, "A@"));
+		objects.add(null);
+		objects.add(new OtherEntity(1, "a@"));
+		objects.add(new Entity(2, "a@"));
+		objects.add(null);
+		objects.add(new OtherEntity(1, "A@"));
+		Assertions.assertEquals(BusinessIdentity.getHashCode(objects.get(0)), BusinessIdentity.getHashCode(objects.get(1)));
+
+		assertSameAsLinkedHashSet(objects, BusinessIdentity.distinct(objects));
+		Assertions.assertEquals(5, BusinessIdentity.distinct(objects).size());
+	}
+
+	@Test
+	public void distinctShouldMatchLinkedHashSetOnLargeCollections() throws Exception {
+		final List<Entity> entities = randomEntities(100000, 20000, new Random(1));
+		assertSameAsLinkedHashSet(entities, BusinessIdentity.distinct(entities));
+
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			List<Entity> distinct = pool.submit(new Callable<List<Entity>>() {
+				public List<Entity> call() {
+					return BusinessIdentity.distinct(entities);
+				}
+			}).get();
+			assertSameAsLinkedHashSet(entities, distinct);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void groupByShouldGroupDuplicatesInEncounterOrder() {
+		Entity first = new Entity(1, "a");
+		Entity second = new Entity(2, "b");
+		Entity firstAgain = new Entity(1, "A");
+		Entity secondAgain = new Entity(2, "B");
+		Entity third = new Entity(3, "c");
+
+		List<List<Entity>> groups = BusinessIdentity.groupBy(Arrays.asList(first, second, firstAgain, third, secondAgain));
+
+		Assertions.assertEquals(3, groups.size());
+		assertSameElements(Arrays.asList(first, firstAgain), groups.get(0));
+		assertSameElements(Arrays.asList(second, secondAgain), groups.get(1));
+		assertSameElements(Collections.singletonList(third), groups.get(2));
+	}
+
+	@Test
+	public void groupByShouldCoverEveryObjectOnLargeCollections() {
+		List<Entity> entities = randomEntities(50000, 5000, new Random(2));
+		List<List<Entity>> groups = BusinessIdentity.groupBy(entities);
+		List<Entity> distinct = BusinessIdentity.distinct(entities);
+
+		Assertions.assertEquals(distinct.size(), groups.size());
+		int total = 0;
+		for (int i = 0; i < groups.size(); i++) {
+			List<Entity> group = groups.get(i);
+			Assertions.assertSame(distinct.get(i), group.get(0));
+			for (Entity entity : group)
+				Assertions.assertTrue(BusinessIdentity.areEqual(group.get(0), entity));
+			total += group.size();
+		}
+		Assertions.assertEquals(entities.size(), total);
+	}
+
+	@Test
+	public void shouldValidateEveryObject() {
+		List<Entity> entities = randomEntities(20000, 1000, new Random(3));
+		entities.add(new Entity(1, null));
+		try {
+			BusinessIdentity.distinct(entities);
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+		}
+	}
+
+	@Test
+	public void shouldHandleEmptyCollections() {
+		Assertions.assertTrue(BusinessIdentity.distinct(Collections.emptyList()).isEmpty());
+		Assertions.assertTrue(BusinessIdentity.groupBy(Collections.emptyList()).isEmpty());
+	}
+
+	private static List<Entity> randomEntities(int count, int distinctKeys, Random random) {
+		List<Entity> entities = new ArrayList<Entity>(count);
+		for (int i = 0; i < count; i++) {
+			int key = random.nextInt(distinctKeys);
+			entities.add(new Entity(key % 7, (random.nextBoolean() ? "Key" : "KEY") + key));
+		}
+		return entities;
+	}
+
+	private static void assertSameAsLinkedHashSet(List<?> objects, List<?> distinct) {
+		LinkedHashSet<Object> expected = new LinkedHashSet<Object>(objects);
+		assertSameElements(new ArrayList<Object>(expected), distinct);
+	}
+
+	private static void assertSameElements(List<?> expected, List<?> actual) {
+		Assertions.assertEquals(expected.size(), actual.size());
+		Iterator<?> actualIterator = actual.iterator();
+		for (Object object : expected)
+			Assertions.assertSame(object, actualIterator.next());
+	}
+
+	private static class Entity {
+		@BusinessKey
+		private final int tenant;
+
+		@BusinessKey(caseSensitive = false)
+		private final String name;
+
+		private Entity(int tenant, String name) {
+			this.tenant = tenant;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return BusinessIdentity.areEqual(this, other);
+		}
+
+		@Override
+		public int hashCode() {
+			return BusinessIdentity.getHashCode(this);
+		}
+	}
+
+	private static class OtherEntity extends Entity {
+		private OtherEntity(int tenant, String name) {
+			super(tenant, name);
+		}
+	}
+}
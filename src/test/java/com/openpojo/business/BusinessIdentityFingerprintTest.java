@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.exception.BusinessException;
+
+public class BusinessIdentityFingerprintTest {
+	private static final long GOLDEN_ACCOUNT_64 = 0x350ce771b64c551dL;
+	private static final String GOLDEN_ACCOUNT_128 = "31aab181419d9436538439878ff0d101";
+	private static final String GOLDEN_VALUES_128 = "a54c1033bb68bbf245d9990b66ff20d2";
+
+	@Test
+	public void fingerprintsShouldNotChangeAcrossReleases() {
+		Assertions.assertEquals(GOLDEN_ACCOUNT_64, BusinessIdentity.fingerprint(new Account(42L, "Alice", null)));
+		Assertions.assertEquals(GOLDEN_ACCOUNT_128,
+				BusinessIdentity.fingerprint128(new Account(42L, "Alice", new int[] { 1, 2, 3 })).toString());
+		Assertions.assertEquals(GOLDEN_VALUES_128, BusinessIdentity.fingerprint128(new Values(Kind.GOLD,
+				UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), new BigDecimal("-12.50"), 'x', 1.5d)).toString());
+	}
+
+	@Test
+	public void fingerprint64ShouldBeHighBitsOfFingerprint128() {
+		Account account = new Account(7L, "Bob", new int[] { 4 });
+		BusinessFingerprint fingerprint = BusinessIdentity.fingerprint128(account);
+		Assertions.assertEquals(BusinessIdentity.fingerprint(account), fingerprint.getHigh());
+		Assertions.assertEquals(new BusinessFingerprint(fingerprint.getHigh(), fingerprint.getLow()), fingerprint);
+		Assertions.assertEquals(32, fingerprint.toString().length());
+	}
+
+	@Test
+	public void equalObjectsShouldHaveEqualFingerprints() {
+		assertSameFingerprint(new Account(1L, "\u00c9cole", new int[] { 1 }), new Account(1L, "\u00e9COLE", new int[] { 1 }));
+		assertSameFingerprint(new Loose("A", new Object[] { "b", 'C' }), new Loose('a', new Object[] { "B", "c" }));
+		assertSameFingerprint(new Loose(new int[] { 1, 2 }, null), new Loose(new Integer[] { 1, 2 }, null));
+		assertSameFingerprint(new Loose(new char[] { 'A', 'b' }, null), new Loose(new Character[] { 'a', 'B' }, null));
+	}
+
+	@Test
+	public void differentObjectsShouldHaveDifferentFingerprints() {
+		Set<BusinessFingerprint> fingerprints = new HashSet<BusinessFingerprint>();
+		Object[] objects = {
+				new Account(1L, "a", null), new Account(2L, "a", null), new Account(1L, "b", null),
+				new Account(1L, "a", new int[0]), new Account(1L, "a", new int[] { 0 }), new Account(1L, "a\u0000", null),
+				new Account(1L, "", null), new Loose(1, null), new Loose(1L, null), new Loose(1.0d, null),
+				new Loose(1.0f, null), new Loose((short) 1, null), new Loose((byte) 1, null), new Loose("1", null),
+				new Loose(null, 1), new Loose(null, null), new Loose(-0.0d, null), new Loose(0.0d, null),
+				new Loose(new Object[] { "ab", "c" }, null), new Loose(new Object[] { "a", "bc" }, null),
+				new Loose(new Object[] { new int[] { 1 } }, null), new Loose(new Object[] { 1 }, null),
+				new Loose(Kind.GOLD, null), new Loose(Kind.SILVER, null), new Loose("abcd", "efgh"),
+				new Loose("abcde", "fgh"), new Loose(new BigDecimal("1.0"), null), new Loose(new BigDecimal("1.00"), null)
+		};
+		for (Object object : objects)
+			Assertions.assertTrue(fingerprints.add(BusinessIdentity.fingerprint128(object)), "Collision on " + object);
+	}
+
+	@Test
+	public void fingerprintShouldValidate() {
+		try {
+			BusinessIdentity.fingerprint(new Account(null, "a", null));
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+			// expected
+		}
+		try {
+			BusinessIdentity.fingerprint128(null);
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+			// expected
+		}
+	}
+
+	private static void assertSameFingerprint(Object first, Object second) {
+		Assertions.assertTrue(BusinessIdentity.areEqual(first, second));
+		Assertions.assertEquals(BusinessIdentity.fingerprint128(first), BusinessIdentity.fingerprint128(second));
+	}
+
+	private enum Kind {
+		GOLD, SILVER
+	}
+
+	private static class Account {
+		@BusinessKey(required = true)
+		private final Long id;
+
+		@BusinessKey(caseSensitive = false)
+		private final String name;
+
+		@BusinessKey(required = false)
+		private final int[] codes;
+
+		Account(Long id, String name, int[] codes) {
+			this.id = id;
+			this.name = name;
+			this.codes = codes;
+		}
+	}
+
+	private static class Values {
+		@BusinessKey
+		private final Kind kind;
+
+		@BusinessKey
+		private final UUID uuid;
+
+		@BusinessKey
+		private final BigDecimal amount;
+
+		@BusinessKey
+		private final char code;
+
+		@BusinessKey
+		private final double rate;
+
+		Values(Kind kind, UUID uuid, BigDecimal amount, char code, double rate) {
+			this.kind = kind;
+			this.uuid = uuid;
+			this.amount = amount;
+			this.code = code;
+			this.rate = rate;
+		}
+	}
+
+	private static class Loose {
+		@BusinessKey(required = false, caseSensitive = false)
+		private final Object first;
+
+		@BusinessKey(required = false, caseSensitive = false)
+		private final Object second;
+
+		Loose(Object first, Object second) {
+			this.first = first;
+			this.second = second;
+		}
+
+		@Override
+		public String toString() {
+			return BusinessIdentity.toString(this);
+		}
+	}
+}
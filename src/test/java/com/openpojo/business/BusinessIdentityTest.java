@@ -18,6 +18,8 @@
 
 package com.openpojo.business;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -26,7 +28,10 @@ import org.junit.jupiter.api.Test;
 
 import com.openpojo.business.annotation.BusinessKey;
 import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.IdentityFactory;
+import com.openpojo.business.identity.IdentityHandler;
 import com.openpojo.business.sampleclasses.JavaClassWithArray;
+import com.openpojo.reflection.impl.PojoClassFactory;
 import com.openpojo.utils.dummypackage.Person;
 
 public class BusinessIdentityTest {
@@ -173,6 +178,55 @@ public class BusinessIdentityTest {
 		Assertions.assertEquals("null", BusinessIdentity.toString(null));
 	}
 
+	@Test
+	public void toStringIntoStringBuilder_appendsSameOutputAsToString() {
+		final ToStringTestData toStringTestData = new ToStringTestData();
+		final StringBuilder builder = new StringBuilder("prefix:");
+
+		Assertions.assertSame(builder, BusinessIdentity.toString(toStringTestData, builder));
+		Assertions.assertEquals("prefix:" + BusinessIdentity.toString(toStringTestData), builder.toString());
+		Assertions.assertEquals("prefix:" + PojoClassFactory.getPojoClass(ToStringTestData.class).toString(toStringTestData),
+				builder.toString());
+	}
+
+	@Test
+	public void toStringIntoAppendable_appendsSameOutputAsToString() throws IOException {
+		final Person person = new Person("Id", "FirstName", "MiddleName", "LastName", null, null, null);
+		final StringWriter writer = new StringWriter();
+
+		BusinessIdentity.toString(person, writer);
+		BusinessIdentity.toString(null, writer);
+
+		Assertions.assertEquals(BusinessIdentity.toString(person) + "null", writer.toString());
+	}
+
+	@Test
+	public void toStringOfNestedBusinessIdentityToString_rendersEachLevel() {
+		final ToStringNestingTestData inner = new ToStringNestingTestData(null);
+		final ToStringNestingTestData outer = new ToStringNestingTestData(inner);
+
+		final String expectedInner = ToStringNestingTestData.class.getName() + " [@"
+				+ Integer.toHexString(System.identityHashCode(inner)) + ": nested=null]";
+		final String expectedOuter = ToStringNestingTestData.class.getName() + " [@"
+				+ Integer.toHexString(System.identityHashCode(outer)) + ": nested=" + expectedInner + "]";
+
+		Assertions.assertEquals(expectedOuter, outer.toString());
+		Assertions.assertEquals(expectedInner, inner.toString());
+	}
+
+	@Test
+	public void toStringIntoAppendable_withNonAppendingHandler_appendsHandlerToString() throws IOException {
+		final IdentityHandler identityHandler = new FixedToStringIdentityHandler();
+		IdentityFactory.registerIdentityHandler(identityHandler);
+		try {
+			final StringWriter writer = new StringWriter();
+			BusinessIdentity.toString(new ToStringTestData(), writer);
+			Assertions.assertEquals(FixedToStringIdentityHandler.TO_STRING, writer.toString());
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(identityHandler);
+		}
+	}
+
 	private static class PersonEqualityPairTestData {
 		private final Person left;
 		private final Person right;
@@ -223,4 +277,42 @@ public class BusinessIdentityTest {
 		private static String static_name = "Static Name";
 		private static final String STATIC_FINAL_NAME = "Static Final Name";
 	}
+
+	@SuppressWarnings("unused")
+	private static class ToStringNestingTestData {
+		private final ToStringNestingTestData nested;
+
+		private ToStringNestingTestData(final ToStringNestingTestData nested) {
+			this.nested = nested;
+		}
+
+		@Override
+		public String toString() {
+			return BusinessIdentity.toString(this);
+		}
+	}
+
+	private static class FixedToStringIdentityHandler implements IdentityHandler {
+		private static final String TO_STRING = "fixed";
+
+		public boolean areEqual(final Object first, final Object second) {
+			throw new UnsupportedOperationException();
+		}
+
+		public int generateHashCode(final Object object) {
+			throw new UnsupportedOperationException();
+		}
+
+		public String toString(final Object object) {
+			return TO_STRING;
+		}
+
+		public void validate(final Object object) {
+			throw new UnsupportedOperationException();
+		}
+
+		public boolean handlerFor(final Object object) {
+			return object instanceof ToStringTestData;
+		}
+	}
 }
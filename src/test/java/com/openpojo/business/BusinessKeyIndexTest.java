@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.exception.BusinessException;
+
+public class BusinessKeyIndexTest {
+
+	@Test
+	public void shouldLookUpByBusinessIdentity() {
+		BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>();
+		Entity first = new Entity(1, "Alice");
+		Assertions.assertNull(index.add(first));
+		Assertions.assertSame(first, index.add(new Entity(1, "ALICE")));
+		Assertions.assertEquals(1, index.size());
+
+		Assertions.assertSame(first, index.get(new Entity(1, "alice")));
+		Assertions.assertTrue(index.contains(new Entity(1, "aLiCe")));
+		Assertions.assertNull(index.get(new Entity(2, "alice")));
+		Assertions.assertNull(index.get(new OtherEntity(1, "alice")));
+	}
+
+	@Test
+	public void shouldRemoveAndAddAgain() {
+		BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>();
+		Entity first = new Entity(1, "a");
+		index.add(first);
+		Assertions.assertNull(index.remove(new Entity(2, "a")));
+		Assertions.assertSame(first, index.remove(new Entity(1, "A")));
+		Assertions.assertEquals(0, index.size());
+		Assertions.assertNull(index.get(first));
+		Assertions.assertNull(index.remove(first));
+
+		Entity second = new Entity(1, "A");
+		Assertions.assertNull(index.add(second));
+		Assertions.assertSame(second, index.get(first));
+		Assertions.assertEquals(1, index.size());
+	}
+
+	@Test
+	public void shouldMatchHashMapThroughGrowthAndRemovals() {
+		BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>();
+		Map<Entity, Entity> expected = new HashMap<Entity, Entity>();
+		Random random = new Random(7);
+		for (int i = 0; i < 200000; i++) {
+			Entity entity = new Entity(random.nextInt(50), "name" + random.nextInt(1000));
+			if (random.nextInt(3) == 0) {
+				Assertions.assertSame(expected.remove(entity), index.remove(entity));
+			} else {
+				Entity existing = expected.get(entity);
+				if (existing == null)
+					expected.put(entity, entity);
+				Assertions.assertSame(existing, index.add(entity));
+			}
+			Assertions.assertEquals(expected.size(), index.size());
+		}
+		for (Entity entity : expected.keySet())
+			Assertions.assertSame(entity, index.get(new Entity(entity.tenant, entity.name.toUpperCase())));
+	}
+
+	@Test
+	public void shouldValidateObjects() {
+		BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>(10);
+		try {
+			index.add(new Entity(1, null));
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+			// expected
+		}
+		try {
+			index.get(null);
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+			// expected
+		}
+		try {
+			new BusinessKeyIndex<Entity>(-1);
+			Assertions.fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+			// expected
+		}
+	}
+
+	@Test
+	public void readersShouldAlwaysFindStableObjectsWhileWriterChangesIndex() throws Exception {
+		final BusinessKeyIndex<Entity> index = new BusinessKeyIndex<Entity>();
+		final int stable = 1000;
+		for (int i = 0; i < stable; i++)
+			index.add(new Entity(i, "stable"));
+
+		final AtomicReference<String> failure = new AtomicReference<String>();
+		final Thread[] readers = new Thread[2];
+		final boolean[] done = new boolean[1];
+		for (int r = 0; r < readers.length; r++) {
+			readers[r] = new Thread() {
+				@Override
+				public void run() {
+					int i = 0;
+					while (!isDone()) {
+						Entity probe = new Entity(i, "STABLE");
+						if (index.get(probe) == null)
+							failure.compareAndSet(null, "Lost " + i);
+						i = (i + 1) % stable;
+					}
+				}
+
+				private boolean isDone() {
+					synchronized (done) {
+						return done[0];
+					}
+				}
+			};
+			readers[r].setDaemon(true);
+			readers[r].start();
+		}
+
+		try {
+			for (int i = 0; i < 100000; i++) {
+				index.add(new Entity(i, "churn"));
+				if (i % 2 == 0)
+					index.remove(new Entity(i / 2, "churn"));
+			}
+		} finally {
+			synchronized (done) {
+				done[0] = true;
+			}
+		}
+		for (Thread reader : readers)
+			reader.join();
+
+		Assertions.assertNull(failure.get());
+		Assertions.assertEquals(stable + 50000, index.size());
+	}
+
+	private static class Entity {
+		@BusinessKey
+		private final int tenant;
+
+		@BusinessKey(caseSensitive = false)
+		private final String name;
+
+		Entity(int tenant, String name) {
+			this.tenant = tenant;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return BusinessIdentity.areEqual(this, other);
+		}
+
+		@Override
+		public int hashCode() {
+			return BusinessIdentity.getHashCode(this);
+		}
+	}
+
+	private static class OtherEntity extends Entity {
+		OtherEntity(int tenant, String name) {
+			super(tenant, name);
+		}
+	}
+}
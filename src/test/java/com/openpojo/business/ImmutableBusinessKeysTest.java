@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.annotation.ImmutableBusinessKeys;
+import com.openpojo.business.cache.impl.FieldHashCodeMemo;
+import com.openpojo.business.cache.impl.WeakIdentityHashCodeMemo;
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.utils.BusinessPojoHelper;
+
+public class ImmutableBusinessKeysTest {
+
+	@Test
+	public void shouldRememberHashCodeOutsideOfInstance() {
+		Assertions.assertTrue(BusinessPojoHelper.getBusinessKeyPlan(Remembered.class).getHashCodeMemo()
+				instanceof WeakIdentityHashCodeMemo);
+
+		Remembered remembered = new Remembered("key");
+		int hashCode = BusinessIdentity.getHashCode(remembered);
+		Assertions.assertEquals(BusinessIdentity.getHashCode(new Remembered("key")), hashCode);
+
+		remembered.key = "changed";
+		Assertions.assertEquals(hashCode, BusinessIdentity.getHashCode(remembered));
+	}
+
+	@Test
+	public void shouldRememberHashCodeInNamedField() {
+		Assertions.assertTrue(BusinessPojoHelper.getBusinessKeyPlan(RememberedInField.class).getHashCodeMemo()
+				instanceof FieldHashCodeMemo);
+
+		RememberedInField remembered = new RememberedInField("key");
+		int hashCode = BusinessIdentity.getHashCode(remembered);
+		Assertions.assertEquals(hashCode, remembered.businessHashCode);
+		Assertions.assertEquals(BusinessIdentity.getHashCode(new RememberedInField("key")), hashCode);
+	}
+
+	@Test
+	public void differentRememberedHashCodesShouldNotBeEqual() {
+		Remembered first = new Remembered("first");
+		Remembered second = new Remembered("second");
+		BusinessIdentity.getHashCode(first);
+		BusinessIdentity.getHashCode(second);
+
+		second.key = "first";
+		Assertions.assertFalse(BusinessIdentity.areEqual(first, second));
+		Assertions.assertTrue(BusinessIdentity.areEqual(first, new Remembered("first")));
+	}
+
+	@Test
+	public void shouldNotRememberHashCodesForMutableClasses() {
+		Assertions.assertNull(BusinessPojoHelper.getBusinessKeyPlan(NotRemembered.class).getHashCodeMemo());
+
+		NotRemembered notRemembered = new NotRemembered("key");
+		int hashCode = BusinessIdentity.getHashCode(notRemembered);
+		notRemembered.key = "changed";
+		Assertions.assertNotEquals(hashCode, BusinessIdentity.getHashCode(notRemembered));
+	}
+
+	@Test
+	public void shouldRejectMissingOrInvalidHashCodeField() {
+		for (Class<?> clazz : new Class<?>[] { MissingHashCodeField.class, NonIntHashCodeField.class }) {
+			try {
+				BusinessPojoHelper.getBusinessKeyPlan(clazz);
+				Assertions.fail("Expected BusinessException for " + clazz);
+			} catch (BusinessException ignored) {
+			}
+		}
+	}
+
+	@ImmutableBusinessKeys
+	private static class Remembered {
+		@BusinessKey
+		private String key;
+
+		private Remembered(String key) {
+			this.key = key;
+		}
+	}
+
+	@ImmutableBusinessKeys(hashCodeField = "businessHashCode")
+	private static class RememberedInField {
+		@BusinessKey
+		private final String key;
+
+		private transient int businessHashCode;
+
+		private RememberedInField(String key) {
+			this.key = key;
+		}
+	}
+
+	private static class NotRemembered {
+		@BusinessKey
+		private String key;
+
+		private NotRemembered(String key) {
+			this.key = key;
+		}
+	}
+
+	@ImmutableBusinessKeys(hashCodeField = "missing")
+	private static class MissingHashCodeField {
+		@BusinessKey
+		private String key;
+	}
+
+	@ImmutableBusinessKeys(hashCodeField = "businessHashCode")
+	private static class NonIntHashCodeField {
+		@BusinessKey
+		private String key;
+
+		private transient long businessHashCode;
+	}
+}
@@ -18,13 +18,25 @@
 
 package com.openpojo.business.cache;
 
-import java.util.ArrayList;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.sampleclasses.Child;
+import com.openpojo.business.sampleclasses.Human;
 import com.openpojo.validation.affirm.Affirm;
 
 /**
@@ -39,17 +51,146 @@ public class BusinessKeyFieldCacheTest {
 	}
 
 	@Test
-	public void whenCacheEmptyNullIsReturned() {
-		Assertions.assertNull(cache.get("SomePojo"));
+	public void whenNoBusinessKeysEmptyListIsReturned() {
+		Assertions.assertTrue(cache.get(Object.class).isEmpty());
 	}
 
 	@Test
-	public void whenEntryAddedCanBeReturned() {
-		List<BusinessKeyField> someList = new ArrayList<BusinessKeyField>();
+	public void whenLookedUpTwiceSameInstanceIsReturned() {
+		List<BusinessKeyField> businessKeyFields = cache.get(Child.class);
+		Affirm.affirmTrue("Should keep the same instance", businessKeyFields == cache.get(Child.class));
+	}
+
+	@Test
+	public void shouldIncludeBusinessKeysFromSuperClasses() {
+		Assertions.assertEquals(cache.get(Child.class).size(), cache.get(Child.class.getSuperclass()).size() + 1);
+	}
+
+	@Test
+	public void shouldNotAllowModification() {
+		List<BusinessKeyField> businessKeyFields = cache.get(Human.class);
+		try {
+			businessKeyFields.clear();
+			Assertions.fail("Expected modification to be rejected");
+		} catch (UnsupportedOperationException ignored) {
+		}
+		Assertions.assertEquals(1, cache.get(Human.class).size());
+	}
+
+	@Test
+	public void sameNamedClassesFromDifferentClassLoadersShouldNotShareEntries() throws Exception {
+		Class<?> isolatedHuman = new IsolatingClassLoader(Human.class.getName()).loadClass(Human.class.getName());
+		Assertions.assertNotSame(Human.class, isolatedHuman);
+
+		Assertions.assertNotSame(cache.get(Human.class), cache.get(isolatedHuman));
+
+		Object instance = isolatedHuman.getDeclaredConstructor().newInstance();
+		isolatedHuman.getMethod("setSex", Character.class).invoke(instance, 'F');
+		Assertions.assertEquals('F', cache.get(isolatedHuman).get(0).get(instance));
+	}
+
+	@Test
+	public void concurrentLookupsShouldAllSeeTheSameEntry() throws Exception {
+		final int threads = 16;
+		final int lookups = 10000;
+		final Class<?>[] classes = new Class<?>[] { Child.class, Child.class.getSuperclass(), Human.class, Object.class };
+		final CountDownLatch start = new CountDownLatch(1);
+
+		ExecutorService executorService = Executors.newFixedThreadPool(threads);
+		try {
+			Future<?>[] results = new Future<?>[threads];
+			for (int i = 0; i < threads; i++) {
+				results[i] = executorService.submit(new Callable<List<?>>() {
+					public List<?> call() throws Exception {
+						start.await();
+						List<?> first = null;
+						for (int lookup = 0; lookup < lookups; lookup++) {
+							List<BusinessKeyField> businessKeyFields = cache.get(classes[lookup % classes.length]);
+							if (lookup == 0)
+								first = businessKeyFields;
+							else if (lookup % classes.length == 0)
+								Assertions.assertSame(first, businessKeyFields);
+						}
+						return first;
+					}
+				});
+			}
+			start.countDown();
+			Object expected = results[0].get(30, TimeUnit.SECONDS);
+			for (Future<?> result : results)
+				Assertions.assertSame(expected, result.get(30, TimeUnit.SECONDS));
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void shouldNotPinClassesFromDiscardedClassLoaders() throws Exception {
+		WeakReference<ClassLoader> classLoaderReference = useAndDiscardClassLoader();
+
+		for (int i = 0; i < 50 && classLoaderReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assertions.assertNull(classLoaderReference.get(), "Discarded class loader is still reachable");
+	}
+
+	private WeakReference<ClassLoader> useAndDiscardClassLoader() throws Exception {
+		ClassLoader classLoader = new IsolatingClassLoader(Human.class.getName());
+		Class<?> isolatedHuman = classLoader.loadClass(Human.class.getName());
+		Object instance = isolatedHuman.getDeclaredConstructor().newInstance();
+		isolatedHuman.getMethod("setSex", Character.class).invoke(instance, 'M');
+
+		Assertions.assertEquals(1, cache.get(isolatedHuman).size());
+		BusinessIdentity.getHashCode(instance);
+		return new WeakReference<ClassLoader>(classLoader);
+	}
+
+	/**
+	 * Defines its own copy of the isolated class, delegating everything else to the test class loader.
+	 */
+	private static class IsolatingClassLoader extends ClassLoader {
+		private final String isolatedClassName;
+
+		private IsolatingClassLoader(String isolatedClassName) {
+			super(BusinessKeyFieldCacheTest.class.getClassLoader());
+			this.isolatedClassName = isolatedClassName;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(isolatedClassName))
+				return super.loadClass(name, resolve);
 
-		String anyCacheEntry = "SomeClass";
-		cache.add(anyCacheEntry, someList);
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name);
+				if (loaded == null) {
+					byte[] bytes = readClassBytes(name);
+					loaded = defineClass(name, bytes, 0, bytes.length);
+				}
+				return loaded;
+			}
+		}
 
-		Affirm.affirmTrue("Should keep the same instance", someList == cache.get(anyCacheEntry));
+		private byte[] readClassBytes(String name) throws ClassNotFoundException {
+			InputStream inputStream = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+			if (inputStream == null)
+				throw new ClassNotFoundException(name);
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				int read;
+				while ((read = inputStream.read(buffer)) != -1)
+					bytes.write(buffer, 0, read);
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			} finally {
+				try {
+					inputStream.close();
+				} catch (IOException ignored) {
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.annotation.BusinessKey;
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.utils.BusinessPojoHelper;
+
+public class BusinessKeyPlanTest {
+
+	@Test
+	public void shouldOnlyFlagCompositeGroupWhenCompositeKeysExist() {
+		Assertions.assertFalse(BusinessPojoHelper.getBusinessKeyPlan(RequiredKeys.class).hasCompositeGroup());
+		Assertions.assertTrue(BusinessPojoHelper.getBusinessKeyPlan(CompositeKeys.class).hasCompositeGroup());
+	}
+
+	@Test
+	public void validateAndCompareShouldMatchValidateThenAreEqual() {
+		Object[][] pairs = {
+				{ new RequiredKeys("a", "b", null), new RequiredKeys("a", "b", null) },
+				{ new RequiredKeys("a", "b", null), new RequiredKeys("A", "b", "c") },
+				{ new RequiredKeys("a", "b", null), new RequiredKeys("a", "c", null) },
+				{ new CompositeKeys("a", "x", null), new CompositeKeys("a", "x", null) },
+				{ new CompositeKeys("a", "x", null), new CompositeKeys("a", null, "x") },
+				{ new CompositeKeys("a", null, "y"), new CompositeKeys("a", null, "y") } };
+
+		for (Object[] pair : pairs) {
+			BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(pair[0].getClass());
+			businessKeyPlan.validate(pair[0]);
+			businessKeyPlan.validate(pair[1]);
+			boolean expected = businessKeyPlan.areEqual(pair[0], pair[1]);
+
+			Assertions.assertEquals(expected, businessKeyPlan.validateAndCompare(pair[0], pair[1]));
+			Assertions.assertEquals(expected, BusinessIdentity.areEqual(pair[0], pair[1]));
+		}
+	}
+
+	@Test
+	public void shouldReportFirstObjectsRequiredFieldBeforeSecondObjects() {
+		RequiredKeys first = new RequiredKeys("a", null, null);
+		RequiredKeys second = new RequiredKeys(null, "b", null);
+		assertSameFailure(first, second);
+		assertSameFailure(second, first);
+	}
+
+	@Test
+	public void shouldReportMissingCompositeGroup() {
+		assertSameFailure(new CompositeKeys("a", "x", null), new CompositeKeys("a", null, null));
+		assertSameFailure(new CompositeKeys("a", null, null), new CompositeKeys(null, "x", null));
+	}
+
+	@Test
+	public void shouldReportMissingBusinessKeys() {
+		assertSameFailure(new NoKeys(), new NoKeys());
+	}
+
+	@Test
+	public void sameInstanceShouldStillBeValidated() {
+		RequiredKeys invalid = new RequiredKeys(null, null, null);
+		assertSameFailure(invalid, invalid);
+	}
+
+	@Test
+	public void shouldStopComparingAtFirstMismatch() {
+		CountingKeyField required = new CountingKeyField(0, true);
+		CountingKeyField optional = new CountingKeyField(1, false);
+		BusinessKeyPlan businessKeyPlan = new BusinessKeyPlan(Arrays.<BusinessKeyField>asList(required, optional));
+		Object[] first = { "a", "x" };
+		Object[] second = { "b", "x" };
+
+		Assertions.assertFalse(businessKeyPlan.areEqual(first, second));
+		Assertions.assertFalse(businessKeyPlan.validateAndCompare(first, second));
+		Assertions.assertEquals(0, optional.reads);
+
+		Assertions.assertTrue(businessKeyPlan.validateAndCompare(first, new Object[] { "a", "x" }));
+		Assertions.assertEquals(2, optional.reads);
+	}
+
+	@Test
+	public void shouldValidateRequiredFieldsAfterFirstMismatch() {
+		CountingKeyField differing = new CountingKeyField(0, false);
+		CountingKeyField required = new CountingKeyField(1, true);
+		BusinessKeyPlan businessKeyPlan = new BusinessKeyPlan(Arrays.<BusinessKeyField>asList(differing, required));
+
+		try {
+			businessKeyPlan.validateAndCompare(new Object[] { "a", "x" }, new Object[] { "b", null });
+			Assertions.fail("Expected validation to fail");
+		} catch (BusinessException ignored) {
+		}
+	}
+
+	private static void assertSameFailure(Object first, Object second) {
+		BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(first.getClass());
+		String expected = null;
+		try {
+			businessKeyPlan.validate(first);
+			businessKeyPlan.validate(second);
+			Assertions.fail("Expected validation to fail");
+		} catch (BusinessException e) {
+			expected = e.getMessage();
+		}
+
+		try {
+			BusinessIdentity.areEqual(first, second);
+			Assertions.fail("Expected validation to fail");
+		} catch (BusinessException e) {
+			Assertions.assertEquals(expected, e.getMessage());
+		}
+	}
+
+	private static class RequiredKeys {
+		@BusinessKey(caseSensitive = false)
+		private final String first;
+
+		@BusinessKey
+		private final String second;
+
+		@BusinessKey(required = false)
+		private final String optional;
+
+		private RequiredKeys(String first, String second, String optional) {
+			this.first = first;
+			this.second = second;
+			this.optional = optional;
+		}
+	}
+
+	private static class CompositeKeys {
+		@BusinessKey
+		private final String name;
+
+		@BusinessKey(composite = true)
+		private final String part1;
+
+		@BusinessKey(composite = true)
+		private final String part2;
+
+		private CompositeKeys(String name, String part1, String part2) {
+			this.name = name;
+			this.part1 = part1;
+			this.part2 = part2;
+		}
+	}
+
+	private static class NoKeys {
+	}
+
+	private static class CountingKeyField implements BusinessKeyField {
+		private final int index;
+		private final boolean required;
+		private int reads;
+
+		private CountingKeyField(int index, boolean required) {
+			this.index = index;
+			this.required = required;
+		}
+
+		public boolean isComposite() {
+			return false;
+		}
+
+		public boolean isCaseSensitive() {
+			return true;
+		}
+
+		public boolean isRequired() {
+			return required;
+		}
+
+		public Object get(Object instance) {
+			reads++;
+			return ((Object[]) instance)[index];
+		}
+
+		public boolean isArray() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.cache.impl;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class WeakIdentityHashCodeMemoTest {
+
+	@Test
+	public void shouldRememberByIdentity() {
+		WeakIdentityHashCodeMemo hashCodeMemo = new WeakIdentityHashCodeMemo();
+		String first = new String("value");
+		String second = new String("value");
+
+		hashCodeMemo.put(first, 42);
+		Assertions.assertEquals(42, hashCodeMemo.get(first));
+		Assertions.assertEquals(0, hashCodeMemo.get(second));
+	}
+
+	@Test
+	public void shouldNotRememberZero() {
+		WeakIdentityHashCodeMemo hashCodeMemo = new WeakIdentityHashCodeMemo();
+		hashCodeMemo.put(new Object(), 0);
+		Assertions.assertEquals(0, hashCodeMemo.size());
+	}
+
+	@Test
+	public void shouldNotKeepInstancesAlive() throws InterruptedException {
+		WeakIdentityHashCodeMemo hashCodeMemo = new WeakIdentityHashCodeMemo();
+		Object instance = new Object();
+		WeakReference<Object> reference = new WeakReference<Object>(instance);
+		hashCodeMemo.put(instance, 42);
+		instance = null;
+
+		for (int i = 0; i < 50 && (reference.get() != null || hashCodeMemo.size() != 0); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assertions.assertNull(reference.get());
+		Assertions.assertEquals(0, hashCodeMemo.size());
+	}
+}
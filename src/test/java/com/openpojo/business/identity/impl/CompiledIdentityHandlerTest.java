@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.CompiledIdentity;
+import com.openpojo.business.identity.IdentityHandler;
+import com.openpojo.business.identity.impl.sampleclasses.AllKeyTypes;
+import com.openpojo.business.identity.impl.sampleclasses.StringArrayOfArrayCaseInsensitive;
+import com.openpojo.business.sampleclasses.Child;
+import com.openpojo.utils.dummypackage.Person;
+
+public class CompiledIdentityHandlerTest {
+	private final IdentityHandler compiled = CompiledIdentityHandler.getInstance();
+	private final IdentityHandler reflection = DefaultIdentityHandler.getInstance();
+
+	@Test
+	public void shouldGenerateHiddenIdentityPerClass() {
+		Assertions.assertTrue(getCompiledIdentityClass(AllKeyTypes.class).isHidden());
+		Assertions.assertTrue(getCompiledIdentityClass(Child.class).isHidden());
+		Assertions.assertSame(CompiledIdentityHandler.getInstance().getCompiledIdentity(Person.class),
+				CompiledIdentityHandler.getInstance().getCompiledIdentity(Person.class));
+	}
+
+	@Test
+	public void shouldFallBackToReflectionWhenClassCanNotBeCompiled() {
+		Assertions.assertFalse(getCompiledIdentityClass(String.class).isHidden());
+		Assertions.assertTrue(compiled.areEqual("Same", new String("Same")));
+		Assertions.assertEquals(reflection.generateHashCode("Same"), compiled.generateHashCode("Same"));
+	}
+
+	@Test
+	public void shouldMatchReflectionOnAllKeyTypes() {
+		List<AllKeyTypes> samples = new ArrayList<AllKeyTypes>();
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, 5.0f, 6.0d, "Seven", new int[] { 8 }, null));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'B', (short) 2, 3, 4L, 5.0f, 6.0d, "SEVEN", new int[] { 8 }, null));
+		samples.add(new AllKeyTypes(false, (byte) 1, 'a', 'b', (short) 2, 3, 4L, 5.0f, 6.0d, "Seven", new int[] { 8 }, null));
+		samples.add(new AllKeyTypes(true, (byte) -1, 'A', 'b', (short) 2, 3, 4L, 5.0f, 6.0d, "Seven", new int[] { 8 }, 9));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) -2, -3, Long.MAX_VALUE, 5.0f, 6.0d, "Seven",
+				new int[] { 8, 9 }, "Nine"));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, Float.NaN, Double.NaN, "Seven",
+				new int[] { 8 }, null));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, Float.NaN, Double.NaN, "Seven",
+				new int[] { 8 }, null));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, 0.0f, 0.0d, "Seven", new int[] { 8 },
+				null));
+		samples.add(new AllKeyTypes(true, (byte) 1, 'a', 'b', (short) 2, 3, 4L, -0.0f, -0.0d, "Seven", new int[] { 8 },
+				null));
+		assertSameAsReflection(samples);
+	}
+
+	@Test
+	public void shouldMatchReflectionOnInheritedKeys() {
+		List<Child> samples = new ArrayList<Child>();
+		samples.add(new Child("First", "Last", 'M'));
+		samples.add(new Child("First", "Last", 'M'));
+		samples.add(new Child("First", "Last", 'F'));
+		samples.add(new Child("First", "LastName", 'M'));
+		samples.add(new Child("FIRST", "Last", 'M'));
+		assertSameAsReflection(samples);
+	}
+
+	@Test
+	public void shouldMatchReflectionOnCompositeAndCaseInsensitiveKeys() {
+		List<Object> samples = new ArrayList<Object>();
+		samples.add(new Person(null, "MiddleName", "LastName"));
+		samples.add(new Person(null, "MIDDLENAME", "lastname"));
+		samples.add(new Person("FirstName", null, "LastName"));
+		samples.add(new Person(null, "FirstName", "MiddleName", "LastName", "Password", null, null));
+		samples.add(new Person(null, "FirstName", "MiddleName", "LastName", "password", null, null));
+		assertSameAsReflection(samples);
+	}
+
+	@Test
+	public void shouldMatchReflectionOnNestedArrays() {
+		List<Object> samples = new ArrayList<Object>();
+		samples.add(new StringArrayOfArrayCaseInsensitive(new String[][] { { "One" }, { "Two", "Three" } }));
+		samples.add(new StringArrayOfArrayCaseInsensitive(new String[][] { { "ONE" }, { "two", "THREE" } }));
+		samples.add(new StringArrayOfArrayCaseInsensitive(new String[][] { { "One" }, { "Two" } }));
+		assertSameAsReflection(samples);
+	}
+
+	@Test
+	public void shouldNotBeEqualToNullOrAnotherClass() {
+		CompiledIdentity compiledIdentity = CompiledIdentityHandler.getInstance().getCompiledIdentity(Child.class);
+		Child child = new Child("First", "Last", 'M');
+		Assertions.assertFalse(compiledIdentity.areEqual(child, null));
+		Assertions.assertFalse(compiledIdentity.areEqual(null, child));
+		Assertions.assertFalse(compiledIdentity.areEqual(child, new Person(null, "First", "Last")));
+		Assertions.assertFalse(compiledIdentity.areEqual(child, "First"));
+		Assertions.assertTrue(compiledIdentity.areEqual(child, new Child("First", "Last", 'M')));
+	}
+
+	@Test
+	public void shouldThrowExceptionWhenHashingNull() {
+		try {
+			compiled.generateHashCode(null);
+			Assertions.fail("Expected exception");
+		} catch (BusinessException expected) {
+			Assertions.assertEquals("null parameter passed object=[null]", expected.getMessage());
+		}
+	}
+
+	private Class<?> getCompiledIdentityClass(Class<?> clazz) {
+		return CompiledIdentityHandler.getInstance().getCompiledIdentity(clazz).getClass();
+	}
+
+	private void assertSameAsReflection(List<?> samples) {
+		for (Object first : samples) {
+			Assertions.assertEquals(reflection.generateHashCode(first), compiled.generateHashCode(first));
+			for (Object second : samples) {
+				Assertions.assertEquals(reflection.areEqual(first, second), compiled.areEqual(first, second));
+			}
+		}
+	}
+}
@@ -26,9 +26,12 @@ import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import com.openpojo.business.BusinessIdentity;
 import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.ClassScopedIdentityHandler;
 import com.openpojo.business.identity.IdentityFactory;
 import com.openpojo.business.identity.IdentityHandler;
+import com.openpojo.validation.utils.IdentityHandlerStub;
 
 /**
  * @author oshoukry
@@ -67,4 +70,143 @@ public class IdentityFactoryTest {
 		}
 		Assertions.fail("BusinessException should have been thrown");
 	}
+
+	@Test
+	public void classScopedHandlerShouldBeResolvedOncePerClass() {
+		CountingClassScopedIdentityHandler identityHandler = new CountingClassScopedIdentityHandler(Handled.class);
+		IdentityFactory.registerIdentityHandler(identityHandler);
+		try {
+			for (int i = 0; i < 10; i++) {
+				Assertions.assertSame(identityHandler, IdentityFactory.getIdentityHandler(new Handled()));
+				Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(new Object()));
+			}
+			Assertions.assertEquals(2, identityHandler.classLookups);
+			Assertions.assertEquals(0, identityHandler.instanceLookups);
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(identityHandler);
+		}
+		Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(new Handled()));
+	}
+
+	@Test
+	public void registrationShouldInvalidateResolvedHandlers() {
+		Handled handled = new Handled();
+		Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(handled));
+
+		CountingClassScopedIdentityHandler identityHandler = new CountingClassScopedIdentityHandler(Handled.class);
+		IdentityFactory.registerIdentityHandler(identityHandler);
+		try {
+			Assertions.assertSame(identityHandler, IdentityFactory.getIdentityHandler(handled));
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(identityHandler);
+		}
+		Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(handled));
+	}
+
+	@Test
+	public void instanceScopedHandlerShouldBeAskedForEveryInstance() {
+		Handled handled = new Handled();
+		IdentityHandler identityHandler = new IdentityHandlerStub(handled);
+		IdentityFactory.registerIdentityHandler(identityHandler);
+		try {
+			Assertions.assertSame(identityHandler, IdentityFactory.getIdentityHandler(handled));
+			Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(new Handled()));
+			Assertions.assertSame(identityHandler, IdentityFactory.getIdentityHandler(handled));
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(identityHandler);
+		}
+	}
+
+	@Test
+	public void classScopedHandlerShouldOnlyBeExposedWhenResolvedForTheClass() {
+		CountingClassScopedIdentityHandler classScoped = new CountingClassScopedIdentityHandler(Handled.class);
+		IdentityFactory.registerIdentityHandler(classScoped);
+		try {
+			Assertions.assertSame(classScoped, IdentityFactory.getClassScopedIdentityHandler(Handled.class));
+			Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getClassScopedIdentityHandler(Object.class));
+
+			IdentityHandler instanceScoped = new IdentityHandlerStub();
+			IdentityFactory.registerIdentityHandler(instanceScoped);
+			try {
+				Assertions.assertNull(IdentityFactory.getClassScopedIdentityHandler(Handled.class));
+			} finally {
+				IdentityFactory.unregisterIdentityHandler(instanceScoped);
+			}
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(classScoped);
+		}
+		Assertions.assertNull(IdentityFactory.getClassScopedIdentityHandler(null));
+	}
+
+	@Test
+	public void equalityShouldLookUpSecondInstanceBehindInstanceScopedHandler() {
+		Handled first = new Handled();
+		Handled second = new Handled();
+		CountingClassScopedIdentityHandler classScoped = new CountingClassScopedIdentityHandler(Handled.class);
+		final List<Object> validated = new ArrayList<Object>();
+		IdentityHandlerStub instanceScoped = new IdentityHandlerStub(second) {
+			@Override
+			public void validate(Object object) {
+				validated.add(object);
+			}
+		};
+		instanceScoped.setAreEqualReturn(false);
+
+		IdentityFactory.registerIdentityHandler(classScoped);
+		IdentityFactory.registerIdentityHandler(instanceScoped);
+		try {
+			Assertions.assertSame(classScoped, IdentityFactory.getIdentityHandler(first));
+			Assertions.assertSame(instanceScoped, IdentityFactory.getIdentityHandler(second));
+
+			Assertions.assertTrue(BusinessIdentity.areEqual(first, second));
+			Assertions.assertEquals(1, validated.size());
+			Assertions.assertSame(second, validated.get(0));
+		} finally {
+			IdentityFactory.unregisterIdentityHandler(instanceScoped);
+			IdentityFactory.unregisterIdentityHandler(classScoped);
+		}
+	}
+
+	@Test
+	public void nullShouldBeResolvedThroughHandlerChain() {
+		Assertions.assertSame(DefaultIdentityHandler.getInstance(), IdentityFactory.getIdentityHandler(null));
+	}
+
+	private static class Handled {
+	}
+
+	private static class CountingClassScopedIdentityHandler implements ClassScopedIdentityHandler {
+		private final Class<?> handledClass;
+		private int classLookups;
+		private int instanceLookups;
+
+		private CountingClassScopedIdentityHandler(Class<?> handledClass) {
+			this.handledClass = handledClass;
+		}
+
+		public boolean handlerFor(Class<?> clazz) {
+			classLookups++;
+			return clazz == handledClass;
+		}
+
+		public boolean handlerFor(Object object) {
+			instanceLookups++;
+			return object != null && handlerFor(object.getClass());
+		}
+
+		public int generateHashCode(Object object) {
+			return 0;
+		}
+
+		public boolean areEqual(Object first, Object second) {
+			return true;
+		}
+
+		public String toString(Object object) {
+			return "";
+		}
+
+		public void validate(Object object) {
+		}
+	}
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.identity.impl.sampleclasses;
+
+import com.openpojo.business.annotation.BusinessKey;
+
+/**
+ * A business object that carries a business key of every primitive type, as well as case insensitive, array and
+ * optional keys.
+ */
+public class AllKeyTypes {
+  @BusinessKey
+  private boolean aBoolean;
+
+  @BusinessKey
+  private byte aByte;
+
+  @BusinessKey
+  private char aChar;
+
+  @BusinessKey(caseSensitive = false)
+  private char aCaseInsensitiveChar;
+
+  @BusinessKey
+  private short aShort;
+
+  @BusinessKey
+  private int anInt;
+
+  @BusinessKey
+  private long aLong;
+
+  @BusinessKey
+  private float aFloat;
+
+  @BusinessKey
+  private double aDouble;
+
+  @BusinessKey(caseSensitive = false)
+  private String aCaseInsensitiveString;
+
+  @BusinessKey
+  private int[] anIntArray;
+
+  @BusinessKey(required = false)
+  private Object anOptionalObject;
+
+  public AllKeyTypes(boolean aBoolean, byte aByte, char aChar, char aCaseInsensitiveChar, short aShort, int anInt,
+                     long aLong, float aFloat, double aDouble, String aCaseInsensitiveString, int[] anIntArray,
+                     Object anOptionalObject) {
+    this.aBoolean = aBoolean;
+    this.aByte = aByte;
+    this.aChar = aChar;
+    this.aCaseInsensitiveChar = aCaseInsensitiveChar;
+    this.aShort = aShort;
+    this.anInt = anInt;
+    this.aLong = aLong;
+    this.aFloat = aFloat;
+    this.aDouble = aDouble;
+    this.aCaseInsensitiveString = aCaseInsensitiveString;
+    this.anIntArray = anIntArray;
+    this.anOptionalObject = anOptionalObject;
+  }
+}
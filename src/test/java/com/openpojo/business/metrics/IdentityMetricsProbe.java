@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.sampleclasses.Child;
+
+/**
+ * Run by {@link IdentityMetricsTest} in a JVM with metrics enabled, prints the metrics of a few identity calls as
+ * properties.
+ */
+public class IdentityMetricsProbe {
+
+	public static void main(String[] args) throws Exception {
+		Child first = new Child("First", "Last", 'M');
+		Child second = new Child("First", "Last", 'M');
+		for (int i = 0; i < 10; i++) {
+			BusinessIdentity.areEqual(first, second);
+			BusinessIdentity.getHashCode(first);
+			BusinessIdentity.toString(first);
+			BusinessIdentity.toString(first, new StringBuilder());
+		}
+
+		System.out.println("enabled=" + IdentityMetrics.isEnabled());
+		System.out.println("registered="
+				+ ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(IdentityMetrics.OBJECT_NAME)));
+		for (IdentityMetricsSnapshot snapshot : IdentityMetrics.snapshot()) {
+			if (!snapshot.getClassName().equals(Child.class.getName()))
+				continue;
+			for (IdentityOperation identityOperation : IdentityOperation.values())
+				System.out.println(identityOperation.name() + "=" + snapshot.getCount(identityOperation));
+			System.out.println("fastPath=" + snapshot.getFastPathCount());
+			long sampled = 0;
+			for (long bucketCount : snapshot.getSampledLatencies(IdentityOperation.EQUALS))
+				sampled += bucketCount;
+			System.out.println("sampledEquals=" + sampled);
+		}
+	}
+}
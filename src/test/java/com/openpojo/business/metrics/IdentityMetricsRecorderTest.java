@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IdentityMetricsRecorderTest {
+
+	@Test
+	public void shouldCountOperationsAndLookupsPerClass() {
+		IdentityMetricsRecorder recorder = new IdentityMetricsRecorder(1000000);
+		for (int i = 0; i < 3; i++)
+			recorder.end(IdentityOperation.EQUALS, String.class, IdentityMetricsRecorder.NOT_SAMPLED);
+		recorder.count(IdentityOperation.VALIDATE, String.class);
+		recorder.count(IdentityOperation.HASH_CODE, Integer.class);
+		recorder.lookup(String.class, true);
+		recorder.lookup(String.class, true);
+		recorder.lookup(String.class, false);
+
+		IdentityMetricsSnapshot snapshot = snapshotOf(recorder, String.class);
+		Assertions.assertEquals(3, snapshot.getCount(IdentityOperation.EQUALS));
+		Assertions.assertEquals(1, snapshot.getCount(IdentityOperation.VALIDATE));
+		Assertions.assertEquals(0, snapshot.getCount(IdentityOperation.HASH_CODE));
+		Assertions.assertEquals(2, snapshot.getFastPathCount());
+		Assertions.assertEquals(1, snapshot.getSlowPathCount());
+		Assertions.assertEquals(Long.valueOf(3), snapshot.getCounts().get("EQUALS"));
+		Assertions.assertEquals(0, snapshot.getSampledLatencyPercentile(IdentityOperation.EQUALS, 50));
+
+		Assertions.assertEquals(1, snapshotOf(recorder, Integer.class).getCount(IdentityOperation.HASH_CODE));
+		Assertions.assertEquals(2, recorder.getClassMetrics().size());
+	}
+
+	@Test
+	public void shouldSampleEveryCallWithSampleRateOfOne() {
+		IdentityMetricsRecorder recorder = new IdentityMetricsRecorder(0);
+		Assertions.assertEquals(1, recorder.getSampleRate());
+		for (int i = 0; i < 10; i++)
+			recorder.end(IdentityOperation.TO_STRING, String.class, recorder.begin());
+
+		long samples = 0;
+		for (long bucketCount : snapshotOf(recorder, String.class).getSampledLatencies(IdentityOperation.TO_STRING))
+			samples += bucketCount;
+		Assertions.assertEquals(10, samples);
+	}
+
+	@Test
+	public void shouldResetCountersAndHistograms() {
+		IdentityMetricsRecorder recorder = new IdentityMetricsRecorder(1);
+		recorder.end(IdentityOperation.HASH_CODE, String.class, recorder.begin());
+		recorder.lookup(String.class, false);
+		recorder.reset();
+
+		IdentityMetricsSnapshot snapshot = snapshotOf(recorder, String.class);
+		Assertions.assertEquals(0, snapshot.getCount(IdentityOperation.HASH_CODE));
+		Assertions.assertEquals(0, snapshot.getSlowPathCount());
+		Assertions.assertArrayEquals(new long[IdentityMetricsSnapshot.LATENCY_BUCKETS],
+				snapshot.getSampledLatencies(IdentityOperation.HASH_CODE));
+	}
+
+	@Test
+	public void shouldBucketLatenciesByPowerOfTwo() {
+		Assertions.assertEquals(0, IdentityMetricsRecorder.bucketOf(-5));
+		Assertions.assertEquals(0, IdentityMetricsRecorder.bucketOf(0));
+		Assertions.assertEquals(1, IdentityMetricsRecorder.bucketOf(1));
+		Assertions.assertEquals(2, IdentityMetricsRecorder.bucketOf(2));
+		Assertions.assertEquals(2, IdentityMetricsRecorder.bucketOf(3));
+		Assertions.assertEquals(11, IdentityMetricsRecorder.bucketOf(1024));
+		Assertions.assertEquals(IdentityMetricsSnapshot.LATENCY_BUCKETS - 1, IdentityMetricsRecorder.bucketOf(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void shouldReportPercentilesAsBucketUpperBounds() {
+		long[][] latencies = new long[IdentityOperation.values().length][IdentityMetricsSnapshot.LATENCY_BUCKETS];
+		latencies[IdentityOperation.EQUALS.ordinal()][IdentityMetricsRecorder.bucketOf(100)] = 90;
+		latencies[IdentityOperation.EQUALS.ordinal()][IdentityMetricsRecorder.bucketOf(5000)] = 10;
+		IdentityMetricsSnapshot snapshot = new IdentityMetricsSnapshot("type", new long[IdentityOperation.values().length],
+				0, 0, latencies);
+
+		Assertions.assertEquals(127, snapshot.getSampledLatencyPercentile(IdentityOperation.EQUALS, 0));
+		Assertions.assertEquals(127, snapshot.getSampledLatencyPercentile(IdentityOperation.EQUALS, 90));
+		Assertions.assertEquals(8191, snapshot.getSampledLatencyPercentile(IdentityOperation.EQUALS, 91));
+		Assertions.assertEquals(8191, snapshot.getSampledLatencyPercentile(IdentityOperation.EQUALS, 100));
+	}
+
+	@Test
+	public void shouldPublishOverJmx() throws Exception {
+		IdentityMetricsRecorder recorder = new IdentityMetricsRecorder(8);
+		recorder.count(IdentityOperation.EQUALS, String.class);
+
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(IdentityMetrics.OBJECT_NAME + ",name=" + getClass().getSimpleName());
+		mBeanServer.registerMBean(recorder, objectName);
+		try {
+			Assertions.assertEquals(8, mBeanServer.getAttribute(objectName, "SampleRate"));
+			CompositeData[] classMetrics = (CompositeData[]) mBeanServer.getAttribute(objectName, "ClassMetrics");
+			Assertions.assertEquals(1, classMetrics.length);
+			Assertions.assertEquals(String.class.getName(), classMetrics[0].get("className"));
+
+			mBeanServer.invoke(objectName, "reset", null, null);
+			Assertions.assertEquals(0, snapshotOf(recorder, String.class).getCount(IdentityOperation.EQUALS));
+		} finally {
+			mBeanServer.unregisterMBean(objectName);
+		}
+	}
+
+	@Test
+	public void shouldNotPinClassesFromDiscardedClassLoaders() throws Exception {
+		IdentityMetricsRecorder recorder = new IdentityMetricsRecorder(1);
+		recorder.count(IdentityOperation.EQUALS, String.class);
+		WeakReference<ClassLoader> classLoaderReference = countOnDiscardedClassLoader(recorder);
+		Assertions.assertEquals(2, recorder.getClassMetrics().size());
+
+		for (int i = 0; i < 50 && classLoaderReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		Assertions.assertNull(classLoaderReference.get(), "Discarded class loader is still reachable");
+		Assertions.assertEquals(1, recorder.getClassMetrics().size());
+		Assertions.assertEquals(String.class.getName(), recorder.getClassMetrics().get(0).getClassName());
+	}
+
+	private static WeakReference<ClassLoader> countOnDiscardedClassLoader(IdentityMetricsRecorder recorder)
+			throws Exception {
+		URL classes = IdentityMetricsRecorderTest.class.getProtectionDomain().getCodeSource().getLocation();
+		URLClassLoader classLoader = new URLClassLoader(new URL[] { classes }, null);
+		Class<?> discarded = classLoader.loadClass(Discarded.class.getName());
+		Assertions.assertNotSame(Discarded.class, discarded);
+
+		recorder.end(IdentityOperation.HASH_CODE, discarded, recorder.begin());
+		recorder.lookup(discarded, false);
+		Assertions.assertEquals(1, snapshotOf(recorder, discarded).getCount(IdentityOperation.HASH_CODE));
+		classLoader.close();
+		return new WeakReference<ClassLoader>(classLoader);
+	}
+
+	private static IdentityMetricsSnapshot snapshotOf(IdentityMetricsRecorder recorder, Class<?> type) {
+		List<IdentityMetricsSnapshot> snapshots = recorder.getClassMetrics();
+		for (IdentityMetricsSnapshot snapshot : snapshots)
+			if (snapshot.getClassName().equals(type.getName()))
+				return snapshot;
+		throw new AssertionError("No metrics for " + type);
+	}
+
+	private static class Discarded {
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.sampleclasses.Child;
+
+public class IdentityMetricsTest {
+
+	@Test
+	public void shouldRecordNothingWhenDisabled() {
+		Assertions.assertFalse(IdentityMetrics.isEnabled());
+		Child child = new Child("First", "Last", 'M');
+		BusinessIdentity.areEqual(child, new Child("First", "Last", 'M'));
+		BusinessIdentity.getHashCode(child);
+		BusinessIdentity.toString(child);
+		IdentityMetrics.reset();
+		Assertions.assertTrue(IdentityMetrics.snapshot().isEmpty());
+	}
+
+	@Test
+	public void shouldRecordBusinessIdentityCallsWhenEnabled() throws Exception {
+		String javaExecutable = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		Process process = new ProcessBuilder(Arrays.asList(javaExecutable,
+				"-D" + IdentityMetrics.ENABLED_PROPERTY + "=true", "-D" + IdentityMetrics.SAMPLE_RATE_PROPERTY + "=1",
+				"-cp", System.getProperty("java.class.path"), IdentityMetricsProbe.class.getName()))
+				.redirectErrorStream(true).start();
+		String output = readFully(process.getInputStream());
+		Assertions.assertEquals(0, process.waitFor(), output);
+
+		Properties results = new Properties();
+		results.load(new StringReader(output));
+		Assertions.assertEquals("true", results.getProperty("enabled"), output);
+		Assertions.assertEquals("true", results.getProperty("registered"), output);
+		Assertions.assertEquals("10", results.getProperty("EQUALS"), output);
+		Assertions.assertEquals("10", results.getProperty("HASH_CODE"), output);
+		Assertions.assertEquals("20", results.getProperty("TO_STRING"), output);
+		Assertions.assertEquals("30", results.getProperty("VALIDATE"), output);
+		Assertions.assertTrue(Long.parseLong(results.getProperty("fastPath")) >= 40, output);
+		Assertions.assertEquals("10", results.getProperty("sampledEquals"), output);
+	}
+
+	private static String readFully(InputStream inputStream) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer))
+			bytes.write(buffer, 0, read);
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+}
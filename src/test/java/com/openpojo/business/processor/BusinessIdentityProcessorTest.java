@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.business.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.business.BusinessIdentity;
+import com.openpojo.business.cache.BusinessKeyField;
+import com.openpojo.business.cache.BusinessKeyPlan;
+import com.openpojo.business.exception.BusinessException;
+import com.openpojo.business.identity.GeneratedIdentity;
+import com.openpojo.business.identity.impl.DefaultIdentityHandler;
+import com.openpojo.business.utils.BusinessIdentityUtils;
+import com.openpojo.business.utils.BusinessPojoHelper;
+
+public class BusinessIdentityProcessorTest {
+	private static final String PACKAGE = "com.openpojo.business.processor.sample";
+	private static final String[][] SOURCES = {
+			{ "Base", "public class Base {\n"
+					+ "  @BusinessKey(caseSensitive = false) private String name;\n"
+					+ "  @BusinessKey(composite = true) private Integer code;\n"
+					+ "  @BusinessKey(composite = true, caseSensitive = false) private char[] alias;\n"
+					+ "}\n" },
+			{ "Entity", "public class Entity extends Base {\n"
+					+ "  @BusinessKey private long id;\n"
+					+ "  @BusinessKey(required = false) private Object any;\n"
+					+ "  @BusinessKey(caseSensitive = false) private char initial;\n"
+					+ "  @BusinessKey private double score;\n"
+					+ "  @BusinessKey private float ratio;\n"
+					+ "  @BusinessKey private boolean active;\n"
+					+ "  @BusinessKey private short small;\n"
+					+ "  @BusinessKey private byte tiny;\n"
+					+ "  @BusinessKey(required = false) int[] codes;\n"
+					+ "  private String notAKey;\n"
+					+ "}\n" },
+			{ "Inheriting", "public class Inheriting extends Entity {\n"
+					+ "}\n" },
+			{ "Outer", "public class Outer {\n"
+					+ "  public static class Nested<T> {\n"
+					+ "    @BusinessKey(caseSensitive = false) protected T value;\n"
+					+ "    @BusinessKey(required = false) public static Integer shared;\n"
+					+ "  }\n"
+					+ "  private static class Hidden {\n"
+					+ "    @BusinessKey private String name;\n"
+					+ "  }\n"
+					+ "}\n" },
+			{ "Memoized", "@com.openpojo.business.annotation.ImmutableBusinessKeys(hashCodeField = \"hash\")\n"
+					+ "public class Memoized {\n"
+					+ "  @BusinessKey private String name;\n"
+					+ "  private transient int hash;\n"
+					+ "}\n" },
+			{ "Memoized_BusinessIdentity", "public final class Memoized_BusinessIdentity {\n"
+					+ "  public static final com.openpojo.business.identity.GeneratedIdentity IDENTITY =\n"
+					+ "      new com.openpojo.business.identity.GeneratedIdentity() {\n"
+					+ "    public boolean areEqual(Object first, Object second) { throw new UnsupportedOperationException(); }\n"
+					+ "    public int generateHashCode(Object object) { throw new UnsupportedOperationException(); }\n"
+					+ "    public void validate(Object object) { throw new UnsupportedOperationException(); }\n"
+					+ "    public boolean validateAndCompare(Object first, Object second) {\n"
+					+ "      throw new UnsupportedOperationException();\n"
+					+ "    }\n"
+					+ "  };\n"
+					+ "}\n" },
+			{ "Adaptive", "@com.openpojo.business.annotation.AdaptiveBusinessKeyOrder\n"
+					+ "public class Adaptive {\n"
+					+ "  @BusinessKey private String name;\n"
+					+ "}\n" } };
+
+	private static Path directory;
+	private static URLClassLoader classLoader;
+
+	@BeforeAll
+	public static void compileSamples() throws IOException {
+		directory = Files.createTempDirectory("business-identity-processor");
+		List<File> sources = new ArrayList<File>();
+		for (String[] source : SOURCES) {
+			Path file = directory.resolve(source[0] + ".java");
+			Files.write(file, ("package " + PACKAGE + ";\n\nimport com.openpojo.business.annotation.BusinessKey;\n\n"
+					+ source[1]).getBytes(StandardCharsets.UTF_8));
+			sources.add(file.toFile());
+		}
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+		try {
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+					Arrays.asList("-d", directory.toString(), "-s", directory.toString(), "-classpath",
+							System.getProperty("java.class.path")), null, fileManager.getJavaFileObjectsFromFiles(sources));
+			task.setProcessors(Collections.singletonList(new BusinessIdentityProcessor()));
+			Assertions.assertTrue(task.call(), "Samples failed to compile");
+		} finally {
+			fileManager.close();
+		}
+		classLoader = new URLClassLoader(new URL[] { directory.toUri().toURL() },
+				BusinessIdentityProcessorTest.class.getClassLoader());
+	}
+
+	@AfterAll
+	public static void deleteSamples() throws IOException {
+		classLoader.close();
+		Stream<Path> paths = Files.walk(directory);
+		try {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toArray(Path[]::new))
+				Files.delete(path);
+		} finally {
+			paths.close();
+		}
+	}
+
+	@Test
+	public void shouldGenerateIdentitiesForNameableClassesWithBusinessKeys() throws Exception {
+		for (String name : new String[] { "Base", "Entity", "Inheriting", "Outer$Nested" })
+			Assertions.assertNotNull(getGeneratedIdentity(name), name);
+		for (String name : new String[] { "Outer", "Outer$Hidden", "Adaptive" })
+			Assertions.assertNull(getGeneratedIdentity(name), name);
+	}
+
+	@Test
+	public void shouldNotGenerateIdentitiesForClassesRelyingOnTheirBusinessKeyPlan() {
+		try {
+			classLoader.loadClass(PACKAGE + ".Adaptive" + GeneratedIdentity.CLASS_SUFFIX);
+			Assertions.fail("Expected no identity generated for an adaptive class");
+		} catch (ClassNotFoundException ignored) {
+			// expected
+		}
+	}
+
+	@Test
+	public void businessIdentityShouldRememberHashCodesDespiteGeneratedIdentity() throws Exception {
+		Class<?> clazz = classLoader.loadClass(PACKAGE + ".Memoized");
+		Assertions.assertNotNull(classLoader.loadClass(PACKAGE + ".Memoized" + GeneratedIdentity.CLASS_SUFFIX));
+		Assertions.assertNull(getGeneratedIdentity("Memoized"));
+
+		Field name = clazz.getDeclaredField("name");
+		name.setAccessible(true);
+		Field hash = clazz.getDeclaredField("hash");
+		hash.setAccessible(true);
+		Object first = clazz.getDeclaredConstructor().newInstance();
+		name.set(first, "name");
+		Object second = clazz.getDeclaredConstructor().newInstance();
+		name.set(second, "name");
+
+		int hashCode = BusinessIdentity.getHashCode(first);
+		Assertions.assertEquals(hashCode, hash.getInt(first));
+		Assertions.assertTrue(BusinessIdentity.areEqual(first, second));
+		Assertions.assertTrue(BusinessIdentity.areEqual(second, first));
+	}
+
+	@Test
+	public void generatedIdentityShouldAgreeWithReflection() throws Exception {
+		Random random = new Random(15);
+		for (String name : new String[] { "Base", "Entity", "Inheriting", "Outer$Nested" }) {
+			Class<?> clazz = classLoader.loadClass(PACKAGE + "." + name);
+			GeneratedIdentity generatedIdentity = getGeneratedIdentity(name);
+			BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(clazz);
+			for (int i = 0; i < 2000; i++) {
+				Object first = randomInstance(clazz, random);
+				Object second = randomVariant(first, random);
+
+				String validation = validationFailure(generatedIdentity, first);
+				Assertions.assertEquals(reflectionValidationFailure(businessKeyPlan, first), validation);
+				Assertions.assertEquals(compareFailure(businessKeyPlan, first, second),
+						compareFailure(generatedIdentity, first, second));
+				if (validation != null || validationFailure(generatedIdentity, second) != null)
+					continue;
+
+				Assertions.assertEquals(businessKeyPlan.areEqual(first, second), generatedIdentity.areEqual(first, second));
+				Assertions.assertEquals(businessKeyPlan.validateAndCompare(first, second),
+						generatedIdentity.validateAndCompare(first, second));
+				Assertions.assertEquals(reflectionHashCode(businessKeyPlan, first), generatedIdentity.generateHashCode(first));
+			}
+		}
+	}
+
+	@Test
+	public void businessIdentityShouldUseGeneratedIdentity() throws Exception {
+		Class<?> clazz = classLoader.loadClass(PACKAGE + ".Entity");
+		Random random = new Random(7);
+		int equalPairs = 0;
+		for (int i = 0; i < 2000; i++) {
+			Object first = randomInstance(clazz, random);
+			Object second = randomVariant(first, random);
+			BusinessKeyPlan businessKeyPlan = BusinessPojoHelper.getBusinessKeyPlan(clazz);
+			if (reflectionValidationFailure(businessKeyPlan, first) != null
+					|| reflectionValidationFailure(businessKeyPlan, second) != null) {
+				try {
+					BusinessIdentity.areEqual(first, second);
+					Assertions.fail("Expected BusinessException");
+				} catch (BusinessException ignored) {
+					// expected
+				}
+				continue;
+			}
+
+			boolean areEqual = BusinessIdentity.areEqual(first, second);
+			Assertions.assertEquals(businessKeyPlan.areEqual(first, second), areEqual);
+			Assertions.assertEquals(reflectionHashCode(businessKeyPlan, first), BusinessIdentity.getHashCode(first));
+			equalPairs += areEqual ? 1 : 0;
+		}
+		Assertions.assertTrue(equalPairs > 0, "No equal pairs were generated");
+		Assertions.assertSame(getGeneratedIdentity("Entity"),
+				((DefaultIdentityHandler) DefaultIdentityHandler.getInstance()).getGeneratedIdentity(clazz));
+	}
+
+	private static GeneratedIdentity getGeneratedIdentity(String name) throws ClassNotFoundException {
+		Class<?> clazz = classLoader.loadClass(PACKAGE + "." + name);
+		return ((DefaultIdentityHandler) DefaultIdentityHandler.getInstance()).getGeneratedIdentity(clazz);
+	}
+
+	private static String validationFailure(GeneratedIdentity generatedIdentity, Object object) {
+		try {
+			generatedIdentity.validate(object);
+			return null;
+		} catch (BusinessException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static String compareFailure(GeneratedIdentity generatedIdentity, Object first, Object second) {
+		try {
+			generatedIdentity.validateAndCompare(first, second);
+			return null;
+		} catch (BusinessException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static String compareFailure(BusinessKeyPlan businessKeyPlan, Object first, Object second) {
+		try {
+			businessKeyPlan.validateAndCompare(first, second);
+			return null;
+		} catch (BusinessException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static String reflectionValidationFailure(BusinessKeyPlan businessKeyPlan, Object object) {
+		try {
+			businessKeyPlan.validate(object);
+			return null;
+		} catch (BusinessException e) {
+			return e.getMessage();
+		}
+	}
+
+	private static int reflectionHashCode(BusinessKeyPlan businessKeyPlan, Object object) {
+		int result = 1;
+		for (BusinessKeyField businessKeyField : businessKeyPlan.getBusinessKeyFields())
+			result = 31 * result + BusinessIdentityUtils.getHashCode(businessKeyField, object, businessKeyField.isCaseSensitive());
+		return result;
+	}
+
+	/**
+	 * An instance with every field set from a few values per type, so instances are often equal, differ only in case,
+	 * or fail validation.
+	 */
+	private static Object randomInstance(Class<?> clazz, Random random) throws Exception {
+		return randomVariant(clazz, null, 1, random);
+	}
+
+	/**
+	 * A copy of the original with each field replaced by a random value one time in eight.
+	 */
+	private static Object randomVariant(Object original, Random random) throws Exception {
+		return randomVariant(original.getClass(), original, 8, random);
+	}
+
+	private static Object randomVariant(Class<?> clazz, Object original, int odds, Random random) throws Exception {
+		Object instance = clazz.getDeclaredConstructor().newInstance();
+		for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				if (field.isSynthetic() || Modifier.isFinal(field.getModifiers()) || Modifier.isStatic(field.getModifiers()))
+					continue;
+				field.setAccessible(true);
+				field.set(instance, random.nextInt(odds) == 0 ? randomValue(field.getType(), random) : field.get(original));
+			}
+		}
+		return instance;
+	}
+
+	private static Object randomValue(Class<?> type, Random random) {
+		int pick = random.nextInt(3);
+		if (type == long.class)
+			return (long) pick;
+		if (type == char.class)
+			return "aAb".charAt(pick);
+		if (type == double.class)
+			return new double[] { 0.0, -0.0, Double.NaN }[pick];
+		if (type == float.class)
+			return new float[] { 1.0f, -0.0f, Float.NaN }[pick];
+		if (type == boolean.class)
+			return pick == 0;
+		if (type == short.class)
+			return (short) pick;
+		if (type == byte.class)
+			return (byte) pick;
+		if (type == Integer.class)
+			return pick == 0 ? null : Integer.valueOf(pick);
+		if (type == char[].class)
+			return pick == 0 ? null : pick == 1 ? new char[] { 'x', 'Y' } : new char[] { 'X', 'y' };
+		if (type == int[].class)
+			return pick == 0 ? null : new int[] { pick };
+		if (type == String.class || type == Object.class)
+			return new String[] { "name", "NAME", null }[pick];
+		throw new IllegalArgumentException("No values for " + type);
+	}
+}
@@ -20,6 +20,10 @@ package com.openpojo.business.utils;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.lang.reflect.Array;
+import java.util.Locale;
+import java.util.Random;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -95,4 +99,253 @@ public class BusinessIdentityUtilsTest {
 			}
 		}, firstObject, secondObject, false), "Should return false");
 	}
+
+	@Test
+	public void primitiveArraysShouldHashAndCompareLikeTheirBoxedElements() {
+		Object[][] primitiveAndBoxed = {
+				{ new int[] { 1, -2, Integer.MAX_VALUE }, new Integer[] { 1, -2, Integer.MAX_VALUE } },
+				{ new long[] { 1L, -2L, Long.MIN_VALUE }, new Long[] { 1L, -2L, Long.MIN_VALUE } },
+				{ new byte[] { 1, -2, Byte.MAX_VALUE }, new Byte[] { 1, -2, Byte.MAX_VALUE } },
+				{ new char[] { 'a', 'B', '\u00ff' }, new Character[] { 'a', 'B', '\u00ff' } },
+				{ new short[] { 1, -2, Short.MIN_VALUE }, new Short[] { 1, -2, Short.MIN_VALUE } },
+				{ new boolean[] { true, false }, new Boolean[] { true, false } },
+				{ new float[] { 1.5f, -0.0f, Float.NaN }, new Float[] { 1.5f, -0.0f, Float.NaN } },
+				{ new double[] { 1.5, -0.0, Double.NaN }, new Double[] { 1.5, -0.0, Double.NaN } } };
+
+		for (Object[] pair : primitiveAndBoxed) {
+			for (boolean caseSensitive : new boolean[] { true, false }) {
+				Assertions.assertEquals(BusinessIdentityUtils.getHashCode(pair[1], caseSensitive),
+						BusinessIdentityUtils.getHashCode(pair[0], caseSensitive));
+				Assertions.assertEquals(referenceHashCode(pair[0], caseSensitive),
+						BusinessIdentityUtils.getHashCode(pair[0], caseSensitive));
+				Assertions.assertTrue(BusinessIdentityUtils.areEqual(pair[0], copyOf(pair[0]), caseSensitive));
+			}
+		}
+	}
+
+	@Test
+	public void primitiveArraysShouldFollowBoxedEquality() {
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(new float[] { Float.NaN }, new float[] { Float.NaN }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new float[] { 0.0f }, new float[] { -0.0f }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new double[] { 0.0 }, new double[] { -0.0 }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new long[] { 1, 2 }, new long[] { 1, 3 }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new byte[] { 1, 2 }, new byte[] { 1 }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new int[] { 1 }, new long[] { 1 }, true));
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(new int[0], new long[0], true));
+	}
+
+	@Test
+	public void caseInsensitiveCharArraysShouldIgnoreCase() {
+		char[] first = { 'a', 'B', 'c' };
+		char[] second = { 'A', 'b', 'C' };
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(first, second, false));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(first, second, true));
+		Assertions.assertEquals(BusinessIdentityUtils.getHashCode(first, false),
+				BusinessIdentityUtils.getHashCode(second, false));
+	}
+
+	@Test
+	public void primitiveArrayHashCodesShouldMatchTheElementWalkAtEveryLength() {
+		Random random = new Random(11);
+		for (int length = 0; length <= 70; length++) {
+			long[] longs = new long[length];
+			double[] doubles = new double[length];
+			float[] floats = new float[length];
+			char[] chars = new char[length];
+			for (int idx = 0; idx < length; idx++) {
+				longs[idx] = random.nextLong();
+				doubles[idx] = idx % 7 == 0 ? Double.NaN : idx % 5 == 0 ? -0.0 : random.nextDouble();
+				floats[idx] = idx % 7 == 0 ? Float.NaN : idx % 5 == 0 ? -0.0f : random.nextFloat();
+				chars[idx] = (char) (idx % 3 == 0 ? 'A' + random.nextInt(26) : random.nextInt(0x500));
+			}
+			for (Object array : new Object[] { longs, doubles, floats, chars }) {
+				for (boolean caseSensitive : new boolean[] { true, false }) {
+					Assertions.assertEquals(BusinessIdentityUtils.getHashCode(boxed(array), caseSensitive),
+							BusinessIdentityUtils.getHashCode(array, caseSensitive), array.getClass() + " of " + length);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void caseInsensitiveCharArraysShouldCompareFromTheFirstDifference() {
+		char[] first = "same prefix for a while, then MIXED case".toCharArray();
+		char[] second = "same prefix for a while, then mixed CASE".toCharArray();
+		char[] different = "same prefix for a while, then mixed CASX".toCharArray();
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(first, second, false));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(first, different, false));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(first, "same prefix".toCharArray(), false));
+	}
+
+	@Test
+	public void nestedArraysShouldHashLikeARecursiveWalk() {
+		Object[] nested = { "a", new Object[] { 1, null, new int[] { 1, 2 }, new String[] { "X", null } }, null,
+				new Object[0], new Object[] { new Object[] { 'c' } } };
+
+		for (boolean caseSensitive : new boolean[] { true, false }) {
+			Assertions.assertEquals(referenceHashCode(nested, caseSensitive),
+					BusinessIdentityUtils.getHashCode(nested, caseSensitive));
+		}
+
+		Object[] copy = { "A", new Object[] { 1, null, new int[] { 1, 2 }, new String[] { "x", null } }, null,
+				new Object[0], new Object[] { new Object[] { 'C' } } };
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(nested, copy, false));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(nested, copy, true));
+	}
+
+	@Test
+	public void deeplyNestedArraysShouldNotOverflowTheStack() {
+		Object[] first = deeplyNested(100000);
+		Object[] second = deeplyNested(100000);
+
+		Assertions.assertTrue(BusinessIdentityUtils.areEqual(first, second, true));
+		Assertions.assertEquals(BusinessIdentityUtils.getHashCode(first, true),
+				BusinessIdentityUtils.getHashCode(second, true));
+	}
+
+	@Test
+	public void arrayElementsComparedToNullOrNonArraysShouldNotBeEqual() {
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new Object[] { new int[] { 1 } }, new Object[] { null }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new Object[] { null }, new Object[] { new int[] { 1 } }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new Object[] { new Object[0] }, new Object[] { "x" }, true));
+		Assertions.assertFalse(BusinessIdentityUtils.areEqual(new Object[] { new int[0] }, new Object[] { "x" }, true));
+	}
+
+	private static Object[] deeplyNested(int depth) {
+		Object[] root = { "leaf" };
+		for (int i = 0; i < depth; i++)
+			root = new Object[] { i, root };
+		return root;
+	}
+
+	private static Object[] boxed(Object array) {
+		Object[] boxed = new Object[Array.getLength(array)];
+		for (int idx = 0; idx < boxed.length; idx++)
+			boxed[idx] = Array.get(array, idx);
+		return boxed;
+	}
+
+	private static Object copyOf(Object array) {
+		int length = Array.getLength(array);
+		Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+		System.arraycopy(array, 0, copy, 0, length);
+		return copy;
+	}
+
+	/**
+	 * The recursive, boxing hash code this class has always produced.
+	 */
+	private static int referenceHashCode(Object data, boolean caseSensitive) {
+		if (data == null)
+			return 1;
+		if (data.getClass().isArray()) {
+			int result = 1;
+			for (int idx = 0; idx < Array.getLength(data); idx++)
+				result = 31 * result + referenceHashCode(Array.get(data, idx), caseSensitive);
+			return result;
+		}
+		if (!caseSensitive && (data instanceof Character || data instanceof CharSequence))
+			return data.toString().toLowerCase().hashCode();
+		return data.hashCode();
+	}
+
+	@Test
+	public void caseInsensitiveEqualityShouldMatchStringEqualsIgnoreCase() {
+		String[] corpus = { "", "a", "A", "abc", "ABC", "aBc", "abd", "ab", "user@Example.COM", "USER@example.com",
+				"\u00e9t\u00e9", "\u00c9T\u00c9", "stra\u00dfe", "STRASSE", "\u03c3\u03b1\u03c2", "\u03a3\u0391\u03a3",
+				"\u03c3\u03b1\u03c3", "\u017f", "s", "S", "\u0131", "i", "I", "\u0130", "\u212a", "k", "\u00b5", "\u03bc",
+				"\ud801\udc00", "\ud801\udc28", "x\ud801\udc00", "X\ud801\udc28", "\ud801", "\udc00", "\u10a0", "\u2d00" };
+
+		for (String first : corpus) {
+			for (String second : corpus) {
+				boolean expected = first.equalsIgnoreCase(second);
+				Assertions.assertEquals(expected, BusinessIdentityUtils.areEqual(first, second, false), first + " vs " + second);
+				Assertions.assertEquals(expected,
+						BusinessIdentityUtils.areEqual(new StringBuilder(first), second, false), first + " vs " + second);
+				if (first.length() == 1 && second.length() == 1) {
+					Assertions.assertEquals(expected, BusinessIdentityUtils.areEqual(first.charAt(0), second.charAt(0), false));
+					Assertions.assertEquals(expected,
+							BusinessIdentityUtils.areEqual(new char[] { first.charAt(0) }, new char[] { second.charAt(0) }, false));
+				}
+				if (expected) {
+					Assertions.assertEquals(BusinessIdentityUtils.getHashCode(first, false),
+							BusinessIdentityUtils.getHashCode(second, false), first + " vs " + second);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void compareShouldBeConsistentWithEqualityAndSortKeys() {
+		String[] corpus = { "", "a", "A", "abc", "ABC", "aBc", "abd", "ab", "user@Example.COM", "USER@example.com",
+				"\u00e9t\u00e9", "\u00c9T\u00c9", "stra\u00dfe", "STRASSE", "\u03c3\u03b1\u03c2", "\u03a3\u0391\u03a3",
+				"\u017f", "s", "S", "\u0131", "i", "I", "\u0130", "\u212a", "k", "\u00b5", "\u03bc",
+				"\ud801\udc00", "\ud801\udc28", "x\ud801\udc00", "X\ud801\udc28", "\ud801", "\udc00", "\uffff", "\u10a0" };
+
+		for (String first : corpus) {
+			for (String second : corpus) {
+				Assertions.assertEquals(Integer.signum(first.compareTo(second)),
+						Integer.signum(BusinessIdentityUtils.compare(first, second, true)), first + " vs " + second);
+
+				int result = Integer.signum(BusinessIdentityUtils.compare(first, second, false));
+				Assertions.assertEquals(first.equalsIgnoreCase(second), result == 0, first + " vs " + second);
+				Assertions.assertEquals(-result, Integer.signum(BusinessIdentityUtils.compare(second, first, false)));
+				Assertions.assertEquals(result,
+						Integer.signum(BusinessIdentityUtils.compare(new StringBuilder(first), second, false)));
+				Assertions.assertEquals(result, Integer.signum(BusinessIdentityUtils.compare(
+						BusinessIdentityUtils.getSortKey(first, false), BusinessIdentityUtils.getSortKey(second, false), true)));
+				if (first.length() == 1 && second.length() == 1) {
+					Assertions.assertEquals(result, Integer.signum(BusinessIdentityUtils.compare(first.charAt(0), second.charAt(0),
+							false)));
+					Assertions.assertEquals(result, Integer.signum(BusinessIdentityUtils.compare(new char[] { first.charAt(0) },
+							new char[] { second.charAt(0) }, false)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void compareShouldOrderNullsAndArrays() {
+		Assertions.assertEquals(0, BusinessIdentityUtils.compare(null, null, true));
+		Assertions.assertTrue(BusinessIdentityUtils.compare(null, "a", true) < 0);
+		Assertions.assertTrue(BusinessIdentityUtils.compare("a", null, true) > 0);
+
+		Assertions.assertEquals(0, BusinessIdentityUtils.compare(new int[] { 1, 2 }, new int[] { 1, 2 }, true));
+		Assertions.assertTrue(BusinessIdentityUtils.compare(new int[] { 1 }, new int[] { 1, 2 }, true) < 0);
+		Assertions.assertTrue(BusinessIdentityUtils.compare(new long[] { 3 }, new long[] { 1, 2 }, true) > 0);
+		Assertions.assertTrue(BusinessIdentityUtils.compare(new Object[] { "a", new Object[] { "B" } },
+				new Object[] { "A", new Object[] { "c" } }, false) < 0);
+		Assertions.assertEquals(0, BusinessIdentityUtils.compare(new Object[] { "a", new Object[] { "B" } },
+				new Object[] { "A", new Object[] { "b" } }, false));
+		Assertions.assertEquals(0, BusinessIdentityUtils.compare(new Object[] { 1, 2 }, new Integer[] { 1, 2 }, true));
+		Assertions.assertTrue(BusinessIdentityUtils.compare("a", new int[0], true) < 0);
+
+		try {
+			BusinessIdentityUtils.compare(new Object(), new Object(), true);
+			fail("Expected BusinessException");
+		} catch (BusinessException ignored) {
+		}
+	}
+
+	@Test
+	public void caseInsensitiveHashCodeShouldMatchLowerCaseHashCode() {
+		Locale defaultLocale = Locale.getDefault();
+		try {
+			for (Locale locale : new Locale[] { Locale.ROOT, new Locale("tr", "TR") }) {
+				Locale.setDefault(locale);
+				String[] corpus = { "", "a", "Z", "user@Example.COM", "MiXeD-CaSe_123", "\u00c9T\u00c9", "Gr\u00fc\u00df",
+						"\u0391\u0392\u0393", "\u0416\u0443\u043a", "X\ud801\udc00Y" };
+				for (String value : corpus) {
+					int expected = value.toLowerCase(Locale.ROOT).hashCode();
+					Assertions.assertEquals(expected, BusinessIdentityUtils.getHashCode(value, false), value);
+					Assertions.assertEquals(expected, BusinessIdentityUtils.getHashCode(new StringBuilder(value), false), value);
+					if (value.length() == 1)
+						Assertions.assertEquals(expected, BusinessIdentityUtils.getHashCode(value.charAt(0), false), value);
+				}
+				Assertions.assertEquals("title".hashCode(), BusinessIdentityUtils.getHashCode("TITLE", false));
+			}
+		} finally {
+			Locale.setDefault(defaultLocale);
+		}
+	}
 }
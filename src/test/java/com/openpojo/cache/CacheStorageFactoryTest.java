@@ -78,4 +78,23 @@ public class CacheStorageFactoryTest {
 		System.gc();
 		Assertions.assertEquals(expectedValue, keyValuePairCache.get(expectedKey));
 	}
+
+	@Test
+	public void shouldReturnBoundedCache() {
+		CacheStorage<String> keyValuePairCache = CacheStorageFactory.getBoundedCacheStorage(1);
+		keyValuePairCache.add("SomeKey", "SomeValue");
+		keyValuePairCache.add("OtherKey", "OtherValue");
+		Assertions.assertNull(keyValuePairCache.get("SomeKey"));
+		Assertions.assertEquals("OtherValue", keyValuePairCache.get("OtherKey"));
+	}
+
+	@Test
+	public void shouldReturnMemorySensitiveCache() {
+		CacheStorage<String> keyValuePairCache = CacheStorageFactory.getMemorySensitiveCacheStorage();
+		String expectedKey = "SomeKey";
+		String expectedValue = "SomeValue";
+		keyValuePairCache.add(expectedKey, expectedValue);
+		System.gc();
+		Assertions.assertEquals(expectedValue, keyValuePairCache.get(expectedKey));
+	}
 }
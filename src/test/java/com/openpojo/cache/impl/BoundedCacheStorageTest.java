@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.cache.impl;
+
+import org.junit.jupiter.api.Test;
+import org.testng.Assert;
+
+import com.openpojo.cache.CacheStorage;
+
+public class BoundedCacheStorageTest extends CacheStorageTest {
+	public CacheStorage<String> getCacheStorage() {
+		return new BoundedCacheStorage<String>(16);
+	}
+
+	@Test
+	public void shouldRejectNonPositiveMaximumSize() {
+		try {
+			new BoundedCacheStorage<String>(0);
+			Assert.fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			Assert.assertEquals(e.getMessage(), "maximumSize must be positive, was [0]");
+		}
+	}
+
+	@Test
+	public void shouldEvictItemsNotLookedUpSinceTheLastSweep() {
+		BoundedCacheStorage<String> cache = new BoundedCacheStorage<String>(3);
+		cache.add("a", "A");
+		cache.add("b", "B");
+		cache.add("c", "C");
+		cache.get("a");
+		cache.get("c");
+
+		cache.add("d", "D");
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals(cache.get("a"), "A");
+		Assert.assertEquals(cache.get("c"), "C");
+		Assert.assertEquals(cache.get("d"), "D");
+		Assert.assertEquals(cache.getStats().getEvictionCount(), 1);
+	}
+
+	@Test
+	public void shouldNeverHoldMoreThanMaximumSize() {
+		BoundedCacheStorage<String> cache = new BoundedCacheStorage<String>(8);
+		for (int i = 0; i < 100; i++) {
+			cache.add("key" + i, "value" + i);
+			cache.get("key" + (i / 2));
+		}
+
+		int cached = 0;
+		for (int i = 0; i < 100; i++)
+			if (cache.get("key" + i) != null)
+				cached++;
+		Assert.assertEquals(cached, 8);
+		Assert.assertEquals(cache.getStats().getEvictionCount(), 92);
+		Assert.assertEquals(cache.get("key99"), "value99");
+	}
+
+	@Test
+	public void addingAnExistingKeyReplacesItsValue() {
+		BoundedCacheStorage<String> cache = new BoundedCacheStorage<String>(1);
+		cache.add("key", "first");
+		cache.add("key", "second");
+		Assert.assertEquals(cache.get("key"), "second");
+		Assert.assertEquals(cache.getStats().getEvictionCount(), 0);
+	}
+}
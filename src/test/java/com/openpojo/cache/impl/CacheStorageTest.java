@@ -18,10 +18,17 @@
 
 package com.openpojo.cache.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.testng.Assert;
 
+import com.openpojo.cache.CacheLoader;
+import com.openpojo.cache.CacheStats;
 import com.openpojo.cache.CacheStorage;
 
 /**
@@ -55,5 +62,189 @@ public abstract class CacheStorageTest {
 		Assert.assertNull(cache.get(key));
 	}
 
+	@Test
+	public void getWithLoaderLoadsOnceAndCaches() {
+		CountingLoader loader = new CountingLoader();
+		String value = cache.get("key", loader);
+		Assert.assertEquals(value, "loaded key");
+		Assert.assertSame(cache.get("key", loader), value);
+		Assert.assertSame(cache.get("key"), value);
+		Assert.assertEquals(loader.loads.get(), 1);
+	}
+
+	@Test
+	public void getWithLoaderDoesntCacheNull() {
+		CacheLoader<String> nullLoader = new CacheLoader<String>() {
+			public String load(String name) {
+				return null;
+			}
+		};
+		Assert.assertNull(cache.get("key", nullLoader));
+		Assert.assertNull(cache.get("key"));
+		Assert.assertEquals(cache.get("key", new CountingLoader()), "loaded key");
+	}
+
+	@Test
+	public void getWithLoaderPropagatesFailuresWithoutCaching() {
+		CacheLoader<String> failingLoader = new CacheLoader<String>() {
+			public String load(String name) {
+				throw new IllegalStateException("failed " + name);
+			}
+		};
+		try {
+			cache.get("key", failingLoader);
+			Assert.fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals(e.getMessage(), "failed key");
+		}
+		Assert.assertEquals(cache.get("key", new CountingLoader()), "loaded key");
+	}
+
+	@Test
+	public void recursiveLoadOfTheSameKeyDoesntDeadlock() {
+		final CountingLoader innerLoader = new CountingLoader();
+		String value = cache.get("key", new CacheLoader<String>() {
+			public String load(String name) {
+				return "outer " + cache.get(name, innerLoader);
+			}
+		});
+		Assert.assertEquals(value, "outer loaded key");
+		Assert.assertEquals(innerLoader.loads.get(), 1);
+	}
+
+	@Test
+	public void crossThreadLoadsOfEachOthersKeysDontDeadlock() throws InterruptedException {
+		final CountDownLatch firstLoading = new CountDownLatch(1);
+		final CountDownLatch secondLoading = new CountDownLatch(1);
+		final String[] results = new String[2];
+		Thread first = new Thread(new CrossLoad("first", "second", firstLoading, secondLoading, results, 0));
+		Thread second = new Thread(new CrossLoad("second", "first", secondLoading, firstLoading, results, 1));
+		first.setDaemon(true);
+		second.setDaemon(true);
+		first.start();
+		second.start();
+		first.join(10000);
+		second.join(10000);
+
+		Assert.assertFalse(first.isAlive() || second.isAlive(), "Loads of each other's keys deadlocked");
+		// A thread that sees the cycle loads the other key uncached, one that doesn't waits for the other's result.
+		assertCrossLoaded(results[0], "first", "second", results[1]);
+		assertCrossLoaded(results[1], "second", "first", results[0]);
+	}
+
+	@Test
+	public void shouldCountHitsMissesAndLoads() {
+		String value = "value";
+		cache.get("key");
+		cache.add("key", value);
+		cache.get("key");
+		cache.get("other", new CountingLoader());
+		cache.get("other", new CountingLoader());
+
+		CacheStats stats = cache.getStats();
+		Assert.assertEquals(stats.getHitCount(), 2);
+		Assert.assertEquals(stats.getMissCount(), 2);
+		Assert.assertEquals(stats.getLoadCount(), 1);
+		Assert.assertTrue(stats.getTotalLoadTime() >= 0);
+		Assert.assertEquals(stats.getHitRate(), 0.5);
+	}
+
+	@Test
+	public void concurrentGetsWithLoaderLoadOnce() throws InterruptedException {
+		final CountDownLatch loading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CountingLoader loader = new CountingLoader() {
+			@Override
+			public String load(String name) {
+				loading.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return super.load(name);
+			}
+		};
+		final List<String> results = new ArrayList<String>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(new Runnable() {
+				public void run() {
+					String value = cache.get("key", loader);
+					synchronized (results) {
+						results.add(value);
+					}
+				}
+			});
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+		loading.await();
+		Thread.sleep(50);
+		release.countDown();
+		for (Thread thread : threads)
+			thread.join(10000);
+
+		Assert.assertEquals(results.size(), 8);
+		for (String result : results)
+			Assert.assertSame(result, results.get(0));
+		Assert.assertEquals(loader.loads.get(), 1);
+	}
+
+	private static void assertCrossLoaded(String result, String key, String otherKey, String otherResult) {
+		Assert.assertNotNull(result);
+		if (!result.equals(key + " needs loaded " + otherKey))
+			Assert.assertEquals(result, key + " needs " + otherResult);
+	}
+
 	public abstract CacheStorage<String> getCacheStorage();
+
+	/**
+	 * Loads its key by getting the other key, once the other thread is loading that key.
+	 */
+	private class CrossLoad implements Runnable {
+		private final String key;
+		private final String otherKey;
+		private final CountDownLatch loading;
+		private final CountDownLatch otherLoading;
+		private final String[] results;
+		private final int index;
+
+		private CrossLoad(String key, String otherKey, CountDownLatch loading, CountDownLatch otherLoading,
+				String[] results, int index) {
+			this.key = key;
+			this.otherKey = otherKey;
+			this.loading = loading;
+			this.otherLoading = otherLoading;
+			this.results = results;
+			this.index = index;
+		}
+
+		public void run() {
+			String value = cache.get(key, new CacheLoader<String>() {
+				public String load(String name) {
+					loading.countDown();
+					try {
+						otherLoading.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return name + " needs " + cache.get(otherKey, new CountingLoader());
+				}
+			});
+			synchronized (results) {
+				results[index] = value;
+			}
+		}
+	}
+
+	private static class CountingLoader implements CacheLoader<String> {
+		private final AtomicInteger loads = new AtomicInteger();
+
+		public String load(String name) {
+			loads.incrementAndGet();
+			return "loaded " + name;
+		}
+	}
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.cache.CacheLoader;
+import com.openpojo.reflection.PojoClass;
+import com.openpojo.reflection.impl.PojoClassFactory;
+import com.openpojo.reflection.impl.sample.classes.AClassWithFieldsNotPrefixed;
+
+public class PojoCacheTest {
+
+	@AfterEach
+	public void tearDown() {
+		PojoCache.clear();
+	}
+
+	@Test
+	public void shouldKeepPojoClassesAcrossGarbageCollections() {
+		PojoClass pojoClass = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		int identityHashCode = System.identityHashCode(pojoClass);
+		pojoClass = null;
+		System.gc();
+		System.gc();
+		Assertions.assertEquals(identityHashCode,
+				System.identityHashCode(PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class)));
+	}
+
+	@Test
+	public void shouldLoadOnlyWhenNotCached() {
+		final AtomicInteger loads = new AtomicInteger();
+		final PojoClass expected = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		CacheLoader<PojoClass> loader = new CacheLoader<PojoClass>() {
+			public PojoClass load(String name) {
+				Assertions.assertEquals(String.class.getName(), name);
+				loads.incrementAndGet();
+				return expected;
+			}
+		};
+
+		Assertions.assertNull(PojoCache.getPojoClass(String.class));
+		Assertions.assertSame(expected, PojoCache.getPojoClass(String.class, loader));
+		Assertions.assertSame(expected, PojoCache.getPojoClass(String.class, loader));
+		Assertions.assertSame(expected, PojoCache.getPojoClass(String.class));
+		Assertions.assertEquals(1, loads.get());
+
+		PojoCache.clear();
+		Assertions.assertNull(PojoCache.getPojoClass(String.class));
+	}
+
+	@Test
+	public void shouldAddPojoClasses() {
+		PojoClass pojoClass = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		PojoCache.addPojoClass(Integer.class, pojoClass);
+		Assertions.assertSame(pojoClass, PojoCache.getPojoClass(Integer.class));
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	public void nameLookupsShouldResolveThroughTheClassCache() {
+		PojoClass pojoClass = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		PojoCache.addPojoClass(Integer.class.getName(), pojoClass);
+		Assertions.assertSame(pojoClass, PojoCache.getPojoClass(Integer.class));
+		Assertions.assertSame(pojoClass, PojoCache.getPojoClass(Integer.class.getName()));
+
+		PojoCache.addPojoClass("com.openpojo.NoSuchClass", pojoClass);
+		Assertions.assertNull(PojoCache.getPojoClass("com.openpojo.NoSuchClass"));
+	}
+
+	@Test
+	public void concurrentLookupsShouldLoadOnce() throws InterruptedException {
+		final PojoClass expected = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch loading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final CacheLoader<PojoClass> loader = new CacheLoader<PojoClass>() {
+			public PojoClass load(String name) {
+				loads.incrementAndGet();
+				loading.countDown();
+				awaitQuietly(release);
+				return expected;
+			}
+		};
+
+		final List<PojoClass> results = new ArrayList<PojoClass>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 16; i++) {
+			threads.add(startDaemon(new Runnable() {
+				public void run() {
+					PojoClass pojoClass = PojoCache.getPojoClass(String.class, loader);
+					synchronized (results) {
+						results.add(pojoClass);
+					}
+				}
+			}));
+		}
+		loading.await();
+		Thread.sleep(50);
+		release.countDown();
+		for (Thread thread : threads)
+			thread.join(10000);
+
+		Assertions.assertEquals(16, results.size());
+		for (PojoClass result : results)
+			Assertions.assertSame(expected, result);
+		Assertions.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void crossDependentLoadsOnTwoThreadsShouldNotDeadlock() throws InterruptedException {
+		final PojoClass stringPojoClass = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		final PojoClass integerPojoClass = PojoClassFactory.getPojoClass(PojoCacheTest.class);
+		final CountDownLatch loadingString = new CountDownLatch(1);
+		final CountDownLatch loadingInteger = new CountDownLatch(1);
+
+		Thread stringThread = startDaemon(new Runnable() {
+			public void run() {
+				PojoCache.getPojoClass(String.class, new CacheLoader<PojoClass>() {
+					public PojoClass load(String name) {
+						loadingString.countDown();
+						awaitQuietly(loadingInteger);
+						Assertions.assertSame(integerPojoClass, PojoCache.getPojoClass(Integer.class, fixedLoader(integerPojoClass)));
+						return stringPojoClass;
+					}
+				});
+			}
+		});
+		Thread integerThread = startDaemon(new Runnable() {
+			public void run() {
+				PojoCache.getPojoClass(Integer.class, new CacheLoader<PojoClass>() {
+					public PojoClass load(String name) {
+						loadingInteger.countDown();
+						awaitQuietly(loadingString);
+						Assertions.assertSame(stringPojoClass, PojoCache.getPojoClass(String.class, fixedLoader(stringPojoClass)));
+						return integerPojoClass;
+					}
+				});
+			}
+		});
+
+		stringThread.join(10000);
+		integerThread.join(10000);
+		Assertions.assertFalse(stringThread.isAlive(), "Deadlocked loading String");
+		Assertions.assertFalse(integerThread.isAlive(), "Deadlocked loading Integer");
+		Assertions.assertSame(stringPojoClass, PojoCache.getPojoClass(String.class));
+		Assertions.assertSame(integerPojoClass, PojoCache.getPojoClass(Integer.class));
+	}
+
+	@Test
+	public void recursiveLoadOfTheSameClassShouldNotDeadlock() {
+		final PojoClass expected = PojoClassFactory.getPojoClass(AClassWithFieldsNotPrefixed.class);
+		PojoClass pojoClass = PojoCache.getPojoClass(String.class, new CacheLoader<PojoClass>() {
+			public PojoClass load(String name) {
+				Assertions.assertSame(expected, PojoCache.getPojoClass(String.class, fixedLoader(expected)));
+				return expected;
+			}
+		});
+		Assertions.assertSame(expected, pojoClass);
+	}
+
+	@Test
+	public void waitingLookupsShouldSeeTheLoadFailure() throws InterruptedException {
+		final CountDownLatch loading = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<Throwable> failures = new ArrayList<Throwable>();
+		Runnable lookup = new Runnable() {
+			public void run() {
+				try {
+					PojoCache.getPojoClass(String.class, new CacheLoader<PojoClass>() {
+						public PojoClass load(String name) {
+							loading.countDown();
+							awaitQuietly(release);
+							throw new IllegalStateException("failed " + name);
+						}
+					});
+				} catch (IllegalStateException e) {
+					synchronized (failures) {
+						failures.add(e);
+					}
+				}
+			}
+		};
+		Thread owner = startDaemon(lookup);
+		loading.await();
+		Thread waiter = startDaemon(lookup);
+		Thread.sleep(50);
+		release.countDown();
+		owner.join(10000);
+		waiter.join(10000);
+
+		Assertions.assertEquals(2, failures.size());
+		Assertions.assertNull(PojoCache.getPojoClass(String.class));
+	}
+
+	@Test
+	public void shouldNotKeepClassLoadersFromBeingUnloaded() throws Exception {
+		WeakReference<ClassLoader> classLoader = cacheClassFromThrowAwayClassLoader();
+		for (int i = 0; i < 10 && classLoader.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertNull(classLoader.get(), "ClassLoader was kept alive by the cache");
+	}
+
+	private static CacheLoader<PojoClass> fixedLoader(final PojoClass pojoClass) {
+		return new CacheLoader<PojoClass>() {
+			public PojoClass load(String name) {
+				return pojoClass;
+			}
+		};
+	}
+
+	private static Thread startDaemon(Runnable runnable) {
+		Thread thread = new Thread(runnable);
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			if (!latch.await(10, TimeUnit.SECONDS))
+				throw new IllegalStateException("Timed out waiting");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static WeakReference<ClassLoader> cacheClassFromThrowAwayClassLoader() throws Exception {
+		ClassLoader classLoader = new SingleClassLoader(AClassWithFieldsNotPrefixed.class);
+		Class<?> clazz = classLoader.loadClass(AClassWithFieldsNotPrefixed.class.getName());
+		Assertions.assertNotSame(AClassWithFieldsNotPrefixed.class, clazz);
+
+		PojoClass pojoClass = PojoClassFactory.getPojoClass(clazz);
+		Assertions.assertSame(clazz, pojoClass.getClazz());
+		Assertions.assertSame(pojoClass, PojoCache.getPojoClass(clazz));
+		return new WeakReference<ClassLoader>(classLoader);
+	}
+
+	/**
+	 * Defines its own copy of a class that only depends on java.* classes.
+	 */
+	private static class SingleClassLoader extends ClassLoader {
+		private final Class<?> original;
+
+		private SingleClassLoader(Class<?> original) {
+			super(null);
+			this.original = original;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			if (!name.equals(original.getName()))
+				throw new ClassNotFoundException(name);
+			byte[] bytes = readClassFile(original);
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+
+		private static byte[] readClassFile(Class<?> clazz) throws ClassNotFoundException {
+			InputStream inputStream = clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+			if (inputStream == null)
+				throw new ClassNotFoundException(clazz.getName());
+			try {
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer))
+					bytes.write(buffer, 0, read);
+				inputStream.close();
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new ClassNotFoundException(clazz.getName(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MethodHandlePojoMethodInvokerTest {
+
+  @Test
+  public void shouldUseMethodHandlesForAccessibleMembers() throws Exception {
+    Assertions.assertTrue(invokerFor(Sample.class.getDeclaredMethod("getName")) instanceof MethodHandlePojoMethodInvoker);
+    Assertions.assertTrue(invokerFor(Sample.class.getDeclaredConstructor()) instanceof MethodHandlePojoMethodInvoker);
+  }
+
+  @Test
+  public void shouldFallBackForConstructorsReflectionRefuses() throws Exception {
+    Assertions.assertTrue(invokerFor(AbstractSample.class.getDeclaredConstructor()) instanceof ReflectivePojoMethodInvoker);
+    Assertions.assertTrue(invokerFor(SampleEnum.class.getDeclaredConstructors()[0]) instanceof ReflectivePojoMethodInvoker);
+
+    assertSameOutcome(AbstractSample.class.getDeclaredConstructor(), null);
+    assertSameOutcome(SampleEnum.class.getDeclaredConstructors()[0], null, "A", 0);
+  }
+
+  @Test
+  public void shouldFallBackForMembersOfModulesNotOpened() throws Exception {
+    Method isLatin1 = String.class.getDeclaredMethod("isLatin1");
+    Assertions.assertTrue(invokerFor(isLatin1) instanceof ReflectivePojoMethodInvoker);
+    assertSameOutcome(isLatin1, "openpojo");
+  }
+
+  @Test
+  public void shouldInvokeLikeReflection() throws Exception {
+    Sample sample = new Sample();
+    assertSameOutcome(Sample.class.getDeclaredMethod("setName", String.class), sample, "name");
+    assertSameOutcome(Sample.class.getDeclaredMethod("getName"), sample);
+    assertSameOutcome(Sample.class.getDeclaredMethod("getName"), sample, (Object[]) null);
+    assertSameOutcome(Sample.class.getDeclaredMethod("setCount", long.class), sample, 5L);
+    assertSameOutcome(Sample.class.getDeclaredMethod("getCount"), sample);
+    assertSameOutcome(Sample.class.getDeclaredMethod("concat", String.class, int.class, boolean.class), sample, "a", 1,
+        true);
+    assertSameOutcome(Sample.class.getDeclaredMethod("join", String[].class), sample, (Object) new String[] { "a", "b" });
+    assertSameOutcome(Sample.class.getDeclaredMethod("twice", int.class), "ignored instance", 21);
+    assertSameOutcome(Sample.class.getDeclaredConstructor(), null);
+    assertSameOutcome(Sample.class.getDeclaredConstructor(String.class), null, "name");
+    assertSameOutcome(Sample.class.getDeclaredConstructor(String.class, long.class), null, "name", 2L);
+  }
+
+  @Test
+  public void shouldFailLikeReflection() throws Exception {
+    Sample sample = new Sample();
+    Method setCount = Sample.class.getDeclaredMethod("setCount", long.class);
+    assertSameOutcome(setCount, sample, (Object) null);
+    assertSameOutcome(setCount, sample, 5);
+    assertSameOutcome(setCount, sample, "five");
+    assertSameOutcome(setCount, sample);
+    assertSameOutcome(setCount, null, 5L);
+    assertSameOutcome(setCount, "not a sample", 5L);
+    assertSameOutcome(Sample.class.getDeclaredMethod("fail"), sample);
+    assertSameOutcome(Sample.class.getDeclaredConstructor(String.class, long.class), null, "name", null);
+  }
+
+  private static void makeAccessible(AccessibleObject accessibleObject) {
+    try {
+      accessibleObject.setAccessible(true);
+    } catch (InaccessibleObjectException ignored) {
+    }
+  }
+
+  private static PojoMethodInvoker invokerFor(AccessibleObject accessibleObject) {
+    makeAccessible(accessibleObject);
+    return MethodHandlePojoMethodInvoker.getPojoMethodInvoker(accessibleObject,
+        new ReflectivePojoMethodInvoker(accessibleObject));
+  }
+
+  private static void assertSameOutcome(AccessibleObject accessibleObject, Object instance, Object... parameters) {
+    makeAccessible(accessibleObject);
+    Object expected = outcome(new ReflectivePojoMethodInvoker(accessibleObject), instance, parameters);
+    Object actual = outcome(invokerFor(accessibleObject), instance, parameters);
+    Assertions.assertEquals(expected, actual, "Outcome differs for " + accessibleObject);
+  }
+
+  private static Object outcome(PojoMethodInvoker invoker, Object instance, Object[] parameters) {
+    try {
+      Object result = invoker.invoke(instance, parameters);
+      if (result instanceof Sample || result instanceof SampleEnum)
+        return result.toString();
+      return result;
+    } catch (InvocationTargetException e) {
+      return "target " + e.getCause().getClass().getName() + ": " + e.getCause().getMessage();
+    } catch (Exception e) {
+      return e.getClass().getName();
+    }
+  }
+
+  @SuppressWarnings("unused")
+  public static class Sample {
+    private String name;
+    private long count;
+
+    public Sample() {
+    }
+
+    public Sample(String name) {
+      this.name = name;
+    }
+
+    private Sample(String name, long count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    private long getCount() {
+      return count;
+    }
+
+    void setCount(long count) {
+      this.count = count;
+    }
+
+    protected String concat(String value, int number, boolean flag) {
+      return value + number + flag;
+    }
+
+    public String join(String... values) {
+      return String.join(",", values);
+    }
+
+    public static int twice(int value) {
+      return value * 2;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("failed on purpose");
+    }
+
+    @Override
+    public String toString() {
+      return "Sample [name=" + name + ", count=" + count + "]";
+    }
+  }
+
+  public static abstract class AbstractSample {
+  }
+
+  public enum SampleEnum {
+    ONE
+  }
+}
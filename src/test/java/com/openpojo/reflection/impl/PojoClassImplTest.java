@@ -24,6 +24,12 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -33,6 +39,7 @@ import com.openpojo.reflection.PojoClass;
 import com.openpojo.reflection.PojoField;
 import com.openpojo.reflection.PojoMethod;
 import com.openpojo.reflection.PojoPackage;
+import com.openpojo.reflection.adapt.PojoClassAdapter;
 import com.openpojo.reflection.construct.InstanceFactory;
 import com.openpojo.reflection.exception.ReflectionException;
 import com.openpojo.reflection.impl.sample.annotation.AnotherAnnotation;
@@ -177,6 +184,36 @@ public class PojoClassImplTest {
 
 	}
 
+	@Test
+	public void shouldReturnSameUnmodifiableAnnotatedMembersOnEveryCall() {
+		PojoClass pojoClass = getPojoClassImplForClass(AClassWithAnnotatedFields.class);
+		List<PojoField> annotatedPojoFields = pojoClass.getPojoFieldsAnnotatedWith(SomeAnnotation.class);
+		Affirm.affirmSame("Annotated fields should not be copied", annotatedPojoFields,
+				pojoClass.getPojoFieldsAnnotatedWith(SomeAnnotation.class));
+		Affirm.affirmTrue("No field is annotated with Test", pojoClass.getPojoFieldsAnnotatedWith(Test.class).isEmpty());
+		try {
+			annotatedPojoFields.clear();
+			fail("Annotated fields should not be modifiable");
+		} catch (UnsupportedOperationException ignored) {
+		}
+
+		pojoClass = getPojoClassImplForClass(AClassWithAnnotatedMethods.class);
+		Affirm.affirmSame("Annotated methods should not be copied", pojoClass.getPojoMethodsAnnotatedWith(SomeAnnotation.class),
+				pojoClass.getPojoMethodsAnnotatedWith(SomeAnnotation.class));
+	}
+
+	@Test
+	public void shouldOrderConstructorsByParameterCount() {
+		PojoClass pojoClass = getPojoClassImplForClass(MultiplePublicAndPrivateWithManyParamsConstructor.class);
+		List<PojoMethod> constructors = pojoClass.getPojoConstructors();
+		Affirm.affirmEquals("Expected 5 constructors", 5, constructors.size());
+		for (int i = 1; i < constructors.size(); i++) {
+			Affirm.affirmTrue("Constructors out of order " + constructors,
+					constructors.get(i - 1).getParameterTypes().length <= constructors.get(i).getParameterTypes().length);
+		}
+		Affirm.affirmSame("Constructors should not be copied", constructors, pojoClass.getPojoConstructors());
+	}
+
 	@Test
 	public void testExtendz() {
 		final Class<?> aClassExtendingAnInterfaceAndAbstract = AClassExtendingAnInterface.class;
@@ -557,6 +594,75 @@ public class PojoClassImplTest {
 		Affirm.affirmTrue("Invalid enclosing class", enclosingClass.getClazz().equals(aClassWithNested.getClazz()));
 	}
 
+	@Test
+	public void shouldNotIntrospectMembersUntilRequested() {
+		final CountingPojoClassAdapter adapter = new CountingPojoClassAdapter(false);
+		final PojoClass pojoClass = new PojoClassImpl(AClassWithSixMethods.class, adapter);
+
+		Affirm.affirmTrue("Flags should come from the class", pojoClass.isConcrete() && pojoClass.isPublic());
+		Affirm.affirmEquals("Name should come from the class", AClassWithSixMethods.class.getName(), pojoClass.getName());
+		Affirm.affirmEquals("Members should not be introspected yet", 0, adapter.getCount());
+
+		final List<PojoMethod> pojoMethods = pojoClass.getPojoMethods();
+		Affirm.affirmEquals("Six methods and default constructor expected", 7, pojoMethods.size());
+		Affirm.affirmEquals("One constructor expected", 1, pojoClass.getPojoConstructors().size());
+		pojoClass.getPojoFields();
+		Affirm.affirmEquals("Members should be introspected once", 1, adapter.getCount());
+		Affirm.affirmSame("Members should be cached", pojoMethods, pojoClass.getPojoMethods());
+	}
+
+	@Test
+	public void shouldApplyAdapterToLazyMembers() {
+		final PojoClass pojoClass = new PojoClassImpl(AClassWithAnnotatedFields.class, new CountingPojoClassAdapter(true));
+		Affirm.affirmTrue("Fields should have been stripped by adapter", pojoClass.getPojoFields().isEmpty());
+		Affirm.affirmFalse("Methods should have been kept", pojoClass.getPojoMethods().isEmpty());
+	}
+
+	@Test
+	public void shouldHandOutSameMembersToConcurrentCallers() throws Exception {
+		final int threads = 8;
+		final PojoClass pojoClass = new PojoClassImpl(AClassWithAnnotatedFields.class, new CountingPojoClassAdapter(false));
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<List<PojoField>>> results = new LinkedList<Future<List<PojoField>>>();
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(new Callable<List<PojoField>>() {
+					public List<PojoField> call() throws Exception {
+						start.await();
+						return pojoClass.getPojoFields();
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<List<PojoField>> result : results) {
+				Affirm.affirmSame("All callers should see the same fields", pojoClass.getPojoFields(), result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static class CountingPojoClassAdapter implements PojoClassAdapter {
+		private final AtomicInteger count = new AtomicInteger();
+		private final boolean stripFields;
+
+		private CountingPojoClassAdapter(boolean stripFields) {
+			this.stripFields = stripFields;
+		}
+
+		public PojoClass adapt(PojoClass pojoClass) {
+			count.incrementAndGet();
+			if (stripFields)
+				return new PojoClassImpl(pojoClass.getClazz(), new LinkedList<PojoField>(), pojoClass.getPojoMethods());
+			return pojoClass;
+		}
+
+		private int getCount() {
+			return count.get();
+		}
+	}
+
 	private static PojoClass getPojoClassImplForClass(final Class<?> clazz) {
 		return PojoClassFactory.getPojoClass(clazz);
 	}
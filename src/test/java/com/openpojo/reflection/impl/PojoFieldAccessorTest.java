@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.reflection.PojoField;
+import com.openpojo.reflection.exception.ReflectionException;
+
+public class PojoFieldAccessorTest {
+  private static final String[] FIELDS = { "booleanValue", "byteValue", "charValue", "shortValue", "intValue",
+      "longValue", "floatValue", "doubleValue", "stringValue", "finalValue", "staticValue" };
+
+  @Test
+  public void shouldGetAndSetLikeField() throws Exception {
+    Object[] values = { true, (byte) 1, 'c', (short) 2, 3, 4L, 5.5f, 6.5d, "seven", 8L, "nine" };
+    for (int i = 0; i < FIELDS.length; i++) {
+      Sample expected = new Sample();
+      Sample actual = new Sample();
+      Field field = getField(FIELDS[i]);
+      PojoFieldAccessor accessor = new PojoFieldAccessor(field);
+
+      Assertions.assertEquals(outcomeOfSet(field, expected, values[i]), outcomeOfSet(accessor, actual, values[i]));
+      Assertions.assertEquals(field.get(expected), accessor.get(actual), FIELDS[i]);
+    }
+  }
+
+  @Test
+  public void shouldFailLikeField() throws Exception {
+    Object[] values = { null, 1, "text", 1L, new Object() };
+    for (String name : FIELDS) {
+      Field field = getField(name);
+      PojoFieldAccessor accessor = new PojoFieldAccessor(field);
+      for (Object value : values) {
+        Assertions.assertEquals(outcomeOfSet(field, new Sample(), value), outcomeOfSet(accessor, new Sample(), value),
+            name + " = " + value);
+      }
+      for (Object instance : new Object[] { null, "not a sample" }) {
+        Assertions.assertEquals(outcomeOfGet(field, instance), outcomeOfGet(accessor, instance), name + " on " + instance);
+        Assertions.assertEquals(outcomeOfSet(field, instance, null), outcomeOfSet(accessor, instance, null),
+            name + " on " + instance);
+      }
+    }
+  }
+
+  @Test
+  public void shouldReadAndWritePrimitivesWithoutBoxing() {
+    Sample sample = new Sample();
+    new PojoFieldAccessor(getField("booleanValue")).setBoolean(sample, true);
+    new PojoFieldAccessor(getField("byteValue")).setByte(sample, (byte) 1);
+    new PojoFieldAccessor(getField("charValue")).setChar(sample, 'c');
+    new PojoFieldAccessor(getField("shortValue")).setShort(sample, (short) 2);
+    new PojoFieldAccessor(getField("intValue")).setInt(sample, 3);
+    new PojoFieldAccessor(getField("longValue")).setLong(sample, 4L);
+    new PojoFieldAccessor(getField("floatValue")).setFloat(sample, 5.5f);
+    new PojoFieldAccessor(getField("doubleValue")).setDouble(sample, 6.5d);
+
+    Assertions.assertTrue(new PojoFieldAccessor(getField("booleanValue")).getBoolean(sample));
+    Assertions.assertEquals((byte) 1, new PojoFieldAccessor(getField("byteValue")).getByte(sample));
+    Assertions.assertEquals('c', new PojoFieldAccessor(getField("charValue")).getChar(sample));
+    Assertions.assertEquals((short) 2, new PojoFieldAccessor(getField("shortValue")).getShort(sample));
+    Assertions.assertEquals(3, new PojoFieldAccessor(getField("intValue")).getInt(sample));
+    Assertions.assertEquals(4L, new PojoFieldAccessor(getField("longValue")).getLong(sample));
+    Assertions.assertEquals(5.5f, new PojoFieldAccessor(getField("floatValue")).getFloat(sample));
+    Assertions.assertEquals(6.5d, new PojoFieldAccessor(getField("doubleValue")).getDouble(sample));
+  }
+
+  @Test
+  public void shouldWidenTypedAccessLikeField() {
+    Sample sample = new Sample();
+    new PojoFieldAccessor(getField("longValue")).setInt(sample, 42);
+    Assertions.assertEquals(42d, new PojoFieldAccessor(getField("longValue")).getDouble(sample));
+    new PojoFieldAccessor(getField("finalValue")).setLong(sample, 43L);
+    Assertions.assertEquals(43L, new PojoFieldAccessor(getField("finalValue")).getLong(sample));
+    new PojoFieldAccessor(getField("intValue")).setByte(sample, (byte) 44);
+    Assertions.assertEquals(44L, new PojoFieldAccessor(getField("intValue")).getLong(sample));
+
+    try {
+      new PojoFieldAccessor(getField("booleanValue")).getInt(sample);
+      Assertions.fail("boolean should not be readable as int");
+    } catch (ReflectionException expected) {
+      Assertions.assertTrue(expected.getCause() instanceof IllegalArgumentException);
+    }
+    try {
+      new PojoFieldAccessor(getField("intValue")).setLong(sample, 1L);
+      Assertions.fail("long should not be writable to int");
+    } catch (ReflectionException expected) {
+      Assertions.assertTrue(expected.getCause() instanceof IllegalArgumentException);
+    }
+  }
+
+  @Test
+  public void shouldAccessWithMemoryOrdering() {
+    Sample sample = new Sample();
+    PojoFieldAccessor string = new PojoFieldAccessor(getField("stringValue"));
+    string.setVolatile(sample, "volatile");
+    Assertions.assertEquals("volatile", string.getVolatile(sample));
+    string.setRelease(sample, "release");
+    Assertions.assertEquals("release", string.getAcquire(sample));
+
+    PojoFieldAccessor finalValue = new PojoFieldAccessor(getField("finalValue"));
+    finalValue.setVolatile(sample, 10L);
+    Assertions.assertEquals(10L, finalValue.getVolatile(sample));
+    finalValue.setRelease(sample, 11L);
+    Assertions.assertEquals(11L, finalValue.getAcquire(sample));
+  }
+
+  @Test
+  public void defaultTypedAccessShouldAgreeWithAccessor() throws Exception {
+    String[] types = { "Boolean", "Byte", "Char", "Short", "Int", "Long", "Float", "Double" };
+    for (String name : FIELDS) {
+      PojoFieldAccessor accessor = new PojoFieldAccessor(getField(name));
+      PojoField pojoField = defaultsOver(accessor, name);
+      for (String type : types) {
+        Method accessorGetter = PojoFieldAccessor.class.getDeclaredMethod("get" + type, Object.class);
+        Method defaultGetter = PojoField.class.getMethod("get" + type, Object.class);
+        Sample sample = new Sample();
+        Assertions.assertEquals(outcomeOf(accessorGetter, accessor, sample), outcomeOf(defaultGetter, pojoField, sample),
+            name + " get" + type);
+      }
+    }
+
+    Sample sample = new Sample();
+    PojoField longValue = defaultsOver(new PojoFieldAccessor(getField("longValue")), "longValue");
+    longValue.setInt(sample, 42);
+    Assertions.assertEquals(42d, longValue.getDouble(sample));
+    longValue.setVolatile(sample, 43L);
+    Assertions.assertEquals(43L, longValue.getVolatile(sample));
+    longValue.setRelease(sample, 44L);
+    Assertions.assertEquals(44L, longValue.getAcquire(sample));
+  }
+
+  /**
+   * A PojoField implementing only get, set and getName over the accessor, every other method is left to its default.
+   */
+  private static PojoField defaultsOver(final PojoFieldAccessor accessor, final String name) {
+    return (PojoField) Proxy.newProxyInstance(PojoField.class.getClassLoader(), new Class<?>[] { PojoField.class },
+        new InvocationHandler() {
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("get"))
+              return accessor.get(args[0]);
+            if (method.getName().equals("set")) {
+              accessor.set(args[0], args[1]);
+              return null;
+            }
+            if (method.getName().equals("getName"))
+              return name;
+            return InvocationHandler.invokeDefault(proxy, method, args);
+          }
+        });
+  }
+
+  private static String outcomeOf(Method getter, Object target, Object instance) throws Exception {
+    getter.setAccessible(true);
+    try {
+      return String.valueOf(getter.invoke(target, instance));
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof ReflectionException)
+        return ReflectionException.class.getName();
+      throw e;
+    }
+  }
+
+  private static Field getField(String name) {
+    try {
+      Field field = Sample.class.getDeclaredField(name);
+      field.setAccessible(true);
+      return field;
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String outcomeOfGet(Field field, Object instance) {
+    try {
+      return String.valueOf(field.get(instance));
+    } catch (Exception e) {
+      return e.getClass().getName();
+    }
+  }
+
+  private static String outcomeOfGet(PojoFieldAccessor accessor, Object instance) {
+    try {
+      return String.valueOf(accessor.get(instance));
+    } catch (ReflectionException e) {
+      return e.getCause().getClass().getName();
+    }
+  }
+
+  private static String outcomeOfSet(Field field, Object instance, Object value) {
+    try {
+      field.set(instance, value);
+      return "set " + field.get(instance);
+    } catch (Exception e) {
+      return e.getClass().getName();
+    }
+  }
+
+  private static String outcomeOfSet(PojoFieldAccessor accessor, Object instance, Object value) {
+    try {
+      accessor.set(instance, value);
+      return "set " + accessor.get(instance);
+    } catch (ReflectionException e) {
+      return e.getCause().getClass().getName();
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private static class Sample {
+    private static String staticValue;
+    private boolean booleanValue;
+    private byte byteValue;
+    private char charValue;
+    private short shortValue;
+    private int intValue;
+    private long longValue;
+    private float floatValue;
+    private double doubleValue;
+    private String stringValue;
+    private final long finalValue = System.nanoTime();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2010-2018 Osman Shoukry
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.openpojo.reflection.impl;
+
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.openpojo.reflection.PojoMethod;
+
+public class PojoMethodFactoryTest {
+
+  @Test
+  public void shouldFindMethodsByNameAndParameterTypes() {
+    PojoMethod noParameters = PojoMethodFactory.getMethod(Overloads.class, "call");
+    PojoMethod intParameter = PojoMethodFactory.getMethod(Overloads.class, "call", int.class);
+    PojoMethod integerParameter = PojoMethodFactory.getMethod(Overloads.class, "call", Integer.class);
+    PojoMethod twoParameters = PojoMethodFactory.getMethod(Overloads.class, "call", String.class, int.class);
+
+    Assertions.assertArrayEquals(new Class<?>[0], noParameters.getParameterTypes());
+    Assertions.assertArrayEquals(new Class<?>[] { int.class }, intParameter.getParameterTypes());
+    Assertions.assertArrayEquals(new Class<?>[] { Integer.class }, integerParameter.getParameterTypes());
+    Assertions.assertArrayEquals(new Class<?>[] { String.class, int.class }, twoParameters.getParameterTypes());
+    Assertions.assertEquals("call", twoParameters.getName());
+  }
+
+  @Test
+  public void shouldReturnNullForMissingMethods() {
+    Assertions.assertNull(PojoMethodFactory.getMethod(Overloads.class, "missing"));
+    Assertions.assertNull(PojoMethodFactory.getMethod(Overloads.class, "call", long.class));
+    Assertions.assertNull(PojoMethodFactory.getMethod(Overloads.class, "call", (Class<?>[]) null));
+  }
+
+  @Test
+  public void shouldFindConstructorsByClassName() {
+    PojoMethod constructor = PojoMethodFactory.getMethod(Overloads.class, Overloads.class.getName(), String.class);
+    Assertions.assertTrue(constructor.isConstructor());
+    Assertions.assertArrayEquals(new Class<?>[] { String.class }, constructor.getParameterTypes());
+  }
+
+  @Test
+  public void shouldReadMethodsOnceAndShareThem() {
+    Assertions.assertSame(PojoMethodFactory.getPojoMethods(Overloads.class),
+        PojoMethodFactory.getPojoMethods(Overloads.class));
+    Assertions.assertEquals(Overloads.class.getDeclaredConstructors().length
+        + Overloads.class.getDeclaredMethods().length, PojoMethodFactory.getPojoMethods(Overloads.class).size());
+    Assertions.assertTrue(PojoMethodFactory.getPojoMethods(Overloads.class).get(0).isConstructor());
+    Assertions.assertTrue(PojoMethodFactory.getPojoMethods(Overloads.class).contains(
+        PojoMethodFactory.getMethod(Overloads.class, "call", int.class)));
+  }
+
+  @Test
+  public void shouldResolveGettersAndSettersFromTheSharedMethods() throws NoSuchFieldException {
+    Field name = Overloads.class.getDeclaredField("name");
+    Field active = Overloads.class.getDeclaredField("active");
+
+    Assertions.assertSame(PojoMethodFactory.getMethod(Overloads.class, "getName"), PojoMethodFactory.getFieldGetter(name));
+    Assertions.assertSame(PojoMethodFactory.getMethod(Overloads.class, "setName", String.class),
+        PojoMethodFactory.getFieldSetter(name));
+    Assertions.assertSame(PojoMethodFactory.getMethod(Overloads.class, "isActive"), PojoMethodFactory.getFieldGetter(active));
+    Assertions.assertNull(PojoMethodFactory.getFieldSetter(active));
+  }
+
+  @SuppressWarnings("unused")
+  private static class Overloads {
+    private String name;
+    private boolean active;
+
+    Overloads() {
+    }
+
+    Overloads(String name) {
+      this.name = name;
+    }
+
+    void call() {
+    }
+
+    void call(int value) {
+    }
+
+    void call(Integer value) {
+    }
+
+    void call(String text, int value) {
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public boolean isActive() {
+      return active;
+    }
+  }
+}